@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.abi;
+
+import java.util.List;
+
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.utils.Numeric;
+
+/**
+ * {@link FunctionEncoder} that encodes parameters with a {@link BinaryTypeEncoder}, converting the
+ * result to hex only once.
+ *
+ * <p>Each thread reuses its own encoding buffer. To use this encoder for all contract calls,
+ * register {@link org.web3j.abi.spi.BinaryFunctionEncoderProvider} in {@code
+ * META-INF/services/org.web3j.abi.spi.FunctionEncoderProvider}.
+ */
+public class BinaryFunctionEncoder extends FunctionEncoder {
+
+    // buffers that grew beyond this size are not kept for reuse
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private static final ThreadLocal<BinaryTypeEncoder> ENCODER =
+            ThreadLocal.withInitial(BinaryTypeEncoder::new);
+
+    @Override
+    public String encodeFunction(final Function function) {
+        BinaryTypeEncoder encoder = acquireEncoder();
+        try {
+            encodeFunction(function, encoder);
+            return encoder.toHexString(true);
+        } finally {
+            releaseEncoder(encoder);
+        }
+    }
+
+    @Override
+    public String encodeParameters(final List<Type> parameters) {
+        BinaryTypeEncoder encoder = acquireEncoder();
+        try {
+            encoder.encodeParameters(parameters);
+            return encoder.toHexString(false);
+        } finally {
+            releaseEncoder(encoder);
+        }
+    }
+
+    @Override
+    public String encodeWithSelector(final String methodId, final List<Type> parameters) {
+        return methodId + encodeParameters(parameters);
+    }
+
+    @Override
+    protected String encodePackedParameters(List<Type> parameters) {
+        final StringBuilder result = new StringBuilder();
+        for (Type parameter : parameters) {
+            result.append(TypeEncoder.encodePacked(parameter));
+        }
+        return result.toString();
+    }
+
+    /**
+     * Encode a function call, selector followed by parameters, as bytes.
+     *
+     * @param function function to encode
+     * @return encoded call data
+     */
+    public byte[] encodeFunctionToBytes(final Function function) {
+        BinaryTypeEncoder encoder = acquireEncoder();
+        try {
+            encodeFunction(function, encoder);
+            return encoder.toByteArray();
+        } finally {
+            releaseEncoder(encoder);
+        }
+    }
+
+    /**
+     * Append the encoding of a function call, selector followed by parameters, to an encoder.
+     *
+     * @param function function to encode
+     * @param encoder encoder to append to
+     */
+    public void encodeFunction(final Function function, final BinaryTypeEncoder encoder) {
+        final List<Type> parameters = function.getInputParameters();
+        final String methodSignature = buildMethodSignature(function.getName(), parameters);
+        encoder.writeRaw(buildMethodIdBytes(methodSignature));
+        encoder.encodeParameters(parameters);
+    }
+
+    static byte[] buildMethodIdBytes(final String methodSignature) {
+        return Numeric.hexStringToByteArray(buildMethodId(methodSignature));
+    }
+
+    private static BinaryTypeEncoder acquireEncoder() {
+        BinaryTypeEncoder encoder = ENCODER.get();
+        encoder.reset();
+        return encoder;
+    }
+
+    private static void releaseEncoder(BinaryTypeEncoder encoder) {
+        if (encoder.capacity() > MAX_RETAINED_CAPACITY) {
+            ENCODER.remove();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.abi;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.web3j.abi.datatypes.Array;
+import org.web3j.abi.datatypes.Bytes;
+import org.web3j.abi.datatypes.BytesType;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Bytes32;
+import org.web3j.utils.Numeric;
+import org.web3j.utils.Strings;
+
+/**
+ * {@link FunctionReturnDecoder} that converts hex input to bytes once, and decodes it with {@link
+ * BinaryTypeDecoder}.
+ *
+ * <p>To use this decoder for all contract calls, register {@link
+ * org.web3j.abi.spi.BinaryFunctionReturnDecoderProvider} in {@code
+ * META-INF/services/org.web3j.abi.spi.FunctionReturnDecoderProvider}.
+ */
+public class BinaryFunctionReturnDecoder extends FunctionReturnDecoder {
+
+    @Override
+    public List<Type> decodeFunctionResult(
+            String rawInput, List<TypeReference<Type>> outputParameters) {
+
+        String input = Numeric.cleanHexPrefix(rawInput);
+
+        if (Strings.isEmpty(input)) {
+            return Collections.emptyList();
+        } else {
+            return BinaryTypeDecoder.decode(Numeric.hexStringToByteArray(input), outputParameters);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends Type> Type decodeEventParameter(
+            String rawInput, TypeReference<T> typeReference) {
+
+        byte[] input = Numeric.hexStringToByteArray(rawInput);
+
+        try {
+            Class<T> type = typeReference.getClassType();
+
+            if (Bytes.class.isAssignableFrom(type)) {
+                return BinaryTypeDecoder.decodeBytes(input, 0, (Class<Bytes>) type);
+            } else if (Array.class.isAssignableFrom(type)
+                    || BytesType.class.isAssignableFrom(type)
+                    || Utf8String.class.isAssignableFrom(type)) {
+                // indexed dynamic values are represented by their hash
+                return BinaryTypeDecoder.decodeBytes(input, 0, Bytes32.class);
+            } else {
+                return BinaryTypeDecoder.decode(input, 0, type);
+            }
+        } catch (ClassNotFoundException e) {
+            throw new UnsupportedOperationException("Invalid class reference provided", e);
+        }
+    }
+}
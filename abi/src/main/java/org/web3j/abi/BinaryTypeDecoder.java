@@ -0,0 +1,423 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.abi;
+
+import java.lang.annotation.Annotation;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Array;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.Bytes;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.DynamicBytes;
+import org.web3j.abi.datatypes.DynamicStruct;
+import org.web3j.abi.datatypes.Fixed;
+import org.web3j.abi.datatypes.Int;
+import org.web3j.abi.datatypes.NumericType;
+import org.web3j.abi.datatypes.StaticArray;
+import org.web3j.abi.datatypes.StaticStruct;
+import org.web3j.abi.datatypes.StructType;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint160;
+
+import static org.web3j.abi.TypeDecoder.isDynamic;
+import static org.web3j.abi.Utils.getParameterizedTypeFromArray;
+import static org.web3j.abi.datatypes.Type.MAX_BYTE_LENGTH;
+
+/**
+ * Ethereum Contract Application Binary Interface (ABI) decoding from a byte array.
+ *
+ * <p>Decodes the same layouts as {@link TypeDecoder} and {@link DefaultFunctionReturnDecoder},
+ * but reads words directly from the encoded bytes. Offsets are in bytes, and values are only
+ * copied out of the input when a result type requires it. Reads outside the input fail with an
+ * {@link IndexOutOfBoundsException}.
+ */
+public class BinaryTypeDecoder {
+
+    private BinaryTypeDecoder() {}
+
+    /**
+     * Decode ABI encoded return values.
+     *
+     * @param input ABI encoded input
+     * @param outputParameters list of return types as {@link TypeReference}
+     * @return {@link List} of decoded values
+     */
+    public static List<Type> decode(byte[] input, List<TypeReference<Type>> outputParameters) {
+        List<Type> results = new ArrayList<>(outputParameters.size());
+
+        int offset = 0;
+        for (TypeReference<?> typeReference : outputParameters) {
+            try {
+                int dataOffset = getDataOffset(input, offset, typeReference);
+
+                @SuppressWarnings("unchecked")
+                Class<Type> classType = (Class<Type>) typeReference.getClassType();
+
+                Type result;
+                if (DynamicStruct.class.isAssignableFrom(classType)) {
+                    result = decodeDynamicStruct(input, dataOffset, typeReference);
+                    offset += MAX_BYTE_LENGTH;
+
+                } else if (DynamicArray.class.isAssignableFrom(classType)) {
+                    result = decodeDynamicArray(input, dataOffset, typeReference);
+                    offset += MAX_BYTE_LENGTH;
+
+                } else if (typeReference instanceof TypeReference.StaticArrayTypeReference) {
+                    int length = ((TypeReference.StaticArrayTypeReference) typeReference).getSize();
+                    result = decodeStaticArray(input, dataOffset, typeReference, length);
+                    offset += getStaticArrayHeadLength(typeReference, length);
+
+                } else if (StaticStruct.class.isAssignableFrom(classType)) {
+                    result = decodeStaticStruct(input, dataOffset, typeReference);
+                    offset += getStaticStructLength(classType);
+
+                } else if (StaticArray.class.isAssignableFrom(classType)) {
+                    int length =
+                            Integer.parseInt(
+                                    classType
+                                            .getSimpleName()
+                                            .substring(StaticArray.class.getSimpleName().length()));
+                    result = decodeStaticArray(input, dataOffset, typeReference, length);
+                    offset += getStaticArrayHeadLength(typeReference, length);
+
+                } else {
+                    result = decode(input, dataOffset, classType);
+                    offset += MAX_BYTE_LENGTH;
+                }
+                results.add(result);
+
+            } catch (ClassNotFoundException e) {
+                throw new UnsupportedOperationException("Invalid class reference provided", e);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Decode ABI encoded return values from the remaining bytes of a buffer. The position of the
+     * buffer is not changed.
+     *
+     * @param input ABI encoded input
+     * @param outputParameters list of return types as {@link TypeReference}
+     * @return {@link List} of decoded values
+     */
+    public static List<Type> decode(ByteBuffer input, List<TypeReference<Type>> outputParameters) {
+        byte[] bytes;
+        if (input.hasArray()
+                && input.arrayOffset() == 0
+                && input.position() == 0
+                && input.remaining() == input.array().length) {
+            bytes = input.array();
+        } else {
+            bytes = new byte[input.remaining()];
+            input.duplicate().get(bytes);
+        }
+        return decode(bytes, outputParameters);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T extends Type> T decode(byte[] input, int offset, Class<T> type) {
+        if (NumericType.class.isAssignableFrom(type)) {
+            return (T) decodeNumeric(input, offset, (Class<NumericType>) type);
+        } else if (Address.class.isAssignableFrom(type)) {
+            return (T) new Address(decodeNumeric(input, offset, Uint160.class));
+        } else if (Bool.class.isAssignableFrom(type)) {
+            return (T) decodeBool(input, offset);
+        } else if (Bytes.class.isAssignableFrom(type)) {
+            return (T) decodeBytes(input, offset, (Class<Bytes>) type);
+        } else if (DynamicBytes.class.isAssignableFrom(type)) {
+            return (T) new DynamicBytes(decodeDynamicBytes(input, offset));
+        } else if (Utf8String.class.isAssignableFrom(type)) {
+            int length = decodeUintAsInt(input, offset);
+            int valueOffset = offset + MAX_BYTE_LENGTH;
+            checkBounds(input, valueOffset, length);
+            String value = new String(input, valueOffset, length, StandardCharsets.UTF_8);
+            return (T) new Utf8String(value);
+        } else if (Array.class.isAssignableFrom(type)) {
+            throw new UnsupportedOperationException(
+                    "Array types must be wrapped in a TypeReference");
+        } else {
+            throw new UnsupportedOperationException("Type cannot be decoded: " + type.getClass());
+        }
+    }
+
+    public static <T extends NumericType> T decodeNumeric(
+            byte[] input, int offset, Class<T> type) {
+        checkBounds(input, offset, MAX_BYTE_LENGTH);
+        int typeLengthAsBytes = TypeDecoder.getTypeLengthInBytes(type);
+
+        byte[] resultByteArray = new byte[typeLengthAsBytes + 1];
+        if (Int.class.isAssignableFrom(type) || Fixed.class.isAssignableFrom(type)) {
+            resultByteArray[0] = input[offset]; // take MSB as sign bit
+        }
+
+        int valueOffset = offset + MAX_BYTE_LENGTH - typeLengthAsBytes;
+        System.arraycopy(input, valueOffset, resultByteArray, 1, typeLengthAsBytes);
+
+        return TypeDecoder.instantiateNumeric(type, new BigInteger(resultByteArray));
+    }
+
+    public static Bool decodeBool(byte[] input, int offset) {
+        checkBounds(input, offset, MAX_BYTE_LENGTH);
+        int end = offset + MAX_BYTE_LENGTH - 1;
+        for (int i = offset; i < end; i++) {
+            if (input[i] != 0) {
+                return new Bool(false);
+            }
+        }
+        return new Bool(input[end] == 1);
+    }
+
+    public static <T extends Bytes> T decodeBytes(byte[] input, int offset, Class<T> type) {
+        int length = TypeDecoder.getBytesLength(type);
+        checkBounds(input, offset, length);
+        return TypeDecoder.instantiateBytes(
+                type, Arrays.copyOfRange(input, offset, offset + length));
+    }
+
+    /**
+     * Read a uint256 word as an int, as used for offsets and lengths. As with {@link
+     * TypeDecoder}, only the low 32 bits are taken into account.
+     */
+    static int decodeUintAsInt(byte[] input, int offset) {
+        checkBounds(input, offset, MAX_BYTE_LENGTH);
+        int end = offset + MAX_BYTE_LENGTH;
+        return ((input[end - 4] & 0xff) << 24)
+                | ((input[end - 3] & 0xff) << 16)
+                | ((input[end - 2] & 0xff) << 8)
+                | (input[end - 1] & 0xff);
+    }
+
+    static byte[] decodeDynamicBytes(byte[] input, int offset) {
+        int length = decodeUintAsInt(input, offset);
+        int valueOffset = offset + MAX_BYTE_LENGTH;
+        checkBounds(input, valueOffset, length);
+        return Arrays.copyOfRange(input, valueOffset, valueOffset + length);
+    }
+
+    public static <T extends Type> T decodeStaticArray(
+            byte[] input, int offset, TypeReference<T> typeReference, int length) {
+        List<T> elements = decodeArrayElements(input, offset, typeReference, length);
+        if (elements.isEmpty()) {
+            throw new UnsupportedOperationException("Zero length fixed array is invalid type");
+        }
+        return TypeDecoder.instantiateStaticArray(elements, length);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T extends Type> T decodeDynamicArray(
+            byte[] input, int offset, TypeReference<T> typeReference) {
+        int length = decodeUintAsInt(input, offset);
+        List<T> elements =
+                decodeArrayElements(input, offset + MAX_BYTE_LENGTH, typeReference, length);
+        return (T)
+                new DynamicArray(TypeDecoder.getDynamicArrayComponentType(typeReference), elements);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T extends Type> T decodeStaticStruct(
+            byte[] input, int offset, TypeReference<T> typeReference) {
+        try {
+            Class<?>[] parameterTypes =
+                    DecoderPlan.of(typeReference.getClassType()).getParameterTypes();
+            List<T> elements = new ArrayList<>(parameterTypes.length);
+
+            int currOffset = offset;
+            for (Class<?> parameterType : parameterTypes) {
+                Class<T> declaredField = (Class<T>) parameterType;
+                if (StaticStruct.class.isAssignableFrom(declaredField)) {
+                    elements.add(
+                            decodeStaticStruct(
+                                    input, currOffset, TypeReference.create(declaredField)));
+                    currOffset += getStaticStructLength(declaredField);
+                } else {
+                    elements.add(decode(input, currOffset, declaredField));
+                    currOffset += MAX_BYTE_LENGTH;
+                }
+            }
+            return instantiateStruct(typeReference, elements);
+        } catch (ClassNotFoundException e) {
+            throw unableToAccess(typeReference, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T extends Type> T decodeDynamicStruct(
+            byte[] input, int offset, TypeReference<T> typeReference) {
+        try {
+            DecoderPlan plan = DecoderPlan.of(typeReference.getClassType());
+            Class<?>[] parameterTypes = plan.getParameterTypes();
+            List<T> elements = new ArrayList<>(parameterTypes.length);
+
+            int staticOffset = offset;
+            for (int i = 0; i < parameterTypes.length; i++) {
+                Class<T> declaredField = (Class<T>) parameterTypes[i];
+                T value;
+                if (isDynamic(declaredField)) {
+                    // offsets of dynamic members are relative to the start of the struct
+                    int parameterOffset = offset + decodeUintAsInt(input, staticOffset);
+                    value =
+                            decodeDynamicStructMember(
+                                    input,
+                                    parameterOffset,
+                                    declaredField,
+                                    plan.getParameterAnnotations()[i]);
+                    staticOffset += MAX_BYTE_LENGTH;
+                } else if (StaticStruct.class.isAssignableFrom(declaredField)) {
+                    value =
+                            decodeStaticStruct(
+                                    input, staticOffset, TypeReference.create(declaredField));
+                    staticOffset += getStaticStructLength(declaredField);
+                } else {
+                    value = decode(input, staticOffset, declaredField);
+                    staticOffset += value.bytes32PaddedLength();
+                }
+                elements.add(value);
+            }
+            return instantiateStruct(typeReference, elements);
+        } catch (ClassNotFoundException e) {
+            throw unableToAccess(typeReference, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Type> T decodeDynamicStructMember(
+            byte[] input,
+            int offset,
+            Class<T> declaredField,
+            Annotation[] annotations) {
+        if (DynamicStruct.class.isAssignableFrom(declaredField)) {
+            return decodeDynamicStruct(input, offset, TypeReference.create(declaredField));
+        } else if (DynamicArray.class.isAssignableFrom(declaredField)) {
+            Class<T> parameter = Utils.extractParameterFromAnnotation(annotations);
+            return (T)
+                    decodeDynamicArray(
+                            input, offset, Utils.getDynamicArrayTypeReference(parameter));
+        } else {
+            return decode(input, offset, declaredField);
+        }
+    }
+
+    private static <T extends Type> List<T> decodeArrayElements(
+            byte[] input, int offset, TypeReference<T> typeReference, int length) {
+        try {
+            Class<T> cls = getParameterizedTypeFromArray(typeReference);
+            if (Array.class.isAssignableFrom(cls) && !StructType.class.isAssignableFrom(cls)) {
+                throw new UnsupportedOperationException(
+                        "Arrays of arrays are not currently supported for external functions, see"
+                                + "http://solidity.readthedocs.io/en/develop/types.html#members");
+            }
+
+            List<T> elements = new ArrayList<>(length);
+            int currOffset = offset;
+            for (int i = 0; i < length; i++) {
+                if (DynamicStruct.class.isAssignableFrom(cls)) {
+                    int dataOffset = offset + decodeUintAsInt(input, currOffset);
+                    elements.add(decodeDynamicStruct(input, dataOffset, TypeReference.create(cls)));
+                    currOffset += MAX_BYTE_LENGTH;
+                } else if (StaticStruct.class.isAssignableFrom(cls)) {
+                    elements.add(decodeStaticStruct(input, currOffset, TypeReference.create(cls)));
+                    currOffset += getStaticStructLength(cls);
+                } else if (isDynamic(cls)) {
+                    int dataOffset = offset + decodeUintAsInt(input, currOffset);
+                    elements.add(decode(input, dataOffset, cls));
+                    currOffset += MAX_BYTE_LENGTH;
+                } else {
+                    elements.add(decode(input, currOffset, cls));
+                    currOffset += MAX_BYTE_LENGTH;
+                }
+            }
+            return elements;
+        } catch (ClassNotFoundException e) {
+            throw unableToAccess(typeReference, e);
+        }
+    }
+
+    private static int getDataOffset(byte[] input, int offset, TypeReference<?> typeReference)
+            throws ClassNotFoundException {
+        Class<?> type = typeReference.getClassType();
+        if (DynamicBytes.class.isAssignableFrom(type)
+                || Utf8String.class.isAssignableFrom(type)
+                || DynamicArray.class.isAssignableFrom(type)
+                || hasDynamicOffsetInStaticArray(typeReference)) {
+            return decodeUintAsInt(input, offset);
+        } else {
+            return offset;
+        }
+    }
+
+    private static boolean hasDynamicOffsetInStaticArray(TypeReference<?> typeReference)
+            throws ClassNotFoundException {
+        if (!StaticArray.class.isAssignableFrom(typeReference.getClassType())) {
+            return false;
+        }
+        try {
+            Class<Type> componentType = getParameterizedTypeFromArray(typeReference);
+            return DynamicStruct.class.isAssignableFrom(componentType) || isDynamic(componentType);
+        } catch (ClassCastException e) {
+            return false;
+        }
+    }
+
+    private static int getStaticArrayHeadLength(TypeReference<?> typeReference, int length)
+            throws ClassNotFoundException {
+        Class<Type> componentType = getParameterizedTypeFromArray(typeReference);
+        if (DynamicStruct.class.isAssignableFrom(componentType) || isDynamic(componentType)) {
+            // the elements are encoded in the tail, the head only holds their offset
+            return MAX_BYTE_LENGTH;
+        } else if (StaticStruct.class.isAssignableFrom(componentType)) {
+            return getStaticStructLength(componentType) * length;
+        } else {
+            return length * MAX_BYTE_LENGTH;
+        }
+    }
+
+    private static int getStaticStructLength(Class<?> structType) {
+        return DecoderPlan.of(structType).getStaticStructFieldCount() * MAX_BYTE_LENGTH;
+    }
+
+    private static <T extends Type> T instantiateStruct(
+            TypeReference<T> typeReference, List<T> elements) {
+        if (elements.isEmpty()) {
+            throw new UnsupportedOperationException("Zero length fixed array is invalid type");
+        }
+        return TypeDecoder.instantiateStruct(typeReference, elements);
+    }
+
+    private static UnsupportedOperationException unableToAccess(
+            TypeReference<?> typeReference, ClassNotFoundException e) {
+        return new UnsupportedOperationException(
+                "Unable to access parameterized type " + Utils.getTypeName(typeReference.getType()),
+                e);
+    }
+
+    private static void checkBounds(byte[] input, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > input.length - length) {
+            throw new IndexOutOfBoundsException(
+                    "Cannot read "
+                            + length
+                            + " bytes at offset "
+                            + offset
+                            + " from ABI encoded input of length "
+                            + input.length);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.abi;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.Bytes;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.DynamicBytes;
+import org.web3j.abi.datatypes.DynamicStruct;
+import org.web3j.abi.datatypes.NumericType;
+import org.web3j.abi.datatypes.StaticArray;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.primitive.PrimitiveType;
+import org.web3j.utils.Numeric;
+
+import static org.web3j.abi.datatypes.Type.MAX_BYTE_LENGTH;
+
+/**
+ * Ethereum Contract Application Binary Interface (ABI) encoding into a byte buffer.
+ *
+ * <p>Produces the same encoding as {@link TypeEncoder}, but writes bytes directly into a growable
+ * buffer rather than concatenating hex strings. Offsets of dynamic values are written as
+ * placeholders and patched once the tail has been written, so every value is encoded exactly
+ * once. An instance can be reused for multiple encodings by calling {@link #reset()}, and is not
+ * thread safe.
+ */
+public class BinaryTypeEncoder {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private byte[] buffer;
+    private int size;
+
+    public BinaryTypeEncoder() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public BinaryTypeEncoder(int initialCapacity) {
+        this.buffer = new byte[Math.max(initialCapacity, MAX_BYTE_LENGTH)];
+    }
+
+    /** Discard the encoded bytes, keeping the buffer for reuse. */
+    public void reset() {
+        size = 0;
+    }
+
+    /**
+     * Number of bytes encoded since the last {@link #reset()}.
+     *
+     * @return encoded length
+     */
+    public int size() {
+        return size;
+    }
+
+    int capacity() {
+        return buffer.length;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    public String toHexString(boolean withPrefix) {
+        return Numeric.toHexString(buffer, 0, size, withPrefix);
+    }
+
+    /**
+     * Copy the encoded bytes into a buffer, advancing its position.
+     *
+     * @param destination buffer to write to
+     */
+    public void writeTo(ByteBuffer destination) {
+        destination.put(buffer, 0, size);
+    }
+
+    /**
+     * Append raw bytes, e.g. a function selector, without padding.
+     *
+     * @param bytes bytes to append
+     */
+    public void writeRaw(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    /**
+     * Encode a list of values as a tuple, as for function parameters.
+     *
+     * @param parameters values to encode
+     */
+    public void encodeParameters(List<? extends Type> parameters) {
+        encodeTuple(parameters);
+    }
+
+    /**
+     * Encode a single value, as {@link TypeEncoder#encode(Type)} would.
+     *
+     * @param parameter value to encode
+     */
+    @SuppressWarnings("unchecked")
+    public void encode(Type parameter) {
+        if (parameter instanceof NumericType) {
+            encodeNumeric((NumericType) parameter);
+        } else if (parameter instanceof Address) {
+            encodeNumeric(((Address) parameter).toUint());
+        } else if (parameter instanceof Bool) {
+            encodeBool((Bool) parameter);
+        } else if (parameter instanceof Bytes) {
+            encodeBytes(((Bytes) parameter).getValue());
+        } else if (parameter instanceof DynamicBytes) {
+            encodeDynamicBytes(((DynamicBytes) parameter).getValue());
+        } else if (parameter instanceof Utf8String) {
+            encodeDynamicBytes(
+                    ((Utf8String) parameter).getValue().getBytes(StandardCharsets.UTF_8));
+        } else if (parameter instanceof StaticArray) {
+            StaticArray<Type> array = (StaticArray<Type>) parameter;
+            if (DynamicStruct.class.isAssignableFrom(array.getComponentType())) {
+                encodeTuple(array.getValue());
+            } else {
+                encodeValues(array.getValue());
+            }
+        } else if (parameter instanceof DynamicStruct) {
+            encodeTuple(((DynamicStruct) parameter).getValue());
+        } else if (parameter instanceof DynamicArray) {
+            encodeDynamicArray((DynamicArray<Type>) parameter);
+        } else if (parameter instanceof PrimitiveType) {
+            encode(((PrimitiveType) parameter).toSolidityType());
+        } else {
+            throw new UnsupportedOperationException(
+                    "Type cannot be encoded: " + parameter.getClass());
+        }
+    }
+
+    private void encodeTuple(List<? extends Type> values) {
+        int start = size;
+        int[] offsetPositions = null;
+        for (int i = 0; i < values.size(); i++) {
+            Type value = values.get(i);
+            if (TypeEncoder.isDynamic(value)) {
+                if (offsetPositions == null) {
+                    offsetPositions = new int[values.size()];
+                }
+                offsetPositions[i] = size;
+                // placeholder, patched once the position of the tail is known
+                writeUint(0);
+            } else {
+                encode(value);
+            }
+        }
+        if (offsetPositions != null) {
+            for (int i = 0; i < values.size(); i++) {
+                Type value = values.get(i);
+                if (TypeEncoder.isDynamic(value)) {
+                    writeUintAt(offsetPositions[i], size - start);
+                    encode(value);
+                }
+            }
+        }
+    }
+
+    private void encodeValues(List<? extends Type> values) {
+        for (Type value : values) {
+            encode(value);
+        }
+    }
+
+    private void encodeDynamicArray(DynamicArray<Type> array) {
+        List<Type> values = array.getValue();
+        writeUint(values.size());
+        Type first = values.isEmpty() ? null : values.get(0);
+        // as with TypeEncoder, only arrays of bytes, strings and dynamic structs carry offsets
+        if (first instanceof DynamicBytes
+                || first instanceof Utf8String
+                || first instanceof DynamicStruct) {
+            encodeTuple(values);
+        } else {
+            encodeValues(values);
+        }
+    }
+
+    private void encodeNumeric(NumericType numericType) {
+        BigInteger value = numericType.getValue();
+        byte[] rawValue = value.toByteArray();
+        int rawOffset = 0;
+        int rawLength = rawValue.length;
+        if (rawLength > MAX_BYTE_LENGTH && rawValue[0] == 0) {
+            // sign byte of an unsigned 256 bit value
+            rawOffset = 1;
+            rawLength--;
+        }
+
+        ensureCapacity(MAX_BYTE_LENGTH);
+        int padding = MAX_BYTE_LENGTH - rawLength;
+        Arrays.fill(buffer, size, size + padding, value.signum() == -1 ? (byte) 0xff : 0);
+        System.arraycopy(rawValue, rawOffset, buffer, size + padding, rawLength);
+        size += MAX_BYTE_LENGTH;
+    }
+
+    private void encodeBool(Bool value) {
+        writeUint(value.getValue() ? 1 : 0);
+    }
+
+    private void encodeBytes(byte[] value) {
+        int paddedLength = (value.length + MAX_BYTE_LENGTH - 1) / MAX_BYTE_LENGTH * MAX_BYTE_LENGTH;
+        ensureCapacity(paddedLength);
+        System.arraycopy(value, 0, buffer, size, value.length);
+        Arrays.fill(buffer, size + value.length, size + paddedLength, (byte) 0);
+        size += paddedLength;
+    }
+
+    private void encodeDynamicBytes(byte[] value) {
+        writeUint(value.length);
+        encodeBytes(value);
+    }
+
+    private void writeUint(long value) {
+        ensureCapacity(MAX_BYTE_LENGTH);
+        writeUintAt(size, value);
+        size += MAX_BYTE_LENGTH;
+    }
+
+    private void writeUintAt(int position, long value) {
+        int end = position + MAX_BYTE_LENGTH;
+        Arrays.fill(buffer, position, end - Long.BYTES, (byte) 0);
+        for (int i = end - 1; i >= end - Long.BYTES; i--) {
+            buffer[i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    private void ensureCapacity(int additional) {
+        if (additional > buffer.length - size) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, size + additional));
+        }
+    }
+}
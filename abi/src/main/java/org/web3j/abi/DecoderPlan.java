@@ -0,0 +1,254 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.abi;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.web3j.abi.datatypes.AbiTypes;
+import org.web3j.abi.datatypes.Bytes;
+import org.web3j.abi.datatypes.NumericType;
+import org.web3j.abi.datatypes.StaticStruct;
+import org.web3j.abi.datatypes.StructType;
+import org.web3j.abi.datatypes.Type;
+
+/**
+ * Reflective metadata required to decode a {@link Type}, resolved once per class.
+ *
+ * <p>Constructors are looked up and converted to {@link MethodHandle}s when a plan is first
+ * requested, together with type lengths and struct layouts, so repeatedly decoding the same
+ * function outputs or event parameters does not perform any further reflective lookups.
+ */
+final class DecoderPlan {
+
+    private static final ClassValue<DecoderPlan> PLANS =
+            new ClassValue<DecoderPlan>() {
+                @Override
+                protected DecoderPlan computeValue(Class<?> type) {
+                    return new DecoderPlan(type);
+                }
+            };
+
+    private static final Map<Integer, MethodHandle> STATIC_ARRAY_CONSTRUCTORS =
+            new ConcurrentHashMap<>();
+
+    private static final MethodType SINGLE_ARGUMENT =
+            MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType ARGUMENT_ARRAY =
+            MethodType.methodType(Object.class, Object[].class);
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private final Class<?> type;
+    private final MethodHandle constructor;
+    private final ReflectiveOperationException constructorError;
+    private final int length;
+    private final Class<?>[] parameterTypes;
+    private final Annotation[][] parameterAnnotations;
+    private final int dynamicParameterCount;
+
+    // resolved on first use, as only array component types need it
+    private volatile Class<? extends Type> abiType;
+
+    private DecoderPlan(Class<?> type) {
+        this.type = type;
+
+        MethodHandle handle = null;
+        ReflectiveOperationException error = null;
+        Class<?>[] parameters = new Class<?>[0];
+        Annotation[][] annotations = new Annotation[0][];
+        int typeLength = 0;
+        try {
+            if (NumericType.class.isAssignableFrom(type)) {
+                typeLength = TypeDecoder.getTypeLength(asNumericType(type)) >> 3;
+                handle = singleArgumentConstructor(type, BigInteger.class);
+            } else if (Bytes.class.isAssignableFrom(type)) {
+                typeLength =
+                        Integer.parseInt(
+                                type.getSimpleName().split(Bytes.class.getSimpleName())[1]);
+                handle = singleArgumentConstructor(type, byte[].class);
+            } else if (StructType.class.isAssignableFrom(type)) {
+                Constructor<?> structConstructor = Utils.findStructConstructor(type);
+                parameters = structConstructor.getParameterTypes();
+                annotations = structConstructor.getParameterAnnotations();
+                if (StaticStruct.class.isAssignableFrom(type)) {
+                    typeLength = Utils.staticStructNestedPublicFieldsFlatList(asType(type)).size();
+                }
+                structConstructor.setAccessible(true);
+                handle =
+                        LOOKUP.unreflectConstructor(structConstructor)
+                                .asSpreader(Object[].class, parameters.length)
+                                .asType(ARGUMENT_ARRAY);
+            }
+        } catch (ReflectiveOperationException e) {
+            error = e;
+        }
+
+        this.constructor = handle;
+        this.constructorError = error;
+        this.length = typeLength;
+        this.parameterTypes = parameters;
+        this.parameterAnnotations = annotations;
+        this.dynamicParameterCount =
+                (int)
+                        Arrays.stream(parameters)
+                                .filter(c -> TypeDecoder.isDynamic(asType(c)))
+                                .count();
+    }
+
+    static DecoderPlan of(Class<?> type) {
+        return PLANS.get(type);
+    }
+
+    /**
+     * Length in bytes of a numeric type, or of a fixed size bytes type.
+     *
+     * @return value length in bytes
+     */
+    int getTypeLengthInBytes() {
+        return length;
+    }
+
+    /**
+     * Number of words in the encoding of a static struct, including nested structs.
+     *
+     * @return flattened field count
+     */
+    int getStaticStructFieldCount() {
+        return length;
+    }
+
+    Class<?>[] getParameterTypes() {
+        return parameterTypes;
+    }
+
+    Annotation[][] getParameterAnnotations() {
+        return parameterAnnotations;
+    }
+
+    int getDynamicParameterCount() {
+        return dynamicParameterCount;
+    }
+
+    /**
+     * Type used as the component type of dynamic arrays of this type, as resolved by {@link
+     * AbiTypes#getType(String)}.
+     *
+     * @return array component type
+     */
+    Class<? extends Type> getAbiType() {
+        Class<? extends Type> result = abiType;
+        if (result == null) {
+            result = AbiTypes.getType(Utils.getSimpleTypeName(type));
+            abiType = result;
+        }
+        return result;
+    }
+
+    /**
+     * Create a numeric or fixed size bytes value.
+     *
+     * @param value {@link BigInteger} or byte array
+     * @return new instance of the type of this plan
+     */
+    @SuppressWarnings("unchecked")
+    <T> T newInstance(Object value) {
+        MethodHandle handle = checkConstructor();
+        try {
+            return (T) (Object) handle.invokeExact(value);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UnsupportedOperationException(
+                    "Unable to create instance of " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Create a struct from its decoded fields.
+     *
+     * @param values decoded fields, in constructor order
+     * @return new instance of the struct type of this plan
+     */
+    @SuppressWarnings("unchecked")
+    <T> T newStruct(List<?> values) {
+        MethodHandle handle = checkConstructor();
+        Object[] arguments = values.toArray();
+        try {
+            return (T) (Object) handle.invokeExact(arguments);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UnsupportedOperationException(
+                    "Constructor cannot accept" + Arrays.toString(arguments), e);
+        }
+    }
+
+    /**
+     * Create a static array of one of the generated StaticArray types.
+     *
+     * @param length size of the array
+     * @param elements array elements
+     * @return new static array
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T newStaticArray(int length, List<?> elements) {
+        MethodHandle handle = STATIC_ARRAY_CONSTRUCTORS.get(length);
+        try {
+            if (handle == null) {
+                Class<?> arrayClass =
+                        Class.forName("org.web3j.abi.datatypes.generated.StaticArray" + length);
+                handle = singleArgumentConstructor(arrayClass, List.class);
+                STATIC_ARRAY_CONSTRUCTORS.putIfAbsent(length, handle);
+            }
+            return (T) (Object) handle.invokeExact((Object) elements);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UnsupportedOperationException(e);
+        }
+    }
+
+    private MethodHandle checkConstructor() {
+        if (constructor == null) {
+            throw new UnsupportedOperationException(
+                    "Unable to create instance of " + type.getName(), constructorError);
+        }
+        return constructor;
+    }
+
+    private static MethodHandle singleArgumentConstructor(Class<?> type, Class<?> argumentType)
+            throws NoSuchMethodException, IllegalAccessException {
+        return LOOKUP.unreflectConstructor(type.getConstructor(argumentType))
+                .asType(SINGLE_ARGUMENT);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<NumericType> asNumericType(Class<?> type) {
+        return (Class<NumericType>) type;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<Type> asType(Class<?> type) {
+        return (Class<Type>) type;
+    }
+}
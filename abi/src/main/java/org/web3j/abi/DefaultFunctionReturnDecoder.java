@@ -33,7 +33,6 @@ import org.web3j.utils.Strings;
 import static org.web3j.abi.TypeDecoder.MAX_BYTE_LENGTH_FOR_HEX_STRING;
 import static org.web3j.abi.TypeDecoder.isDynamic;
 import static org.web3j.abi.Utils.getParameterizedTypeFromArray;
-import static org.web3j.abi.Utils.staticStructNestedPublicFieldsFlatList;
 
 /**
  * Ethereum Contract Application Binary Interface (ABI) encoding for functions. Further details are
@@ -113,7 +112,7 @@ public class DefaultFunctionReturnDecoder extends FunctionReturnDecoder {
                             TypeDecoder.decodeStaticStruct(
                                     input, hexStringDataOffset, typeReference);
                     offset +=
-                            staticStructNestedPublicFieldsFlatList(classType).size()
+                            DecoderPlan.of(classType).getStaticStructFieldCount()
                                     * MAX_BYTE_LENGTH_FOR_HEX_STRING;
                 } else if (StaticArray.class.isAssignableFrom(classType)) {
                     int length =
@@ -130,10 +129,8 @@ public class DefaultFunctionReturnDecoder extends FunctionReturnDecoder {
                     } else if (StaticStruct.class.isAssignableFrom(
                             getParameterizedTypeFromArray(typeReference))) {
                         offset +=
-                                staticStructNestedPublicFieldsFlatList(
-                                                        getParameterizedTypeFromArray(
-                                                                typeReference))
-                                                .size()
+                                DecoderPlan.of(getParameterizedTypeFromArray(typeReference))
+                                                .getStaticStructFieldCount()
                                         * length
                                         * MAX_BYTE_LENGTH_FOR_HEX_STRING;
                     } else if (Utf8String.class.isAssignableFrom(
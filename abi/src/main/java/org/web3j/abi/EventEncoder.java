@@ -12,8 +12,8 @@
  */
 package org.web3j.abi;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.web3j.abi.datatypes.Event;
 import org.web3j.abi.datatypes.Type;
@@ -26,6 +26,9 @@ import org.web3j.utils.Numeric;
  */
 public class EventEncoder {
 
+    private static final SignatureCache TOPICS =
+            new SignatureCache(EventEncoder::hashEventSignature);
+
     private EventEncoder() {}
 
     public static String encode(Event event) {
@@ -41,15 +44,22 @@ public class EventEncoder {
         StringBuilder result = new StringBuilder();
         result.append(methodName);
         result.append("(");
-        String params =
-                parameters.stream().map(Utils::getTypeName).collect(Collectors.joining(","));
-        result.append(params);
+        for (int i = 0; i < parameters.size(); i++) {
+            if (i > 0) {
+                result.append(",");
+            }
+            result.append(Utils.getTypeName(parameters.get(i)));
+        }
         result.append(")");
         return result.toString();
     }
 
     public static String buildEventSignature(String methodSignature) {
-        byte[] input = methodSignature.getBytes();
+        return TOPICS.get(methodSignature);
+    }
+
+    private static String hashEventSignature(String methodSignature) {
+        byte[] input = methodSignature.getBytes(StandardCharsets.UTF_8);
         byte[] hash = Hash.sha3(input);
         return Numeric.toHexString(hash);
     }
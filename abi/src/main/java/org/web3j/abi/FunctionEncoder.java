@@ -13,11 +13,11 @@
 package org.web3j.abi;
 
 import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ServiceLoader;
-import java.util.stream.Collectors;
 
 import org.web3j.abi.datatypes.Function;
 import org.web3j.abi.datatypes.Type;
@@ -39,6 +39,9 @@ public abstract class FunctionEncoder {
 
     private static final FunctionEncoder FUNCTION_ENCODER;
 
+    private static final SignatureCache METHOD_IDS =
+            new SignatureCache(FunctionEncoder::hashMethodSignature);
+
     static {
         ServiceLoader<FunctionEncoderProvider> loader =
                 ServiceLoader.load(FunctionEncoderProvider.class);
@@ -100,16 +103,23 @@ public abstract class FunctionEncoder {
         final StringBuilder result = new StringBuilder();
         result.append(methodName);
         result.append("(");
-        final String params =
-                parameters.stream().map(Type::getTypeAsString).collect(Collectors.joining(","));
-        result.append(params);
+        for (int i = 0; i < parameters.size(); i++) {
+            if (i > 0) {
+                result.append(",");
+            }
+            result.append(parameters.get(i).getTypeAsString());
+        }
         result.append(")");
         return result.toString();
     }
 
     protected static String buildMethodId(final String methodSignature) {
-        final byte[] input = methodSignature.getBytes();
+        return METHOD_IDS.get(methodSignature);
+    }
+
+    private static String hashMethodSignature(final String methodSignature) {
+        final byte[] input = methodSignature.getBytes(StandardCharsets.UTF_8);
         final byte[] hash = Hash.sha3(input);
-        return Numeric.toHexString(hash).substring(0, 10);
+        return Numeric.toHexString(hash, 0, 4, true);
     }
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.abi;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Memoized hashes of method and event signatures, such as function selectors and event topics.
+ *
+ * <p>Contracts call the same few functions and filter the same few events over and over, so their
+ * signatures are hashed once. The cache is bounded: once full, further signatures are hashed on
+ * every use instead of evicting the ones already cached.
+ */
+final class SignatureCache {
+
+    static final int DEFAULT_MAX_SIZE = 4096;
+
+    private final Map<String, String> hashes = new ConcurrentHashMap<>();
+    private final UnaryOperator<String> hashFunction;
+    private final int maxSize;
+
+    SignatureCache(UnaryOperator<String> hashFunction) {
+        this(hashFunction, DEFAULT_MAX_SIZE);
+    }
+
+    SignatureCache(UnaryOperator<String> hashFunction, int maxSize) {
+        this.hashFunction = hashFunction;
+        this.maxSize = maxSize;
+    }
+
+    String get(String signature) {
+        String hash = hashes.get(signature);
+        if (hash == null) {
+            hash = hashFunction.apply(signature);
+            if (hashes.size() < maxSize) {
+                hashes.putIfAbsent(signature, hash);
+            }
+        }
+        return hash;
+    }
+
+    int size() {
+        return hashes.size();
+    }
+}
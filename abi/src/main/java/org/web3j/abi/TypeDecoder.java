@@ -25,7 +25,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.BiFunction;
 
-import org.web3j.abi.datatypes.AbiTypes;
 import org.web3j.abi.datatypes.Address;
 import org.web3j.abi.datatypes.Array;
 import org.web3j.abi.datatypes.Bool;
@@ -53,9 +52,7 @@ import org.web3j.utils.Numeric;
 
 import static org.web3j.abi.DefaultFunctionReturnDecoder.getDataOffset;
 import static org.web3j.abi.TypeReference.makeTypeReference;
-import static org.web3j.abi.Utils.findStructConstructor;
 import static org.web3j.abi.Utils.getSimpleTypeName;
-import static org.web3j.abi.Utils.staticStructNestedPublicFieldsFlatList;
 
 /**
  * Ethereum Contract Application Binary Interface (ABI) decoding for types. Decoding is not
@@ -132,35 +129,28 @@ public class TypeDecoder {
     }
 
     public static <T extends NumericType> T decodeNumeric(String input, Class<T> type) {
-        try {
-            byte[] inputByteArray = Numeric.hexStringToByteArray(input);
-            int typeLengthAsBytes = getTypeLengthInBytes(type);
+        byte[] inputByteArray = Numeric.hexStringToByteArray(input);
+        int typeLengthAsBytes = getTypeLengthInBytes(type);
 
-            byte[] resultByteArray = new byte[typeLengthAsBytes + 1];
+        byte[] resultByteArray = new byte[typeLengthAsBytes + 1];
 
-            if (Int.class.isAssignableFrom(type) || Fixed.class.isAssignableFrom(type)) {
-                resultByteArray[0] = inputByteArray[0]; // take MSB as sign bit
-            }
+        if (Int.class.isAssignableFrom(type) || Fixed.class.isAssignableFrom(type)) {
+            resultByteArray[0] = inputByteArray[0]; // take MSB as sign bit
+        }
 
-            int valueOffset = Type.MAX_BYTE_LENGTH - typeLengthAsBytes;
-            System.arraycopy(inputByteArray, valueOffset, resultByteArray, 1, typeLengthAsBytes);
+        int valueOffset = Type.MAX_BYTE_LENGTH - typeLengthAsBytes;
+        System.arraycopy(inputByteArray, valueOffset, resultByteArray, 1, typeLengthAsBytes);
 
-            BigInteger numericValue = new BigInteger(resultByteArray);
-            return type.getConstructor(BigInteger.class).newInstance(numericValue);
+        BigInteger numericValue = new BigInteger(resultByteArray);
+        return instantiateNumeric(type, numericValue);
+    }
 
-        } catch (NoSuchMethodException
-                | SecurityException
-                | InstantiationException
-                | IllegalAccessException
-                | IllegalArgumentException
-                | InvocationTargetException e) {
-            throw new UnsupportedOperationException(
-                    "Unable to create instance of " + type.getName(), e);
-        }
+    static <T extends NumericType> T instantiateNumeric(Class<T> type, BigInteger value) {
+        return DecoderPlan.of(type).newInstance(value);
     }
 
     static <T extends NumericType> int getTypeLengthInBytes(Class<T> type) {
-        return getTypeLength(type) >> 3; // divide by 8
+        return DecoderPlan.of(type).getTypeLengthInBytes();
     }
 
     static <T extends NumericType> int getTypeLength(Class<T> type) {
@@ -270,7 +260,7 @@ public class TypeDecoder {
             // length field + data value
             return (decodeUintAsInt(input, offset) / Type.MAX_BYTE_LENGTH) + 2;
         } else if (StaticStruct.class.isAssignableFrom(type)) {
-            return staticStructNestedPublicFieldsFlatList((Class<Type>) type).size();
+            return DecoderPlan.of(type).getStaticStructFieldCount();
         } else {
             return 1;
         }
@@ -293,24 +283,20 @@ public class TypeDecoder {
     }
 
     public static <T extends Bytes> T decodeBytes(String input, int offset, Class<T> type) {
-        try {
-            String simpleName = type.getSimpleName();
-            String[] splitName = simpleName.split(Bytes.class.getSimpleName());
-            int length = Integer.parseInt(splitName[1]);
-            int hexStringLength = length << 1;
-
-            byte[] bytes =
-                    Numeric.hexStringToByteArray(input.substring(offset, offset + hexStringLength));
-            return type.getConstructor(byte[].class).newInstance(bytes);
-        } catch (NoSuchMethodException
-                | SecurityException
-                | InstantiationException
-                | IllegalAccessException
-                | IllegalArgumentException
-                | InvocationTargetException e) {
-            throw new UnsupportedOperationException(
-                    "Unable to create instance of " + type.getName(), e);
-        }
+        int length = getBytesLength(type);
+        int hexStringLength = length << 1;
+
+        byte[] bytes =
+                Numeric.hexStringToByteArray(input.substring(offset, offset + hexStringLength));
+        return instantiateBytes(type, bytes);
+    }
+
+    static <T extends Bytes> int getBytesLength(Class<T> type) {
+        return DecoderPlan.of(type).getTypeLengthInBytes();
+    }
+
+    static <T extends Bytes> T instantiateBytes(Class<T> type, byte[] bytes) {
+        return DecoderPlan.of(type).newInstance(bytes);
     }
 
     public static DynamicBytes decodeDynamicBytes(String input, int offset) {
@@ -373,23 +359,17 @@ public class TypeDecoder {
             final BiFunction<List<T>, String, T> consumer) {
         try {
             Class<T> classType = typeReference.getClassType();
-            Constructor<?> constructor = findStructConstructor(classType);
-            final int length = constructor.getParameterCount();
+            final Class<?>[] parameterTypes = DecoderPlan.of(classType).getParameterTypes();
+            final int length = parameterTypes.length;
             List<T> elements = new ArrayList<>(length);
 
             for (int i = 0, currOffset = offset; i < length; i++) {
                 T value;
-                final Class<T> declaredField = (Class<T>) constructor.getParameterTypes()[i];
+                final Class<T> declaredField = (Class<T>) parameterTypes[i];
 
                 if (StaticStruct.class.isAssignableFrom(declaredField)) {
                     final int nestedStructLength =
-                            classType
-                                            .getDeclaredFields()[i]
-                                            .getType()
-                                            .getConstructors()[0]
-                                            .getParameters()
-                                            .length
-                                    * 64;
+                            DecoderPlan.of(declaredField).getStaticStructFieldCount() * 64;
                     value =
                             decodeStaticStruct(
                                     input.substring(currOffset, currOffset + nestedStructLength),
@@ -414,15 +394,12 @@ public class TypeDecoder {
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private static <T extends Type> T instantiateStruct(
+    static <T extends Type> T instantiateStruct(
             final TypeReference<T> typeReference, final List<T> parameters) {
         try {
             Class<T> classType = typeReference.getClassType();
-            Constructor ctor = findStructConstructor(classType);
-            ctor.setAccessible(true);
-            return (T) ctor.newInstance(parameters.toArray());
-        } catch (ReflectiveOperationException e) {
+            return DecoderPlan.of(classType).newStruct(parameters);
+        } catch (ClassNotFoundException e) {
             throw new UnsupportedOperationException(
                     "Constructor cannot accept" + Arrays.toString(parameters.toArray()), e);
         }
@@ -435,13 +412,26 @@ public class TypeDecoder {
         int length = decodeUintAsInt(input, offset);
 
         BiFunction<List<T>, String, T> function =
-                (elements, typeName) -> (T) new DynamicArray(AbiTypes.getType(typeName), elements);
+                (elements, typeName) ->
+                        (T) new DynamicArray(getDynamicArrayComponentType(typeReference), elements);
 
         int valueOffset = offset + MAX_BYTE_LENGTH_FOR_HEX_STRING;
 
         return decodeArrayElements(input, valueOffset, typeReference, length, function);
     }
 
+    static <T extends Type> Class<? extends Type> getDynamicArrayComponentType(
+            TypeReference<T> typeReference) {
+        try {
+            return DecoderPlan.of(Utils.getParameterizedTypeFromArray(typeReference)).getAbiType();
+        } catch (ClassNotFoundException e) {
+            throw new UnsupportedOperationException(
+                    "Unable to access parameterized type "
+                            + Utils.getTypeName(typeReference.getType()),
+                    e);
+        }
+    }
+
     public static <T extends Type> T decodeDynamicStruct(
             String input, int offset, TypeReference<T> typeReference) {
 
@@ -466,13 +456,14 @@ public class TypeDecoder {
             final BiFunction<List<T>, String, T> consumer) {
         try {
             final Class<T> classType = typeReference.getClassType();
-            Constructor<?> constructor = findStructConstructor(classType);
-            final int length = constructor.getParameterCount();
+            final DecoderPlan plan = DecoderPlan.of(classType);
+            final Class<?>[] parameterTypes = plan.getParameterTypes();
+            final int length = parameterTypes.length;
             final Map<Integer, T> parameters = new HashMap<>();
             int staticOffset = 0;
             final List<Integer> parameterOffsets = new ArrayList<>();
             for (int i = 0; i < length; ++i) {
-                final Class<T> declaredField = (Class<T>) constructor.getParameterTypes()[i];
+                final Class<T> declaredField = (Class<T>) parameterTypes[i];
                 final T value;
                 final int beginIndex = offset + staticOffset;
                 if (isDynamic(declaredField)) {
@@ -490,8 +481,7 @@ public class TypeDecoder {
                                         0,
                                         TypeReference.create(declaredField));
                         staticOffset +=
-                                staticStructNestedPublicFieldsFlatList((Class<Type>) declaredField)
-                                                .size()
+                                DecoderPlan.of(declaredField).getStaticStructFieldCount()
                                         * MAX_BYTE_LENGTH_FOR_HEX_STRING;
                     } else {
                         value = decode(input.substring(beginIndex), 0, declaredField);
@@ -501,10 +491,9 @@ public class TypeDecoder {
                 }
             }
             int dynamicParametersProcessed = 0;
-            int dynamicParametersToProcess =
-                    getDynamicStructDynamicParametersCount(constructor.getParameterTypes());
+            int dynamicParametersToProcess = plan.getDynamicParameterCount();
             for (int i = 0; i < length; ++i) {
-                final Class<T> declaredField = (Class<T>) constructor.getParameterTypes()[i];
+                final Class<T> declaredField = (Class<T>) parameterTypes[i];
                 if (isDynamic(declaredField)) {
                     final boolean isLastParameterInStruct =
                             dynamicParametersProcessed == (dynamicParametersToProcess - 1);
@@ -516,7 +505,7 @@ public class TypeDecoder {
                                             - parameterOffsets.get(dynamicParametersProcessed);
                     final Class<T> parameterFromAnnotation =
                             Utils.extractParameterFromAnnotation(
-                                    constructor.getParameterAnnotations()[i]);
+                                    plan.getParameterAnnotations()[i]);
                     parameters.put(
                             i,
                             decodeDynamicParameterFromStruct(
@@ -545,12 +534,6 @@ public class TypeDecoder {
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private static <T extends Type> int getDynamicStructDynamicParametersCount(
-            final Class<?>[] cls) {
-        return (int) Arrays.stream(cls).filter(c -> isDynamic((Class<T>) c)).count();
-    }
-
     private static <T extends Type> T decodeDynamicParameterFromStruct(
             final String input,
             final int parameterOffset,
@@ -615,16 +598,8 @@ public class TypeDecoder {
         return rslt;
     }
 
-    @SuppressWarnings("unchecked")
-    private static <T extends Type> T instantiateStaticArray(List<T> elements, int length) {
-        try {
-            Class<? extends StaticArray> arrayClass =
-                    (Class<? extends StaticArray>)
-                            Class.forName("org.web3j.abi.datatypes.generated.StaticArray" + length);
-            return (T) arrayClass.getConstructor(List.class).newInstance(elements);
-        } catch (ReflectiveOperationException e) {
-            throw new UnsupportedOperationException(e);
-        }
+    static <T extends Type> T instantiateStaticArray(List<T> elements, int length) {
+        return DecoderPlan.newStaticArray(length, elements);
     }
 
     private static <T extends Type> T decodeArrayElements(
@@ -38,6 +38,8 @@ public abstract class TypeReference<T extends org.web3j.abi.datatypes.Type>
 
     private final Type type;
     private final boolean indexed;
+    // Solidity type name, set by Utils.getTypeName when first resolved
+    String typeName;
 
     protected TypeReference() {
         this(false);
@@ -88,7 +90,9 @@ public abstract class TypeReference<T extends org.web3j.abi.datatypes.Type>
     public Class<T> getClassType() throws ClassNotFoundException {
         Type clsType = getType();
 
-        if (getType() instanceof ParameterizedType) {
+        if (clsType instanceof Class) {
+            return (Class<T>) clsType;
+        } else if (clsType instanceof ParameterizedType) {
             return (Class<T>) ((ParameterizedType) clsType).getRawType();
         } else {
             return (Class<T>) Class.forName(Utils.getTypeName(clsType));
@@ -43,6 +43,16 @@ public class Utils {
     private Utils() {}
 
     static <T extends Type> String getTypeName(TypeReference<T> typeReference) {
+        // a reference always resolves to the same name, so it is resolved once
+        String typeName = typeReference.typeName;
+        if (typeName == null) {
+            typeName = resolveTypeName(typeReference);
+            typeReference.typeName = typeName;
+        }
+        return typeName;
+    }
+
+    private static <T extends Type> String resolveTypeName(TypeReference<T> typeReference) {
         try {
             java.lang.reflect.Type reflectedType = typeReference.getType();
 
@@ -53,7 +63,10 @@ public class Utils {
             } else if (typeReference.getSubTypeReference() != null) {
                 return getParameterizedTypeName(typeReference, typeReference.getClassType());
             } else {
-                type = Class.forName(getTypeName(reflectedType));
+                type =
+                        reflectedType instanceof Class
+                                ? (Class<?>) reflectedType
+                                : Class.forName(getTypeName(reflectedType));
                 if (StructType.class.isAssignableFrom(type)) {
                     return getStructType(type);
                 }
@@ -186,6 +199,9 @@ public class Utils {
         java.lang.reflect.Type[] typeArguments =
                 ((ParameterizedType) type).getActualTypeArguments();
 
+        if (typeArguments[0] instanceof Class) {
+            return (Class<T>) typeArguments[0];
+        }
         String parameterizedTypeName = getTypeName(typeArguments[0]);
         return (Class<T>) Class.forName(parameterizedTypeName);
     }
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.abi;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.DynamicBytes;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Bytes4;
+import org.web3j.abi.datatypes.generated.Int256;
+import org.web3j.abi.datatypes.generated.StaticArray2;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.abi.datatypes.generated.Uint8;
+import org.web3j.utils.Numeric;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BinaryFunctionEncoderTest {
+
+    private final DefaultFunctionEncoder defaultEncoder = new DefaultFunctionEncoder();
+    private final BinaryFunctionEncoder binaryEncoder = new BinaryFunctionEncoder();
+
+    @Test
+    public void testSimpleTypesMatchDefaultEncoder() {
+        assertSameEncoding(
+                new Function(
+                        "simple",
+                        Arrays.asList(
+                                new Uint256(BigInteger.TWO.pow(256).subtract(BigInteger.ONE)),
+                                new Int256(BigInteger.valueOf(-1234)),
+                                new Uint8(BigInteger.valueOf(7)),
+                                new Address("0xbe5422d15f39373eb0a97ff8c10fbd0e40e29338"),
+                                new Bool(true),
+                                new Bytes4(new byte[] {1, 2, 3, 4}),
+                                new DynamicBytes(new byte[40]),
+                                new Utf8String("Hello, world!"),
+                                new DynamicArray<>(
+                                        Uint256.class,
+                                        new Uint256(BigInteger.ONE),
+                                        new Uint256(BigInteger.TEN)),
+                                new DynamicArray<>(
+                                        Utf8String.class,
+                                        new Utf8String("one"),
+                                        new Utf8String(""),
+                                        new Utf8String("three")),
+                                new StaticArray2<>(
+                                        Uint256.class,
+                                        new Uint256(BigInteger.ONE),
+                                        new Uint256(BigInteger.TWO))),
+                        Collections.emptyList()));
+    }
+
+    @Test
+    public void testStructsMatchDefaultEncoder() {
+        assertSameEncoding(AbiV2TestFixture.setFooFunction);
+        assertSameEncoding(AbiV2TestFixture.setBarFunction);
+        assertSameEncoding(AbiV2TestFixture.setBazFunction);
+        assertSameEncoding(AbiV2TestFixture.setBozFunction);
+        assertSameEncoding(AbiV2TestFixture.setFuzzFunction);
+        assertSameEncoding(AbiV2TestFixture.setNuuFunction);
+        assertSameEncoding(AbiV2TestFixture.setFooDynamicArrayFunction);
+        assertSameEncoding(AbiV2TestFixture.setBarDynamicArrayFunction);
+        assertSameEncoding(AbiV2TestFixture.addDynamicBytesArrayFunction);
+    }
+
+    @Test
+    public void testEncodeToBytes() {
+        Function function = AbiV2TestFixture.setBozFunction;
+
+        byte[] encoded = binaryEncoder.encodeFunctionToBytes(function);
+
+        assertArrayEquals(
+                Numeric.hexStringToByteArray(defaultEncoder.encodeFunction(function)), encoded);
+    }
+
+    @Test
+    public void testEncoderReuse() {
+        BinaryTypeEncoder encoder = new BinaryTypeEncoder(32);
+        encoder.encodeParameters(Collections.singletonList(new Utf8String("a long enough value")));
+        encoder.reset();
+        encoder.encode(new Uint256(BigInteger.ONE));
+
+        ByteBuffer buffer = ByteBuffer.allocate(encoder.size());
+        encoder.writeTo(buffer);
+
+        assertEquals(32, encoder.size());
+        assertEquals(
+                "0000000000000000000000000000000000000000000000000000000000000001",
+                encoder.toHexString(false));
+        assertArrayEquals(encoder.toByteArray(), buffer.array());
+    }
+
+    private void assertSameEncoding(Function function) {
+        assertEquals(
+                defaultEncoder.encodeFunction(function), binaryEncoder.encodeFunction(function));
+        assertEquals(
+                defaultEncoder.encodeParameters(function.getInputParameters()),
+                binaryEncoder.encodeParameters(function.getInputParameters()));
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.abi;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.DynamicBytes;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Bytes4;
+import org.web3j.abi.datatypes.generated.Int256;
+import org.web3j.abi.datatypes.generated.StaticArray2;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.utils.Numeric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BinaryTypeDecoderTest {
+
+    private final DefaultFunctionEncoder encoder = new DefaultFunctionEncoder();
+    private final DefaultFunctionReturnDecoder defaultDecoder = new DefaultFunctionReturnDecoder();
+    private final BinaryFunctionReturnDecoder binaryDecoder = new BinaryFunctionReturnDecoder();
+
+    @Test
+    public void testSimpleTypesMatchDefaultDecoder() {
+        List<Type> values =
+                Arrays.asList(
+                        new Uint256(BigInteger.valueOf(55)),
+                        new Int256(BigInteger.valueOf(-1234)),
+                        new Address("0xbe5422d15f39373eb0a97ff8c10fbd0e40e29338"),
+                        new Bool(true),
+                        new Bytes4(new byte[] {1, 2, 3, 4}),
+                        new DynamicBytes(new byte[40]),
+                        new Utf8String("Hello, world!"),
+                        new DynamicArray<>(
+                                Uint256.class,
+                                new Uint256(BigInteger.ONE),
+                                new Uint256(BigInteger.TEN)),
+                        new DynamicArray<>(
+                                Utf8String.class, new Utf8String("one"), new Utf8String("two")),
+                        new StaticArray2<>(
+                                Uint256.class,
+                                new Uint256(BigInteger.ONE),
+                                new Uint256(BigInteger.TWO)));
+        List<TypeReference<Type>> outputParameters =
+                Utils.convert(
+                        Arrays.asList(
+                                new TypeReference<Uint256>() {},
+                                new TypeReference<Int256>() {},
+                                new TypeReference<Address>() {},
+                                new TypeReference<Bool>() {},
+                                new TypeReference<Bytes4>() {},
+                                new TypeReference<DynamicBytes>() {},
+                                new TypeReference<Utf8String>() {},
+                                new TypeReference<DynamicArray<Uint256>>() {},
+                                new TypeReference<DynamicArray<Utf8String>>() {},
+                                new TypeReference<StaticArray2<Uint256>>() {}));
+
+        String encoded = encoder.encodeParameters(values);
+
+        List<Type> decoded = binaryDecoder.decodeFunctionResult(encoded, outputParameters);
+
+        assertEquals(defaultDecoder.decodeFunctionResult(encoded, outputParameters), decoded);
+        assertEquals(values.get(1), decoded.get(1));
+        assertEquals(values.get(2), decoded.get(2));
+        assertEquals(values.get(6), decoded.get(6));
+    }
+
+    @Test
+    public void testStructsMatchDefaultDecoder() {
+        assertSameDecoding(AbiV2TestFixture.setFooFunction, AbiV2TestFixture.getFooFunction);
+        assertSameDecoding(AbiV2TestFixture.setBarFunction, AbiV2TestFixture.getBarFunction);
+        assertSameDecoding(AbiV2TestFixture.setBozFunction, AbiV2TestFixture.getBozFunction);
+        assertSameDecoding(AbiV2TestFixture.setFuzzFunction, AbiV2TestFixture.getFuzzFunction);
+        assertSameDecoding(AbiV2TestFixture.setNuuFunction, AbiV2TestFixture.getNuuFunction);
+    }
+
+    @Test
+    public void testDecodeByteBuffer() {
+        byte[] encoded =
+                Numeric.hexStringToByteArray(
+                        encoder.encodeParameters(
+                                Collections.singletonList(new Utf8String("one more time"))));
+        ByteBuffer buffer = ByteBuffer.allocate(encoded.length + 4);
+        buffer.putInt(0).put(encoded).flip().position(4);
+
+        List<Type> result =
+                BinaryTypeDecoder.decode(
+                        buffer,
+                        Utils.convert(
+                                Collections.singletonList(new TypeReference<Utf8String>() {})));
+
+        assertEquals(new Utf8String("one more time"), result.get(0));
+        assertEquals(4, buffer.position());
+    }
+
+    @Test
+    public void testDecodeEventParameter() {
+        String hash = "0x" + "ab".repeat(32);
+
+        assertEquals(
+                defaultDecoder.decodeEventParameter(hash, new TypeReference<Utf8String>() {}),
+                binaryDecoder.decodeEventParameter(hash, new TypeReference<Utf8String>() {}));
+        assertEquals(
+                defaultDecoder.decodeEventParameter(hash, new TypeReference<Uint256>() {}),
+                binaryDecoder.decodeEventParameter(hash, new TypeReference<Uint256>() {}));
+    }
+
+    @Test
+    public void testEmptyAndTruncatedInput() {
+        List<TypeReference<Type>> outputParameters =
+                Utils.convert(Collections.singletonList(new TypeReference<Utf8String>() {}));
+
+        assertTrue(binaryDecoder.decodeFunctionResult("0x", outputParameters).isEmpty());
+        // offset and length are present, but the string data is missing
+        byte[] truncated = new byte[64];
+        truncated[31] = 0x20;
+        truncated[63] = 0x0d;
+        assertThrows(
+                IndexOutOfBoundsException.class,
+                () -> BinaryTypeDecoder.decode(truncated, outputParameters));
+    }
+
+    private void assertSameDecoding(Function setter, Function getter) {
+        String encoded = encoder.encodeParameters(setter.getInputParameters());
+        List<Type> expected =
+                defaultDecoder.decodeFunctionResult(encoded, getter.getOutputParameters());
+
+        List<Type> actual =
+                binaryDecoder.decodeFunctionResult(encoded, getter.getOutputParameters());
+
+        assertEquals(expected, actual);
+    }
+}
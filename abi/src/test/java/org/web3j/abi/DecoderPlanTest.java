@@ -0,0 +1,106 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.abi;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.abi.AbiV2TestFixture.Bar;
+import org.web3j.abi.AbiV2TestFixture.Foo;
+import org.web3j.abi.AbiV2TestFixture.Fuzz;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.StaticStruct;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.generated.Bytes4;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.abi.datatypes.generated.Uint8;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DecoderPlanTest {
+
+    public static class Deep extends StaticStruct {
+        public Fuzz fuzz;
+
+        public BigInteger data;
+
+        public Deep(Fuzz fuzz, Uint256 data) {
+            super(fuzz, data);
+            this.fuzz = fuzz;
+            this.data = data.getValue();
+        }
+    }
+
+    @Test
+    public void testPlanIsCached() {
+        assertSame(DecoderPlan.of(Uint256.class), DecoderPlan.of(Uint256.class));
+        assertSame(DecoderPlan.of(Fuzz.class), DecoderPlan.of(Fuzz.class));
+    }
+
+    @Test
+    public void testTypeLengths() {
+        assertEquals(32, DecoderPlan.of(Uint256.class).getTypeLengthInBytes());
+        assertEquals(1, DecoderPlan.of(Uint8.class).getTypeLengthInBytes());
+        assertEquals(4, DecoderPlan.of(Bytes4.class).getTypeLengthInBytes());
+        assertEquals(3, DecoderPlan.of(Fuzz.class).getStaticStructFieldCount());
+        assertEquals(4, DecoderPlan.of(Deep.class).getStaticStructFieldCount());
+        assertEquals(2, DecoderPlan.of(Foo.class).getDynamicParameterCount());
+    }
+
+    @Test
+    public void testDecodeNestedStaticStruct() {
+        Deep deep =
+                new Deep(
+                        new Fuzz(new Bar(BigInteger.ONE, BigInteger.TEN), BigInteger.TWO),
+                        new Uint256(BigInteger.valueOf(3)));
+        String encoded = FunctionEncoder.encodeConstructor(Collections.singletonList(deep));
+
+        Deep decoded = TypeDecoder.decodeStaticStruct(encoded, 0, TypeReference.create(Deep.class));
+
+        assertEquals(deep, decoded);
+        assertEquals(BigInteger.TEN, decoded.fuzz.bar.data);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDecodeDynamicArrayOfStructs() {
+        DynamicArray<Foo> array =
+                new DynamicArray<>(Foo.class, new Foo("id", "name"), new Foo("", ""));
+        String encoded = FunctionEncoder.encodeConstructor(Collections.singletonList(array));
+
+        List<Type> decoded =
+                FunctionReturnDecoder.decode(
+                        encoded,
+                        Utils.convert(
+                                Arrays.asList(new TypeReference<DynamicArray<Foo>>() {})));
+
+        assertEquals(array, decoded.get(0));
+        assertEquals(Foo.class, ((DynamicArray<Foo>) decoded.get(0)).getComponentType());
+    }
+
+    @Test
+    public void testInstantiationFailure() {
+        assertThrows(
+                UnsupportedOperationException.class,
+                () -> TypeDecoder.instantiateNumeric(Uint8.class, BigInteger.ONE.shiftLeft(8)));
+        assertThrows(
+                UnsupportedOperationException.class,
+                () -> DecoderPlan.of(String.class).newInstance("value"));
+    }
+}
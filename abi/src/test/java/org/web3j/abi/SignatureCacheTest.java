@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.abi;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Event;
+import org.web3j.abi.datatypes.generated.Uint256;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SignatureCacheTest {
+
+    @Test
+    public void testHashesSignatureOnce() {
+        List<String> hashed = new ArrayList<>();
+        SignatureCache cache =
+                new SignatureCache(
+                        signature -> {
+                            hashed.add(signature);
+                            return "0x" + signature.length();
+                        });
+
+        assertEquals("0x8", cache.get("foo(a,b)"));
+        assertEquals("0x8", cache.get(new String("foo(a,b)")));
+        assertEquals(Arrays.asList("foo(a,b)"), hashed);
+    }
+
+    @Test
+    public void testStopsCachingWhenFull() {
+        List<String> hashed = new ArrayList<>();
+        SignatureCache cache =
+                new SignatureCache(
+                        signature -> {
+                            hashed.add(signature);
+                            return signature;
+                        },
+                        1);
+
+        cache.get("a()");
+        cache.get("b()");
+        cache.get("b()");
+        cache.get("a()");
+
+        assertEquals(1, cache.size());
+        assertEquals(Arrays.asList("a()", "b()", "b()"), hashed);
+    }
+
+    @Test
+    public void testEncodesEventOfSharedTypeReferences() {
+        Event transfer =
+                new Event(
+                        "Transfer",
+                        Arrays.<TypeReference<?>>asList(
+                                new TypeReference<Address>(true) {},
+                                new TypeReference<Address>(true) {},
+                                new TypeReference<Uint256>() {}));
+
+        String expected = "0xddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef";
+        assertEquals(expected, EventEncoder.encode(transfer));
+        // the second time around, type names and topic come from the caches
+        assertEquals(expected, EventEncoder.encode(transfer));
+        assertEquals("address", transfer.getParameters().get(0).typeName);
+    }
+}
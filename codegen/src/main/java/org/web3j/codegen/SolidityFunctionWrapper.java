@@ -46,7 +46,6 @@ import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import org.web3j.abi.EventEncoder;
 import org.web3j.abi.FunctionEncoder;
 import org.web3j.abi.TypeReference;
 import org.web3j.abi.datatypes.Address;
@@ -68,6 +67,7 @@ import org.web3j.abi.datatypes.primitive.Long;
 import org.web3j.abi.datatypes.primitive.Short;
 import org.web3j.abi.datatypes.reflection.Parameterized;
 import org.web3j.crypto.Credentials;
+import org.web3j.crypto.Hash;
 import org.web3j.protocol.ObjectMapperFactory;
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.DefaultBlockParameter;
@@ -416,6 +416,40 @@ public class SolidityFunctionWrapper extends Generator {
         return eventName.toUpperCase() + "_EVENT";
     }
 
+    private FieldSpec createEventTopicDefinition(AbiDefinition eventDefinition) {
+        String topic = Hash.sha3String(buildSignature(eventDefinition));
+
+        return FieldSpec.builder(String.class, buildEventTopicName(eventDefinition.getName()))
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$S", topic)
+                .build();
+    }
+
+    private String buildEventTopicName(String eventName) {
+        return buildEventDefinitionName(eventName) + "_TOPIC";
+    }
+
+    /** Canonical signature of a function or event, as hashed into selectors and topics. */
+    static String buildSignature(AbiDefinition definition) {
+        return definition.getName()
+                + definition.getInputs().stream()
+                        .map(SolidityFunctionWrapper::buildCanonicalType)
+                        .collect(Collectors.joining(",", "(", ")"));
+    }
+
+    private static String buildCanonicalType(AbiDefinition.NamedType namedType) {
+        String type = namedType.getType();
+        if (type.startsWith("tuple")) {
+            return namedType.getComponents().stream()
+                            .map(SolidityFunctionWrapper::buildCanonicalType)
+                            .collect(Collectors.joining(",", "(", ")"))
+                    + type.substring("tuple".length());
+        }
+        // int, uint, fixed and ufixed are aliases of their default sizes
+        return type.replaceFirst("^(u?int)(?=$|\\[)", "$1256")
+                .replaceFirst("^(u?fixed)(?=$|\\[)", "$1128x18");
+    }
+
     private List<MethodSpec> buildFunctionDefinitions(
             String className,
             TypeSpec.Builder classBuilder,
@@ -729,6 +763,12 @@ public class SolidityFunctionWrapper extends Generator {
                             + duplicateFunctionNames
                             + ". Please don't use names which will be the same in uppercase.");
         }
+        Map<String, Long> overloads =
+                functionDefinitions.stream()
+                        .filter(definition -> definition.getType().equals(TYPE_FUNCTION))
+                        .collect(
+                                Collectors.groupingBy(
+                                        AbiDefinition::getName, Collectors.counting()));
         for (AbiDefinition functionDefinition : functionDefinitions) {
             if (functionDefinition.getType().equals(TYPE_FUNCTION)) {
                 String funcName = functionDefinition.getName();
@@ -747,12 +787,30 @@ public class SolidityFunctionWrapper extends Generator {
                                     .build();
                     fields.add(field);
                     fieldNames.add(funcName);
+
+                    // an overloaded name has several selectors, so none is singled out
+                    if (overloads.get(funcName) == 1) {
+                        fields.add(buildSelectorConstant(functionDefinition, useUpperCase));
+                    }
                 }
             }
         }
         return fields;
     }
 
+    private static FieldSpec buildSelectorConstant(
+            AbiDefinition functionDefinition, boolean useUpperCase) {
+        String selector = Hash.sha3String(buildSignature(functionDefinition)).substring(0, 10);
+        return FieldSpec.builder(
+                        String.class,
+                        funcNameToConst(functionDefinition.getName(), useUpperCase) + "_SELECTOR",
+                        Modifier.PUBLIC,
+                        Modifier.STATIC,
+                        Modifier.FINAL)
+                .initializer("$S", selector)
+                .build();
+    }
+
     private static MethodSpec buildConstructor(
             Class authType, String authName, boolean withGasProvider) {
         MethodSpec.Builder toReturn =
@@ -1729,10 +1787,7 @@ public class SolidityFunctionWrapper extends Generator {
                         START_BLOCK,
                         END_BLOCK)
                 .addStatement(
-                        "filter.addSingleTopic($T.encode("
-                                + buildEventDefinitionName(functionName)
-                                + "))",
-                        EventEncoder.class)
+                        "filter.addSingleTopic(" + buildEventTopicName(functionName) + ")")
                 .addStatement("return " + generatedFunctionName + "(filter)");
 
         return flowableMethodBuilder.build();
@@ -1840,6 +1895,7 @@ public class SolidityFunctionWrapper extends Generator {
         }
 
         classBuilder.addField(createEventDefinition(functionName, parameters));
+        classBuilder.addField(createEventTopicDefinition(functionDefinition));
 
         classBuilder.addType(
                 buildEventResponseObject(
@@ -679,6 +679,7 @@ public class SolidityFunctionWrapperTest extends TempFileProvider {
                 "class testClass {\n"
                         + "  public static final org.web3j.abi.datatypes.Event TRANSFER_EVENT = new org.web3j.abi.datatypes.Event(\"Transfer\", \n"
                         + "      java.util.Arrays.<org.web3j.abi.TypeReference<?>>asList(new org.web3j.abi.TypeReference<org.web3j.abi.datatypes.Utf8String>(true) {}, new org.web3j.abi.TypeReference<org.web3j.abi.datatypes.Address>(true) {}, new org.web3j.abi.TypeReference<org.web3j.abi.datatypes.Address>(true) {}, new org.web3j.abi.TypeReference<org.web3j.abi.datatypes.generated.Uint256>() {}, new org.web3j.abi.TypeReference<org.web3j.abi.datatypes.Utf8String>() {}));\n  ;\n\n"
+                        + "  public static final java.lang.String TRANSFER_EVENT_TOPIC = \"0xcacf2abe364c74e6b8517d80e77cd029f0de32f616046ff2589dd6dd62c79bfb\";\n\n"
                         + "  public static java.util.List<TransferEventResponse> getTransferEvents(org.web3j.protocol.core.methods.response.TransactionReceipt transactionReceipt) {\n"
                         + "    java.util.List<org.web3j.tx.Contract.EventValuesWithLog> valueList = staticExtractEventParametersWithLog(TRANSFER_EVENT, transactionReceipt);\n"
                         + "    java.util.ArrayList<TransferEventResponse> responses = new java.util.ArrayList<TransferEventResponse>(valueList.size());\n"
@@ -713,7 +714,7 @@ public class SolidityFunctionWrapperTest extends TempFileProvider {
                         + "\n"
                         + "  public io.reactivex.Flowable<TransferEventResponse> transferEventFlowable(org.web3j.protocol.core.DefaultBlockParameter startBlock, org.web3j.protocol.core.DefaultBlockParameter endBlock) {\n"
                         + "    org.web3j.protocol.core.methods.request.EthFilter filter = new org.web3j.protocol.core.methods.request.EthFilter(startBlock, endBlock, getContractAddress());\n"
-                        + "    filter.addSingleTopic(org.web3j.abi.EventEncoder.encode(TRANSFER_EVENT));\n"
+                        + "    filter.addSingleTopic(TRANSFER_EVENT_TOPIC);\n"
                         + "    return transferEventFlowable(filter);\n"
                         + "  }\n"
                         + "\n"
@@ -762,6 +763,7 @@ public class SolidityFunctionWrapperTest extends TempFileProvider {
                 "class testClass {\n"
                         + "  public static final org.web3j.abi.datatypes.Event TRANSFER_EVENT = new org.web3j.abi.datatypes.Event(\"Transfer\", \n"
                         + "      java.util.Arrays.<org.web3j.abi.TypeReference<?>>asList(new org.web3j.abi.TypeReference<org.web3j.abi.datatypes.Utf8String>(true) {}, new org.web3j.abi.TypeReference<org.web3j.abi.datatypes.Address>(true) {}, new org.web3j.abi.TypeReference<org.web3j.abi.datatypes.Address>(true) {}, new org.web3j.abi.TypeReference<org.web3j.abi.datatypes.generated.Bytes10>() {}, new org.web3j.abi.TypeReference<org.web3j.abi.datatypes.generated.Uint256>() {}, new org.web3j.abi.TypeReference<org.web3j.abi.datatypes.Utf8String>() {}));\n  ;\n\n"
+                        + "  public static final java.lang.String TRANSFER_EVENT_TOPIC = \"0xfb7cdb8c8548d7564bee2168ff7b3ac4526d7760ffab44bce58839f9d365a883\";\n\n"
                         + "  public static java.util.List<TransferEventResponse> getTransferEvents(org.web3j.protocol.core.methods.response.TransactionReceipt transactionReceipt) {\n"
                         + "    java.util.List<org.web3j.tx.Contract.EventValuesWithLog> valueList = staticExtractEventParametersWithLog(TRANSFER_EVENT, transactionReceipt);\n"
                         + "    java.util.ArrayList<TransferEventResponse> responses = new java.util.ArrayList<TransferEventResponse>(valueList.size());\n"
@@ -798,7 +800,7 @@ public class SolidityFunctionWrapperTest extends TempFileProvider {
                         + "\n"
                         + "  public io.reactivex.Flowable<TransferEventResponse> transferEventFlowable(org.web3j.protocol.core.DefaultBlockParameter startBlock, org.web3j.protocol.core.DefaultBlockParameter endBlock) {\n"
                         + "    org.web3j.protocol.core.methods.request.EthFilter filter = new org.web3j.protocol.core.methods.request.EthFilter(startBlock, endBlock, getContractAddress());\n"
-                        + "    filter.addSingleTopic(org.web3j.abi.EventEncoder.encode(TRANSFER_EVENT));\n"
+                        + "    filter.addSingleTopic(TRANSFER_EVENT_TOPIC);\n"
                         + "    return transferEventFlowable(filter);\n"
                         + "  }\n"
                         + "\n"
@@ -837,6 +839,7 @@ public class SolidityFunctionWrapperTest extends TempFileProvider {
                 "class testClass {\n"
                         + "  public static final org.web3j.abi.datatypes.Event TRANSFER_EVENT = new org.web3j.abi.datatypes.Event(\"Transfer\", \n"
                         + "      java.util.Arrays.<org.web3j.abi.TypeReference<?>>asList(new org.web3j.abi.TypeReference<org.web3j.abi.datatypes.DynamicArray<org.web3j.abi.datatypes.generated.Uint256>>() {}));\n  ;\n\n"
+                        + "  public static final java.lang.String TRANSFER_EVENT_TOPIC = \"0x8c2d61a26706123256a0df51028a2cf7f1f294ce1ba4cf383c09de804153b667\";\n\n"
                         + "  public static java.util.List<TransferEventResponse> getTransferEvents(org.web3j.protocol.core.methods.response.TransactionReceipt transactionReceipt) {\n"
                         + "    java.util.List<org.web3j.tx.Contract.EventValuesWithLog> valueList = staticExtractEventParametersWithLog(TRANSFER_EVENT, transactionReceipt);\n"
                         + "    java.util.ArrayList<TransferEventResponse> responses = new java.util.ArrayList<TransferEventResponse>(valueList.size());\n"
@@ -863,7 +866,7 @@ public class SolidityFunctionWrapperTest extends TempFileProvider {
                         + "\n"
                         + "  public io.reactivex.Flowable<TransferEventResponse> transferEventFlowable(org.web3j.protocol.core.DefaultBlockParameter startBlock, org.web3j.protocol.core.DefaultBlockParameter endBlock) {\n"
                         + "    org.web3j.protocol.core.methods.request.EthFilter filter = new org.web3j.protocol.core.methods.request.EthFilter(startBlock, endBlock, getContractAddress());\n"
-                        + "    filter.addSingleTopic(org.web3j.abi.EventEncoder.encode(TRANSFER_EVENT));\n"
+                        + "    filter.addSingleTopic(TRANSFER_EVENT_TOPIC);\n"
                         + "    return transferEventFlowable(filter);\n"
                         + "  }\n"
                         + "\n"
@@ -894,6 +897,8 @@ public class SolidityFunctionWrapperTest extends TempFileProvider {
         String expected =
                 "class testClass {\n"
                         + "  public static final java.lang.String FUNC_FUNCTIONNAME = \"functionName\";\n"
+                        + "\n"
+                        + "  public static final java.lang.String FUNC_FUNCTIONNAME_SELECTOR = \"0x7dd4f3c4\";\n"
                         + "}\n";
 
         assertEquals(builder.build().toString(), (expected));
@@ -42,6 +42,8 @@ public class ArraysInStruct extends Contract {
 
     public static final String FUNC_CALLFUNCTION = "callFunction";
 
+    public static final String FUNC_CALLFUNCTION_SELECTOR = "0x428aa321";
+
     @Deprecated
     protected ArraysInStruct(String contractAddress, Web3j web3j, Credentials credentials, BigInteger gasPrice, BigInteger gasLimit) {
         super(BINARY, contractAddress, web3j, credentials, gasPrice, gasLimit);
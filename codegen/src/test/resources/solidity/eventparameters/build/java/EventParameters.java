@@ -6,7 +6,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import org.web3j.abi.EventEncoder;
 import org.web3j.abi.TypeReference;
 import org.web3j.abi.datatypes.Address;
 import org.web3j.abi.datatypes.Event;
@@ -41,14 +40,22 @@ public class EventParameters extends Contract {
 
     public static final String FUNC__CONTRACTNUMBER = "_contractNumber";
 
+    public static final String FUNC__CONTRACTNUMBER_SELECTOR = "0x20bcbffb";
+
     public static final String FUNC__TESTADDRESS = "_testAddress";
 
+    public static final String FUNC__TESTADDRESS_SELECTOR = "0xd693f59d";
+
     public static final String FUNC_TESTEVENT = "testEvent";
 
+    public static final String FUNC_TESTEVENT_SELECTOR = "0x4f9d719e";
+
     public static final Event TESTEVENT_EVENT = new Event("TestEvent", 
             Arrays.<TypeReference<?>>asList(new TypeReference<Address>() {}, new TypeReference<Uint256>(true) {}, new TypeReference<Utf8String>(true) {}, new TypeReference<Address>() {}));
     ;
 
+    public static final String TESTEVENT_EVENT_TOPIC = "0xb71860c6617bf4e0c5bead5361fa0c11446d8335fe29a92695f9ac8cf94caac3";
+
     @Deprecated
     protected EventParameters(String contractAddress, Web3j web3j, Credentials credentials, BigInteger gasPrice, BigInteger gasLimit) {
         super(BINARY, contractAddress, web3j, credentials, gasPrice, gasLimit);
@@ -99,7 +106,7 @@ public class EventParameters extends Contract {
 
     public Flowable<TestEventEventResponse> testEventEventFlowable(DefaultBlockParameter startBlock, DefaultBlockParameter endBlock) {
         EthFilter filter = new EthFilter(startBlock, endBlock, getContractAddress());
-        filter.addSingleTopic(EventEncoder.encode(TESTEVENT_EVENT));
+        filter.addSingleTopic(TESTEVENT_EVENT_TOPIC);
         return testEventEventFlowable(filter);
     }
 
@@ -34,8 +34,12 @@ public class OnlyInArrayStruct extends Contract {
 
     public static final String FUNC_GETFOO = "getFoo";
 
+    public static final String FUNC_GETFOO_SELECTOR = "0x243dc8da";
+
     public static final String FUNC_SETFOO = "setFoo";
 
+    public static final String FUNC_SETFOO_SELECTOR = "0xcf095991";
+
     @Deprecated
     protected OnlyInArrayStruct(String contractAddress, Web3j web3j, Credentials credentials, BigInteger gasPrice, BigInteger gasLimit) {
         super(BINARY, contractAddress, web3j, credentials, gasPrice, gasLimit);
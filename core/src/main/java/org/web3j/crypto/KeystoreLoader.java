@@ -0,0 +1,355 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.crypto;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+import org.web3j.utils.Async;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.web3j.utils.Assertions.verifyPrecondition;
+
+/**
+ * Loads many wallet files in parallel, as a signer service does on startup.
+ *
+ * <p>Key derivation dominates the cost of decrypting a wallet: scrypt with the parameters of {@link
+ * Wallet#createStandard(String, ECKeyPair)} takes a quarter of a gigabyte and most of a second. The
+ * loader runs at most {@code parallelism} derivations at once, and only as many as fit in {@code
+ * maxScryptMemory}, so that loading hundreds of wallets neither oversubscribes the cores nor
+ * exhausts the heap. A wallet whose derivation alone needs more memory than the limit runs on its
+ * own. Derivations wait in a queue of the loader, not on executor threads, so the loader can share
+ * a bounded executor without tying it up.
+ *
+ * <p>Derived keys are cached, keyed by a hash of the password and key derivation parameters, so a
+ * wallet loaded again is decrypted without running the key derivation function. Only keys that
+ * decrypted their wallet are cached. Progress and latencies are available from {@link
+ * #getMetrics()}.
+ */
+public class KeystoreLoader {
+
+    // scrypt needs 128 * r * (n + p) bytes, plus a couple of blocks of scratch space
+    private static final int SCRYPT_SCRATCH_BLOCKS = 2;
+
+    private final Executor executor;
+    private final int parallelism;
+    private final int memoryLimit;
+    private final Map<ByteBuffer, byte[]> derivedKeys;
+    private final KeystoreMetrics metrics = new KeystoreMetrics();
+
+    private final Object lock = new Object();
+    // derivations waiting for a thread slot and scrypt memory, in submission order
+    private final Queue<Load> queued = new ArrayDeque<>();
+    private int running;
+    private int memoryInUse;
+
+    /**
+     * Load wallets on the {@link Async} executor, running as many derivations at once as there are
+     * processors.
+     *
+     * @param maxScryptMemory bytes that concurrent scrypt derivations may use
+     * @param cacheSize number of derived keys to cache
+     */
+    public KeystoreLoader(long maxScryptMemory, int cacheSize) {
+        this(
+                Async.getExecutorService(),
+                Runtime.getRuntime().availableProcessors(),
+                maxScryptMemory,
+                cacheSize);
+    }
+
+    /**
+     * Load wallets on the given executor.
+     *
+     * @param executor executor to load wallets on
+     * @param parallelism maximum number of concurrent key derivations
+     * @param maxScryptMemory bytes that concurrent scrypt derivations may use
+     * @param cacheSize number of derived keys to cache
+     */
+    public KeystoreLoader(
+            Executor executor, int parallelism, long maxScryptMemory, int cacheSize) {
+        verifyPrecondition(parallelism > 0, "Parallelism must be positive");
+        verifyPrecondition(maxScryptMemory >= 1024, "Scrypt memory must be at least 1 KiB");
+        verifyPrecondition(cacheSize >= 0, "Cache size must not be negative");
+
+        this.executor = executor;
+        this.parallelism = parallelism;
+        // memory is accounted in KiB so that limits beyond 2 GiB fit in an int
+        this.memoryLimit = (int) Math.min(Integer.MAX_VALUE, maxScryptMemory >> 10);
+        this.derivedKeys =
+                Collections.synchronizedMap(
+                        new LinkedHashMap<ByteBuffer, byte[]>(16, 0.75f, true) {
+                            @Override
+                            protected boolean removeEldestEntry(
+                                    Map.Entry<ByteBuffer, byte[]> eldest) {
+                                if (size() > cacheSize) {
+                                    Arrays.fill(eldest.getValue(), (byte) 0);
+                                    return true;
+                                }
+                                return false;
+                            }
+                        });
+    }
+
+    /**
+     * Load the credentials of a wallet file.
+     *
+     * @param password wallet password
+     * @param source wallet file
+     * @return the credentials, or a future completed with an {@link IOException} if the file could
+     *     not be read or a {@link CipherException} if it could not be decrypted
+     */
+    public CompletableFuture<Credentials> load(String password, File source) {
+        return submit(password, () -> WalletUtils.loadWalletFile(source));
+    }
+
+    /**
+     * Load the credentials of a parsed wallet.
+     *
+     * @param password wallet password
+     * @param walletFile the wallet
+     * @return the credentials, or a future completed with a {@link CipherException} if the wallet
+     *     could not be decrypted
+     */
+    public CompletableFuture<Credentials> load(String password, WalletFile walletFile) {
+        return submit(password, () -> walletFile);
+    }
+
+    /**
+     * Load the credentials of wallet files sharing a password.
+     *
+     * @param password wallet password
+     * @param sources wallet files
+     * @return the credentials, in the order of the files, or a future completed exceptionally if
+     *     any wallet could not be loaded
+     */
+    public CompletableFuture<List<Credentials>> loadAll(String password, List<File> sources) {
+        List<CompletableFuture<Credentials>> loads =
+                sources.stream().map(source -> load(password, source)).collect(Collectors.toList());
+
+        return CompletableFuture.allOf(loads.toArray(new CompletableFuture<?>[0]))
+                .thenApply(
+                        ignored ->
+                                loads.stream()
+                                        .map(CompletableFuture::join)
+                                        .collect(Collectors.toList()));
+    }
+
+    public KeystoreMetrics getMetrics() {
+        return metrics;
+    }
+
+    /** Forget all derived keys, overwriting them in memory. */
+    public void clearCache() {
+        synchronized (derivedKeys) {
+            derivedKeys.values().forEach(key -> Arrays.fill(key, (byte) 0));
+            derivedKeys.clear();
+        }
+    }
+
+    private CompletableFuture<Credentials> submit(String password, Source source) {
+        Load load = new Load(password);
+        metrics.onSubmitted();
+        try {
+            executor.execute(
+                    () -> {
+                        try {
+                            decrypt(load, source.read());
+                        } catch (Throwable e) {
+                            load.fail(e);
+                        }
+                    });
+        } catch (RejectedExecutionException e) {
+            load.fail(e);
+        }
+        return load.result;
+    }
+
+    private void decrypt(Load load, WalletFile walletFile) throws CipherException {
+        Wallet.validate(walletFile);
+
+        load.crypto = walletFile.getCrypto();
+        load.cacheKey = cacheKey(load.password, load.crypto);
+
+        byte[] derivedKey = cachedKey(load.cacheKey);
+        if (derivedKey != null) {
+            metrics.onCacheHit();
+            load.complete(Credentials.create(Wallet.decrypt(derivedKey, load.crypto)));
+            return;
+        }
+
+        load.memory = (int) Math.min(memoryLimit, (scryptMemory(load.crypto) + 1023) >> 10);
+        load.queuedAt = System.nanoTime();
+        synchronized (lock) {
+            queued.add(load);
+        }
+        startDerivations();
+    }
+
+    private byte[] cachedKey(ByteBuffer cacheKey) {
+        // copied under the lock, as evicted keys are overwritten
+        synchronized (derivedKeys) {
+            byte[] derivedKey = derivedKeys.get(cacheKey);
+            return derivedKey == null ? null : derivedKey.clone();
+        }
+    }
+
+    private void startDerivations() {
+        List<Load> ready = new ArrayList<>();
+        synchronized (lock) {
+            // started in submission order, so that a wallet needing much memory is not overtaken
+            // for good by smaller ones
+            Load next;
+            while ((next = queued.peek()) != null
+                    && running < parallelism
+                    && memoryInUse + next.memory <= memoryLimit) {
+                queued.remove();
+                running++;
+                memoryInUse += next.memory;
+                ready.add(next);
+            }
+        }
+
+        for (Load load : ready) {
+            try {
+                executor.execute(() -> derive(load));
+            } catch (RejectedExecutionException e) {
+                release(load);
+                load.fail(e);
+            }
+        }
+    }
+
+    private void release(Load load) {
+        synchronized (lock) {
+            running--;
+            memoryInUse -= load.memory;
+        }
+        startDerivations();
+    }
+
+    private void derive(Load load) {
+        try {
+            byte[] derivedKey;
+            long derivationStart = System.nanoTime();
+            try {
+                derivedKey = Wallet.generateDerivedKey(load.password, load.crypto);
+            } finally {
+                metrics.onDerived(
+                        derivationStart - load.queuedAt, System.nanoTime() - derivationStart);
+                release(load);
+            }
+            // decrypting verifies the mac, so a wrong password is never cached
+            Credentials credentials = Credentials.create(Wallet.decrypt(derivedKey, load.crypto));
+            derivedKeys.put(load.cacheKey, derivedKey);
+            load.complete(credentials);
+        } catch (Throwable e) {
+            load.fail(e);
+        }
+    }
+
+    static long scryptMemory(WalletFile.Crypto crypto) {
+        if (!(crypto.getKdfparams() instanceof WalletFile.ScryptKdfParams)) {
+            return 0;
+        }
+        WalletFile.ScryptKdfParams params = (WalletFile.ScryptKdfParams) crypto.getKdfparams();
+        return 128L
+                * params.getR()
+                * ((long) params.getN() + params.getP() + SCRYPT_SCRATCH_BLOCKS);
+    }
+
+    private static ByteBuffer cacheKey(String password, WalletFile.Crypto crypto)
+            throws CipherException {
+        WalletFile.KdfParams kdfParams = crypto.getKdfparams();
+        String parameters;
+        if (kdfParams instanceof WalletFile.ScryptKdfParams) {
+            WalletFile.ScryptKdfParams params = (WalletFile.ScryptKdfParams) kdfParams;
+            parameters =
+                    String.join(
+                            ":",
+                            Wallet.SCRYPT,
+                            params.getSalt(),
+                            String.valueOf(params.getN()),
+                            String.valueOf(params.getR()),
+                            String.valueOf(params.getP()),
+                            String.valueOf(params.getDklen()));
+        } else if (kdfParams instanceof WalletFile.Aes128CtrKdfParams) {
+            WalletFile.Aes128CtrKdfParams params = (WalletFile.Aes128CtrKdfParams) kdfParams;
+            parameters =
+                    String.join(
+                            ":",
+                            Wallet.AES_128_CTR,
+                            params.getSalt(),
+                            String.valueOf(params.getC()),
+                            params.getPrf(),
+                            String.valueOf(params.getDklen()));
+        } else {
+            throw new CipherException("Unable to deserialize params: " + crypto.getKdf());
+        }
+
+        // the password is hashed together with the parameters, and never kept itself
+        byte[] passwordBytes = password.getBytes(UTF_8);
+        byte[] parameterBytes = parameters.getBytes(UTF_8);
+        byte[] input = new byte[passwordBytes.length + 1 + parameterBytes.length];
+        System.arraycopy(passwordBytes, 0, input, 0, passwordBytes.length);
+        System.arraycopy(
+                parameterBytes, 0, input, passwordBytes.length + 1, parameterBytes.length);
+        byte[] hash = Hash.sha3(input);
+        Arrays.fill(input, (byte) 0);
+        return ByteBuffer.wrap(hash);
+    }
+
+    private interface Source {
+        WalletFile read() throws IOException;
+    }
+
+    /** A wallet being loaded, and the state of its key derivation. */
+    private class Load {
+        private final String password;
+        private final CompletableFuture<Credentials> result = new CompletableFuture<>();
+        private final long submittedAt = System.nanoTime();
+
+        // set before the load is queued for key derivation
+        private WalletFile.Crypto crypto;
+        private ByteBuffer cacheKey;
+        private int memory;
+        private long queuedAt;
+
+        Load(String password) {
+            this.password = password;
+        }
+
+        void complete(Credentials credentials) {
+            metrics.onLoaded(System.nanoTime() - submittedAt);
+            result.complete(credentials);
+        }
+
+        void fail(Throwable throwable) {
+            metrics.onFailed();
+            result.completeExceptionally(throwable);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.crypto;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.web3j.utils.Histogram;
+
+/** Progress and latency of the keystores loaded by a {@link KeystoreLoader}. */
+public class KeystoreMetrics {
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong loaded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final Histogram memoryWaitMicros = new Histogram();
+    private final Histogram derivationMicros = new Histogram();
+    private final Histogram loadLatencyMicros = new Histogram();
+
+    void onSubmitted() {
+        pending.incrementAndGet();
+    }
+
+    void onCacheHit() {
+        cacheHits.incrementAndGet();
+    }
+
+    void onDerived(long memoryWaitNanos, long derivationNanos) {
+        memoryWaitMicros.record(TimeUnit.NANOSECONDS.toMicros(memoryWaitNanos));
+        derivationMicros.record(TimeUnit.NANOSECONDS.toMicros(derivationNanos));
+    }
+
+    void onLoaded(long latencyNanos) {
+        pending.decrementAndGet();
+        loaded.incrementAndGet();
+        loadLatencyMicros.record(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+    }
+
+    void onFailed() {
+        pending.decrementAndGet();
+        failed.incrementAndGet();
+    }
+
+    /**
+     * Number of keystores submitted but not yet loaded or failed.
+     *
+     * @return keystores still to load
+     */
+    public int getPending() {
+        return pending.get();
+    }
+
+    public long getLoaded() {
+        return loaded.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * Number of keystores decrypted with a cached derived key, without running the key derivation
+     * function.
+     *
+     * @return cache hit count
+     */
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    /**
+     * Time in microseconds derivations waited for a thread slot and scrypt memory.
+     *
+     * @return memory wait histogram
+     */
+    public Histogram getMemoryWaitMicros() {
+        return memoryWaitMicros;
+    }
+
+    /**
+     * Time in microseconds spent running the key derivation function.
+     *
+     * @return derivation histogram
+     */
+    public Histogram getDerivationMicros() {
+        return derivationMicros;
+    }
+
+    /**
+     * Time in microseconds from submitting a keystore to its credentials being available.
+     *
+     * @return load latency histogram
+     */
+    public Histogram getLoadLatencyMicros() {
+        return loadLatencyMicros;
+    }
+}
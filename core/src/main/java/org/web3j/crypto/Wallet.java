@@ -194,12 +194,11 @@ public class Wallet {
         validate(walletFile);
 
         WalletFile.Crypto crypto = walletFile.getCrypto();
+        return decrypt(generateDerivedKey(password, crypto), crypto);
+    }
 
-        byte[] mac = Numeric.hexStringToByteArray(crypto.getMac());
-        byte[] iv = Numeric.hexStringToByteArray(crypto.getCipherparams().getIv());
-        byte[] cipherText = Numeric.hexStringToByteArray(crypto.getCiphertext());
-
-        byte[] derivedKey;
+    static byte[] generateDerivedKey(String password, WalletFile.Crypto crypto)
+            throws CipherException {
 
         WalletFile.KdfParams kdfParams = crypto.getKdfparams();
         if (kdfParams instanceof WalletFile.ScryptKdfParams) {
@@ -210,7 +209,7 @@ public class Wallet {
             int p = scryptKdfParams.getP();
             int r = scryptKdfParams.getR();
             byte[] salt = Numeric.hexStringToByteArray(scryptKdfParams.getSalt());
-            derivedKey = generateDerivedScryptKey(password.getBytes(UTF_8), salt, n, r, p, dklen);
+            return generateDerivedScryptKey(password.getBytes(UTF_8), salt, n, r, p, dklen);
         } else if (kdfParams instanceof WalletFile.Aes128CtrKdfParams) {
             WalletFile.Aes128CtrKdfParams aes128CtrKdfParams =
                     (WalletFile.Aes128CtrKdfParams) crypto.getKdfparams();
@@ -218,10 +217,17 @@ public class Wallet {
             String prf = aes128CtrKdfParams.getPrf();
             byte[] salt = Numeric.hexStringToByteArray(aes128CtrKdfParams.getSalt());
 
-            derivedKey = generateAes128CtrDerivedKey(password.getBytes(UTF_8), salt, c, prf);
+            return generateAes128CtrDerivedKey(password.getBytes(UTF_8), salt, c, prf);
         } else {
             throw new CipherException("Unable to deserialize params: " + crypto.getKdf());
         }
+    }
+
+    static ECKeyPair decrypt(byte[] derivedKey, WalletFile.Crypto crypto) throws CipherException {
+
+        byte[] mac = Numeric.hexStringToByteArray(crypto.getMac());
+        byte[] iv = Numeric.hexStringToByteArray(crypto.getCipherparams().getIv());
+        byte[] cipherText = Numeric.hexStringToByteArray(crypto.getCiphertext());
 
         byte[] derivedMac = generateMac(derivedKey, cipherText);
 
@@ -147,10 +147,14 @@ public class WalletUtils {
 
     public static Credentials loadCredentials(String password, File source)
             throws IOException, CipherException {
-        WalletFile walletFile = objectMapper.readValue(source, WalletFile.class);
+        WalletFile walletFile = loadWalletFile(source);
         return Credentials.create(Wallet.decrypt(password, walletFile));
     }
 
+    static WalletFile loadWalletFile(File source) throws IOException {
+        return objectMapper.readValue(source, WalletFile.class);
+    }
+
     public static Credentials loadBip39Credentials(String password, String mnemonic) {
         byte[] seed = MnemonicUtils.generateSeed(mnemonic, password);
         return Credentials.create(ECKeyPair.create(sha256(seed)));
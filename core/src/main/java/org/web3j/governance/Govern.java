@@ -7,6 +7,9 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -35,6 +38,7 @@ import org.web3j.protocol.core.DefaultBlockParameterName;
 import org.web3j.protocol.core.methods.request.Transaction;
 import org.web3j.protocol.core.methods.response.*;
 import org.web3j.tx.gas.ContractGasProvider;
+import org.web3j.tx.response.TransactionReceiptWatcher;
 import org.web3j.utils.Numeric;
 
 import static org.web3j.governance.constants.GovernanceConstant.MAX_ATTEMPTS;
@@ -44,11 +48,13 @@ public class Govern {
     private Web3j web3j;
     private Credentials credentials;
     private ContractGasProvider contractGasProvider;
+    private TransactionReceiptWatcher receiptWatcher;
 
     public Govern(Web3j web3j, Credentials credentials, ContractGasProvider contractGasProvider) {
         this.web3j = web3j;
         this.credentials = credentials;
         this.contractGasProvider = contractGasProvider;
+        this.receiptWatcher = new TransactionReceiptWatcher(web3j);
     }
 
     /**
@@ -216,20 +222,18 @@ public class Govern {
 
     private Optional<TransactionReceipt> fetchTransactionReceipt(String txHash)
             throws GovernanceException {
-        Optional<TransactionReceipt> receiptOptional = Optional.empty();
-        int attempts = 0;
-        while (!receiptOptional.isPresent() && attempts < MAX_ATTEMPTS) {
-            try {
-                EthGetTransactionReceipt receiptResult =
-                        web3j.ethGetTransactionReceipt(txHash).send();
-                receiptOptional = receiptResult.getTransactionReceipt();
-                Thread.sleep(SLEEP_DURATION);
-                attempts++;
-            } catch (Exception e) {
-                throw new GovernanceException("Error fetching transaction receipt");
+        long timeout = (long) MAX_ATTEMPTS * SLEEP_DURATION;
+        try {
+            return Optional.of(receiptWatcher.watch(txHash, timeout, TimeUnit.MILLISECONDS).get());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                return Optional.empty();
             }
+            throw new GovernanceException("Error fetching transaction receipt");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GovernanceException("Error fetching transaction receipt");
         }
-        return receiptOptional;
     }
 
     private Optional<String> getProposalIdHex(Optional<TransactionReceipt> receiptOptional) {
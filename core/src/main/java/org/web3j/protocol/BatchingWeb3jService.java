@@ -0,0 +1,272 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Flowable;
+
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.websocket.events.Notification;
+import org.web3j.utils.Async;
+import org.web3j.utils.Histogram;
+
+/**
+ * {@link Web3jService} decorator that coalesces concurrent asynchronous requests into JSON-RPC
+ * batches.
+ *
+ * <p>Requests passed to {@link #sendAsync(Request, Class)} are held for at most the configured
+ * window, or until the maximum batch size is reached, and are then sent to the underlying service
+ * as a single batch. Each caller's future is completed from its entry in the batch reply. Requests
+ * for excluded methods, as well as synchronous and explicit batch requests, are passed straight
+ * through.
+ */
+public class BatchingWeb3jService implements Web3jService {
+
+    public static final long DEFAULT_WINDOW_MILLIS = 2;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    private final Web3jService web3jService;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Set<String> excludedMethods;
+
+    private final Object lock = new Object();
+    private List<PendingRequest<?>> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    private final Histogram batchSizes = new Histogram();
+    private final Histogram latencyMicros = new Histogram();
+
+    public BatchingWeb3jService(
+            Web3jService web3jService,
+            ScheduledExecutorService scheduledExecutorService,
+            long window,
+            TimeUnit timeUnit,
+            int maxBatchSize,
+            Set<String> excludedMethods) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Maximum batch size must be positive");
+        }
+        this.web3jService = web3jService;
+        this.scheduledExecutorService = scheduledExecutorService;
+        this.windowNanos = timeUnit.toNanos(window);
+        this.maxBatchSize = maxBatchSize;
+        this.excludedMethods = new HashSet<>(excludedMethods);
+    }
+
+    public BatchingWeb3jService(Web3jService web3jService) {
+        this(
+                web3jService,
+                Async.sharedExecutorService(),
+                DEFAULT_WINDOW_MILLIS,
+                TimeUnit.MILLISECONDS,
+                DEFAULT_MAX_BATCH_SIZE,
+                Collections.emptySet());
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        return web3jService.send(request, responseType);
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(
+            Request request, Class<T> responseType) {
+        if (excludedMethods.contains(request.getMethod())) {
+            return web3jService.sendAsync(request, responseType);
+        }
+
+        PendingRequest<T> pendingRequest = new PendingRequest<>(request, responseType);
+        List<PendingRequest<?>> ready = null;
+        synchronized (lock) {
+            pending.add(pendingRequest);
+            if (pending.size() >= maxBatchSize) {
+                ready = drain();
+            } else if (pending.size() == 1) {
+                scheduledFlush =
+                        scheduledExecutorService.schedule(
+                                this::flush, windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        if (ready != null) {
+            dispatch(ready);
+        }
+        return pendingRequest.future;
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        return web3jService.sendBatch(batchRequest);
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        return web3jService.sendBatchAsync(batchRequest);
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(
+            Request request, String unsubscribeMethod, Class<T> responseType) {
+        return web3jService.subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        web3jService.close();
+    }
+
+    /** Send all requests collected so far without waiting for the window to elapse. */
+    public void flush() {
+        List<PendingRequest<?>> ready;
+        synchronized (lock) {
+            ready = drain();
+        }
+        dispatch(ready);
+    }
+
+    /**
+     * Number of requests coalesced into each batch sent to the underlying service.
+     *
+     * @return batch size histogram
+     */
+    public Histogram getBatchSizes() {
+        return batchSizes;
+    }
+
+    /**
+     * Time in microseconds from a request being queued to its future being completed.
+     *
+     * @return request latency histogram
+     */
+    public Histogram getLatencyMicros() {
+        return latencyMicros;
+    }
+
+    private List<PendingRequest<?>> drain() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        List<PendingRequest<?>> ready = pending;
+        pending = new ArrayList<>();
+        return ready;
+    }
+
+    private void dispatch(List<PendingRequest<?>> ready) {
+        if (ready.isEmpty()) {
+            return;
+        }
+        batchSizes.record(ready.size());
+
+        if (ready.size() == 1) {
+            PendingRequest<?> pendingRequest = ready.get(0);
+            web3jService
+                    .sendAsync(pendingRequest.request, pendingRequest.responseType)
+                    .whenComplete(
+                            (response, throwable) -> {
+                                if (throwable != null) {
+                                    pendingRequest.fail(throwable);
+                                } else {
+                                    pendingRequest.complete(response);
+                                }
+                            });
+            return;
+        }
+
+        BatchRequest batchRequest = new BatchRequest(web3jService);
+        for (PendingRequest<?> pendingRequest : ready) {
+            batchRequest.add(pendingRequest.request);
+        }
+
+        web3jService
+                .sendBatchAsync(batchRequest)
+                .whenComplete(
+                        (batchResponse, throwable) -> {
+                            if (throwable != null) {
+                                ready.forEach(pendingRequest -> pendingRequest.fail(throwable));
+                            } else if (batchResponse == null) {
+                                IOException exception =
+                                        new IOException("Empty response received for batch");
+                                ready.forEach(pendingRequest -> pendingRequest.fail(exception));
+                            } else {
+                                List<? extends Response<?>> responses =
+                                        batchResponse.getResponses();
+                                int received = responses == null ? 0 : responses.size();
+                                // a node may return fewer responses than requests, in which
+                                // case the requests left without one fail
+                                for (int i = 0; i < ready.size(); i++) {
+                                    ready.get(i).complete(i < received ? responses.get(i) : null);
+                                }
+                            }
+                        });
+    }
+
+    private class PendingRequest<T extends Response> {
+
+        private final Request<?, ? extends Response<?>> request;
+        private final Class<T> responseType;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final long queuedAt = System.nanoTime();
+
+        @SuppressWarnings("unchecked")
+        PendingRequest(Request request, Class<T> responseType) {
+            this.request = (Request<?, ? extends Response<?>>) request;
+            this.responseType = responseType;
+        }
+
+        void complete(Object response) {
+            if (response == null) {
+                fail(new IOException("No response received for request " + request.getId()));
+                return;
+            }
+            try {
+                future.complete(responseType.cast(response));
+            } catch (ClassCastException e) {
+                future.completeExceptionally(e);
+            }
+            recordLatency();
+        }
+
+        void fail(Throwable throwable) {
+            Throwable cause = throwable;
+            if ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                    && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            future.completeExceptionally(cause);
+            recordLatency();
+        }
+
+        private void recordLatency() {
+            latencyMicros.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - queuedAt));
+        }
+    }
+}
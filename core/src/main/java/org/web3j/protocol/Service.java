@@ -15,12 +15,22 @@ package org.web3j.protocol;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import io.reactivex.Flowable;
 
 import org.web3j.protocol.core.BatchRequest;
@@ -33,14 +43,55 @@ import org.web3j.utils.Async;
 /** Base service implementation. */
 public abstract class Service implements Web3jService {
 
+    /** Default batch size limit of Geth and Besu nodes. */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 1000;
+
+    public static final int DEFAULT_MAX_CONCURRENT_BATCH_CHUNKS = 4;
+
+    /** How long a batch size limit learned from a node rejection applies, in milliseconds. */
+    public static final long DEFAULT_BATCH_LIMIT_RETENTION = TimeUnit.MINUTES.toMillis(10);
+
     protected final ObjectMapper objectMapper;
 
+    private volatile int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+    private volatile LearnedBatchLimit learnedBatchLimit;
+
+    private volatile long batchLimitRetention = DEFAULT_BATCH_LIMIT_RETENTION;
+
+    private volatile int maxConcurrentBatchChunks = DEFAULT_MAX_CONCURRENT_BATCH_CHUNKS;
+
     public Service(boolean includeRawResponses) {
         objectMapper = ObjectMapperFactory.getObjectMapper(includeRawResponses);
     }
 
     protected abstract InputStream performIO(String payload) throws IOException;
 
+    /**
+     * Perform the IO for a request without blocking the calling thread.
+     *
+     * <p>The default implementation runs {@link #performIO(String)} on the {@link Async} executor.
+     * Transports with a non-blocking client should override this method.
+     *
+     * @param payload JSON-RPC payload to send
+     * @return CompletableFuture that will be completed with the response stream, which the caller
+     *     is responsible for closing
+     */
+    protected CompletableFuture<InputStream> performIOAsync(String payload) {
+        return Async.run(() -> performIO(payload));
+    }
+
+    /**
+     * Whether {@link #performIOAsync(String)} leaves no thread blocked while a request is in
+     * flight. Synchronous batches only send their chunks concurrently if it does, as waiting on
+     * chunks queued on a bounded {@link Async} executor could deadlock a caller running on it.
+     *
+     * @return true if asynchronous IO does not occupy an Async executor thread
+     */
+    protected boolean hasNonBlockingIO() {
+        return false;
+    }
+
     @Override
     public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
         String payload = objectMapper.writeValueAsString(request);
@@ -57,7 +108,36 @@ public abstract class Service implements Web3jService {
     @Override
     public <T extends Response> CompletableFuture<T> sendAsync(
             Request jsonRpc20Request, Class<T> responseType) {
-        return Async.run(() -> send(jsonRpc20Request, responseType));
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(jsonRpc20Request);
+        } catch (JsonProcessingException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        performIOAsync(payload)
+                .whenComplete(
+                        (inputStream, throwable) -> {
+                            if (throwable != null) {
+                                result.completeExceptionally(unwrap(throwable));
+                                return;
+                            }
+                            // we need to explicitly catch any exceptions,
+                            // otherwise they will be silently discarded
+                            try (InputStream in = inputStream) {
+                                if (in != null) {
+                                    result.complete(objectMapper.readValue(in, responseType));
+                                } else {
+                                    result.complete(null);
+                                }
+                            } catch (Throwable e) {
+                                result.completeExceptionally(e);
+                            }
+                        });
+        return result;
     }
 
     @Override
@@ -66,30 +146,388 @@ public abstract class Service implements Web3jService {
             return new BatchResponse(Collections.emptyList(), Collections.emptyList());
         }
 
-        String payload = objectMapper.writeValueAsString(batchRequest.getRequests());
+        List<Response<?>> responses = sendBatchChunks(batchRequest.getRequests());
+        if (responses != null) {
+            return new BatchResponse(batchRequest.getRequests(), responses);
+        } else {
+            return null;
+        }
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        if (batchRequest.getRequests().isEmpty()) {
+            return CompletableFuture.completedFuture(
+                    new BatchResponse(Collections.emptyList(), Collections.emptyList()));
+        }
 
-        try (InputStream result = performIO(payload)) {
-            if (result != null) {
-                ArrayNode nodes = (ArrayNode) objectMapper.readTree(result);
-                List<Response<?>> responses = new ArrayList<>(nodes.size());
+        CompletableFuture<BatchResponse> result = new CompletableFuture<>();
+        sendBatchChunksAsync(batchRequest.getRequests())
+                .whenComplete(
+                        (responses, throwable) -> {
+                            if (throwable != null) {
+                                result.completeExceptionally(unwrap(throwable));
+                            } else if (responses != null) {
+                                result.complete(
+                                        new BatchResponse(batchRequest.getRequests(), responses));
+                            } else {
+                                result.complete(null);
+                            }
+                        });
+        return result;
+    }
 
-                for (int i = 0; i < nodes.size(); i++) {
-                    Request<?, ? extends Response<?>> request = batchRequest.getRequests().get(i);
-                    Response<?> response =
-                            objectMapper.treeToValue(nodes.get(i), request.getResponseType());
-                    responses.add(response);
-                }
+    private List<Response<?>> sendBatchChunks(List<Request<?, ? extends Response<?>>> requests)
+            throws IOException {
+        int chunkSize = getMaxBatchSize();
+        if (requests.size() <= chunkSize) {
+            return sendBatchChunk(requests);
+        }
+        if (hasNonBlockingIO()) {
+            return awaitBatchChunks(sendBatchChunksAsync(requests));
+        }
 
-                return new BatchResponse(batchRequest.getRequests(), responses);
-            } else {
+        // waiting on chunks queued on the Async executor could deadlock a caller that is itself
+        // running on a bounded Async executor, so they are sent one after another instead
+        List<Response<?>> responses = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i += chunkSize) {
+            List<Response<?>> chunkResponses =
+                    sendBatchChunks(requests.subList(i, Math.min(i + chunkSize, requests.size())));
+            if (chunkResponses == null) {
                 return null;
             }
+            responses.addAll(chunkResponses);
         }
+        return responses;
     }
 
-    @Override
-    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
-        return Async.run(() -> sendBatch(batchRequest));
+    private static List<Response<?>> awaitBatchChunks(
+            CompletableFuture<List<Response<?>>> responses) throws IOException {
+        try {
+            return responses.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for batch response", e);
+        } catch (ExecutionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("Failed to send batch request", cause);
+        }
+    }
+
+    private List<Response<?>> sendBatchChunk(List<Request<?, ? extends Response<?>>> requests)
+            throws IOException {
+        String payload = objectMapper.writeValueAsString(requests);
+
+        try (InputStream result = performIO(payload)) {
+            return readBatchChunk(result, requests);
+        } catch (BatchRejectedException e) {
+            List<Response<?>> head = sendBatchChunks(e.head);
+            List<Response<?>> tail = sendBatchChunks(e.tail);
+            return head != null && tail != null ? concat(head, tail) : null;
+        }
+    }
+
+    /**
+     * Send a batch split into chunks of at most {@link #getMaxBatchSize()} requests, with up to
+     * {@link #getMaxConcurrentBatchChunks()} chunks in flight at a time.
+     */
+    private CompletableFuture<List<Response<?>>> sendBatchChunksAsync(
+            List<Request<?, ? extends Response<?>>> requests) {
+        int chunkSize = getMaxBatchSize();
+        if (requests.size() <= chunkSize) {
+            return sendBatchChunkAsync(requests);
+        }
+
+        List<List<Request<?, ? extends Response<?>>>> chunks = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i += chunkSize) {
+            chunks.add(requests.subList(i, Math.min(i + chunkSize, requests.size())));
+        }
+
+        CompletableFuture<List<Response<?>>> result =
+                CompletableFuture.completedFuture(Collections.emptyList());
+        for (int i = 0; i < chunks.size(); i += maxConcurrentBatchChunks) {
+            List<List<Request<?, ? extends Response<?>>>> wave =
+                    chunks.subList(i, Math.min(i + maxConcurrentBatchChunks, chunks.size()));
+            result = result.thenCompose(responses -> sendBatchWaveAsync(responses, wave));
+        }
+        return result;
+    }
+
+    private CompletableFuture<List<Response<?>>> sendBatchWaveAsync(
+            List<Response<?>> previous, List<List<Request<?, ? extends Response<?>>>> wave) {
+        if (previous == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        List<CompletableFuture<List<Response<?>>>> inFlight = new ArrayList<>(wave.size());
+        for (List<Request<?, ? extends Response<?>>> chunk : wave) {
+            inFlight.add(sendBatchChunkAsync(chunk));
+        }
+
+        return CompletableFuture.allOf(inFlight.toArray(new CompletableFuture<?>[0]))
+                .thenApply(
+                        ignored -> {
+                            List<Response<?>> responses = new ArrayList<>(previous);
+                            for (CompletableFuture<List<Response<?>>> future : inFlight) {
+                                List<Response<?>> chunkResponses = future.join();
+                                if (chunkResponses == null) {
+                                    return null;
+                                }
+                                responses.addAll(chunkResponses);
+                            }
+                            return responses;
+                        });
+    }
+
+    private CompletableFuture<List<Response<?>>> sendBatchChunkAsync(
+            List<Request<?, ? extends Response<?>>> requests) {
+        CompletableFuture<List<Response<?>>> result = new CompletableFuture<>();
+
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(requests);
+        } catch (JsonProcessingException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        performIOAsync(payload)
+                .whenComplete(
+                        (inputStream, throwable) -> {
+                            if (throwable != null) {
+                                result.completeExceptionally(unwrap(throwable));
+                                return;
+                            }
+                            try (InputStream in = inputStream) {
+                                result.complete(readBatchChunk(in, requests));
+                            } catch (BatchRejectedException e) {
+                                sendBatchChunksAsync(e.head)
+                                        .thenCombine(
+                                                sendBatchChunksAsync(e.tail),
+                                                (head, tail) ->
+                                                        head != null && tail != null
+                                                                ? concat(head, tail)
+                                                                : null)
+                                        .whenComplete(
+                                                (responses, error) -> {
+                                                    if (error != null) {
+                                                        result.completeExceptionally(
+                                                                unwrap(error));
+                                                    } else {
+                                                        result.complete(responses);
+                                                    }
+                                                });
+                            } catch (Throwable e) {
+                                result.completeExceptionally(e);
+                            }
+                        });
+        return result;
+    }
+
+    private List<Response<?>> readBatchChunk(
+            InputStream result, List<Request<?, ? extends Response<?>>> requests)
+            throws IOException {
+        if (result == null) {
+            return null;
+        }
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(result)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_OBJECT) {
+                return handleBatchRejection(requests, objectMapper.readTree(parser));
+            } else if (token != JsonToken.START_ARRAY) {
+                throw new IOException("Unexpected batch response, expected a JSON array");
+            }
+
+            return readBatchResponses(parser, requests);
+        }
+    }
+
+    /**
+     * Reads the reply array element by element, so only a single response is held as a tree at a
+     * time. Responses are matched to requests by JSON-RPC id, falling back to their position in
+     * the array if a node returns ids that cannot be correlated.
+     */
+    private List<Response<?>> readBatchResponses(
+            JsonParser parser, List<Request<?, ? extends Response<?>>> requests)
+            throws IOException {
+        Map<Long, Integer> indexById = new HashMap<>(requests.size() * 2);
+        for (int i = 0; i < requests.size(); i++) {
+            indexById.putIfAbsent(requests.get(i).getId(), i);
+        }
+
+        Response<?>[] responses = new Response<?>[requests.size()];
+        int position = 0;
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            JsonNode node = objectMapper.readTree(parser);
+            if (position == 0 && requests.size() > 1 && isBatchTooLarge(node)) {
+                // Geth replies to an oversized batch with an array holding a single error
+                rejectBatch(requests);
+            }
+            int index = correlate(node.get("id"), indexById, responses, position++);
+            responses[index] =
+                    objectMapper.treeToValue(node, requests.get(index).getResponseType());
+        }
+        for (int i = 0; i < responses.length; i++) {
+            if (responses[i] == null) {
+                throw new IOException(
+                        "Missing response for request id " + requests.get(i).getId());
+            }
+        }
+        return Arrays.asList(responses);
+    }
+
+    private static int correlate(
+            JsonNode id, Map<Long, Integer> indexById, Response<?>[] responses, int position)
+            throws IOException {
+        if (id != null && id.canConvertToLong()) {
+            Integer index = indexById.get(id.asLong());
+            if (index != null && responses[index] == null) {
+                return index;
+            }
+        }
+
+        if (position < responses.length && responses[position] == null) {
+            return position;
+        }
+        for (int i = 0; i < responses.length; i++) {
+            if (responses[i] == null) {
+                return i;
+            }
+        }
+        throw new IOException("Batch response contains more responses than requests");
+    }
+
+    /**
+     * Nodes that fail a whole batch reply with a single error object rather than an array. If the
+     * error says the batch is too large, it is split and the lower limit is remembered for {@link
+     * #getBatchLimitRetention()}, after which larger batches are tried again.
+     */
+    private List<Response<?>> handleBatchRejection(
+            List<Request<?, ? extends Response<?>>> requests, JsonNode node) throws IOException {
+        if (requests.size() == 1) {
+            return Collections.singletonList(
+                    objectMapper.treeToValue(node, requests.get(0).getResponseType()));
+        } else if (!node.has("error")) {
+            throw new IOException("Unexpected batch response, expected a JSON array");
+        } else if (!isBatchTooLarge(node)) {
+            throw new IOException("Batch request failed: " + node.get("error"));
+        }
+        return rejectBatch(requests);
+    }
+
+    private List<Response<?>> rejectBatch(List<Request<?, ? extends Response<?>>> requests)
+            throws BatchRejectedException {
+        int limit = requests.size() / 2;
+        if (limit < getMaxBatchSize()) {
+            learnedBatchLimit =
+                    new LearnedBatchLimit(
+                            limit,
+                            System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchLimitRetention));
+        }
+        throw new BatchRejectedException(
+                requests.subList(0, limit), requests.subList(limit, requests.size()));
+    }
+
+    /**
+     * Whether an error reply means the batch exceeded the node's limit, e.g. Geth's "batch too
+     * large" or Besu's "Number of requests exceeds max batch size".
+     */
+    private static boolean isBatchTooLarge(JsonNode node) {
+        JsonNode error = node.get("error");
+        if (error == null || !error.hasNonNull("message")) {
+            return false;
+        }
+        String message = error.get("message").asText().toLowerCase(Locale.ROOT);
+        return message.contains("batch")
+                && (message.contains("too large")
+                        || message.contains("too many")
+                        || message.contains("exceed")
+                        || message.contains("limit"));
+    }
+
+    private static List<Response<?>> concat(List<Response<?>> head, List<Response<?>> tail) {
+        List<Response<?>> responses = new ArrayList<>(head.size() + tail.size());
+        responses.addAll(head);
+        responses.addAll(tail);
+        return responses;
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        Throwable cause = throwable;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * Set the maximum number of requests sent in a single JSON-RPC batch. Larger batches are split
+     * into chunks of this size, and their responses are merged transparently.
+     *
+     * @param maxBatchSize maximum number of requests per batch
+     */
+    public void setMaxBatchSize(int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Maximum batch size must be positive");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.learnedBatchLimit = null;
+    }
+
+    /**
+     * Maximum number of requests sent in a single JSON-RPC batch, lowered for a while when a node
+     * rejects a batch as too large.
+     *
+     * @return maximum number of requests per batch
+     */
+    public int getMaxBatchSize() {
+        LearnedBatchLimit learned = learnedBatchLimit;
+        if (learned != null && System.nanoTime() - learned.expiresAt < 0) {
+            return Math.min(maxBatchSize, learned.limit);
+        }
+        return maxBatchSize;
+    }
+
+    /**
+     * Set how long a batch size limit learned from a node rejection applies before larger batches
+     * are tried again.
+     *
+     * @param batchLimitRetention retention in milliseconds
+     */
+    public void setBatchLimitRetention(long batchLimitRetention) {
+        if (batchLimitRetention < 0) {
+            throw new IllegalArgumentException("Batch limit retention must not be negative");
+        }
+        this.batchLimitRetention = batchLimitRetention;
+    }
+
+    public long getBatchLimitRetention() {
+        return batchLimitRetention;
+    }
+
+    /**
+     * Set the maximum number of batch chunks that are sent concurrently when a batch exceeds the
+     * maximum batch size. Unless the transport has {@link #hasNonBlockingIO() non-blocking IO},
+     * batches sent synchronously send their chunks one at a time on the calling thread.
+     *
+     * @param maxConcurrentBatchChunks maximum number of chunks in flight
+     */
+    public void setMaxConcurrentBatchChunks(int maxConcurrentBatchChunks) {
+        if (maxConcurrentBatchChunks < 1) {
+            throw new IllegalArgumentException("Maximum concurrent batch chunks must be positive");
+        }
+        this.maxConcurrentBatchChunks = maxConcurrentBatchChunks;
+    }
+
+    public int getMaxConcurrentBatchChunks() {
+        return maxConcurrentBatchChunks;
     }
 
     @Override
@@ -100,4 +538,30 @@ public abstract class Service implements Web3jService {
                         "Service %s does not support subscriptions",
                         this.getClass().getSimpleName()));
     }
+
+    private static class LearnedBatchLimit {
+
+        private final int limit;
+        private final long expiresAt;
+
+        LearnedBatchLimit(int limit, long expiresAt) {
+            this.limit = limit;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /** Signals that a node rejected a batch as too large, and which halves to resend. */
+    private static class BatchRejectedException extends IOException {
+
+        private final List<Request<?, ? extends Response<?>>> head;
+        private final List<Request<?, ? extends Response<?>>> tail;
+
+        BatchRejectedException(
+                List<Request<?, ? extends Response<?>>> head,
+                List<Request<?, ? extends Response<?>>> tail) {
+            super("Batch rejected by node");
+            this.head = head;
+            this.tail = tail;
+        }
+    }
 }
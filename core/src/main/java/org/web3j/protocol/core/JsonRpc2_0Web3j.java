@@ -32,6 +32,7 @@ import org.web3j.protocol.core.methods.response.*;
 import org.web3j.protocol.core.methods.response.admin.AdminDataDir;
 import org.web3j.protocol.core.methods.response.admin.AdminNodeInfo;
 import org.web3j.protocol.core.methods.response.admin.AdminPeers;
+import org.web3j.protocol.rx.BlockReplayMetrics;
 import org.web3j.protocol.rx.JsonRpc2_0Rx;
 import org.web3j.protocol.websocket.events.LogNotification;
 import org.web3j.protocol.websocket.events.NewHeadsNotification;
@@ -47,6 +48,8 @@ public class JsonRpc2_0Web3j implements Web3j {
     private final JsonRpc2_0Rx web3jRx;
     private final long blockTime;
     private final ScheduledExecutorService scheduledExecutorService;
+    // cleared once the service turns out not to support subscriptions
+    private volatile boolean subscriptionsSupported = true;
 
     public JsonRpc2_0Web3j(Web3jService web3jService) {
         this(web3jService, DEFAULT_BLOCK_TIME, Async.defaultExecutorService());
@@ -687,7 +690,7 @@ public class JsonRpc2_0Web3j implements Web3j {
                 LogNotification.class);
     }
 
-    private Map<String, Object> createLogsParams(List<String> addresses, List<String> topics) {
+    private Map<String, Object> createLogsParams(List<String> addresses, List<?> topics) {
         Map<String, Object> params = new HashMap<>();
         if (!addresses.isEmpty()) {
             params.put("address", addresses);
@@ -711,7 +714,65 @@ public class JsonRpc2_0Web3j implements Web3j {
     @Override
     public Flowable<Log> ethLogFlowable(
             org.web3j.protocol.core.methods.request.EthFilter ethFilter) {
-        return web3jRx.ethLogFlowable(ethFilter, blockTime);
+        if (!subscriptionsSupported || !followsNewBlocks(ethFilter)) {
+            return web3jRx.ethLogFlowable(ethFilter, blockTime);
+        }
+
+        // deferred, as services supporting subscriptions open them as soon as they are requested
+        return Flowable.defer(
+                () -> {
+                    try {
+                        return logsSubscription(ethFilter)
+                                .map(notification -> toLog(notification.getParams().getResult()));
+                    } catch (UnsupportedOperationException e) {
+                        subscriptionsSupported = false;
+                        return web3jRx.ethLogFlowable(ethFilter, blockTime);
+                    }
+                });
+    }
+
+    private Flowable<LogNotification> logsSubscription(
+            org.web3j.protocol.core.methods.request.EthFilter ethFilter) {
+        List<String> addresses =
+                ethFilter.getAddress() != null
+                        ? ethFilter.getAddress()
+                        : Collections.<String>emptyList();
+        Map<String, Object> params = createLogsParams(addresses, ethFilter.getTopics());
+
+        return web3jService.subscribe(
+                new Request<>(
+                        "eth_subscribe",
+                        Arrays.asList("logs", params),
+                        web3jService,
+                        EthSubscribe.class),
+                "eth_unsubscribe",
+                LogNotification.class);
+    }
+
+    /** Whether a filter only matches logs of blocks yet to be imported. */
+    private static boolean followsNewBlocks(
+            org.web3j.protocol.core.methods.request.EthFilter ethFilter) {
+        return ethFilter.getBlockHash() == null
+                && isLatest(ethFilter.getFromBlock())
+                && isLatest(ethFilter.getToBlock());
+    }
+
+    private static boolean isLatest(DefaultBlockParameter blockParameter) {
+        return blockParameter == null || blockParameter == DefaultBlockParameterName.LATEST;
+    }
+
+    private static Log toLog(org.web3j.protocol.websocket.events.Log log) {
+        return new Log(
+                log.isRemoved(),
+                log.getLogIndex(),
+                log.getTransactionIndex(),
+                log.getTransactionHash(),
+                log.getBlockHash(),
+                log.getBlockNumber(),
+                log.getAddress(),
+                log.getData(),
+                null,
+                log.getTopics());
     }
 
     @Override
@@ -748,6 +809,43 @@ public class JsonRpc2_0Web3j implements Web3j {
                 startBlock, endBlock, fullTransactionObjects, ascending);
     }
 
+    @Override
+    public Flowable<EthBlock> replayPastBlocksFlowable(
+            DefaultBlockParameter startBlock,
+            DefaultBlockParameter endBlock,
+            boolean fullTransactionObjects,
+            boolean ascending,
+            int batchSize,
+            int maxConcurrentBatches) {
+        return replayPastBlocksFlowable(
+                startBlock,
+                endBlock,
+                fullTransactionObjects,
+                ascending,
+                batchSize,
+                maxConcurrentBatches,
+                new BlockReplayMetrics());
+    }
+
+    @Override
+    public Flowable<EthBlock> replayPastBlocksFlowable(
+            DefaultBlockParameter startBlock,
+            DefaultBlockParameter endBlock,
+            boolean fullTransactionObjects,
+            boolean ascending,
+            int batchSize,
+            int maxConcurrentBatches,
+            BlockReplayMetrics metrics) {
+        return web3jRx.replayBlocksFlowable(
+                startBlock,
+                endBlock,
+                fullTransactionObjects,
+                ascending,
+                batchSize,
+                maxConcurrentBatches,
+                metrics);
+    }
+
     @Override
     public Flowable<EthBlock> replayPastBlocksFlowable(
             DefaultBlockParameter startBlock,
@@ -791,7 +889,9 @@ public class JsonRpc2_0Web3j implements Web3j {
 
     @Override
     public void shutdown() {
-        scheduledExecutorService.shutdown();
+        if (!Async.isSharedExecutorService(scheduledExecutorService)) {
+            scheduledExecutorService.shutdown();
+        }
         try {
             web3jService.close();
         } catch (IOException e) {
@@ -0,0 +1,498 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core.filters;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import io.reactivex.BackpressureStrategy;
+import io.reactivex.Flowable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.RpcErrors;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.request.Filter.FilterTopic;
+import org.web3j.protocol.core.methods.request.Filter.SingleTopic;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.Log;
+
+/**
+ * Shares server-side log filters between many log subscriptions.
+ *
+ * <p>Every {@link LogFilter} installs its own filter and polls it on its own schedule. This class
+ * instead merges the criteria of its subscriptions into at most one server-side filter for each
+ * kind of criteria: restricted by address, restricted by event signature only, or neither. The
+ * merged filter matches the union of the addresses and event signatures of its subscriptions, all
+ * filters are polled in a single batch request per interval, and the logs returned are dispatched
+ * to the matching subscriptions through an index on address and event signature.
+ *
+ * <p>When subscriptions come and go the merged filter is replaced, and logs returned by both the
+ * old and the new filter are delivered once.
+ *
+ * <p>Only filters on new blocks, from and to the latest block, can be shared.
+ */
+public class LogFilterMultiplexer implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LogFilterMultiplexer.class);
+
+    private static final Pattern FILTER_NOT_FOUND =
+            Pattern.compile("(?i)\\bfilter\\s+not\\s+found\\b");
+
+    private final Web3j web3j;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final long pollingInterval;
+
+    private final Object lock = new Object();
+    private final Map<Kind, FilterGroup> groups = new HashMap<>();
+    private ScheduledFuture<?> schedule;
+
+    public LogFilterMultiplexer(
+            Web3j web3j, ScheduledExecutorService scheduledExecutorService, long pollingInterval) {
+        this.web3j = web3j;
+        this.scheduledExecutorService = scheduledExecutorService;
+        this.pollingInterval = pollingInterval;
+    }
+
+    /**
+     * Create a flowable emitting the logs of new blocks matching a filter.
+     *
+     * @param ethFilter filter criteria, from and to the latest block
+     * @return a {@link Flowable} instance that emits the logs matching the filter
+     */
+    public Flowable<Log> logFlowable(EthFilter ethFilter) {
+        if (!followsNewBlocks(ethFilter)) {
+            throw new IllegalArgumentException(
+                    "Only filters from and to the latest block can be shared");
+        }
+        return Flowable.create(
+                emitter -> {
+                    LogSubscription subscription = new LogSubscription(ethFilter, emitter::onNext);
+                    add(subscription);
+                    emitter.setCancellable(() -> remove(subscription));
+                },
+                BackpressureStrategy.BUFFER);
+    }
+
+    /**
+     * Number of server-side filters currently installed.
+     *
+     * @return installed filter count
+     */
+    public int getFilterCount() {
+        synchronized (lock) {
+            int count = 0;
+            for (FilterGroup group : groups.values()) {
+                if (group.filterId != null) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    @Override
+    public void close() {
+        List<FilterGroup> closed;
+        synchronized (lock) {
+            closed = new ArrayList<>(groups.values());
+            groups.clear();
+            stop();
+        }
+        for (FilterGroup group : closed) {
+            uninstall(group.filterId);
+        }
+    }
+
+    private void add(LogSubscription subscription) {
+        synchronized (lock) {
+            groups.computeIfAbsent(subscription.kind(), FilterGroup::new).add(subscription);
+            if (schedule == null) {
+                schedule =
+                        scheduledExecutorService.scheduleAtFixedRate(
+                                () -> {
+                                    try {
+                                        poll();
+                                    } catch (Throwable e) {
+                                        // the job would stop without notice
+                                        log.warn("Error polling shared log filters", e);
+                                    }
+                                },
+                                0,
+                                pollingInterval,
+                                TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void remove(LogSubscription subscription) {
+        synchronized (lock) {
+            FilterGroup group = groups.get(subscription.kind());
+            if (group != null) {
+                group.remove(subscription);
+            }
+        }
+    }
+
+    private void stop() {
+        if (schedule != null) {
+            schedule.cancel(false);
+            schedule = null;
+        }
+    }
+
+    /** Install or replace filters whose criteria changed, then poll all filters in one batch. */
+    void poll() throws IOException {
+        List<FilterGroup> active = new ArrayList<>();
+        List<FilterGroup> idle = new ArrayList<>();
+        synchronized (lock) {
+            for (FilterGroup group : groups.values()) {
+                (group.isEmpty() ? idle : active).add(group);
+            }
+            groups.values().removeAll(idle);
+            if (groups.isEmpty()) {
+                stop();
+            }
+        }
+        for (FilterGroup group : idle) {
+            uninstall(group.filterId);
+        }
+
+        for (FilterGroup group : active) {
+            if (group.needsInstall()) {
+                install(group);
+            }
+        }
+
+        BatchRequest batchRequest = web3j.newBatch();
+        List<FilterGroup> polled = new ArrayList<>();
+        for (FilterGroup group : active) {
+            if (group.filterId != null) {
+                batchRequest.add(web3j.ethGetFilterChanges(group.filterId));
+                polled.add(group);
+            }
+        }
+        if (polled.isEmpty()) {
+            return;
+        }
+
+        List<? extends Response<?>> responses = batchRequest.send().getResponses();
+        for (int i = 0; i < polled.size() && i < responses.size(); i++) {
+            FilterGroup group = polled.get(i);
+            EthLog ethLog = (EthLog) responses.get(i);
+            if (ethLog == null) {
+                continue;
+            }
+            if (!ethLog.hasError()) {
+                group.dispatch(ethLog.getLogs(), false);
+            } else if (isFilterNotFound(ethLog.getError())) {
+                log.warn("The filter has not been found. Filter id: {}", group.filterId);
+                group.filterId = null;
+            } else {
+                log.warn("Failed to poll shared log filter: {}", ethLog.getError().getMessage());
+            }
+        }
+    }
+
+    private void install(FilterGroup group) throws IOException {
+        int version;
+        EthFilter criteria;
+        synchronized (lock) {
+            version = group.version;
+            criteria = group.criteria();
+        }
+
+        org.web3j.protocol.core.methods.response.EthFilter installed =
+                web3j.ethNewFilter(criteria).send();
+        if (installed.hasError()) {
+            log.warn("Failed to install shared log filter: {}", installed.getError().getMessage());
+            return;
+        }
+
+        BigInteger previous = group.filterId;
+        group.filterId = installed.getFilterId();
+        group.installedVersion = version;
+        if (previous != null) {
+            // logs imported between the last poll and the new filter only the previous one has
+            EthLog ethLog = web3j.ethGetFilterChanges(previous).send();
+            if (!ethLog.hasError()) {
+                group.dispatch(ethLog.getLogs(), true);
+            }
+            uninstall(previous);
+        }
+    }
+
+    private void uninstall(BigInteger filterId) {
+        if (filterId == null) {
+            return;
+        }
+        try {
+            web3j.ethUninstallFilter(filterId).send();
+        } catch (IOException e) {
+            log.debug("Failed to uninstall filter {}", filterId, e);
+        }
+    }
+
+    private static boolean isFilterNotFound(Response.Error error) {
+        return error.getCode() == RpcErrors.FILTER_NOT_FOUND
+                || (error.getMessage() != null
+                        && FILTER_NOT_FOUND.matcher(error.getMessage()).find());
+    }
+
+    private static boolean followsNewBlocks(EthFilter ethFilter) {
+        return ethFilter.getBlockHash() == null
+                && isLatest(ethFilter.getFromBlock())
+                && isLatest(ethFilter.getToBlock());
+    }
+
+    private static boolean isLatest(DefaultBlockParameter blockParameter) {
+        return blockParameter == null || blockParameter == DefaultBlockParameterName.LATEST;
+    }
+
+    /** Criteria that can be merged into the same server-side filter. */
+    private enum Kind {
+        BY_ADDRESS,
+        BY_EVENT,
+        ALL
+    }
+
+    /** Subscriptions sharing a server-side filter. */
+    private final class FilterGroup {
+        private final Kind kind;
+        private final List<LogSubscription> subscriptions = new ArrayList<>();
+        private Set<String> addresses = Collections.emptySet();
+        private Set<String> events = Collections.emptySet();
+        private volatile LogIndex index = new LogIndex(Collections.emptyList());
+
+        // guarded by the multiplexer lock
+        private int version;
+        // written by the polling job only
+        private volatile BigInteger filterId;
+        private int installedVersion = -1;
+        private Set<String> lastDelivered = Collections.emptySet();
+
+        FilterGroup(Kind kind) {
+            this.kind = kind;
+        }
+
+        void add(LogSubscription subscription) {
+            subscriptions.add(subscription);
+            update();
+        }
+
+        void remove(LogSubscription subscription) {
+            subscriptions.remove(subscription);
+            update();
+        }
+
+        boolean isEmpty() {
+            synchronized (lock) {
+                return subscriptions.isEmpty();
+            }
+        }
+
+        boolean needsInstall() {
+            synchronized (lock) {
+                return filterId == null || installedVersion != version;
+            }
+        }
+
+        private void update() {
+            Set<String> addresses = new LinkedHashSet<>();
+            Set<String> events = new LinkedHashSet<>();
+            for (LogSubscription subscription : subscriptions) {
+                addresses.addAll(subscription.addresses);
+                if (subscription.event() != null) {
+                    events.addAll(subscription.event());
+                }
+            }
+            if (!addresses.equals(this.addresses) || !events.equals(this.events)) {
+                // only replace the filter when the merged criteria change
+                this.addresses = addresses;
+                this.events = events;
+                version++;
+            }
+            index = new LogIndex(new ArrayList<>(subscriptions));
+        }
+
+        EthFilter criteria() {
+            EthFilter criteria =
+                    new EthFilter(
+                            DefaultBlockParameterName.LATEST,
+                            DefaultBlockParameterName.LATEST,
+                            kind == Kind.BY_ADDRESS ? new ArrayList<>(addresses) : null);
+            if (kind == Kind.BY_EVENT) {
+                criteria.addOptionalTopics(events.toArray(new String[0]));
+            }
+            return criteria;
+        }
+
+        /**
+         * Deliver logs to the matching subscriptions, skipping logs delivered from the previous
+         * filter when it was replaced.
+         */
+        void dispatch(List<EthLog.LogResult> logResults, boolean fromPreviousFilter) {
+            Set<String> delivered = fromPreviousFilter ? new HashSet<>() : null;
+            LogIndex index = this.index;
+            for (EthLog.LogResult logResult : logResults) {
+                if (!(logResult instanceof EthLog.LogObject)) {
+                    throw new FilterException(
+                            "Unexpected result type: " + logResult.get() + " required LogObject");
+                }
+                Log log = ((EthLog.LogObject) logResult).get();
+                String key = log.getBlockHash() + ':' + log.getLogIndexRaw();
+                if (fromPreviousFilter) {
+                    delivered.add(key);
+                } else if (lastDelivered.contains(key)) {
+                    continue;
+                }
+                index.dispatch(log);
+            }
+            lastDelivered = fromPreviousFilter ? delivered : Collections.emptySet();
+        }
+    }
+
+    /** Subscriptions by the address and event signature of the logs they match. */
+    private static final class LogIndex {
+        private final Map<String, List<LogSubscription>> byAddress = new HashMap<>();
+        private final Map<String, List<LogSubscription>> byEvent = new HashMap<>();
+        private final List<LogSubscription> unindexed = new ArrayList<>();
+
+        LogIndex(List<LogSubscription> subscriptions) {
+            for (LogSubscription subscription : subscriptions) {
+                if (!subscription.addresses.isEmpty()) {
+                    for (String address : subscription.addresses) {
+                        byAddress
+                                .computeIfAbsent(address, a -> new ArrayList<>())
+                                .add(subscription);
+                    }
+                } else if (subscription.event() != null) {
+                    for (String event : subscription.event()) {
+                        byEvent.computeIfAbsent(event, e -> new ArrayList<>()).add(subscription);
+                    }
+                } else {
+                    unindexed.add(subscription);
+                }
+            }
+        }
+
+        void dispatch(Log log) {
+            if (log.getAddress() != null) {
+                dispatch(log, byAddress.get(log.getAddress().toLowerCase()));
+            }
+            List<String> topics = log.getTopics();
+            if (topics != null && !topics.isEmpty() && topics.get(0) != null) {
+                dispatch(log, byEvent.get(topics.get(0).toLowerCase()));
+            }
+            dispatch(log, unindexed);
+        }
+
+        private static void dispatch(Log log, List<LogSubscription> subscriptions) {
+            if (subscriptions == null) {
+                return;
+            }
+            for (LogSubscription subscription : subscriptions) {
+                if (subscription.matches(log)) {
+                    subscription.callback.onEvent(log);
+                }
+            }
+        }
+    }
+
+    /** A subscription's criteria, with values lower-cased; a null topic set matches any topic. */
+    private static final class LogSubscription {
+        private final Set<String> addresses = new HashSet<>();
+        private final List<Set<String>> topics = new ArrayList<>();
+        private final Callback<Log> callback;
+
+        LogSubscription(EthFilter ethFilter, Callback<Log> callback) {
+            this.callback = callback;
+            if (ethFilter.getAddress() != null) {
+                for (String address : ethFilter.getAddress()) {
+                    addresses.add(address.toLowerCase());
+                }
+            }
+            for (FilterTopic<?> topic : ethFilter.getTopics()) {
+                topics.add(toSet(topic.getValue()));
+            }
+        }
+
+        private static Set<String> toSet(Object value) {
+            if (value == null) {
+                return null;
+            }
+            if (value instanceof List) {
+                Set<String> values = new HashSet<>();
+                for (Object topic : (List<?>) value) {
+                    String single = ((SingleTopic) topic).getValue();
+                    if (single == null) {
+                        return null;
+                    }
+                    values.add(single.toLowerCase());
+                }
+                return values;
+            }
+            return Collections.singleton(value.toString().toLowerCase());
+        }
+
+        Set<String> event() {
+            return topics.isEmpty() ? null : topics.get(0);
+        }
+
+        Kind kind() {
+            if (!addresses.isEmpty()) {
+                return Kind.BY_ADDRESS;
+            }
+            return event() != null ? Kind.BY_EVENT : Kind.ALL;
+        }
+
+        boolean matches(Log log) {
+            if (!addresses.isEmpty()
+                    && (log.getAddress() == null
+                            || !addresses.contains(log.getAddress().toLowerCase()))) {
+                return false;
+            }
+            List<String> logTopics =
+                    log.getTopics() != null ? log.getTopics() : Collections.emptyList();
+            for (int i = 0; i < topics.size(); i++) {
+                Set<String> expected = topics.get(i);
+                if (expected == null) {
+                    continue;
+                }
+                if (i >= logTopics.size()
+                        || logTopics.get(i) == null
+                        || !expected.contains(logTopics.get(i).toLowerCase())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -13,15 +13,20 @@
 package org.web3j.protocol.http;
 
 import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.CipherSuite;
 import okhttp3.ConnectionSpec;
+import okhttp3.Dispatcher;
 import okhttp3.Headers;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
@@ -86,6 +91,10 @@ public class HttpService extends Service {
 
     public static final String DEFAULT_URL = "http://localhost:8545/";
 
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 256;
+
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS_PER_HOST = 64;
+
     private static final Logger log = LoggerFactory.getLogger(HttpService.class);
 
     private OkHttpClient httpClient;
@@ -94,10 +103,15 @@ public class HttpService extends Service {
 
     private HashMap<String, String> headers = new HashMap<>();
 
+    private volatile boolean streamingResponses = false;
+
+    private final boolean includeRawResponses;
+
     public HttpService(String url, OkHttpClient httpClient, boolean includeRawResponses) {
         super(includeRawResponses);
         this.url = url;
         this.httpClient = httpClient;
+        this.includeRawResponses = includeRawResponses;
     }
 
     public HttpService(OkHttpClient httpClient, boolean includeRawResponses) {
@@ -129,8 +143,14 @@ public class HttpService extends Service {
     }
 
     public static OkHttpClient.Builder getOkHttpClientBuilder() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(DEFAULT_MAX_CONCURRENT_REQUESTS);
+        dispatcher.setMaxRequestsPerHost(DEFAULT_MAX_CONCURRENT_REQUESTS_PER_HOST);
+
         final OkHttpClient.Builder builder =
-                new OkHttpClient.Builder().connectionSpecs(CONNECTION_SPEC_LIST);
+                new OkHttpClient.Builder()
+                        .connectionSpecs(CONNECTION_SPEC_LIST)
+                        .dispatcher(dispatcher);
         configureLogging(builder);
         return builder;
     }
@@ -149,21 +169,66 @@ public class HttpService extends Service {
 
     @Override
     protected InputStream performIO(String request) throws IOException {
+        return processResponse(httpClient.newCall(buildRequest(request)).execute());
+    }
+
+    /**
+     * Performs the request using OkHttp's asynchronous API, so no thread is blocked while the
+     * request is in flight. The number of concurrent requests is bounded by the client's {@link
+     * Dispatcher}, see {@link #setMaxConcurrentRequests(int)} and {@link
+     * #setMaxConcurrentRequestsPerHost(int)}.
+     */
+    @Override
+    protected CompletableFuture<InputStream> performIOAsync(String request) {
+        CompletableFuture<InputStream> result = new CompletableFuture<>();
+        httpClient
+                .newCall(buildRequest(request))
+                .enqueue(
+                        new Callback() {
+                            @Override
+                            public void onFailure(Call call, IOException e) {
+                                result.completeExceptionally(e);
+                            }
+
+                            @Override
+                            public void onResponse(Call call, okhttp3.Response response) {
+                                try {
+                                    result.complete(processResponse(response));
+                                } catch (Throwable e) {
+                                    result.completeExceptionally(e);
+                                }
+                            }
+                        });
+        return result;
+    }
 
+    @Override
+    protected boolean hasNonBlockingIO() {
+        return true;
+    }
+
+    private okhttp3.Request buildRequest(String request) {
         RequestBody requestBody = RequestBody.create(request, JSON_MEDIA_TYPE);
         Headers headers = buildHeaders();
 
-        okhttp3.Request httpRequest =
-                new okhttp3.Request.Builder().url(url).headers(headers).post(requestBody).build();
+        return new okhttp3.Request.Builder().url(url).headers(headers).post(requestBody).build();
+    }
 
-        try (okhttp3.Response response = httpClient.newCall(httpRequest).execute()) {
+    private InputStream processResponse(okhttp3.Response response) throws IOException {
+        try {
             processHeaders(response.headers());
             ResponseBody responseBody = response.body();
             if (response.isSuccessful()) {
-                if (responseBody != null) {
-                    return buildInputStream(responseBody);
-                } else {
+                if (responseBody == null) {
                     return null;
+                } else if (isStreamingResponses()) {
+                    // ownership of the response passes to the stream, which closes it once the
+                    // caller has finished parsing
+                    InputStream inputStream = new ResponseInputStream(response);
+                    response = null;
+                    return inputStream;
+                } else {
+                    return buildInputStream(responseBody);
                 }
             } else {
                 int code = response.code();
@@ -172,6 +237,10 @@ public class HttpService extends Service {
                 throw new ClientConnectionException(
                         "Invalid response received: " + code + "; " + text);
             }
+        } finally {
+            if (response != null) {
+                response.close();
+            }
         }
     }
 
@@ -203,6 +272,69 @@ public class HttpService extends Service {
         return url;
     }
 
+    /**
+     * Set the maximum number of asynchronous requests executed concurrently. Further requests are
+     * queued without occupying a thread until a slot becomes available.
+     *
+     * <p>The limit applies to the client's {@link Dispatcher}, which is shared with any other
+     * {@link OkHttpClient} derived from the same client.
+     *
+     * @param maxConcurrentRequests maximum number of requests in flight
+     */
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        httpClient.dispatcher().setMaxRequests(maxConcurrentRequests);
+    }
+
+    /**
+     * Set the maximum number of asynchronous requests executed concurrently against each host.
+     *
+     * @param maxConcurrentRequestsPerHost maximum number of requests in flight per host
+     */
+    public void setMaxConcurrentRequestsPerHost(int maxConcurrentRequestsPerHost) {
+        httpClient.dispatcher().setMaxRequestsPerHost(maxConcurrentRequestsPerHost);
+    }
+
+    /**
+     * Enable or disable streaming of response bodies.
+     *
+     * <p>By default each response body is read fully into memory before it is deserialized. When
+     * streaming is enabled the body is deserialized directly from the connection, which avoids
+     * buffering large responses such as blocks with full transactions or logs on the heap.
+     *
+     * <p>Raw responses are read by resetting the stream they were parsed from, which the
+     * connection does not support, so responses are still buffered if the service was created to
+     * include raw responses.
+     *
+     * @param streamingResponses true to deserialize responses directly from the connection
+     */
+    public void setStreamingResponses(boolean streamingResponses) {
+        this.streamingResponses = streamingResponses;
+    }
+
+    public boolean isStreamingResponses() {
+        return streamingResponses && !includeRawResponses;
+    }
+
     @Override
     public void close() throws IOException {}
+
+    /** Response body stream that releases the underlying response when closed. */
+    private static class ResponseInputStream extends FilterInputStream {
+
+        private final okhttp3.Response response;
+
+        ResponseInputStream(okhttp3.Response response) {
+            super(response.body().byteStream());
+            this.response = response;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                response.close();
+            }
+        }
+    }
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.rx;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Progress counters for a batched block replay. */
+public class BlockReplayMetrics {
+
+    private final AtomicLong blocksEmitted = new AtomicLong();
+    private final AtomicLong batchesCompleted = new AtomicLong();
+    private final AtomicInteger batchesInFlight = new AtomicInteger();
+    private final AtomicInteger maxBatchesInFlight = new AtomicInteger();
+    private volatile long startNanos;
+
+    void onStart() {
+        startNanos = System.nanoTime();
+    }
+
+    void onBatchStarted() {
+        int inFlight = batchesInFlight.incrementAndGet();
+        maxBatchesInFlight.accumulateAndGet(inFlight, Math::max);
+    }
+
+    void onBatchCompleted() {
+        batchesInFlight.decrementAndGet();
+        batchesCompleted.incrementAndGet();
+    }
+
+    void onBlockEmitted() {
+        blocksEmitted.incrementAndGet();
+    }
+
+    public long getBlocksEmitted() {
+        return blocksEmitted.get();
+    }
+
+    public long getBatchesCompleted() {
+        return batchesCompleted.get();
+    }
+
+    public int getBatchesInFlight() {
+        return batchesInFlight.get();
+    }
+
+    public int getMaxBatchesInFlight() {
+        return maxBatchesInFlight.get();
+    }
+
+    /**
+     * Average number of blocks emitted per second since the replay was subscribed to.
+     *
+     * @return blocks per second, or 0 if the replay has not started yet
+     */
+    public double getBlocksPerSecond() {
+        long start = startNanos;
+        if (start == 0) {
+            return 0;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (elapsed <= 0) {
+            return 0;
+        }
+        return blocksEmitted.get() * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+}
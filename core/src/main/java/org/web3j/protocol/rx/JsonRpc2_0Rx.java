@@ -14,7 +14,9 @@ package org.web3j.protocol.rx;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.Collectors;
 
@@ -25,16 +27,20 @@ import io.reactivex.Scheduler;
 import io.reactivex.schedulers.Schedulers;
 
 import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
 import org.web3j.protocol.core.DefaultBlockParameter;
 import org.web3j.protocol.core.DefaultBlockParameterName;
 import org.web3j.protocol.core.DefaultBlockParameterNumber;
 import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
 import org.web3j.protocol.core.filters.BlockFilter;
 import org.web3j.protocol.core.filters.LogFilter;
 import org.web3j.protocol.core.filters.PendingTransactionFilter;
 import org.web3j.protocol.core.methods.response.EthBlock;
 import org.web3j.protocol.core.methods.response.Log;
 import org.web3j.protocol.core.methods.response.Transaction;
+import org.web3j.protocol.exceptions.JsonRpcError;
 import org.web3j.utils.Flowables;
 
 /** web3j reactive API implementation. */
@@ -129,6 +135,121 @@ public class JsonRpc2_0Rx {
                 .subscribeOn(scheduler);
     }
 
+    public Flowable<EthBlock> replayBlocksFlowable(
+            DefaultBlockParameter startBlock,
+            DefaultBlockParameter endBlock,
+            boolean fullTransactionObjects,
+            boolean ascending,
+            int batchSize,
+            int maxConcurrentBatches,
+            BlockReplayMetrics metrics) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        } else if (maxConcurrentBatches < 1) {
+            throw new IllegalArgumentException("Maximum concurrent batches must be positive");
+        }
+
+        return Flowable.defer(
+                        () ->
+                                replayBlocksFlowableBatched(
+                                        startBlock,
+                                        endBlock,
+                                        fullTransactionObjects,
+                                        ascending,
+                                        batchSize,
+                                        maxConcurrentBatches,
+                                        metrics))
+                .subscribeOn(scheduler);
+    }
+
+    private Flowable<EthBlock> replayBlocksFlowableBatched(
+            DefaultBlockParameter startBlock,
+            DefaultBlockParameter endBlock,
+            boolean containsFullTransactionObjects,
+            boolean isAscending,
+            int batchSize,
+            int maxConcurrentBatches,
+            BlockReplayMetrics metrics) {
+        BigInteger startBlockNumber;
+        BigInteger endBlockNumber;
+        try {
+            startBlockNumber = getBlockNumber(startBlock);
+            endBlockNumber = getBlockNumber(endBlock);
+        } catch (IOException e) {
+            return Flowable.error(e);
+        }
+
+        // Batches are fetched eagerly up to maxConcurrentBatches at a time, but concatMapEager
+        // emits them in subscription order, so blocks are still delivered strictly in sequence
+        return Flowables.range(startBlockNumber, endBlockNumber, isAscending)
+                .buffer(batchSize)
+                .concatMapEager(
+                        blockNumbers ->
+                                fetchBlocks(
+                                        blockNumbers, containsFullTransactionObjects, metrics),
+                        maxConcurrentBatches,
+                        1)
+                .doOnSubscribe(subscription -> metrics.onStart())
+                .doOnNext(ethBlock -> metrics.onBlockEmitted());
+    }
+
+    private Flowable<EthBlock> fetchBlocks(
+            List<BigInteger> blockNumbers,
+            boolean containsFullTransactionObjects,
+            BlockReplayMetrics metrics) {
+        // no thread is held while the batch is in flight
+        return Flowable.<List<EthBlock>>create(
+                        emitter -> {
+                            BatchRequest batchRequest = web3j.newBatch();
+                            for (BigInteger blockNumber : blockNumbers) {
+                                batchRequest.add(
+                                        web3j.ethGetBlockByNumber(
+                                                new DefaultBlockParameterNumber(blockNumber),
+                                                containsFullTransactionObjects));
+                            }
+
+                            metrics.onBatchStarted();
+                            batchRequest
+                                    .sendAsync()
+                                    .whenComplete(
+                                            (batchResponse, throwable) -> {
+                                                metrics.onBatchCompleted();
+                                                try {
+                                                    if (throwable != null) {
+                                                        throw throwable;
+                                                    }
+                                                    emitter.onNext(toBlocks(batchResponse));
+                                                    emitter.onComplete();
+                                                } catch (Throwable e) {
+                                                    emitter.onError(unwrap(e));
+                                                }
+                                            });
+                        },
+                        BackpressureStrategy.BUFFER)
+                .flatMapIterable(blocks -> blocks);
+    }
+
+    private static List<EthBlock> toBlocks(BatchResponse batchResponse) throws IOException {
+        if (batchResponse == null) {
+            throw new IOException("Empty response received for block batch request");
+        }
+
+        List<EthBlock> blocks = new ArrayList<>(batchResponse.getResponses().size());
+        for (Response<?> response : batchResponse.getResponses()) {
+            if (response.hasError()) {
+                throw new JsonRpcError(response.getError());
+            }
+            blocks.add((EthBlock) response);
+        }
+        return blocks;
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+    }
+
     private Flowable<EthBlock> replayBlocksFlowableSync(
             DefaultBlockParameter startBlock,
             DefaultBlockParameter endBlock,
@@ -30,6 +30,9 @@ public interface Web3jRx {
     /**
      * Create an flowable to filter for specific log events on the blockchain.
      *
+     * <p>Filters on new blocks only, from and to the latest block, use a {@code logs} subscription
+     * when the service supports subscriptions, and poll a log filter otherwise.
+     *
      * @param ethFilter filter criteria
      * @return a {@link Flowable} instance that emits all Log events matching the filter
      */
@@ -110,6 +113,57 @@ public interface Web3jRx {
             boolean fullTransactionObjects,
             boolean ascending);
 
+    /**
+     * Create an {@link Flowable} instance that emits all blocks from the blockchain contained
+     * within the requested range, fetching them in JSON-RPC batches.
+     *
+     * <p>Up to {@code maxConcurrentBatches} batches of {@code batchSize} blocks are requested
+     * concurrently, while blocks are still emitted strictly in range order. Batches are only
+     * requested as downstream subscribers request blocks.
+     *
+     * @param startBlock block number to commence with
+     * @param endBlock block number to finish with
+     * @param fullTransactionObjects if true, provides transactions embedded in blocks, otherwise
+     *     transaction hashes
+     * @param ascending if true, emits blocks in ascending order between range, otherwise in
+     *     descending order
+     * @param batchSize number of blocks requested in a single JSON-RPC batch
+     * @param maxConcurrentBatches maximum number of batches in flight at any time
+     * @return a {@link Flowable} instance to emit these blocks
+     */
+    Flowable<EthBlock> replayPastBlocksFlowable(
+            DefaultBlockParameter startBlock,
+            DefaultBlockParameter endBlock,
+            boolean fullTransactionObjects,
+            boolean ascending,
+            int batchSize,
+            int maxConcurrentBatches);
+
+    /**
+     * Create an {@link Flowable} instance that emits all blocks from the blockchain contained
+     * within the requested range, fetching them in JSON-RPC batches and recording progress to
+     * the provided {@link BlockReplayMetrics}.
+     *
+     * @param startBlock block number to commence with
+     * @param endBlock block number to finish with
+     * @param fullTransactionObjects if true, provides transactions embedded in blocks, otherwise
+     *     transaction hashes
+     * @param ascending if true, emits blocks in ascending order between range, otherwise in
+     *     descending order
+     * @param batchSize number of blocks requested in a single JSON-RPC batch
+     * @param maxConcurrentBatches maximum number of batches in flight at any time
+     * @param metrics replay progress counters
+     * @return a {@link Flowable} instance to emit these blocks
+     */
+    Flowable<EthBlock> replayPastBlocksFlowable(
+            DefaultBlockParameter startBlock,
+            DefaultBlockParameter endBlock,
+            boolean fullTransactionObjects,
+            boolean ascending,
+            int batchSize,
+            int maxConcurrentBatches,
+            BlockReplayMetrics metrics);
+
     /**
      * Create a {@link Flowable} instance that emits all transactions from the blockchain starting
      * with a provided block number. Once it has replayed up to the most current block, the provided
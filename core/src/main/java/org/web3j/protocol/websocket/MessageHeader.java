@@ -0,0 +1,143 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.websocket;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * The fields of an incoming WebSocket message needed to route it: the request id of a reply, or
+ * the subscription id of an event.
+ *
+ * <p>The header is read with a streaming parser that stops as soon as the message kind is known,
+ * skipping over results and event payloads without building them.
+ */
+final class MessageHeader {
+
+    enum Kind {
+        REPLY,
+        BATCH_REPLY,
+        SUBSCRIPTION_EVENT
+    }
+
+    private final Kind kind;
+    private final long id;
+    private final String subscriptionId;
+
+    private MessageHeader(Kind kind, long id, String subscriptionId) {
+        this.kind = kind;
+        this.id = id;
+        this.subscriptionId = subscriptionId;
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    /** Request id of a reply, or of the first reply of a batch. */
+    long getId() {
+        return id;
+    }
+
+    String getSubscriptionId() {
+        return subscriptionId;
+    }
+
+    static MessageHeader peek(JsonFactory jsonFactory, byte[] message) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(message)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    throw new IOException("'id' field is missing in the reply");
+                }
+                MessageHeader first = peekObject(parser);
+                if (first.kind != Kind.REPLY) {
+                    throw new IOException("'id' field is missing in the reply");
+                }
+                return new MessageHeader(Kind.BATCH_REPLY, first.id, null);
+            } else if (token == JsonToken.START_OBJECT) {
+                return peekObject(parser);
+            }
+            throw new IOException("Unknown message type");
+        } catch (JsonProcessingException e) {
+            throw new IOException("Failed to parse incoming WebSocket message", e);
+        }
+    }
+
+    private static MessageHeader peekObject(JsonParser parser) throws IOException {
+        boolean method = false;
+        String subscriptionId = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("id".equals(field)) {
+                return new MessageHeader(Kind.REPLY, readId(parser, value), null);
+            } else if ("method".equals(field)) {
+                method = true;
+            } else if ("params".equals(field) && value == JsonToken.START_OBJECT) {
+                subscriptionId = peekSubscriptionId(parser, method);
+            } else {
+                parser.skipChildren();
+            }
+            if (method && subscriptionId != null) {
+                // notifications carry no id
+                return new MessageHeader(Kind.SUBSCRIPTION_EVENT, 0, subscriptionId);
+            }
+        }
+
+        if (method) {
+            return new MessageHeader(Kind.SUBSCRIPTION_EVENT, 0, subscriptionId);
+        }
+        throw new IOException("Unknown message type");
+    }
+
+    private static String peekSubscriptionId(JsonParser parser, boolean method)
+            throws IOException {
+        String subscriptionId = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if ("subscription".equals(field) && subscriptionId == null) {
+                subscriptionId = parser.getValueAsString();
+                if (method && subscriptionId != null) {
+                    // the rest of the message is left unread
+                    return subscriptionId;
+                }
+            }
+            parser.skipChildren();
+        }
+        return subscriptionId;
+    }
+
+    private static long readId(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getLongValue();
+        } else if (value == JsonToken.VALUE_STRING) {
+            try {
+                return Long.parseLong(parser.getText());
+            } catch (NumberFormatException e) {
+                throw new IOException(
+                        String.format(
+                                "Found Textual 'id' that cannot be casted to long. Input : '%s'",
+                                parser.getText()));
+            }
+        }
+        throw new IOException(
+                String.format("'id' expected to be long, but it is: '%s'", parser.getText()));
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.websocket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs tasks on a shared executor, serially within each partition. Tasks submitted with keys that
+ * map to the same partition run one at a time in submission order, while different partitions run
+ * in parallel.
+ *
+ * <p>If the executor rejects a partition, the partition tries again after a short delay, keeping
+ * its queued tasks in order. Tasks are only dropped once the retry cannot be scheduled either.
+ */
+class PartitionedExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionedExecutor.class);
+
+    // tasks a partition runs before yielding its thread to other partitions
+    private static final int MAX_TASKS_PER_RUN = 64;
+    private static final long RETRY_DELAY_MILLIS = 100;
+
+    private final Executor executor;
+    private final ScheduledExecutorService retryScheduler;
+    private final List<Partition> partitions;
+
+    PartitionedExecutor(
+            Executor executor, ScheduledExecutorService retryScheduler, int partitions) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("At least one partition is required");
+        }
+        this.executor = executor;
+        this.retryScheduler = retryScheduler;
+        this.partitions = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            this.partitions.add(new Partition());
+        }
+    }
+
+    void execute(Object key, Runnable task) {
+        partitions.get(Math.floorMod(key.hashCode(), partitions.size())).execute(task);
+    }
+
+    private class Partition {
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        void execute(Runnable task) {
+            tasks.add(task);
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                submit();
+            }
+        }
+
+        private void submit() {
+            try {
+                executor.execute(this::run);
+            } catch (RejectedExecutionException e) {
+                log.warn("WebSocket message dispatch rejected by executor, retrying", e);
+                retry();
+            }
+        }
+
+        private void retry() {
+            try {
+                // the partition stays scheduled, so later tasks queue up behind the retry
+                retryScheduler.schedule(this::submit, RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                int dropped = 0;
+                while (tasks.poll() != null) {
+                    dropped++;
+                }
+                log.error(
+                        "Unable to retry WebSocket message dispatch, dropped {} messages",
+                        dropped);
+                scheduled.set(false);
+                if (!tasks.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+
+        private void run() {
+            try {
+                Runnable task;
+                for (int i = 0; i < MAX_TASKS_PER_RUN && (task = tasks.poll()) != null; i++) {
+                    try {
+                        task.run();
+                    } catch (RuntimeException e) {
+                        log.error("Failed to process WebSocket message", e);
+                    }
+                }
+            } finally {
+                scheduled.set(false);
+                if (!tasks.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,329 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.websocket;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.Flowable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.websocket.events.Notification;
+
+/**
+ * Web socket service that spreads requests over a pool of WebSocket connections, to one or several
+ * nodes.
+ *
+ * <p>Each request is sent on one of the open connections, chosen either in turn or as the one with
+ * the fewest requests waiting for a reply. A subscription stays on the connection it was opened
+ * on. Lost connections are reconnected in the background, with their subscriptions restored.
+ */
+public class PooledWebSocketService implements Web3jService {
+    private static final Logger log = LoggerFactory.getLogger(PooledWebSocketService.class);
+
+    // Delay before reconnecting a lost connection, in milliseconds, doubled after each failure
+    static final long MIN_RECONNECT_DELAY = 1000;
+    static final long MAX_RECONNECT_DELAY = 30_000;
+
+    /** How requests are assigned to connections. */
+    public enum Routing {
+        /** Use the connections in turn. */
+        ROUND_ROBIN,
+        /** Use the connection with the fewest requests waiting for a reply. */
+        LEAST_OUTSTANDING
+    }
+
+    private final List<WebSocketService> connections;
+    private final Routing routing;
+    // Executor to schedule reconnects, shared with the connections for their request timeouts
+    private final ScheduledExecutorService executor;
+    // Executor running the blocking reconnects, so that they do not hold up request timeouts
+    private final Executor reconnectExecutor;
+    // Connections with a reconnect scheduled or in progress
+    private final Map<WebSocketService, AtomicBoolean> reconnecting = new IdentityHashMap<>();
+    private final AtomicInteger nextConnection = new AtomicInteger();
+    private volatile boolean closed;
+
+    /**
+     * Creates a pool of connections to a single node.
+     *
+     * @param serverUrl WebSocket URL of the node
+     * @param connections number of connections
+     * @param includeRawResponses whether to keep the raw JSON of responses
+     */
+    public PooledWebSocketService(String serverUrl, int connections, boolean includeRawResponses) {
+        this(
+                Collections.nCopies(connections, serverUrl),
+                includeRawResponses,
+                Routing.LEAST_OUTSTANDING);
+    }
+
+    /**
+     * Creates a pool with one connection for each given URL. A URL may be repeated to open several
+     * connections to the same node.
+     *
+     * @param serverUrls WebSocket URLs to connect to
+     * @param includeRawResponses whether to keep the raw JSON of responses
+     * @param routing how requests are assigned to connections
+     */
+    public PooledWebSocketService(
+            List<String> serverUrls, boolean includeRawResponses, Routing routing) {
+        this(
+                serverUrls,
+                includeRawResponses,
+                routing,
+                Executors.newScheduledThreadPool(1),
+                Executors.newSingleThreadExecutor());
+    }
+
+    private PooledWebSocketService(
+            List<String> serverUrls,
+            boolean includeRawResponses,
+            Routing routing,
+            ScheduledExecutorService executor,
+            Executor reconnectExecutor) {
+        this(
+                createConnections(serverUrls, includeRawResponses, executor),
+                routing,
+                executor,
+                reconnectExecutor);
+    }
+
+    PooledWebSocketService(
+            List<WebSocketService> connections,
+            Routing routing,
+            ScheduledExecutorService executor,
+            Executor reconnectExecutor) {
+        if (connections.isEmpty()) {
+            throw new IllegalArgumentException("At least one connection is required");
+        }
+        this.connections = new ArrayList<>(connections);
+        this.routing = routing;
+        this.executor = executor;
+        this.reconnectExecutor = reconnectExecutor;
+        for (WebSocketService connection : connections) {
+            connection.setResubscribeOnReconnect(true);
+            reconnecting.put(connection, new AtomicBoolean());
+        }
+    }
+
+    private static List<WebSocketService> createConnections(
+            List<String> serverUrls,
+            boolean includeRawResponses,
+            ScheduledExecutorService executor) {
+        List<WebSocketService> connections = new ArrayList<>(serverUrls.size());
+        for (String serverUrl : serverUrls) {
+            connections.add(
+                    new WebSocketService(
+                            new WebSocketClient(parseURI(serverUrl)),
+                            executor,
+                            includeRawResponses));
+        }
+        return connections;
+    }
+
+    /**
+     * Connect all connections of the pool. Connections that fail to connect are retried in the
+     * background.
+     *
+     * @throws ConnectException thrown if none of the connections could be opened
+     */
+    public void connect() throws ConnectException {
+        ConnectException failure = null;
+        int connected = 0;
+        for (WebSocketService connection : connections) {
+            try {
+                connect(connection);
+                connected++;
+            } catch (ConnectException e) {
+                failure = e;
+                startReconnecting(connection);
+            }
+        }
+        if (connected == 0) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Set the timeout of requests sent without an explicit timeout on every connection.
+     *
+     * @param timeout time to wait for a reply
+     * @param unit unit of the timeout
+     */
+    public void setRequestTimeout(long timeout, TimeUnit unit) {
+        for (WebSocketService connection : connections) {
+            connection.setRequestTimeout(timeout, unit);
+        }
+    }
+
+    /**
+     * Metrics of each connection of the pool.
+     *
+     * @return metrics, in the order of the connections
+     */
+    public List<WebSocketMetrics> getMetrics() {
+        List<WebSocketMetrics> metrics = new ArrayList<>(connections.size());
+        for (WebSocketService connection : connections) {
+            metrics.add(connection.getMetrics());
+        }
+        return metrics;
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        return selectConnection().send(request, responseType);
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(
+            Request request, Class<T> responseType) {
+        return selectConnection().sendAsync(request, responseType);
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest requests) throws IOException {
+        return selectConnection().sendBatch(requests);
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest requests) {
+        return selectConnection().sendBatchAsync(requests);
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(
+            Request request, String unsubscribeMethod, Class<T> responseType) {
+        return selectConnection().subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (WebSocketService connection : connections) {
+            connection.close();
+        }
+        executor.shutdown();
+        if (reconnectExecutor instanceof ExecutorService) {
+            ((ExecutorService) reconnectExecutor).shutdown();
+        }
+    }
+
+    WebSocketService selectConnection() {
+        int size = connections.size();
+        int start = Math.floorMod(nextConnection.getAndIncrement(), size);
+
+        WebSocketService selected = null;
+        int selectedOutstanding = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            WebSocketService connection = connections.get((start + i) % size);
+            if (!connection.isConnected()) {
+                continue;
+            }
+            if (routing == Routing.ROUND_ROBIN) {
+                return connection;
+            }
+            int outstanding = connection.getMetrics().getOutstandingRequests();
+            if (outstanding < selectedOutstanding) {
+                selected = connection;
+                selectedOutstanding = outstanding;
+            }
+        }
+
+        // with every connection down the request fails on the connection it is sent to
+        return selected != null ? selected : connections.get(start);
+    }
+
+    private void connect(WebSocketService connection) throws ConnectException {
+        connection.connect(message -> {}, throwable -> {}, () -> onConnectionClosed(connection));
+    }
+
+    private void onConnectionClosed(WebSocketService connection) {
+        if (!closed && startReconnecting(connection)) {
+            log.warn("WebSocket connection lost, reconnecting");
+        }
+    }
+
+    private boolean startReconnecting(WebSocketService connection) {
+        // a failed reconnect also reports the connection as closed, which must not start a second
+        // chain of retries alongside the backoff of the first one
+        if (!reconnecting.get(connection).compareAndSet(false, true)) {
+            return false;
+        }
+        scheduleReconnect(connection, MIN_RECONNECT_DELAY);
+        return true;
+    }
+
+    private void scheduleReconnect(WebSocketService connection, long delay) {
+        executor.schedule(
+                () -> {
+                    try {
+                        reconnectExecutor.execute(() -> reconnect(connection, delay));
+                    } catch (RejectedExecutionException e) {
+                        log.debug("WebSocket reconnect rejected after close", e);
+                    }
+                },
+                delay,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private void reconnect(WebSocketService connection, long delay) {
+        if (closed) {
+            return;
+        }
+        try {
+            connect(connection);
+            log.info("WebSocket connection re-established");
+        } catch (ConnectException e) {
+            long nextDelay = Math.min(delay * 2, MAX_RECONNECT_DELAY);
+            log.warn("Failed to reconnect WebSocket, retrying in {} ms", nextDelay);
+            scheduleReconnect(connection, nextDelay);
+            return;
+        }
+        reconnecting.get(connection).set(false);
+        // the connection may have been lost again before the flag was cleared
+        if (!connection.isConnected()) {
+            onConnectionClosed(connection);
+        }
+    }
+
+    private static URI parseURI(String serverUrl) {
+        try {
+            return new URI(serverUrl);
+        } catch (URISyntaxException e) {
+            throw new RuntimeException(String.format("Failed to parse URL: '%s'", serverUrl), e);
+        }
+    }
+}
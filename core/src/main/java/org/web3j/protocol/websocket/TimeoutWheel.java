@@ -0,0 +1,186 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.websocket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hashed wheel timer for request timeouts.
+ *
+ * <p>Timeouts are kept in a ring of buckets, each covering one tick. A single task running at the
+ * tick rate expires the due timeouts of the current bucket, so scheduling and cancelling a timeout
+ * takes constant time, and a cancelled timeout is released straight away rather than when it would
+ * have fired. Timeouts fire up to one tick late.
+ */
+class TimeoutWheel {
+
+    private static final Logger log = LoggerFactory.getLogger(TimeoutWheel.class);
+
+    static final long DEFAULT_TICK_MILLIS = 100;
+    static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private final ScheduledExecutorService executor;
+    private final long tickMillis;
+    private final List<Set<Timeout>> buckets;
+    private final AtomicLong currentTick = new AtomicLong();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final Object lock = new Object();
+    private ScheduledFuture<?> ticker;
+    private volatile boolean started;
+
+    TimeoutWheel(ScheduledExecutorService executor) {
+        this(executor, DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE);
+    }
+
+    TimeoutWheel(ScheduledExecutorService executor, long tickMillis, int wheelSize) {
+        if (tickMillis < 1 || wheelSize < 1) {
+            throw new IllegalArgumentException("Tick duration and wheel size must be positive");
+        }
+        this.executor = executor;
+        this.tickMillis = tickMillis;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    /**
+     * Schedule a task to run once a delay has passed, unless the returned timeout is cancelled.
+     *
+     * @param task task to run on expiry
+     * @param delay delay before expiry
+     * @param unit unit of the delay
+     * @return handle to cancel the timeout
+     */
+    Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        long delayMillis = unit.toMillis(delay);
+        long ticks = Math.max(1, (delayMillis + tickMillis - 1) / tickMillis);
+        long deadline = currentTick.get() + ticks;
+
+        Timeout timeout = new Timeout(deadline, task, bucketFor(deadline));
+        pending.incrementAndGet();
+        timeout.bucket.add(timeout);
+        // the wheel may have scanned the bucket for the deadline before the timeout was added,
+        // which would otherwise leave it until the next round of the wheel
+        if (deadline <= currentTick.get()) {
+            expire(timeout);
+        }
+        start();
+        return timeout;
+    }
+
+    /** Advance the wheel by one tick, running the timeouts that have become due. */
+    void tick() {
+        long tick = currentTick.incrementAndGet();
+        for (Timeout timeout : bucketFor(tick)) {
+            // later rounds of the wheel share the bucket and stay in it
+            if (timeout.deadline <= tick) {
+                expire(timeout);
+            }
+        }
+    }
+
+    private void expire(Timeout timeout) {
+        if (timeout.complete()) {
+            try {
+                timeout.task.run();
+            } catch (RuntimeException e) {
+                log.warn("Timeout task failed", e);
+            }
+        }
+    }
+
+    /**
+     * Number of timeouts that have been scheduled, and have neither expired nor been cancelled.
+     *
+     * @return pending timeout count
+     */
+    int getPendingCount() {
+        return pending.get();
+    }
+
+    void stop() {
+        synchronized (lock) {
+            if (ticker != null) {
+                ticker.cancel(false);
+                ticker = null;
+            }
+            started = false;
+        }
+    }
+
+    private void start() {
+        // only the first timeout takes the lock
+        if (started) {
+            return;
+        }
+        synchronized (lock) {
+            if (!started) {
+                started = true;
+                ticker =
+                        executor.scheduleAtFixedRate(
+                                this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private Set<Timeout> bucketFor(long tick) {
+        return buckets.get((int) (tick % buckets.size()));
+    }
+
+    /** A scheduled timeout. */
+    final class Timeout {
+        private final long deadline;
+        private final Runnable task;
+        private final Set<Timeout> bucket;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private Timeout(long deadline, Runnable task, Set<Timeout> bucket) {
+            this.deadline = deadline;
+            this.task = task;
+            this.bucket = bucket;
+        }
+
+        /**
+         * Cancel the timeout so that its task does not run.
+         *
+         * @return true if the timeout was pending, false if it had already expired or been
+         *     cancelled
+         */
+        boolean cancel() {
+            return complete();
+        }
+
+        private boolean complete() {
+            if (done.compareAndSet(false, true)) {
+                bucket.remove(this);
+                pending.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+}
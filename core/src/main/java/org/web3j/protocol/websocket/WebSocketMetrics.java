@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.websocket;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+import org.web3j.utils.Histogram;
+
+/** Counters for requests sent through a {@link WebSocketService}. */
+public class WebSocketMetrics {
+
+    private final IntSupplier outstanding;
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong replied = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final Histogram replyLatencyMicros = new Histogram();
+
+    WebSocketMetrics(IntSupplier outstanding) {
+        this.outstanding = outstanding;
+    }
+
+    void onSent() {
+        sent.incrementAndGet();
+    }
+
+    void onReplied(long latencyNanos) {
+        replied.incrementAndGet();
+        replyLatencyMicros.record(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+    }
+
+    void onTimedOut() {
+        timedOut.incrementAndGet();
+    }
+
+    void onFailed() {
+        failed.incrementAndGet();
+    }
+
+    /**
+     * Number of requests sent and still waiting for a reply.
+     *
+     * @return outstanding request count
+     */
+    public int getOutstandingRequests() {
+        return outstanding.getAsInt();
+    }
+
+    public long getSentRequests() {
+        return sent.get();
+    }
+
+    public long getRepliedRequests() {
+        return replied.get();
+    }
+
+    public long getTimedOutRequests() {
+        return timedOut.get();
+    }
+
+    /**
+     * Number of requests that could not be sent, or were outstanding when the connection closed.
+     *
+     * @return failed request count
+     */
+    public long getFailedRequests() {
+        return failed.get();
+    }
+
+    /**
+     * Time in microseconds from sending a request to receiving its reply.
+     *
+     * @return reply latency histogram
+     */
+    public Histogram getReplyLatencyMicros() {
+        return replyLatencyMicros;
+    }
+}
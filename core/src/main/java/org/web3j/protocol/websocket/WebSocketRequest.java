@@ -22,12 +22,33 @@ import java.util.concurrent.CompletableFuture;
 class WebSocketRequest<T> {
     private CompletableFuture<T> onReply;
     private Class<T> responseType;
+    private final long createdAt = System.nanoTime();
+    private volatile TimeoutWheel.Timeout timeout;
 
     public WebSocketRequest(CompletableFuture<T> onReply, Class<T> responseType) {
         this.onReply = onReply;
         this.responseType = responseType;
     }
 
+    long getCreatedAt() {
+        return createdAt;
+    }
+
+    void setTimeout(TimeoutWheel.Timeout timeout) {
+        this.timeout = timeout;
+        // the request may have been closed before its timeout was set
+        if (onReply.isDone()) {
+            timeout.cancel();
+        }
+    }
+
+    void cancelTimeout() {
+        TimeoutWheel.Timeout timeout = this.timeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
     public CompletableFuture<T> getOnReply() {
         return onReply;
     }
@@ -12,24 +12,30 @@
  */
 package org.web3j.protocol.websocket;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.ConnectException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -63,7 +69,7 @@ import org.web3j.protocol.websocket.events.Notification;
 public class WebSocketService implements Web3jService {
     private static final Logger log = LoggerFactory.getLogger(WebSocketService.class);
 
-    // Timeout for JSON-RPC requests
+    // Default timeout for JSON-RPC requests, in seconds
     static final long REQUEST_TIMEOUT = 60;
     // replaced batch's next id
     static final AtomicLong nextBatchId = new AtomicLong(0);
@@ -73,8 +79,13 @@ public class WebSocketService implements Web3jService {
     private boolean shouldReConnect;
     // Executor to schedule request timeouts
     private final ScheduledExecutorService executor;
+    // Pending request timeouts, cancelled when the reply arrives
+    private final TimeoutWheel timeouts;
+    private volatile long requestTimeout = TimeUnit.SECONDS.toMillis(REQUEST_TIMEOUT);
     // Object mapper to map incoming JSON objects
     private final ObjectMapper objectMapper;
+    // Decodes incoming messages off the WebSocket thread, if set
+    private volatile PartitionedExecutor dispatcher;
 
     // Map of a sent request id to objects necessary to process this request
     private Map<Long, WebSocketRequest<?>> requestForId = new ConcurrentHashMap<>();
@@ -86,6 +97,14 @@ public class WebSocketService implements Web3jService {
     // Map of a subscription id to objects necessary to process incoming events
     private Map<String, WebSocketSubscription<?>> subscriptionForId = new ConcurrentHashMap<>();
 
+    // Map of a subscription request id to subscriptions lost with the connection, which are
+    // restored on reconnect
+    private Map<Long, WebSocketSubscription<?>> suspendedSubscriptions = new ConcurrentHashMap<>();
+    private volatile boolean resubscribeOnReconnect;
+    private volatile boolean closed;
+
+    private final WebSocketMetrics metrics = new WebSocketMetrics(() -> requestForId.size());
+
     public WebSocketService(String serverUrl, boolean includeRawResponses) {
         this(new WebSocketClient(parseURI(serverUrl)), includeRawResponses);
     }
@@ -100,9 +119,54 @@ public class WebSocketService implements Web3jService {
             boolean includeRawResponses) {
         this.webSocketClient = webSocketClient;
         this.executor = executor;
+        this.timeouts = new TimeoutWheel(executor);
         this.objectMapper = ObjectMapperFactory.getObjectMapper(includeRawResponses);
     }
 
+    /**
+     * Set the timeout of requests sent without an explicit timeout. Defaults to 60 seconds.
+     *
+     * @param timeout time to wait for a reply
+     * @param unit unit of the timeout
+     */
+    public void setRequestTimeout(long timeout, TimeUnit unit) {
+        if (timeout <= 0) {
+            throw new IllegalArgumentException("Request timeout must be positive");
+        }
+        this.requestTimeout = unit.toMillis(timeout);
+    }
+
+    /**
+     * Decode incoming messages on the given executor rather than on the WebSocket thread.
+     *
+     * <p>The WebSocket thread then only reads the id of each reply, or the subscription id of each
+     * event, and hands the message over to one of a number of partitions of the executor. Messages
+     * within a partition are decoded in the order they were received, and all the events of a
+     * subscription go to the same partition, so subscribers still see events in order. Messages are
+     * decoded straight into their response types without building a JSON tree first.
+     *
+     * @param executor executor to decode messages on
+     * @param partitions number of messages that may be decoded at the same time
+     */
+    public void setMessageDispatchExecutor(Executor executor, int partitions) {
+        this.dispatcher = new PartitionedExecutor(executor, this.executor, partitions);
+    }
+
+    /**
+     * Keep subscriptions open when the connection is lost, and subscribe to them again when {@link
+     * #connect()} reconnects. Events sent while the connection was down are missed. By default
+     * subscriptions fail when the connection is lost.
+     *
+     * @param resubscribeOnReconnect whether to restore subscriptions on reconnect
+     */
+    public void setResubscribeOnReconnect(boolean resubscribeOnReconnect) {
+        this.resubscribeOnReconnect = resubscribeOnReconnect;
+    }
+
+    public WebSocketMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Connect to a WebSocket server.
      *
@@ -116,7 +180,9 @@ public class WebSocketService implements Web3jService {
             throws ConnectException {
         try {
             connectToWebSocket();
+            closed = false;
             setWebSocketListener(onMessage, onError, onClose);
+            restoreSubscriptions();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             log.warn("Interrupted while connecting via WebSocket protocol");
@@ -146,6 +212,28 @@ public class WebSocketService implements Web3jService {
         }
     }
 
+    private void restoreSubscriptions() {
+        Iterator<WebSocketSubscription<?>> suspended = suspendedSubscriptions.values().iterator();
+        while (suspended.hasNext()) {
+            WebSocketSubscription<?> subscription = suspended.next();
+            suspended.remove();
+
+            // the reply is matched to the subscription by the id of the original request
+            long requestId = subscription.getRequest().getId();
+            log.debug("Restoring subscription with request id {}", requestId);
+            sendAsync(subscription.getRequest(), EthSubscribe.class)
+                    .exceptionally(
+                            throwable -> {
+                                subscription.getSubject().onError(throwable);
+                                return null;
+                            });
+        }
+    }
+
+    boolean isConnected() {
+        return webSocketClient.isOpen();
+    }
+
     private void setWebSocketListener(
             Consumer<String> onMessage, Consumer<Throwable> onError, Runnable onClose) {
         webSocketClient.setListener(
@@ -189,14 +277,32 @@ public class WebSocketService implements Web3jService {
     @Override
     public <T extends Response> CompletableFuture<T> sendAsync(
             Request request, Class<T> responseType) {
+        return sendAsync(request, responseType, requestTimeout, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Send a request that fails with an {@link IOException} if no reply is received within the
+     * given time, instead of the default request timeout.
+     *
+     * @param request request to send
+     * @param responseType type of the reply
+     * @param timeout time to wait for a reply
+     * @param unit unit of the timeout
+     * @return future completed with the reply
+     */
+    public <T extends Response> CompletableFuture<T> sendAsync(
+            Request request, Class<T> responseType, long timeout, TimeUnit unit) {
 
         CompletableFuture<T> result = new CompletableFuture<>();
         long requestId = request.getId();
-        requestForId.put(requestId, new WebSocketRequest<>(result, responseType));
+        WebSocketRequest<T> webSocketRequest = new WebSocketRequest<>(result, responseType);
+        // registered first, so that the request is found however soon its timeout expires
+        requestForId.put(requestId, webSocketRequest);
+        scheduleTimeout(webSocketRequest, requestId, timeout, unit);
         try {
             sendRequest(request, requestId);
         } catch (IOException e) {
-            closeRequest(requestId, e);
+            failRequest(requestId, e);
         }
 
         return result;
@@ -220,6 +326,20 @@ public class WebSocketService implements Web3jService {
 
     @Override
     public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest requests) {
+        return sendBatchAsync(requests, requestTimeout, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Send a batch of requests that fails with an {@link IOException} if no reply is received
+     * within the given time, instead of the default request timeout.
+     *
+     * @param requests requests to send
+     * @param timeout time to wait for a reply
+     * @param unit unit of the timeout
+     * @return future completed with the replies
+     */
+    public CompletableFuture<BatchResponse> sendBatchAsync(
+            BatchRequest requests, long timeout, TimeUnit unit) {
         CompletableFuture<BatchResponse> result = new CompletableFuture<>();
 
         // replace first batch elements's id to handle response
@@ -228,13 +348,15 @@ public class WebSocketService implements Web3jService {
         long originId = firstRequest.getId();
         requests.getRequests().get(0).setId(requestId);
 
-        requestForId.put(
-                requestId, new WebSocketRequests(result, requests.getRequests(), originId));
+        WebSocketRequests webSocketRequests =
+                new WebSocketRequests(result, requests.getRequests(), originId);
+        requestForId.put(requestId, webSocketRequests);
+        scheduleTimeout(webSocketRequests, requestId, timeout, unit);
 
         try {
             sendBatchRequest(requests, requestId);
         } catch (IOException e) {
-            closeRequest(requestId, e);
+            failRequest(requestId, e);
         }
 
         return result;
@@ -244,7 +366,7 @@ public class WebSocketService implements Web3jService {
         String payload = objectMapper.writeValueAsString(request);
         log.debug("Sending request: {}", payload);
         webSocketClient.send(payload);
-        setRequestTimeout(requestId);
+        metrics.onSent();
     }
 
     private void sendBatchRequest(BatchRequest request, long requestId)
@@ -252,27 +374,50 @@ public class WebSocketService implements Web3jService {
         String payload = objectMapper.writeValueAsString(request.getRequests());
         log.debug("Sending batch request: {}", payload);
         webSocketClient.send(payload);
-        setRequestTimeout(requestId);
-    }
-
-    private void setRequestTimeout(long requestId) {
-        executor.schedule(
-                () ->
-                        closeRequest(
-                                requestId,
-                                new IOException(
-                                        String.format("Request with id %d timed out", requestId))),
-                REQUEST_TIMEOUT,
-                TimeUnit.SECONDS);
+        metrics.onSent();
+    }
+
+    private void scheduleTimeout(
+            WebSocketRequest<?> request, long requestId, long timeout, TimeUnit unit) {
+        request.setTimeout(
+                timeouts.schedule(
+                        () -> {
+                            IOException e =
+                                    new IOException(
+                                            String.format(
+                                                    "Request with id %d timed out", requestId));
+                            if (closeRequest(requestId, e)) {
+                                metrics.onTimedOut();
+                            }
+                        },
+                        timeout,
+                        unit));
+    }
+
+    private void failRequest(long requestId, Exception e) {
+        if (closeRequest(requestId, e)) {
+            metrics.onFailed();
+        }
     }
 
-    void closeRequest(long requestId, Exception e) {
-        CompletableFuture result = requestForId.get(requestId).getOnReply();
-        requestForId.remove(requestId);
-        result.completeExceptionally(e);
+    boolean closeRequest(long requestId, Exception e) {
+        WebSocketRequest<?> request = requestForId.remove(requestId);
+        if (request == null) {
+            // already replied to, timed out or closed
+            return false;
+        }
+        request.cancelTimeout();
+        request.getOnReply().completeExceptionally(e);
+        return true;
     }
 
     void onWebSocketMessage(String messageStr) throws IOException {
+        PartitionedExecutor dispatcher = this.dispatcher;
+        if (dispatcher != null) {
+            dispatchMessage(messageStr, dispatcher);
+            return;
+        }
+
         JsonNode replyJson = parseToTree(messageStr);
 
         if (isReply(replyJson)) {
@@ -286,6 +431,100 @@ public class WebSocketService implements Web3jService {
         }
     }
 
+    private void dispatchMessage(String messageStr, PartitionedExecutor dispatcher)
+            throws IOException {
+        byte[] message = messageStr.getBytes(StandardCharsets.UTF_8);
+        MessageHeader header = MessageHeader.peek(objectMapper.getFactory(), message);
+        long replyId = header.getId();
+
+        switch (header.getKind()) {
+            case REPLY:
+                WebSocketRequest<?> request = getAndRemoveRequest(replyId);
+                if (request.getResponseType() == EthSubscribe.class) {
+                    // the subscription must be known before its first event is dispatched
+                    decodeRequestReply(messageStr, message, replyId, request);
+                } else {
+                    dispatcher.execute(
+                            replyId,
+                            () -> decodeRequestReply(messageStr, message, replyId, request));
+                }
+                break;
+            case BATCH_REPLY:
+                WebSocketRequests requests = (WebSocketRequests) getAndRemoveRequest(replyId);
+                dispatcher.execute(replyId, () -> decodeBatchRequestReply(messageStr, requests));
+                break;
+            default:
+                String subscriptionId = header.getSubscriptionId();
+                if (subscriptionId == null) {
+                    log.warn("No subscription id in WebSocket event: {}", messageStr);
+                } else {
+                    dispatcher.execute(
+                            subscriptionId, () -> decodeSubscriptionEvent(message, subscriptionId));
+                }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void decodeRequestReply(
+            String replyStr, byte[] reply, long replyId, WebSocketRequest request) {
+        try {
+            Object response = readValue(reply, request.getResponseType());
+            if (response instanceof EthSubscribe) {
+                processSubscriptionResponse(replyId, (EthSubscribe) response);
+            }
+
+            sendReplyToListener(request, response);
+        } catch (IOException | IllegalArgumentException e) {
+            sendExceptionToListener(replyStr, request, e);
+        }
+    }
+
+    private void decodeBatchRequestReply(String replyStr, WebSocketRequests webSocketRequests) {
+        List<Request<?, ? extends Response<?>>> requests = webSocketRequests.getRequests();
+        List<Response<?>> responses = new ArrayList<>(requests.size());
+
+        try (JsonParser parser =
+                objectMapper
+                        .getFactory()
+                        .createParser(replyStr.getBytes(StandardCharsets.UTF_8))) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.START_OBJECT
+                    && responses.size() < requests.size()) {
+                responses.add(
+                        objectMapper.readValue(
+                                parser, requests.get(responses.size()).getResponseType()));
+            }
+            // rollback request id of first batch elt
+            if (!responses.isEmpty()) {
+                responses.get(0).setId(webSocketRequests.getOriginId());
+            }
+
+            sendReplyToListener(webSocketRequests, new BatchResponse(requests, responses));
+        } catch (IOException | IllegalArgumentException e) {
+            sendExceptionToListener(replyStr, webSocketRequests, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void decodeSubscriptionEvent(byte[] event, String subscriptionId) {
+        WebSocketSubscription subscription = subscriptionForId.get(subscriptionId);
+        if (subscription == null) {
+            log.warn("No subscriber for WebSocket event with subscription id {}", subscriptionId);
+            return;
+        }
+
+        try {
+            subscription.getSubject().onNext(readValue(event, subscription.getResponseType()));
+        } catch (IOException e) {
+            log.error("Failed to parse event for subscription id {}", subscriptionId, e);
+        }
+    }
+
+    private <T> T readValue(byte[] message, Class<T> type) throws IOException {
+        // a stream lets raw responses be read back from the parser's input
+        return objectMapper.readValue(new ByteArrayInputStream(message), type);
+    }
+
     @SuppressWarnings("unchecked")
     private void processRequestReply(String replyStr, JsonNode replyJson) throws IOException {
         long replyId = getReplyId(replyJson);
@@ -330,25 +569,22 @@ public class WebSocketService implements Web3jService {
     @SuppressWarnings("unchecked")
     private void processSubscriptionResponse(long replyId, EthSubscribe reply) throws IOException {
         WebSocketSubscription subscription = subscriptionRequestForId.get(replyId);
-        processSubscriptionResponse(
-                reply, subscription.getSubject(), subscription.getResponseType());
+        processSubscriptionResponse(reply, subscription);
     }
 
     private <T extends Notification<?>> void processSubscriptionResponse(
-            EthSubscribe subscriptionReply, BehaviorSubject<T> subject, Class<T> responseType) {
+            EthSubscribe subscriptionReply, WebSocketSubscription<T> subscription) {
         if (!subscriptionReply.hasError()) {
-            establishSubscription(subject, responseType, subscriptionReply);
+            establishSubscription(subscription, subscriptionReply);
         } else {
-            reportSubscriptionError(subject, subscriptionReply);
+            reportSubscriptionError(subscription.getSubject(), subscriptionReply);
         }
     }
 
     private <T extends Notification<?>> void establishSubscription(
-            BehaviorSubject<T> subject, Class<T> responseType, EthSubscribe subscriptionReply) {
+            WebSocketSubscription<T> subscription, EthSubscribe subscriptionReply) {
         log.debug("Subscribed to RPC events with id {}", subscriptionReply.getSubscriptionId());
-        subscriptionForId.put(
-                subscriptionReply.getSubscriptionId(),
-                new WebSocketSubscription<>(subject, responseType));
+        subscriptionForId.put(subscriptionReply.getSubscriptionId(), subscription);
     }
 
     private <T extends Notification<?>> String getSubscriptionId(BehaviorSubject<T> subject) {
@@ -375,7 +611,7 @@ public class WebSocketService implements Web3jService {
     }
 
     private void sendExceptionToListener(
-            String replyStr, WebSocketRequest request, IllegalArgumentException e) {
+            String replyStr, WebSocketRequest request, Exception e) {
         request.getOnReply()
                 .completeExceptionally(
                         new IOException(
@@ -428,12 +664,13 @@ public class WebSocketService implements Web3jService {
     }
 
     private WebSocketRequest getAndRemoveRequest(long id) throws IOException {
-        if (!requestForId.containsKey(id)) {
+        WebSocketRequest<?> request = requestForId.remove(id);
+        if (request == null) {
             throw new IOException(
                     String.format("Received reply for unexpected request id: %d", id));
         }
-        WebSocketRequest request = requestForId.get(id);
-        requestForId.remove(id);
+        request.cancelTimeout();
+        metrics.onReplied(System.nanoTime() - request.getCreatedAt());
         return request;
     }
 
@@ -493,7 +730,7 @@ public class WebSocketService implements Web3jService {
             Request request, BehaviorSubject<T> subject, Class<T> responseType) {
 
         subscriptionRequestForId.put(
-                request.getId(), new WebSocketSubscription<>(subject, responseType));
+                request.getId(), new WebSocketSubscription<>(subject, responseType, request));
         try {
             send(request, EthSubscribe.class);
         } catch (IOException e) {
@@ -508,6 +745,10 @@ public class WebSocketService implements Web3jService {
         if (subscriptionId != null) {
             subscriptionForId.remove(subscriptionId);
             unsubscribeFromEventsStream(subscriptionId, unsubscribeMethod);
+        } else if (suspendedSubscriptions
+                .values()
+                .removeIf(subscription -> subscription.getSubject() == subject)) {
+            log.debug("Dropped a subscription waiting for a reconnect");
         } else {
             log.warn("Trying to unsubscribe from a non-existing subscription. Race condition?");
         }
@@ -540,26 +781,42 @@ public class WebSocketService implements Web3jService {
 
     @Override
     public void close() {
+        closed = true;
         webSocketClient.close();
+        timeouts.stop();
         executor.shutdown();
     }
 
     void onWebSocketClose() {
         closeOutstandingRequests();
-        closeOutstandingSubscriptions();
+        if (resubscribeOnReconnect && !closed) {
+            suspendSubscriptions();
+        } else {
+            closeOutstandingSubscriptions();
+        }
+    }
+
+    private void suspendSubscriptions() {
+        Iterator<WebSocketSubscription<?>> subscriptions = subscriptionForId.values().iterator();
+        while (subscriptions.hasNext()) {
+            WebSocketSubscription<?> subscription = subscriptions.next();
+            subscriptions.remove();
+            suspendedSubscriptions.put(subscription.getRequest().getId(), subscription);
+        }
     }
 
     private void closeOutstandingRequests() {
-        requestForId
-                .values()
-                .forEach(
-                        request ->
-                                request.getOnReply()
-                                        .completeExceptionally(
-                                                new IOException("Connection was closed")));
+        for (Long requestId : requestForId.keySet()) {
+            failRequest(requestId, new IOException("Connection was closed"));
+        }
     }
 
     private void closeOutstandingSubscriptions() {
+        Iterator<WebSocketSubscription<?>> suspended = suspendedSubscriptions.values().iterator();
+        while (suspended.hasNext()) {
+            suspended.next().getSubject().onError(new IOException("Connection was closed"));
+            suspended.remove();
+        }
         subscriptionForId
                 .values()
                 .forEach(
@@ -14,6 +14,8 @@ package org.web3j.protocol.websocket;
 
 import io.reactivex.subjects.BehaviorSubject;
 
+import org.web3j.protocol.core.Request;
+
 /**
  * Objects necessary to process a new item received via a WebSocket subscription.
  *
@@ -22,6 +24,7 @@ import io.reactivex.subjects.BehaviorSubject;
 public class WebSocketSubscription<T> {
     private BehaviorSubject<T> subject;
     private Class<T> responseType;
+    private Request<?, ?> request;
 
     /**
      * Creates WebSocketSubscription.
@@ -34,6 +37,12 @@ public class WebSocketSubscription<T> {
         this.responseType = responseType;
     }
 
+    WebSocketSubscription(
+            BehaviorSubject<T> subject, Class<T> responseType, Request<?, ?> request) {
+        this(subject, responseType);
+        this.request = request;
+    }
+
     public BehaviorSubject<T> getSubject() {
         return subject;
     }
@@ -41,4 +50,9 @@ public class WebSocketSubscription<T> {
     public Class<T> getResponseType() {
         return responseType;
     }
+
+    /** Request that opened the subscription, sent again to restore it after a reconnect. */
+    Request<?, ?> getRequest() {
+        return request;
+    }
 }
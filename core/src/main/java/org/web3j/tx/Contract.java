@@ -23,6 +23,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 import org.web3j.abi.EventEncoder;
@@ -52,6 +54,7 @@ import org.web3j.tx.gas.ContractEIP1559GasProvider;
 import org.web3j.tx.gas.ContractGasProvider;
 import org.web3j.tx.gas.StaticGasProvider;
 import org.web3j.tx.response.EmptyTransactionReceipt;
+import org.web3j.utils.Async;
 import org.web3j.utils.Numeric;
 
 import static org.web3j.utils.RevertReasonExtractor.extractRevertReason;
@@ -416,20 +419,104 @@ public abstract class Contract extends ManagedTransaction {
                                 constructor);
             }
         } catch (JsonRpcError error) {
+            throw toTransactionException(error);
+        }
 
-            if (error.getData() != null) {
-                throw new TransactionException(error.getData().toString());
-            } else {
-                throw new TransactionException(
-                        String.format(
-                                "JsonRpcError thrown with code %d. Message: %s",
-                                error.getCode(), error.getMessage()));
-            }
+        return checkStatus(receipt, data, weiValue);
+    }
+
+    protected CompletableFuture<TransactionReceipt> executeTransactionAsync(Function function) {
+        return executeTransactionAsync(function, BigInteger.ZERO);
+    }
+
+    private CompletableFuture<TransactionReceipt> executeTransactionAsync(
+            Function function, BigInteger weiValue) {
+        return executeTransactionAsync(
+                FunctionEncoder.encode(function), weiValue, function.getName(), false);
+    }
+
+    /**
+     * Asynchronous variant of {@link #executeTransaction(String, BigInteger, String, boolean)},
+     * which does not hold a thread while the transaction is mined if the transaction manager's
+     * receipt processor supports it.
+     *
+     * @param data to send in transaction
+     * @param weiValue in Wei to send in transaction
+     * @return future completed with our transaction receipt
+     */
+    CompletableFuture<TransactionReceipt> executeTransactionAsync(
+            String data, BigInteger weiValue, String funcName, boolean constructor) {
+
+        CompletableFuture<TransactionReceipt> receipt;
+        if (gasProvider instanceof ContractEIP1559GasProvider
+                && ((ContractEIP1559GasProvider) gasProvider).isEIP1559Enabled()) {
+            ContractEIP1559GasProvider eip1559GasProvider =
+                    (ContractEIP1559GasProvider) gasProvider;
+            receipt =
+                    sendEIP1559Async(
+                            eip1559GasProvider.getChainId(),
+                            contractAddress,
+                            data,
+                            weiValue,
+                            eip1559GasProvider.getGasLimit(funcName),
+                            eip1559GasProvider.getMaxPriorityFeePerGas(funcName),
+                            eip1559GasProvider.getMaxFeePerGas(funcName),
+                            constructor);
+        } else {
+            receipt =
+                    sendAsync(
+                            contractAddress,
+                            data,
+                            weiValue,
+                            gasProvider.getGasPrice(funcName),
+                            gasProvider.getGasLimit(funcName),
+                            constructor);
         }
 
-        if (!(receipt instanceof EmptyTransactionReceipt)
+        return receipt.handle(
+                        (transactionReceipt, throwable) -> {
+                            if (throwable == null) {
+                                if (isFailed(transactionReceipt)) {
+                                    // extracting the revert reason calls the node
+                                    return Async.run(
+                                            () -> checkStatus(transactionReceipt, data, weiValue));
+                                }
+                                return CompletableFuture.completedFuture(transactionReceipt);
+                            }
+                            Throwable cause =
+                                    throwable instanceof CompletionException
+                                                    && throwable.getCause() != null
+                                            ? throwable.getCause()
+                                            : throwable;
+                            if (cause instanceof JsonRpcError) {
+                                cause = toTransactionException((JsonRpcError) cause);
+                            }
+                            return CompletableFuture.<TransactionReceipt>failedFuture(cause);
+                        })
+                .thenCompose(future -> future);
+    }
+
+    private static TransactionException toTransactionException(JsonRpcError error) {
+        if (error.getData() != null) {
+            return new TransactionException(error.getData().toString());
+        } else {
+            return new TransactionException(
+                    String.format(
+                            "JsonRpcError thrown with code %d. Message: %s",
+                            error.getCode(), error.getMessage()));
+        }
+    }
+
+    private static boolean isFailed(TransactionReceipt receipt) {
+        return !(receipt instanceof EmptyTransactionReceipt)
                 && receipt != null
-                && !receipt.isStatusOK()) {
+                && !receipt.isStatusOK();
+    }
+
+    private TransactionReceipt checkStatus(
+            TransactionReceipt receipt, String data, BigInteger weiValue)
+            throws TransactionException, IOException {
+        if (isFailed(receipt)) {
             throw new TransactionException(
                     String.format(
                             "Transaction %s has failed with status: %s. "
@@ -462,14 +549,41 @@ public abstract class Contract extends ManagedTransaction {
         return new RemoteFunctionCall<>(function, () -> executeCallMultipleValueReturn(function));
     }
 
+    /**
+     * Create a remote call for a transaction. Its {@link RemoteFunctionCall#sendAsync()} goes
+     * through {@link #executeTransactionAsync(Function)}, unless a subclass overrides {@link
+     * #executeTransaction(Function)}, in which case that override is run on the {@link
+     * org.web3j.utils.Async} executor instead.
+     */
     protected RemoteFunctionCall<TransactionReceipt> executeRemoteCallTransaction(
             Function function) {
-        return new RemoteFunctionCall<>(function, () -> executeTransaction(function));
+        if (overridesExecuteTransaction()) {
+            return new RemoteFunctionCall<>(function, () -> executeTransaction(function));
+        }
+        return new RemoteFunctionCall<>(
+                function,
+                () -> executeTransaction(function),
+                () -> executeTransactionAsync(function));
     }
 
     protected RemoteFunctionCall<TransactionReceipt> executeRemoteCallTransaction(
             Function function, BigInteger weiValue) {
-        return new RemoteFunctionCall<>(function, () -> executeTransaction(function, weiValue));
+        return new RemoteFunctionCall<>(
+                function,
+                () -> executeTransaction(function, weiValue),
+                () -> executeTransactionAsync(function, weiValue));
+    }
+
+    private boolean overridesExecuteTransaction() {
+        for (Class<?> type = getClass(); type != Contract.class; type = type.getSuperclass()) {
+            try {
+                type.getDeclaredMethod("executeTransaction", Function.class);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // not declared by this class
+            }
+        }
+        return false;
     }
 
     private static <T extends Contract> T create(
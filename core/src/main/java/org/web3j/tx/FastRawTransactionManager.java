@@ -14,6 +14,7 @@ package org.web3j.tx;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.web3j.crypto.Credentials;
 import org.web3j.protocol.Web3j;
@@ -23,10 +24,16 @@ import org.web3j.tx.response.TransactionReceiptProcessor;
 /**
  * Simple RawTransactionManager derivative that manages nonces to facilitate multiple transactions
  * per block.
+ *
+ * <p>Nonces are reserved with a single atomic increment, so concurrent senders do not contend on a
+ * lock. The current nonce is only fetched from the node when the first nonce is reserved or when
+ * {@link #resetNonce()} is called.
  */
 public class FastRawTransactionManager extends RawTransactionManager {
 
-    private volatile BigInteger nonce = BigInteger.valueOf(-1);
+    private static final long UNINITIALISED = -1;
+
+    private final AtomicLong nonce = new AtomicLong(UNINITIALISED);
 
     public FastRawTransactionManager(Web3j web3j, Credentials credentials, long chainId) {
         super(web3j, credentials, chainId);
@@ -35,7 +42,7 @@ public class FastRawTransactionManager extends RawTransactionManager {
     public FastRawTransactionManager(
             Web3j web3j, TxSignService txSignService, long chainId, BigInteger nonce) {
         super(web3j, txSignService, chainId);
-        this.nonce = nonce;
+        this.nonce.set(nonce.longValueExact());
     }
 
     public FastRawTransactionManager(Web3j web3j, Credentials credentials) {
@@ -58,25 +65,28 @@ public class FastRawTransactionManager extends RawTransactionManager {
     }
 
     @Override
-    protected synchronized BigInteger getNonce() throws IOException {
-        if (nonce.signum() == -1) {
-            // obtain lock
-            nonce = super.getNonce();
-        } else {
-            nonce = nonce.add(BigInteger.ONE);
+    protected BigInteger getNonce() throws IOException {
+        long current = nonce.get();
+        while (current < 0) {
+            // several threads may fetch the nonce, only the first one to store it uses it
+            long fetched = super.getNonce().longValueExact();
+            if (nonce.compareAndSet(current, fetched)) {
+                return BigInteger.valueOf(fetched);
+            }
+            current = nonce.get();
         }
-        return nonce;
+        return BigInteger.valueOf(nonce.incrementAndGet());
     }
 
     public BigInteger getCurrentNonce() {
-        return nonce;
+        return BigInteger.valueOf(nonce.get());
     }
 
-    public synchronized void resetNonce() throws IOException {
-        nonce = super.getNonce();
+    public void resetNonce() throws IOException {
+        nonce.set(super.getNonce().longValueExact());
     }
 
-    public synchronized void setNonce(BigInteger value) {
-        nonce = value;
+    public void setNonce(BigInteger value) {
+        nonce.set(value.longValueExact());
     }
 }
@@ -0,0 +1,354 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.crypto.Credentials;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthGetCode;
+import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.service.TxSignService;
+import org.web3j.service.TxSignServiceImpl;
+import org.web3j.tx.response.PollingTransactionReceiptProcessor;
+import org.web3j.tx.response.TransactionReceiptProcessor;
+import org.web3j.utils.Async;
+
+/**
+ * TransactionManager that spreads transactions over a pool of accounts, so that writes are not
+ * serialised on the nonce sequence of a single account.
+ *
+ * <p>Each account keeps its own locally managed nonce, as with {@link FastRawTransactionManager}.
+ * Transactions are routed to the account with the fewest pending transactions, i.e. transactions
+ * being sent plus transactions sent but not yet mined. While any transaction is pending, the mined
+ * transaction counts of all accounts are refreshed periodically with a single batch request, so an
+ * account whose transactions back up stops receiving new ones until it catches up.
+ *
+ * <p>Calls are made from the first account of the pool, which is also returned by {@link
+ * #getFromAddress()}.
+ */
+public class MultiSenderTransactionManager extends TransactionManager implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(MultiSenderTransactionManager.class);
+
+    private static final BigInteger UNKNOWN_NONCE = BigInteger.valueOf(-1);
+
+    private final Web3j web3j;
+    private final List<Sender> senders;
+    private final AtomicInteger nextSender = new AtomicInteger();
+    private final long refreshInterval;
+
+    // started by the first transaction and stopped once all transactions are mined
+    private final Object lock = new Object();
+    private ScheduledFuture<?> refresher;
+    private boolean closed;
+
+    public MultiSenderTransactionManager(Web3j web3j, long chainId, Credentials... credentials) {
+        this(
+                web3j,
+                Arrays.stream(credentials)
+                        .map(TxSignServiceImpl::new)
+                        .collect(Collectors.toList()),
+                chainId);
+    }
+
+    public MultiSenderTransactionManager(
+            Web3j web3j, List<? extends TxSignService> txSignServices, long chainId) {
+        this(
+                web3j,
+                new PollingTransactionReceiptProcessor(
+                        web3j, DEFAULT_POLLING_FREQUENCY, DEFAULT_POLLING_ATTEMPTS_PER_TX_HASH),
+                txSignServices,
+                chainId,
+                DEFAULT_POLLING_FREQUENCY);
+    }
+
+    public MultiSenderTransactionManager(
+            Web3j web3j,
+            TransactionReceiptProcessor transactionReceiptProcessor,
+            List<? extends TxSignService> txSignServices,
+            long chainId,
+            long refreshInterval) {
+        super(transactionReceiptProcessor, firstAddress(txSignServices));
+        this.web3j = web3j;
+        this.refreshInterval = refreshInterval;
+
+        List<Sender> pool = new ArrayList<>(txSignServices.size());
+        for (TxSignService txSignService : txSignServices) {
+            pool.add(
+                    new Sender(
+                            new FastRawTransactionManager(
+                                    web3j, txSignService, chainId, UNKNOWN_NONCE)));
+        }
+        this.senders = Collections.unmodifiableList(pool);
+    }
+
+    @Override
+    public EthSendTransaction sendTransaction(
+            BigInteger gasPrice,
+            BigInteger gasLimit,
+            String to,
+            String data,
+            BigInteger value,
+            boolean constructor)
+            throws IOException {
+        return send(
+                transactionManager ->
+                        transactionManager.sendTransaction(
+                                gasPrice, gasLimit, to, data, value, constructor));
+    }
+
+    @Override
+    public EthSendTransaction sendEIP1559Transaction(
+            long chainId,
+            BigInteger maxPriorityFeePerGas,
+            BigInteger maxFeePerGas,
+            BigInteger gasLimit,
+            String to,
+            String data,
+            BigInteger value,
+            boolean constructor)
+            throws IOException {
+        return send(
+                transactionManager ->
+                        transactionManager.sendEIP1559Transaction(
+                                chainId,
+                                maxPriorityFeePerGas,
+                                maxFeePerGas,
+                                gasLimit,
+                                to,
+                                data,
+                                value,
+                                constructor));
+    }
+
+    @Override
+    public EthSendTransaction sendIncentiveTransaction(
+            long chainId,
+            BigInteger maxPriorityFeePerGas,
+            BigInteger maxFeePerGas,
+            BigInteger gasLimit,
+            String to,
+            String data,
+            BigInteger value,
+            boolean constructor)
+            throws IOException {
+        return send(
+                transactionManager ->
+                        transactionManager.sendIncentiveTransaction(
+                                chainId,
+                                maxPriorityFeePerGas,
+                                maxFeePerGas,
+                                gasLimit,
+                                to,
+                                data,
+                                value,
+                                constructor));
+    }
+
+    @Override
+    public String sendCall(String to, String data, DefaultBlockParameter defaultBlockParameter)
+            throws IOException {
+        return senders.get(0).transactionManager.sendCall(to, data, defaultBlockParameter);
+    }
+
+    @Override
+    public EthGetCode getCode(String contractAddress, DefaultBlockParameter defaultBlockParameter)
+            throws IOException {
+        return senders.get(0).transactionManager.getCode(contractAddress, defaultBlockParameter);
+    }
+
+    public List<String> getSenderAddresses() {
+        return senders.stream()
+                .map(sender -> sender.transactionManager.getFromAddress())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Number of transactions of an account that are being sent or have not been mined yet, as of
+     * the last refresh of its mined transaction count.
+     *
+     * @param address account address
+     * @return pending transaction count
+     */
+    public long getPendingTransactionCount(String address) {
+        for (Sender sender : senders) {
+            if (sender.transactionManager.getFromAddress().equalsIgnoreCase(address)) {
+                return sender.getLoad();
+            }
+        }
+        throw new IllegalArgumentException("Unknown sender address: " + address);
+    }
+
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            stopRefresher();
+        }
+    }
+
+    private EthSendTransaction send(Send send) throws IOException {
+        Sender sender = selectSender();
+        sender.inFlight.incrementAndGet();
+        // started after the transaction counts as in flight, so that it cannot be stopped as idle
+        startRefresher();
+        try {
+            return sender.onResponse(send.send(sender.transactionManager));
+        } catch (IOException | RuntimeException e) {
+            sender.resetNonce();
+            throw e;
+        } finally {
+            sender.inFlight.decrementAndGet();
+        }
+    }
+
+    private Sender selectSender() {
+        // rotate the starting point so that ties are spread over the pool
+        int size = senders.size();
+        int start = Math.floorMod(nextSender.getAndIncrement(), size);
+        Sender selected = null;
+        long selectedLoad = Long.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            Sender sender = senders.get((start + i) % size);
+            long load = sender.getLoad();
+            if (load < selectedLoad) {
+                selected = sender;
+                selectedLoad = load;
+                if (load == 0) {
+                    break;
+                }
+            }
+        }
+        return selected;
+    }
+
+    private void startRefresher() {
+        synchronized (lock) {
+            if (!closed && refresher == null) {
+                refresher =
+                        Async.sharedExecutorService()
+                                .scheduleWithFixedDelay(
+                                        Async.offScheduler(this::refresh),
+                                        0,
+                                        refreshInterval,
+                                        TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void stopRefresher() {
+        if (refresher != null) {
+            refresher.cancel(false);
+            refresher = null;
+        }
+    }
+
+    boolean isRefreshing() {
+        synchronized (lock) {
+            return refresher != null;
+        }
+    }
+
+    void refresh() {
+        refreshPendingCounts();
+        synchronized (lock) {
+            if (senders.stream().allMatch(sender -> sender.getLoad() == 0)) {
+                stopRefresher();
+            }
+        }
+    }
+
+    void refreshPendingCounts() {
+        BatchRequest batchRequest = web3j.newBatch();
+        for (Sender sender : senders) {
+            batchRequest.add(
+                    web3j.ethGetTransactionCount(
+                            sender.transactionManager.getFromAddress(),
+                            DefaultBlockParameterName.LATEST));
+        }
+
+        try {
+            List<? extends Response<?>> responses = batchRequest.send().getResponses();
+            for (int i = 0; i < senders.size() && i < responses.size(); i++) {
+                EthGetTransactionCount transactionCount =
+                        (EthGetTransactionCount) responses.get(i);
+                if (transactionCount != null && !transactionCount.hasError()) {
+                    senders.get(i).minedCount =
+                            transactionCount.getTransactionCount().longValueExact();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // retried on the next refresh
+            log.debug("Unable to refresh transaction counts", e);
+        }
+    }
+
+    private static String firstAddress(List<? extends TxSignService> txSignServices) {
+        if (txSignServices.isEmpty()) {
+            throw new IllegalArgumentException("At least one sender is required");
+        }
+        return txSignServices.get(0).getAddress();
+    }
+
+    private static class Sender {
+        private final FastRawTransactionManager transactionManager;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile long minedCount = -1;
+
+        Sender(FastRawTransactionManager transactionManager) {
+            this.transactionManager = transactionManager;
+        }
+
+        long getLoad() {
+            long lastNonce = transactionManager.getCurrentNonce().longValue();
+            long mined = minedCount;
+            long unmined = lastNonce < 0 || mined < 0 ? 0 : Math.max(0, lastNonce + 1 - mined);
+            return inFlight.get() + unmined;
+        }
+
+        EthSendTransaction onResponse(EthSendTransaction response) {
+            if (response != null && response.hasError()) {
+                resetNonce();
+            }
+            return response;
+        }
+
+        void resetNonce() {
+            // the nonce of a transaction that was not accepted would leave a gap, so the nonce
+            // is fetched again for the next transaction
+            transactionManager.setNonce(UNKNOWN_NONCE);
+        }
+    }
+
+    private interface Send {
+        EthSendTransaction send(FastRawTransactionManager transactionManager) throws IOException;
+    }
+}
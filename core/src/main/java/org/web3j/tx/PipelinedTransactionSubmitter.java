@@ -0,0 +1,515 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.transaction.type.Transaction1559;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
+import org.web3j.protocol.core.methods.response.EthTransaction;
+import org.web3j.protocol.exceptions.JsonRpcError;
+import org.web3j.tx.exceptions.TxHashMismatchException;
+import org.web3j.utils.Async;
+
+/**
+ * Submits a stream of transactions from a single account without waiting for each one in turn.
+ *
+ * <p>Nonces are reserved from a {@link FastRawTransactionManager} on the calling thread,
+ * transactions are signed on a worker executor and sent with {@code eth_sendRawTransaction} in
+ * JSON-RPC batches. While a batch is in flight, newly signed transactions queue up for the next
+ * one, so the batch size adapts to the submission rate.
+ *
+ * <p>If a transaction cannot be signed or is rejected by the node, its nonce would block all later
+ * transactions of the account. The submitter fills such gaps with a zero value transfer to the
+ * sender, using the fees of the failed transaction. When it is unclear whether the node received a
+ * transaction, for instance after an I/O error, the transaction is looked up and kept as pending
+ * unless neither it nor another transaction with its nonce is known to the node.
+ *
+ * <p>Transactions are confirmed once the account's mined transaction count passes their nonce,
+ * which is polled with a single request regardless of the number of pending transactions. A
+ * confirmed transaction has been mined, it may still have reverted.
+ */
+public class PipelinedTransactionSubmitter implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PipelinedTransactionSubmitter.class);
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+    public static final long DEFAULT_POLLING_INTERVAL = 1000;
+
+    static final BigInteger GAP_FILLER_GAS_LIMIT = BigInteger.valueOf(21_000);
+    private static final int SEND_ATTEMPTS = 3;
+
+    private final Web3j web3j;
+    private final FastRawTransactionManager transactionManager;
+    private final Executor executor;
+    private final int maxBatchSize;
+    private final TransactionSubmitterMetrics metrics = new TransactionSubmitterMetrics();
+
+    private final PriorityBlockingQueue<Submission> signed =
+            new PriorityBlockingQueue<>(64, Comparator.comparing((Submission s) -> s.nonce));
+    private final ConcurrentNavigableMap<BigInteger, Submission> unconfirmed =
+            new ConcurrentSkipListMap<>();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private final ScheduledFuture<?> confirmationPoller;
+
+    private volatile boolean closed;
+
+    public PipelinedTransactionSubmitter(
+            Web3j web3j, FastRawTransactionManager transactionManager) {
+        this(
+                web3j,
+                transactionManager,
+                Async.getExecutorService(),
+                DEFAULT_MAX_BATCH_SIZE,
+                DEFAULT_POLLING_INTERVAL);
+    }
+
+    public PipelinedTransactionSubmitter(
+            Web3j web3j,
+            FastRawTransactionManager transactionManager,
+            Executor executor,
+            int maxBatchSize,
+            long pollingInterval) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.web3j = web3j;
+        this.transactionManager = transactionManager;
+        this.executor = executor;
+        this.maxBatchSize = maxBatchSize;
+        this.confirmationPoller =
+                Async.sharedExecutorService()
+                        .scheduleWithFixedDelay(
+                                Async.offScheduler(this::pollConfirmations),
+                                pollingInterval,
+                                pollingInterval,
+                                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Submit a legacy transaction.
+     *
+     * @return future completed with the transaction hash once the transaction is mined
+     */
+    public CompletableFuture<String> submit(
+            BigInteger gasPrice, BigInteger gasLimit, String to, String data, BigInteger value) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        BigInteger nonce = reserveNonce(result);
+        if (nonce != null) {
+            submit(
+                    new Submission(
+                            RawTransaction.createTransaction(
+                                    nonce, gasPrice, gasLimit, to, value, data),
+                            result));
+        }
+        return result;
+    }
+
+    /**
+     * Submit an EIP-1559 transaction.
+     *
+     * @return future completed with the transaction hash once the transaction is mined
+     */
+    public CompletableFuture<String> submitEIP1559(
+            long chainId,
+            BigInteger maxPriorityFeePerGas,
+            BigInteger maxFeePerGas,
+            BigInteger gasLimit,
+            String to,
+            String data,
+            BigInteger value) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        BigInteger nonce = reserveNonce(result);
+        if (nonce != null) {
+            submit(
+                    new Submission(
+                            RawTransaction.createTransaction(
+                                    chainId,
+                                    nonce,
+                                    gasLimit,
+                                    to,
+                                    value,
+                                    data,
+                                    maxPriorityFeePerGas,
+                                    maxFeePerGas),
+                            result));
+        }
+        return result;
+    }
+
+    public TransactionSubmitterMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Stop tracking confirmations. Transactions already handed to the submitter are still sent,
+     * but futures of unconfirmed transactions are cancelled.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        confirmationPoller.cancel(false);
+        for (Submission submission : unconfirmed.values()) {
+            submission.result.completeExceptionally(
+                    new CancellationException("Transaction submitter closed"));
+        }
+        unconfirmed.clear();
+    }
+
+    private BigInteger reserveNonce(CompletableFuture<String> result) {
+        if (closed) {
+            throw new IllegalStateException("Transaction submitter is closed");
+        }
+        try {
+            return transactionManager.getNonce();
+        } catch (IOException e) {
+            metrics.onFailed();
+            result.completeExceptionally(e);
+            return null;
+        }
+    }
+
+    private void submit(Submission submission) {
+        executor.execute(
+                () -> {
+                    try {
+                        submission.sign(transactionManager);
+                    } catch (RuntimeException e) {
+                        onFailed(submission, e);
+                        return;
+                    }
+                    signed.add(submission);
+                    scheduleFlush();
+                });
+    }
+
+    private void scheduleFlush() {
+        if (flushing.compareAndSet(false, true)) {
+            executor.execute(this::flush);
+        }
+    }
+
+    private void flush() {
+        try {
+            List<Submission> batch = new ArrayList<>(maxBatchSize);
+            while (signed.drainTo(batch, maxBatchSize) > 0) {
+                send(batch);
+                batch.clear();
+            }
+        } finally {
+            flushing.set(false);
+        }
+        // a transaction may have been signed after the queue was drained
+        if (!signed.isEmpty()) {
+            scheduleFlush();
+        }
+    }
+
+    private void send(List<Submission> batch) {
+        BatchRequest request = web3j.newBatch();
+        for (Submission submission : batch) {
+            request.add(web3j.ethSendRawTransaction(submission.signedTransaction));
+        }
+
+        // resending is safe as the signed transactions, and hence their hashes, are unchanged
+        BatchResponse response = null;
+        IOException error = null;
+        for (int attempt = 0; attempt < SEND_ATTEMPTS && response == null; attempt++) {
+            try {
+                response = request.send();
+            } catch (IOException e) {
+                error = e;
+            }
+        }
+        metrics.onBatchSent();
+
+        if (response == null) {
+            for (Submission submission : batch) {
+                onUncertain(submission, error);
+            }
+            return;
+        }
+
+        List<? extends Response<?>> responses = response.getResponses();
+        for (int i = 0; i < batch.size(); i++) {
+            Submission submission = batch.get(i);
+            Response<?> sendResponse = i < responses.size() ? responses.get(i) : null;
+            if (sendResponse == null) {
+                onUncertain(
+                        submission,
+                        new IOException(
+                                "No response for transaction with nonce " + submission.nonce));
+            } else if (sendResponse.hasError()) {
+                if (isAlreadyKnown(sendResponse.getError())) {
+                    onSubmitted(submission);
+                } else if (isUnderpriced(sendResponse.getError())) {
+                    // another transaction with the same nonce may be pending
+                    onUncertain(submission, new JsonRpcError(sendResponse.getError()));
+                } else {
+                    onFailed(submission, new JsonRpcError(sendResponse.getError()));
+                }
+            } else {
+                String transactionHash = (String) sendResponse.getResult();
+                if (transactionManager
+                        .getTxHashVerifier()
+                        .verify(submission.transactionHash, transactionHash)) {
+                    onSubmitted(submission);
+                } else {
+                    onUncertain(
+                            submission,
+                            new TxHashMismatchException(
+                                    submission.transactionHash, transactionHash));
+                }
+            }
+        }
+    }
+
+    private void onSubmitted(Submission submission) {
+        metrics.onSubmitted(System.nanoTime() - submission.submittedNanos);
+        if (submission.result == null) {
+            metrics.onGapRepaired();
+        } else {
+            track(submission);
+        }
+    }
+
+    private void track(Submission submission) {
+        if (closed) {
+            submission.result.completeExceptionally(
+                    new CancellationException("Transaction submitter closed"));
+        } else {
+            unconfirmed.put(submission.nonce, submission);
+            // close may have cleared the map between the check above and the put
+            if (closed && unconfirmed.remove(submission.nonce, submission)) {
+                submission.result.completeExceptionally(
+                        new CancellationException("Transaction submitter closed"));
+            }
+        }
+    }
+
+    // the node may have accepted the transaction despite the error, so it is only failed, and its
+    // nonce refilled, once the node is known not to have it
+    private void onUncertain(Submission submission, Throwable error) {
+        if (submission.result == null) {
+            onFailed(submission, error);
+            return;
+        }
+        submission.uncertainError = error;
+        track(submission);
+        verify(submission);
+    }
+
+    private void verify(Submission submission) {
+        Throwable error = submission.uncertainError;
+        SubmissionStatus status;
+        try {
+            status = lookUp(submission);
+        } catch (IOException | RuntimeException e) {
+            log.debug(
+                    "Unable to look up transaction with nonce {}, retried on the next poll",
+                    submission.nonce,
+                    e);
+            return;
+        }
+
+        if (status == SubmissionStatus.UNKNOWN) {
+            if (unconfirmed.remove(submission.nonce, submission)) {
+                onFailed(submission, error);
+            }
+        } else if (status == SubmissionStatus.NONCE_USED && error instanceof JsonRpcError) {
+            // rejected in favour of another transaction with the same nonce, there is no gap
+            if (unconfirmed.remove(submission.nonce, submission)) {
+                metrics.onFailed();
+                submission.result.completeExceptionally(error);
+            }
+        } else {
+            submission.uncertainError = null;
+            metrics.onSubmitted(System.nanoTime() - submission.submittedNanos);
+        }
+    }
+
+    private SubmissionStatus lookUp(Submission submission) throws IOException {
+        EthTransaction transaction =
+                web3j.ethGetTransactionByHash(submission.transactionHash).send();
+        if (transaction.hasError()) {
+            throw new JsonRpcError(transaction.getError());
+        }
+        if (transaction.getTransaction().isPresent()) {
+            return SubmissionStatus.KNOWN;
+        }
+
+        EthGetTransactionCount transactionCount =
+                web3j.ethGetTransactionCount(
+                                transactionManager.getFromAddress(),
+                                DefaultBlockParameterName.PENDING)
+                        .send();
+        if (transactionCount.hasError()) {
+            throw new JsonRpcError(transactionCount.getError());
+        }
+        return transactionCount.getTransactionCount().compareTo(submission.nonce) > 0
+                ? SubmissionStatus.NONCE_USED
+                : SubmissionStatus.UNKNOWN;
+    }
+
+    private void onFailed(Submission submission, Throwable error) {
+        if (submission.result == null) {
+            metrics.onGapRepairFailed();
+            log.warn(
+                    "Unable to fill nonce gap at {}, later transactions from {} will be stuck",
+                    submission.nonce,
+                    transactionManager.getFromAddress(),
+                    error);
+            return;
+        }
+
+        metrics.onFailed();
+        submission.result.completeExceptionally(error);
+        if (!isNonceTooLow(error)) {
+            fillGap(submission);
+        }
+    }
+
+    private void fillGap(Submission failed) {
+        RawTransaction transaction = failed.rawTransaction;
+        String from = transactionManager.getFromAddress();
+        RawTransaction filler;
+        if (transaction.getTransaction() instanceof Transaction1559) {
+            Transaction1559 transaction1559 = (Transaction1559) transaction.getTransaction();
+            filler =
+                    RawTransaction.createEtherTransaction(
+                            transaction1559.getChainId(),
+                            failed.nonce,
+                            GAP_FILLER_GAS_LIMIT,
+                            from,
+                            BigInteger.ZERO,
+                            transaction1559.getMaxPriorityFeePerGas(),
+                            transaction1559.getMaxFeePerGas());
+        } else {
+            filler =
+                    RawTransaction.createEtherTransaction(
+                            failed.nonce,
+                            transaction.getGasPrice(),
+                            GAP_FILLER_GAS_LIMIT,
+                            from,
+                            BigInteger.ZERO);
+        }
+        submit(new Submission(filler, null));
+    }
+
+    void pollConfirmations() {
+        if (unconfirmed.isEmpty()) {
+            return;
+        }
+        try {
+            EthGetTransactionCount transactionCount =
+                    web3j.ethGetTransactionCount(
+                                    transactionManager.getFromAddress(),
+                                    DefaultBlockParameterName.LATEST)
+                            .send();
+            if (transactionCount.hasError()) {
+                return;
+            }
+
+            Map<BigInteger, Submission> mined =
+                    unconfirmed.headMap(transactionCount.getTransactionCount());
+            long now = System.nanoTime();
+            for (Submission submission : mined.values()) {
+                if (unconfirmed.remove(submission.nonce, submission)) {
+                    metrics.onConfirmed(now - submission.submittedNanos);
+                    submission.result.complete(submission.transactionHash);
+                }
+            }
+
+            for (Submission submission : unconfirmed.values()) {
+                if (submission.uncertainError != null) {
+                    verify(submission);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // retried on the next poll
+            log.debug("Unable to poll transaction count", e);
+        }
+    }
+
+    private static boolean isAlreadyKnown(Response.Error error) {
+        String message = error.getMessage() == null ? "" : error.getMessage().toLowerCase();
+        return message.contains("already known")
+                || message.contains("known transaction")
+                || message.contains("already imported");
+    }
+
+    private static boolean isUnderpriced(Response.Error error) {
+        return error.getMessage() != null
+                && error.getMessage().toLowerCase().contains("underpriced");
+    }
+
+    private static boolean isNonceTooLow(Throwable error) {
+        // the nonce was used by another transaction, so there is no gap to fill
+        return error instanceof JsonRpcError
+                && error.getMessage() != null
+                && error.getMessage().toLowerCase().contains("nonce too low");
+    }
+
+    private enum SubmissionStatus {
+        KNOWN,
+        NONCE_USED,
+        UNKNOWN
+    }
+
+    private static class Submission {
+        private final RawTransaction rawTransaction;
+        private final BigInteger nonce;
+        // null for transactions filling a nonce gap
+        private final CompletableFuture<String> result;
+        private final long submittedNanos = System.nanoTime();
+        private volatile String signedTransaction;
+        private volatile String transactionHash;
+        // set while it is unclear whether the node received the transaction
+        private volatile Throwable uncertainError;
+
+        Submission(RawTransaction rawTransaction, CompletableFuture<String> result) {
+            this.rawTransaction = rawTransaction;
+            this.nonce = rawTransaction.getNonce();
+            this.result = result;
+        }
+
+        void sign(RawTransactionManager transactionManager) {
+            signedTransaction = transactionManager.sign(rawTransaction);
+            transactionHash = Hash.sha3(signedTransaction);
+        }
+    }
+}
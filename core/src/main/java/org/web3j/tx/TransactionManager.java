@@ -14,6 +14,7 @@ package org.web3j.tx;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
 
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.DefaultBlockParameter;
@@ -26,6 +27,7 @@ import org.web3j.protocol.exceptions.TransactionException;
 import org.web3j.tx.exceptions.ContractCallException;
 import org.web3j.tx.response.PollingTransactionReceiptProcessor;
 import org.web3j.tx.response.TransactionReceiptProcessor;
+import org.web3j.utils.Async;
 
 import static org.web3j.protocol.core.JsonRpc2_0Web3j.DEFAULT_BLOCK_TIME;
 
@@ -144,6 +146,48 @@ public abstract class TransactionManager {
         return processResponse(ethSendTransaction);
     }
 
+    /**
+     * Send a transaction and wait for its receipt without blocking a thread while the transaction
+     * is mined, if the {@link TransactionReceiptProcessor} supports it.
+     *
+     * @return future completed with the transaction receipt
+     */
+    protected CompletableFuture<TransactionReceipt> executeTransactionAsync(
+            BigInteger gasPrice,
+            BigInteger gasLimit,
+            String to,
+            String data,
+            BigInteger value,
+            boolean constructor) {
+
+        return Async.run(() -> sendTransaction(gasPrice, gasLimit, to, data, value, constructor))
+                .thenCompose(this::processResponseAsync);
+    }
+
+    protected CompletableFuture<TransactionReceipt> executeTransactionEIP1559Async(
+            long chainId,
+            BigInteger maxPriorityFeePerGas,
+            BigInteger maxFeePerGas,
+            BigInteger gasLimit,
+            String to,
+            String data,
+            BigInteger value,
+            boolean constructor) {
+
+        return Async.run(
+                        () ->
+                                sendEIP1559Transaction(
+                                        chainId,
+                                        maxPriorityFeePerGas,
+                                        maxFeePerGas,
+                                        gasLimit,
+                                        to,
+                                        data,
+                                        value,
+                                        constructor))
+                .thenCompose(this::processResponseAsync);
+    }
+
     public EthSendTransaction sendTransaction(
             BigInteger gasPrice, BigInteger gasLimit, String to, String data, BigInteger value)
             throws IOException {
@@ -215,6 +259,17 @@ public abstract class TransactionManager {
         return transactionReceiptProcessor.waitForTransactionReceipt(transactionHash);
     }
 
+    protected CompletableFuture<TransactionReceipt> processResponseAsync(
+            EthSendTransaction transactionResponse) {
+        if (transactionResponse.hasError()) {
+            return CompletableFuture.failedFuture(new JsonRpcError(transactionResponse.getError()));
+        }
+
+        String transactionHash = transactionResponse.getTransactionHash();
+
+        return transactionReceiptProcessor.waitForTransactionReceiptAsync(transactionHash);
+    }
+
     static void assertCallNotReverted(EthCall ethCall) {
         if (ethCall.isReverted()) {
             throw new ContractCallException(
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.web3j.utils.Histogram;
+
+/** Counters for transactions sent through a {@link PipelinedTransactionSubmitter}. */
+public class TransactionSubmitterMetrics {
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong confirmed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batchesSent = new AtomicLong();
+    private final AtomicLong gapsRepaired = new AtomicLong();
+    private final AtomicLong gapRepairFailures = new AtomicLong();
+    private final Histogram submitLatencyMicros = new Histogram();
+    private final Histogram confirmationLatencyMillis = new Histogram();
+    private final long startNanos = System.nanoTime();
+
+    void onBatchSent() {
+        batchesSent.incrementAndGet();
+    }
+
+    void onSubmitted(long latencyNanos) {
+        submitted.incrementAndGet();
+        submitLatencyMicros.record(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+    }
+
+    void onConfirmed(long latencyNanos) {
+        confirmed.incrementAndGet();
+        confirmationLatencyMillis.record(TimeUnit.NANOSECONDS.toMillis(latencyNanos));
+    }
+
+    void onFailed() {
+        failed.incrementAndGet();
+    }
+
+    void onGapRepaired() {
+        gapsRepaired.incrementAndGet();
+    }
+
+    void onGapRepairFailed() {
+        gapRepairFailures.incrementAndGet();
+    }
+
+    /**
+     * Number of transactions accepted by the node.
+     *
+     * @return submitted transaction count
+     */
+    public long getSubmitted() {
+        return submitted.get();
+    }
+
+    /**
+     * Number of transactions whose nonce has been consumed by a mined block.
+     *
+     * @return confirmed transaction count
+     */
+    public long getConfirmed() {
+        return confirmed.get();
+    }
+
+    /**
+     * Number of transactions that could not be signed or were rejected by the node.
+     *
+     * @return failed transaction count
+     */
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public long getBatchesSent() {
+        return batchesSent.get();
+    }
+
+    /**
+     * Number of nonces left unused by a failed transaction that were filled with a replacement.
+     *
+     * @return repaired nonce gap count
+     */
+    public long getGapsRepaired() {
+        return gapsRepaired.get();
+    }
+
+    public long getGapRepairFailures() {
+        return gapRepairFailures.get();
+    }
+
+    /**
+     * Time in microseconds from submission to acceptance by the node.
+     *
+     * @return submit latency histogram
+     */
+    public Histogram getSubmitLatencyMicros() {
+        return submitLatencyMicros;
+    }
+
+    /**
+     * Time in milliseconds from submission to confirmation.
+     *
+     * @return confirmation latency histogram
+     */
+    public Histogram getConfirmationLatencyMillis() {
+        return confirmationLatencyMillis;
+    }
+
+    public double getSubmittedPerSecond() {
+        return perSecond(submitted.get());
+    }
+
+    public double getConfirmedPerSecond() {
+        return perSecond(confirmed.get());
+    }
+
+    public double getFailedPerSecond() {
+        return perSecond(failed.get());
+    }
+
+    private double perSecond(long count) {
+        long elapsed = System.nanoTime() - startNanos;
+        if (elapsed <= 0) {
+            return 0;
+        }
+        return count * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx.response;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.exceptions.TransactionException;
+import org.web3j.utils.Async;
+
+/**
+ * Polls for transaction receipts from a shared scheduler, without parking a thread per
+ * transaction.
+ *
+ * <p>The first poll is made once the typical time for a transaction to be mined has passed, which
+ * is learnt from the receipts seen so far and starts at half the block time. Further polls back off
+ * exponentially from a quarter of the block time up to the block time, until the timeout expires.
+ */
+public class BackoffTransactionReceiptProcessor extends TransactionReceiptProcessor {
+
+    // weight of each observed inclusion time in the moving average
+    private static final int SMOOTHING_DIVISOR = 8;
+
+    private final ScheduledExecutorService scheduler;
+    private final long blockTime;
+    private final long timeout;
+    private final AtomicLong expectedInclusionTime;
+
+    public BackoffTransactionReceiptProcessor(Web3j web3j, long blockTime, long timeout) {
+        this(web3j, blockTime, timeout, Async.sharedExecutorService());
+    }
+
+    public BackoffTransactionReceiptProcessor(
+            Web3j web3j, long blockTime, long timeout, ScheduledExecutorService scheduler) {
+        super(web3j);
+        if (blockTime < 1) {
+            throw new IllegalArgumentException("Block time must be positive");
+        }
+        this.scheduler = scheduler;
+        this.blockTime = blockTime;
+        this.timeout = timeout;
+        this.expectedInclusionTime = new AtomicLong(blockTime / 2);
+    }
+
+    @Override
+    public TransactionReceipt waitForTransactionReceipt(String transactionHash)
+            throws IOException, TransactionException {
+        return await(waitForTransactionReceiptAsync(transactionHash));
+    }
+
+    @Override
+    public CompletableFuture<TransactionReceipt> waitForTransactionReceiptAsync(
+            String transactionHash) {
+        CompletableFuture<TransactionReceipt> result = new CompletableFuture<>();
+        long startedAt = System.nanoTime();
+        long delay = Math.min(expectedInclusionTime.get(), timeout);
+        poll(transactionHash, result, startedAt, 0, delay, Math.max(1, blockTime / 4));
+        return result;
+    }
+
+    /**
+     * Time after which a transaction is expected to have been mined, as learnt from the receipts
+     * received so far.
+     *
+     * @return expected inclusion time in milliseconds
+     */
+    public long getExpectedInclusionTime() {
+        return expectedInclusionTime.get();
+    }
+
+    private void poll(
+            String transactionHash,
+            CompletableFuture<TransactionReceipt> result,
+            long startedAt,
+            long lastEmptyPoll,
+            long delay,
+            long nextDelay) {
+        scheduler.schedule(
+                () -> sendAttempt(transactionHash, result, startedAt, lastEmptyPoll, nextDelay),
+                delay,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private void sendAttempt(
+            String transactionHash,
+            CompletableFuture<TransactionReceipt> result,
+            long startedAt,
+            long lastEmptyPoll,
+            long delay) {
+        if (result.isDone()) {
+            // cancelled by the caller
+            return;
+        }
+        sendTransactionReceiptRequestAsync(transactionHash)
+                .whenComplete(
+                        (receipt, throwable) -> {
+                            long elapsed =
+                                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+                            if (throwable != null) {
+                                result.completeExceptionally(unwrap(throwable));
+                            } else if (receipt.isPresent()) {
+                                recordInclusionTime(lastEmptyPoll, elapsed);
+                                result.complete(receipt.get());
+                            } else if (elapsed < timeout) {
+                                poll(
+                                        transactionHash,
+                                        result,
+                                        startedAt,
+                                        elapsed,
+                                        Math.min(delay, timeout - elapsed),
+                                        Math.min(delay * 2, blockTime));
+                            } else {
+                                result.completeExceptionally(
+                                        new TransactionException(
+                                                "Transaction receipt was not generated after "
+                                                        + (timeout / 1000
+                                                                + " seconds for transaction: "
+                                                                + transactionHash),
+                                                transactionHash));
+                            }
+                        });
+    }
+
+    private void recordInclusionTime(long lastEmptyPoll, long elapsed) {
+        // the transaction was mined between the last poll without a receipt and this one, so the
+        // middle of that interval is taken, which lets the estimate fall as well as rise; the first
+        // poll should not wait longer than a block
+        long observed = Math.min((lastEmptyPoll + elapsed) / 2, blockTime);
+        expectedInclusionTime.updateAndGet(
+                expected -> expected + (observed - expected) / SMOOTHING_DIVISOR);
+    }
+}
@@ -14,12 +14,20 @@ package org.web3j.tx.response;
 
 import java.io.IOException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.protocol.exceptions.TransactionException;
+import org.web3j.utils.Async;
 
-/** With each provided transaction hash, poll until we obtain a transaction receipt. */
+/**
+ * With each provided transaction hash, poll until we obtain a transaction receipt.
+ *
+ * <p>{@link #waitForTransactionReceiptAsync(String)} polls from the shared scheduler instead of
+ * sleeping on the calling thread.
+ */
 public class PollingTransactionReceiptProcessor extends TransactionReceiptProcessor {
 
     protected final long sleepDuration;
@@ -38,6 +46,47 @@ public class PollingTransactionReceiptProcessor extends TransactionReceiptProces
         return getTransactionReceipt(transactionHash, sleepDuration, attempts);
     }
 
+    @Override
+    public CompletableFuture<TransactionReceipt> waitForTransactionReceiptAsync(
+            String transactionHash) {
+        CompletableFuture<TransactionReceipt> result = new CompletableFuture<>();
+        poll(transactionHash, result, 0, 0);
+        return result;
+    }
+
+    private void poll(
+            String transactionHash,
+            CompletableFuture<TransactionReceipt> result,
+            int attempt,
+            long delay) {
+        Async.sharedExecutorService()
+                .schedule(
+                        () -> sendAttempt(transactionHash, result, attempt),
+                        delay,
+                        TimeUnit.MILLISECONDS);
+    }
+
+    private void sendAttempt(
+            String transactionHash, CompletableFuture<TransactionReceipt> result, int attempt) {
+        if (result.isDone()) {
+            // cancelled by the caller
+            return;
+        }
+        sendTransactionReceiptRequestAsync(transactionHash)
+                .whenComplete(
+                        (receipt, throwable) -> {
+                            if (throwable != null) {
+                                result.completeExceptionally(unwrap(throwable));
+                            } else if (receipt.isPresent()) {
+                                result.complete(receipt.get());
+                            } else if (attempt < attempts - 1) {
+                                poll(transactionHash, result, attempt + 1, sleepDuration);
+                            } else {
+                                result.completeExceptionally(notGenerated(transactionHash));
+                            }
+                        });
+    }
+
     private TransactionReceipt getTransactionReceipt(
             String transactionHash, long sleepDuration, int attempts)
             throws IOException, TransactionException {
@@ -60,7 +109,11 @@ public class PollingTransactionReceiptProcessor extends TransactionReceiptProces
             }
         }
 
-        throw new TransactionException(
+        throw notGenerated(transactionHash);
+    }
+
+    private TransactionException notGenerated(String transactionHash) {
+        return new TransactionException(
                 "Transaction receipt was not generated after "
                         + ((sleepDuration * attempts) / 1000
                                 + " seconds for transaction: "
@@ -13,19 +13,39 @@
 package org.web3j.tx.response;
 
 import java.io.IOException;
-import java.util.Optional;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthGetBlockReceipts;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.protocol.exceptions.TransactionException;
 import org.web3j.utils.Async;
 
 /**
- * Transaction receipt processor that uses a single thread to query for transaction receipts.
+ * Transaction receipt processor that uses a single scheduled task to query for transaction
+ * receipts.
+ *
+ * <p>On each poll the receipts of all pending transactions are requested in JSON-RPC batches of up
+ * to {@code batchSize} hashes, which are sent concurrently. When at least {@code
+ * blockReceiptsThreshold} transactions are pending, the receipts of each new block are fetched with
+ * {@code eth_getBlockReceipts} instead. Each transaction is then queried by hash only once after it
+ * is queued or block scanning starts, to find receipts in blocks that were already scanned.
  *
  * <p><em>Note:</em>When initially invoked, this processor returns a transaction receipt containing
  * only the transaction hash of the submitted transaction. This is encapsulated in an {@link
@@ -33,22 +53,62 @@ import org.web3j.utils.Async;
  */
 public class QueuingTransactionReceiptProcessor extends TransactionReceiptProcessor {
 
+    private static final Logger log =
+            LoggerFactory.getLogger(QueuingTransactionReceiptProcessor.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 100;
+    public static final int DEFAULT_BLOCK_RECEIPTS_THRESHOLD = 200;
+
+    private static final int MAX_BLOCKS_PER_POLL = 16;
+    private static final int METHOD_NOT_FOUND = -32601;
+
+    private final Web3j web3j;
     private final int pollingAttemptsPerTxHash;
+    private final int batchSize;
+    private final int blockReceiptsThreshold;
 
     private final ScheduledExecutorService scheduledExecutorService;
     private final Callback callback;
-    private final BlockingQueue<RequestWrapper> pendingTransactions;
+    private final Map<String, RequestWrapper> pendingTransactions;
+
+    // highest block whose receipts have been scanned, or -1 when not scanning blocks
+    private volatile long scannedBlock = -1;
+    // incremented whenever block scanning starts or stops
+    private volatile long scanEpoch;
+    private volatile boolean blockReceiptsSupported = true;
 
     public QueuingTransactionReceiptProcessor(
             Web3j web3j, Callback callback, int pollingAttemptsPerTxHash, long pollingFrequency) {
+        this(
+                web3j,
+                callback,
+                pollingAttemptsPerTxHash,
+                pollingFrequency,
+                DEFAULT_BATCH_SIZE,
+                DEFAULT_BLOCK_RECEIPTS_THRESHOLD);
+    }
+
+    public QueuingTransactionReceiptProcessor(
+            Web3j web3j,
+            Callback callback,
+            int pollingAttemptsPerTxHash,
+            long pollingFrequency,
+            int batchSize,
+            int blockReceiptsThreshold) {
         super(web3j);
-        this.scheduledExecutorService = Async.defaultExecutorService();
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.web3j = web3j;
+        this.scheduledExecutorService = Async.sharedExecutorService();
         this.callback = callback;
-        this.pendingTransactions = new LinkedBlockingQueue<>();
+        this.pendingTransactions = new ConcurrentHashMap<>();
         this.pollingAttemptsPerTxHash = pollingAttemptsPerTxHash;
+        this.batchSize = batchSize;
+        this.blockReceiptsThreshold = blockReceiptsThreshold;
 
         scheduledExecutorService.scheduleAtFixedRate(
-                this::sendTransactionReceiptRequests,
+                Async.offScheduler(this::sendTransactionReceiptRequests),
                 pollingFrequency,
                 pollingFrequency,
                 TimeUnit.MILLISECONDS);
@@ -57,51 +117,195 @@ public class QueuingTransactionReceiptProcessor extends TransactionReceiptProces
     @Override
     public TransactionReceipt waitForTransactionReceipt(String transactionHash)
             throws IOException, TransactionException {
-        pendingTransactions.add(new RequestWrapper(transactionHash));
+        pendingTransactions.putIfAbsent(transactionHash, new RequestWrapper(transactionHash));
 
         return new EmptyTransactionReceipt(transactionHash);
     }
 
-    private void sendTransactionReceiptRequests() {
-        for (RequestWrapper requestWrapper : pendingTransactions) {
-            try {
-                String transactionHash = requestWrapper.getTransactionHash();
-                Optional<? extends TransactionReceipt> transactionReceipt =
-                        sendTransactionReceiptRequest(transactionHash);
-                if (transactionReceipt.isPresent()) {
-                    callback.accept(transactionReceipt.get());
-                    pendingTransactions.remove(requestWrapper);
+    void sendTransactionReceiptRequests() {
+        try {
+            if (blockReceiptsSupported && pendingTransactions.size() >= blockReceiptsThreshold) {
+                scanBlocks();
+            } else {
+                stopScanning();
+            }
+
+            List<RequestWrapper> uncovered = new ArrayList<>();
+            for (RequestWrapper requestWrapper : pendingTransactions.values()) {
+                if (!isCoveredByBlockScan(requestWrapper)) {
+                    uncovered.add(requestWrapper);
+                }
+            }
+            requestReceipts(uncovered, scanEpoch);
+
+            for (RequestWrapper requestWrapper : pendingTransactions.values()) {
+                if (requestWrapper.getCount() == pollingAttemptsPerTxHash) {
+                    String transactionHash = requestWrapper.getTransactionHash();
+                    fail(
+                            requestWrapper,
+                            new TransactionException(
+                                    "No transaction receipt for txHash: "
+                                            + transactionHash
+                                            + "received after "
+                                            + pollingAttemptsPerTxHash
+                                            + " attempts",
+                                    transactionHash));
                 } else {
-                    if (requestWrapper.getCount() == pollingAttemptsPerTxHash) {
-                        throw new TransactionException(
-                                "No transaction receipt for txHash: "
-                                        + transactionHash
-                                        + "received after "
-                                        + pollingAttemptsPerTxHash
-                                        + " attempts",
-                                transactionHash);
-                    } else {
-                        requestWrapper.incrementCount();
+                    requestWrapper.incrementCount();
+                }
+            }
+        } catch (RuntimeException e) {
+            // keep the scheduled task alive, pending transactions are retried on the next poll
+            log.warn("Unable to poll for transaction receipts", e);
+        }
+    }
+
+    private void requestReceipts(List<RequestWrapper> requestWrappers, long epoch) {
+        List<List<RequestWrapper>> chunks = new ArrayList<>();
+        List<CompletableFuture<BatchResponse>> responses = new ArrayList<>();
+        for (int from = 0; from < requestWrappers.size(); from += batchSize) {
+            List<RequestWrapper> chunk =
+                    requestWrappers.subList(
+                            from, Math.min(from + batchSize, requestWrappers.size()));
+            BatchRequest batchRequest = web3j.newBatch();
+            for (RequestWrapper requestWrapper : chunk) {
+                batchRequest.add(
+                        web3j.ethGetTransactionReceipt(requestWrapper.getTransactionHash()));
+            }
+            chunks.add(chunk);
+            responses.add(batchRequest.sendAsync());
+        }
+
+        // callbacks are invoked from the polling thread, as with sequential polling
+        for (int i = 0; i < chunks.size(); i++) {
+            List<RequestWrapper> chunk = chunks.get(i);
+            try {
+                processReceipts(chunk, responses.get(i).join(), epoch);
+            } catch (CompletionException e) {
+                IOException error =
+                        e.getCause() instanceof IOException
+                                ? (IOException) e.getCause()
+                                : new IOException(e.getCause());
+                for (RequestWrapper requestWrapper : chunk) {
+                    fail(requestWrapper, error);
+                }
+            }
+        }
+    }
+
+    private void processReceipts(
+            List<RequestWrapper> chunk, BatchResponse batchResponse, long epoch) {
+        List<? extends Response<?>> responses = batchResponse.getResponses();
+        for (int i = 0; i < chunk.size(); i++) {
+            RequestWrapper requestWrapper = chunk.get(i);
+            EthGetTransactionReceipt transactionReceipt =
+                    i < responses.size() ? (EthGetTransactionReceipt) responses.get(i) : null;
+            if (transactionReceipt == null) {
+                continue;
+            }
+            if (transactionReceipt.hasError()) {
+                fail(
+                        requestWrapper,
+                        new TransactionException(
+                                "Error processing request: "
+                                        + transactionReceipt.getError().getMessage()));
+            } else {
+                // a receipt mined after this reply is in a block that is still to be scanned
+                requestWrapper.setPolledEpoch(epoch);
+                transactionReceipt
+                        .getTransactionReceipt()
+                        .ifPresent(receipt -> complete(requestWrapper, receipt));
+            }
+        }
+    }
+
+    private void scanBlocks() {
+        try {
+            long latestBlock = web3j.ethBlockNumber().send().getBlockNumber().longValueExact();
+            if (scannedBlock < 0) {
+                // pending transactions are polled by hash once more, as they may have been mined
+                // in a block up to this one
+                scanEpoch++;
+                scannedBlock = latestBlock;
+                return;
+            }
+
+            long toBlock = Math.min(latestBlock, scannedBlock + MAX_BLOCKS_PER_POLL);
+            if (toBlock <= scannedBlock) {
+                return;
+            }
+
+            BatchRequest batchRequest = web3j.newBatch();
+            for (long block = scannedBlock + 1; block <= toBlock; block++) {
+                batchRequest.add(
+                        web3j.ethGetBlockReceipts(
+                                DefaultBlockParameter.valueOf(BigInteger.valueOf(block))));
+            }
+            List<? extends Response<?>> responses = batchRequest.send().getResponses();
+
+            for (Response<?> response : responses) {
+                EthGetBlockReceipts blockReceipts = (EthGetBlockReceipts) response;
+                if (blockReceipts == null) {
+                    break;
+                }
+                if (blockReceipts.hasError()) {
+                    if (blockReceipts.getError().getCode() == METHOD_NOT_FOUND) {
+                        blockReceiptsSupported = false;
                     }
+                    stopScanning();
+                    return;
+                }
+                if (!blockReceipts.getBlockReceipts().isPresent()) {
+                    // block not available from this node yet, continue from here on the next poll
+                    break;
                 }
-            } catch (IOException | TransactionException e) {
-                pendingTransactions.remove(requestWrapper);
-                callback.exception(e);
+                for (TransactionReceipt receipt : blockReceipts.getBlockReceipts().get()) {
+                    RequestWrapper requestWrapper =
+                            pendingTransactions.get(receipt.getTransactionHash());
+                    if (requestWrapper != null) {
+                        complete(requestWrapper, receipt);
+                    }
+                }
+                scannedBlock++;
             }
+        } catch (IOException | RuntimeException e) {
+            log.debug("Unable to scan block receipts, polling by transaction hash", e);
+            stopScanning();
+        }
+    }
+
+    private void stopScanning() {
+        if (scannedBlock >= 0) {
+            scannedBlock = -1;
+            scanEpoch++;
+        }
+    }
+
+    private boolean isCoveredByBlockScan(RequestWrapper requestWrapper) {
+        return scannedBlock >= 0 && requestWrapper.getPolledEpoch() == scanEpoch;
+    }
+
+    private void complete(RequestWrapper requestWrapper, TransactionReceipt receipt) {
+        if (pendingTransactions.remove(requestWrapper.getTransactionHash(), requestWrapper)) {
+            callback.accept(receipt);
+        }
+    }
+
+    private void fail(RequestWrapper requestWrapper, Exception exception) {
+        if (pendingTransactions.remove(requestWrapper.getTransactionHash(), requestWrapper)) {
+            callback.exception(exception);
         }
     }
 
     /**
-     * Java doesn't provide a concurrent linked hash set, so we use a simple wrapper to store
-     * details of the number of requests we've made against this specific transaction hash. This is
-     * so we can preserve submission order as we interate over the outstanding transactions.
-     *
-     * <p>Note - the equals/hashcode methods only operate on the transactionHash field. This is
-     * intentional.
+     * Details of the number of requests we've made against a specific transaction hash, and
+     * whether the block it is mined in will be scanned for its receipt.
      */
     private static class RequestWrapper {
         private final String transactionHash;
-        private int count;
+        // scan epoch in which the receipt was last polled by hash, or -1 if never polled
+        private volatile long polledEpoch = -1;
+        private volatile int count;
 
         RequestWrapper(String transactionHash) {
             this.transactionHash = transactionHash;
@@ -112,31 +316,20 @@ public class QueuingTransactionReceiptProcessor extends TransactionReceiptProces
             return transactionHash;
         }
 
-        int getCount() {
-            return count;
+        long getPolledEpoch() {
+            return polledEpoch;
         }
 
-        void incrementCount() {
-            this.count += 1;
+        void setPolledEpoch(long polledEpoch) {
+            this.polledEpoch = polledEpoch;
         }
 
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) {
-                return true;
-            }
-            if (o == null || getClass() != o.getClass()) {
-                return false;
-            }
-
-            RequestWrapper that = (RequestWrapper) o;
-
-            return transactionHash.equals(that.transactionHash);
+        int getCount() {
+            return count;
         }
 
-        @Override
-        public int hashCode() {
-            return transactionHash.hashCode();
+        void incrementCount() {
+            this.count += 1;
         }
     }
 }
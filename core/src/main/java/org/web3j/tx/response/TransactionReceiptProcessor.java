@@ -14,11 +14,15 @@ package org.web3j.tx.response;
 
 import java.io.IOException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.protocol.exceptions.TransactionException;
+import org.web3j.utils.Async;
 
 /** Abstraction for managing how we wait for transaction receipts to be generated on the network. */
 public abstract class TransactionReceiptProcessor {
@@ -32,6 +36,22 @@ public abstract class TransactionReceiptProcessor {
     public abstract TransactionReceipt waitForTransactionReceipt(String transactionHash)
             throws IOException, TransactionException;
 
+    /**
+     * Wait for a transaction receipt without blocking the calling thread.
+     *
+     * <p>By default the blocking {@link #waitForTransactionReceipt(String)} is run with {@link
+     * Async}, which ties up a thread while waiting. Processors that can wait without blocking a
+     * thread override this method.
+     *
+     * @param transactionHash transaction hash
+     * @return future completed with the receipt, or exceptionally with an {@link IOException} or
+     *     {@link TransactionException}
+     */
+    public CompletableFuture<TransactionReceipt> waitForTransactionReceiptAsync(
+            String transactionHash) {
+        return Async.run(() -> waitForTransactionReceipt(transactionHash));
+    }
+
     Optional<? extends TransactionReceipt> sendTransactionReceiptRequest(String transactionHash)
             throws IOException, TransactionException {
         EthGetTransactionReceipt transactionReceipt =
@@ -43,4 +63,47 @@ public abstract class TransactionReceiptProcessor {
 
         return transactionReceipt.getTransactionReceipt();
     }
+
+    CompletableFuture<Optional<TransactionReceipt>> sendTransactionReceiptRequestAsync(
+            String transactionHash) {
+        return web3j.ethGetTransactionReceipt(transactionHash)
+                .sendAsync()
+                .thenApply(
+                        transactionReceipt -> {
+                            if (transactionReceipt.hasError()) {
+                                String message = transactionReceipt.getError().getMessage();
+                                throw new CompletionException(
+                                        new TransactionException(
+                                                "Error processing request: " + message));
+                            }
+                            return transactionReceipt.getTransactionReceipt();
+                        });
+    }
+
+    static TransactionReceipt await(CompletableFuture<TransactionReceipt> future)
+            throws IOException, TransactionException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new TransactionException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof TransactionException) {
+                throw (TransactionException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new TransactionException(cause);
+        }
+    }
+
+    static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+    }
 }
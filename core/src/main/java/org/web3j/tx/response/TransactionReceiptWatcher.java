@@ -0,0 +1,303 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx.response;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Flowable;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.schedulers.Schedulers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthGetBlockReceipts;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.exceptions.TransactionException;
+import org.web3j.utils.Async;
+import org.web3j.utils.Numeric;
+
+/**
+ * Resolves transaction receipts from new blocks rather than by polling each transaction hash.
+ *
+ * <p>While at least one transaction is watched, the watcher follows the chain head, using {@code
+ * newHeads} notifications when the underlying service supports subscriptions and a block filter
+ * otherwise. The receipts of every new block are fetched with a single {@code
+ * eth_getBlockReceipts} call and complete the futures of the transactions they belong to, so the
+ * cost is one call per block regardless of the number of waiters. Nodes without {@code
+ * eth_getBlockReceipts} are handled by querying the watched hashes in one batch per block.
+ *
+ * <p>The watcher unsubscribes from new heads as soon as no transactions are watched.
+ */
+public class TransactionReceiptWatcher implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionReceiptWatcher.class);
+
+    private static final long UNKNOWN_BLOCK = -1;
+    private static final int MAX_BLOCKS_PER_HEAD = 16;
+    private static final int METHOD_NOT_FOUND = -32601;
+
+    private final Web3j web3j;
+    private final Executor executor;
+    private final Map<String, CompletableFuture<TransactionReceipt>> waiters =
+            new ConcurrentHashMap<>();
+
+    private final Object lock = new Object();
+    private Disposable subscription;
+    private boolean closed;
+
+    // updated from head processing, which observeOn serialises
+    private volatile long processedBlock = UNKNOWN_BLOCK;
+    private volatile boolean blockReceiptsSupported = true;
+
+    public TransactionReceiptWatcher(Web3j web3j) {
+        this(web3j, Async.getExecutorService());
+    }
+
+    public TransactionReceiptWatcher(Web3j web3j, Executor executor) {
+        this.web3j = web3j;
+        this.executor = executor;
+    }
+
+    /**
+     * Watch for the receipt of a transaction. Callers watching the same transaction share the
+     * returned future.
+     *
+     * @param transactionHash transaction hash
+     * @return future completed with the receipt once the transaction is mined
+     */
+    public CompletableFuture<TransactionReceipt> watch(String transactionHash) {
+        String key = transactionHash.toLowerCase();
+        CompletableFuture<TransactionReceipt> future = new CompletableFuture<>();
+        CompletableFuture<TransactionReceipt> existing = waiters.putIfAbsent(key, future);
+        if (existing != null) {
+            return existing;
+        }
+
+        future.whenComplete(
+                (receipt, throwable) -> {
+                    waiters.remove(key, future);
+                    stopIfIdle();
+                });
+        if (!start()) {
+            future.completeExceptionally(new IllegalStateException("Receipt watcher is closed"));
+            return future;
+        }
+
+        // the transaction may have been mined before it was watched
+        web3j.ethGetTransactionReceipt(transactionHash)
+                .sendAsync()
+                .thenAccept(
+                        response -> {
+                            if (!response.hasError()) {
+                                response.getTransactionReceipt().ifPresent(future::complete);
+                            }
+                        });
+        return future;
+    }
+
+    /**
+     * Watch for the receipt of a transaction, failing with a {@link
+     * java.util.concurrent.TimeoutException} if it is not mined within the given time. The timeout
+     * applies to every caller watching the same transaction.
+     *
+     * @param transactionHash transaction hash
+     * @param timeout time to wait for the receipt
+     * @param unit unit of the timeout
+     * @return future completed with the receipt once the transaction is mined
+     */
+    public CompletableFuture<TransactionReceipt> watch(
+            String transactionHash, long timeout, TimeUnit unit) {
+        return watch(transactionHash).orTimeout(timeout, unit);
+    }
+
+    public int getWatchedCount() {
+        return waiters.size();
+    }
+
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            dispose();
+        }
+        for (Map.Entry<String, CompletableFuture<TransactionReceipt>> waiter :
+                waiters.entrySet()) {
+            waiter.getValue()
+                    .completeExceptionally(
+                            new TransactionException(
+                                    "Receipt watcher closed before transaction was mined",
+                                    waiter.getKey()));
+        }
+    }
+
+    private boolean start() {
+        synchronized (lock) {
+            if (closed) {
+                return false;
+            }
+            if (subscription == null) {
+                processedBlock = UNKNOWN_BLOCK;
+                subscription =
+                        heads().observeOn(Schedulers.from(executor))
+                                .subscribe(this::onNewHead, this::onError);
+            }
+            return true;
+        }
+    }
+
+    private void stopIfIdle() {
+        synchronized (lock) {
+            if (waiters.isEmpty()) {
+                dispose();
+            }
+        }
+    }
+
+    private void dispose() {
+        if (subscription != null) {
+            subscription.dispose();
+            subscription = null;
+        }
+    }
+
+    private Flowable<Long> heads() {
+        try {
+            return web3j.newHeadsNotifications()
+                    .map(notification -> notification.getParams().getResult().getNumber())
+                    .map(number -> Numeric.decodeQuantity(number).longValueExact());
+        } catch (UnsupportedOperationException e) {
+            return web3j.ethBlockHashFlowable().map(blockHash -> UNKNOWN_BLOCK);
+        }
+    }
+
+    private void onError(Throwable throwable) {
+        log.warn("Lost the chain head subscription, failing watched transactions", throwable);
+        synchronized (lock) {
+            subscription = null;
+        }
+        for (CompletableFuture<TransactionReceipt> future : waiters.values()) {
+            future.completeExceptionally(throwable);
+        }
+    }
+
+    void onNewHead(long headNumber) {
+        if (waiters.isEmpty()) {
+            processedBlock = UNKNOWN_BLOCK;
+            return;
+        }
+
+        try {
+            long head =
+                    headNumber != UNKNOWN_BLOCK
+                            ? headNumber
+                            : web3j.ethBlockNumber().send().getBlockNumber().longValueExact();
+            long from =
+                    processedBlock == UNKNOWN_BLOCK
+                            ? head
+                            : Math.max(processedBlock + 1, head - MAX_BLOCKS_PER_HEAD + 1);
+            if (from > head) {
+                return;
+            }
+
+            if (!blockReceiptsSupported
+                    || processedBlock == UNKNOWN_BLOCK
+                    || from > processedBlock + 1) {
+                // blocks mined since the transactions were watched, or too many blocks to catch
+                // up with, are covered by looking the watched transactions up instead
+                pollWatchedTransactions();
+            }
+            if (blockReceiptsSupported) {
+                processBlocks(from, head);
+            } else {
+                processedBlock = head;
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("Unable to fetch receipts for new block", e);
+        }
+    }
+
+    private void processBlocks(long from, long to) throws IOException {
+        BatchRequest batchRequest = web3j.newBatch();
+        for (long block = from; block <= to; block++) {
+            batchRequest.add(
+                    web3j.ethGetBlockReceipts(
+                            DefaultBlockParameter.valueOf(BigInteger.valueOf(block))));
+        }
+
+        long block = from;
+        for (Response<?> response : batchRequest.send().getResponses()) {
+            EthGetBlockReceipts blockReceipts = (EthGetBlockReceipts) response;
+            if (blockReceipts == null) {
+                return;
+            }
+            if (blockReceipts.hasError()) {
+                if (blockReceipts.getError().getCode() == METHOD_NOT_FOUND) {
+                    blockReceiptsSupported = false;
+                    pollWatchedTransactions();
+                    processedBlock = to;
+                }
+                return;
+            }
+            if (!blockReceipts.getBlockReceipts().isPresent()) {
+                // not available from this node yet, retried with the next head
+                return;
+            }
+            for (TransactionReceipt receipt : blockReceipts.getBlockReceipts().get()) {
+                complete(receipt);
+            }
+            processedBlock = block++;
+        }
+    }
+
+    private void pollWatchedTransactions() throws IOException {
+        List<String> transactionHashes = new ArrayList<>(waiters.keySet());
+        if (transactionHashes.isEmpty()) {
+            return;
+        }
+
+        BatchRequest batchRequest = web3j.newBatch();
+        for (String transactionHash : transactionHashes) {
+            batchRequest.add(web3j.ethGetTransactionReceipt(transactionHash));
+        }
+        for (Response<?> response : batchRequest.send().getResponses()) {
+            EthGetTransactionReceipt transactionReceipt = (EthGetTransactionReceipt) response;
+            if (transactionReceipt != null && !transactionReceipt.hasError()) {
+                transactionReceipt.getTransactionReceipt().ifPresent(this::complete);
+            }
+        }
+    }
+
+    private void complete(TransactionReceipt receipt) {
+        String transactionHash = receipt.getTransactionHash();
+        if (transactionHash == null) {
+            return;
+        }
+        CompletableFuture<TransactionReceipt> future = waiters.get(transactionHash.toLowerCase());
+        if (future != null) {
+            future.complete(receipt);
+        }
+    }
+}
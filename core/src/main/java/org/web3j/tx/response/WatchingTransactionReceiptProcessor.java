@@ -0,0 +1,73 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx.response;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.exceptions.TransactionException;
+
+/**
+ * Waits for transaction receipts with a {@link TransactionReceiptWatcher}, so that any number of
+ * threads waiting on the same watcher cost one receipt lookup per block.
+ */
+public class WatchingTransactionReceiptProcessor extends TransactionReceiptProcessor {
+
+    private final TransactionReceiptWatcher watcher;
+    private final long timeout;
+
+    public WatchingTransactionReceiptProcessor(Web3j web3j, long timeout) {
+        this(web3j, new TransactionReceiptWatcher(web3j), timeout);
+    }
+
+    public WatchingTransactionReceiptProcessor(
+            Web3j web3j, TransactionReceiptWatcher watcher, long timeout) {
+        super(web3j);
+        this.watcher = watcher;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public TransactionReceipt waitForTransactionReceipt(String transactionHash)
+            throws IOException, TransactionException {
+        return await(waitForTransactionReceiptAsync(transactionHash));
+    }
+
+    @Override
+    public CompletableFuture<TransactionReceipt> waitForTransactionReceiptAsync(
+            String transactionHash) {
+        CompletableFuture<TransactionReceipt> result = new CompletableFuture<>();
+        watcher.watch(transactionHash, timeout, TimeUnit.MILLISECONDS)
+                .whenComplete(
+                        (receipt, throwable) -> {
+                            if (throwable == null) {
+                                result.complete(receipt);
+                            } else if (unwrap(throwable) instanceof TimeoutException) {
+                                result.completeExceptionally(
+                                        new TransactionException(
+                                                "Transaction receipt was not generated after "
+                                                        + (timeout / 1000
+                                                                + " seconds for transaction: "
+                                                                + transactionHash),
+                                                transactionHash));
+                            } else {
+                                result.completeExceptionally(unwrap(throwable));
+                            }
+                        });
+        return result;
+    }
+}
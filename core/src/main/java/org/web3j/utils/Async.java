@@ -12,38 +12,126 @@
  */
 package org.web3j.utils;
 
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
-/** Async task facilitation. */
+/**
+ * Async task facilitation.
+ *
+ * <p>Tasks submitted through {@link #run(Callable)} execute on a virtual thread per task when
+ * running on JDK 21 or later, and on a cached thread pool otherwise. The executor can be replaced
+ * with {@link #setExecutorService(ExecutorService)}, e.g. with a bounded pool created by {@link
+ * #newBoundedExecutorService(int, int)}. Task counts and latencies are available from {@link
+ * #getMetrics()}.
+ */
 public class Async {
 
-    private static final ExecutorService executor = Executors.newCachedThreadPool();
+    private static final AsyncMetrics metrics = new AsyncMetrics();
+
+    private static final ExecutorService defaultExecutor = newVirtualThreadExecutorService();
+
+    private static volatile ExecutorService executor = defaultExecutor;
+
+    private static volatile ScheduledExecutorService sharedScheduledExecutorService;
 
     static {
-        Runtime.getRuntime().addShutdownHook(new Thread(() -> shutdown(executor)));
+        // only the executor created here is shut down, never one set by the application
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> shutdown(defaultExecutor)));
     }
 
     public static <T> CompletableFuture<T> run(Callable<T> callable) {
         CompletableFuture<T> result = new CompletableFuture<>();
-        CompletableFuture.runAsync(
-                () -> {
-                    // we need to explicitly catch any exceptions,
-                    // otherwise they will be silently discarded
-                    try {
-                        result.complete(callable.call());
-                    } catch (Throwable e) {
-                        result.completeExceptionally(e);
-                    }
-                },
-                executor);
+        long submittedAt = System.nanoTime();
+        metrics.onSubmitted();
+        try {
+            CompletableFuture.runAsync(
+                    () -> {
+                        long startedAt = System.nanoTime();
+                        metrics.onStarted(startedAt - submittedAt);
+                        // we need to explicitly catch any exceptions,
+                        // otherwise they will be silently discarded
+                        try {
+                            result.complete(callable.call());
+                        } catch (Throwable e) {
+                            result.completeExceptionally(e);
+                        } finally {
+                            metrics.onCompleted(System.nanoTime() - submittedAt);
+                        }
+                    },
+                    executor);
+        } catch (RejectedExecutionException e) {
+            metrics.onRejected();
+            result.completeExceptionally(e);
+        }
         return result;
     }
 
+    /**
+     * Replace the executor used by {@link #run(Callable)}. The previous executor is not shut down,
+     * and the given executor is not shut down on application termination.
+     *
+     * @param executorService executor for asynchronous tasks
+     */
+    public static void setExecutorService(ExecutorService executorService) {
+        executor = executorService;
+    }
+
+    public static ExecutorService getExecutorService() {
+        return executor;
+    }
+
+    public static AsyncMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Create a thread pool with a fixed number of threads and a bounded task queue. Tasks submitted
+     * when the queue is full are rejected, and the corresponding future completes exceptionally
+     * with a {@link RejectedExecutionException}.
+     *
+     * <p>Note that a bounded pool can deadlock if tasks block waiting on other tasks submitted to
+     * the same pool, so the pool should be sized for the expected number of concurrent blocking
+     * requests.
+     *
+     * @param threads number of worker threads
+     * @param queueCapacity maximum number of tasks waiting for a thread
+     * @return new ExecutorService
+     */
+    public static ExecutorService newBoundedExecutorService(int threads, int queueCapacity) {
+        return new ThreadPoolExecutor(
+                threads,
+                threads,
+                60,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                namedThreadFactory("web3j-async"));
+    }
+
+    /**
+     * Create an executor that starts a new virtual thread for each task. Virtual threads are only
+     * available on JDK 21 or later, on earlier runtimes a cached thread pool is returned instead.
+     *
+     * @return new ExecutorService
+     */
+    public static ExecutorService newVirtualThreadExecutorService() {
+        try {
+            return (ExecutorService)
+                    Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(namedThreadFactory("web3j-async"));
+        }
+    }
+
     private static int getCpuCount() {
         return Runtime.getRuntime().availableProcessors();
     }
@@ -64,6 +152,78 @@ public class Async {
         return scheduledExecutorService;
     }
 
+    /**
+     * Provide a ScheduledExecutorService shared across the JVM, for timers only.
+     *
+     * <p>Unlike {@link #defaultExecutorService()} a single pool is created per JVM, so creating
+     * many components does not create many thread pools. As every user shares its threads, tasks
+     * run on it must not block; periodic tasks that make blocking requests should be wrapped with
+     * {@link #offScheduler(Runnable)}. A client may opt in to the pool by being given it, but by
+     * default each client keeps its own. The pool is terminated on application termination and
+     * must not be shut down by its users.
+     *
+     * @return the shared ScheduledExecutorService
+     */
+    public static ScheduledExecutorService sharedExecutorService() {
+        ScheduledExecutorService scheduledExecutorService = sharedScheduledExecutorService;
+        if (scheduledExecutorService == null) {
+            synchronized (Async.class) {
+                scheduledExecutorService = sharedScheduledExecutorService;
+                if (scheduledExecutorService == null) {
+                    scheduledExecutorService =
+                            Executors.newScheduledThreadPool(
+                                    getCpuCount(), namedThreadFactory("web3j-scheduler"));
+                    ScheduledExecutorService toShutdown = scheduledExecutorService;
+                    Runtime.getRuntime()
+                            .addShutdownHook(new Thread(() -> shutdown(toShutdown)));
+                    sharedScheduledExecutorService = scheduledExecutorService;
+                }
+            }
+        }
+        return scheduledExecutorService;
+    }
+
+    /**
+     * Wrap a periodic task so that the scheduler running it only hands it to the executor of
+     * {@link #run(Callable)}, where it may block. A run is skipped while the previous one is still
+     * in progress.
+     *
+     * @param task task to run
+     * @return task to schedule
+     */
+    public static Runnable offScheduler(Runnable task) {
+        AtomicBoolean running = new AtomicBoolean();
+        return () -> {
+            if (running.compareAndSet(false, true)) {
+                run(() -> {
+                            task.run();
+                            return null;
+                        })
+                        .whenComplete((ignored, throwable) -> running.set(false));
+            }
+        };
+    }
+
+    /**
+     * Check whether an executor is the one returned by {@link #sharedExecutorService()}.
+     *
+     * @param executorService executor to check
+     * @return true if it is the shared executor, which must not be shut down
+     */
+    public static boolean isSharedExecutorService(ExecutorService executorService) {
+        return executorService != null && executorService == sharedScheduledExecutorService;
+    }
+
+    private static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+        return runnable -> {
+            Thread thread = defaultFactory.newThread(runnable);
+            thread.setName(prefix + "-" + count.incrementAndGet());
+            return thread;
+        };
+    }
+
     /**
      * Shutdown as per {@link ExecutorService} Javadoc recommendation.
      *
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Counters for tasks submitted through {@link Async#run(java.util.concurrent.Callable)}. */
+public class AsyncMetrics {
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final Histogram queueWaitMicros = new Histogram();
+    private final Histogram taskLatencyMicros = new Histogram();
+
+    void onSubmitted() {
+        queued.incrementAndGet();
+    }
+
+    void onStarted(long queueWaitNanos) {
+        queued.decrementAndGet();
+        active.incrementAndGet();
+        queueWaitMicros.record(TimeUnit.NANOSECONDS.toMicros(queueWaitNanos));
+    }
+
+    void onCompleted(long latencyNanos) {
+        active.decrementAndGet();
+        completed.incrementAndGet();
+        taskLatencyMicros.record(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+    }
+
+    void onRejected() {
+        queued.decrementAndGet();
+        rejected.incrementAndGet();
+    }
+
+    /**
+     * Number of tasks submitted but not yet started.
+     *
+     * @return current queue depth
+     */
+    public int getQueueDepth() {
+        return queued.get();
+    }
+
+    /**
+     * Number of tasks currently executing, i.e. the number of busy threads.
+     *
+     * @return active task count
+     */
+    public int getActiveTasks() {
+        return active.get();
+    }
+
+    public long getCompletedTasks() {
+        return completed.get();
+    }
+
+    public long getRejectedTasks() {
+        return rejected.get();
+    }
+
+    /**
+     * Time in microseconds tasks spent waiting for a thread.
+     *
+     * @return queue wait histogram
+     */
+    public Histogram getQueueWaitMicros() {
+        return queueWaitMicros;
+    }
+
+    /**
+     * Time in microseconds from task submission to completion.
+     *
+     * @return task latency histogram
+     */
+    public Histogram getTaskLatencyMicros() {
+        return taskLatencyMicros;
+    }
+}
@@ -14,7 +14,6 @@ package org.web3j.utils;
 
 import java.math.BigInteger;
 
-import io.reactivex.BackpressureStrategy;
 import io.reactivex.Flowable;
 
 /** Flowable utility functions. */
@@ -28,6 +27,9 @@ public class Flowables {
     /**
      * Simple {@link Flowable} implementation to emit a range of BigInteger values.
      *
+     * <p>Values are generated on demand, so downstream backpressure is honoured and the range is
+     * never buffered in memory.
+     *
      * @param startValue first value to emit in range
      * @param endValue final value to emit in range
      * @param ascending direction to iterate through range
@@ -43,33 +45,27 @@ public class Flowables {
         }
 
         if (ascending) {
-            return Flowable.create(
-                    subscriber -> {
-                        for (BigInteger i = startValue;
-                                i.compareTo(endValue) < 1 && !subscriber.isCancelled();
-                                i = i.add(BigInteger.ONE)) {
-                            subscriber.onNext(i);
-                        }
-
-                        if (!subscriber.isCancelled()) {
-                            subscriber.onComplete();
+            return Flowable.generate(
+                    () -> startValue,
+                    (current, emitter) -> {
+                        if (current.compareTo(endValue) > 0) {
+                            emitter.onComplete();
+                        } else {
+                            emitter.onNext(current);
                         }
-                    },
-                    BackpressureStrategy.BUFFER);
+                        return current.add(BigInteger.ONE);
+                    });
         } else {
-            return Flowable.create(
-                    subscriber -> {
-                        for (BigInteger i = endValue;
-                                i.compareTo(startValue) > -1 && !subscriber.isCancelled();
-                                i = i.subtract(BigInteger.ONE)) {
-                            subscriber.onNext(i);
-                        }
-
-                        if (!subscriber.isCancelled()) {
-                            subscriber.onComplete();
+            return Flowable.generate(
+                    () -> endValue,
+                    (current, emitter) -> {
+                        if (current.compareTo(startValue) < 0) {
+                            emitter.onComplete();
+                        } else {
+                            emitter.onNext(current);
                         }
-                    },
-                    BackpressureStrategy.BUFFER);
+                        return current.subtract(BigInteger.ONE);
+                    });
         }
     }
 }
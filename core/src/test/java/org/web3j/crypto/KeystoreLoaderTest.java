@@ -0,0 +1,172 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.crypto;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.web3j.crypto.SampleKeys.KEY_PAIR;
+import static org.web3j.crypto.SampleKeys.PASSWORD;
+
+public class KeystoreLoaderTest {
+
+    private static final int WALLETS = 6;
+
+    private ExecutorService executor;
+    private KeystoreLoader keystoreLoader;
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        keystoreLoader = new KeystoreLoader(executor, 2, 64L << 20, 16);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testLoadsWalletFilesInParallel() throws Exception {
+        // light wallets, with memory for two derivations at once
+        long walletMemory =
+                KeystoreLoader.scryptMemory(Wallet.createLight(PASSWORD, KEY_PAIR).getCrypto());
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        KeystoreLoader loader = new KeystoreLoader(tasks::add, 4, 2 * walletMemory, 16);
+
+        File tempDir = WalletUtilsTest.createTempDir();
+        try {
+            List<File> sources = new ArrayList<>();
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < WALLETS; i++) {
+                ECKeyPair keyPair = ECKeyPair.create(BigInteger.valueOf(1000 + i));
+                String fileName = WalletUtils.generateWalletFile(PASSWORD, keyPair, tempDir, false);
+                sources.add(new File(tempDir, fileName));
+                expected.add(Credentials.create(keyPair).getAddress());
+            }
+
+            CompletableFuture<List<Credentials>> loaded = loader.loadAll(PASSWORD, sources);
+            assertEquals(WALLETS, tasks.size());
+            for (int i = 0; i < WALLETS; i++) {
+                tasks.remove().run();
+            }
+
+            // two derivations run at once, and the others only reach the executor as they end
+            assertEquals(2, tasks.size());
+            while (!tasks.isEmpty()) {
+                assertTrue(tasks.size() <= 2);
+                tasks.remove().run();
+            }
+            List<Credentials> credentials = loaded.get();
+
+            for (int i = 0; i < WALLETS; i++) {
+                assertEquals(expected.get(i), credentials.get(i).getAddress());
+            }
+            KeystoreMetrics metrics = loader.getMetrics();
+            assertEquals(WALLETS, metrics.getLoaded());
+            assertEquals(0, metrics.getPending());
+            assertEquals(WALLETS, metrics.getDerivationMicros().getCount());
+        } finally {
+            for (File file : tempDir.listFiles()) {
+                file.delete();
+            }
+            tempDir.delete();
+        }
+    }
+
+    @Test
+    public void testReusesDerivedKey() throws Exception {
+        WalletFile walletFile = Wallet.createLight(PASSWORD, KEY_PAIR);
+
+        assertEquals(KEY_PAIR, keystoreLoader.load(PASSWORD, walletFile).get().getEcKeyPair());
+        assertEquals(KEY_PAIR, keystoreLoader.load(PASSWORD, walletFile).get().getEcKeyPair());
+
+        KeystoreMetrics metrics = keystoreLoader.getMetrics();
+        assertEquals(1, metrics.getCacheHits());
+        assertEquals(1, metrics.getDerivationMicros().getCount());
+
+        keystoreLoader.clearCache();
+        assertEquals(KEY_PAIR, keystoreLoader.load(PASSWORD, walletFile).get().getEcKeyPair());
+        assertEquals(2, metrics.getDerivationMicros().getCount());
+    }
+
+    @Test
+    public void testDoesNotCacheWrongPassword() throws Exception {
+        WalletFile walletFile = Wallet.createLight(PASSWORD, KEY_PAIR);
+
+        ExecutionException exception =
+                assertThrows(
+                        ExecutionException.class,
+                        () -> keystoreLoader.load("wrong", walletFile).get());
+        assertTrue(exception.getCause() instanceof CipherException);
+        assertThrows(
+                CompletionException.class,
+                () -> keystoreLoader.load("wrong", walletFile).join());
+
+        assertEquals(KEY_PAIR, keystoreLoader.load(PASSWORD, walletFile).get().getEcKeyPair());
+        KeystoreMetrics metrics = keystoreLoader.getMetrics();
+        assertEquals(0, metrics.getCacheHits());
+        assertEquals(2, metrics.getFailed());
+        assertEquals(1, metrics.getLoaded());
+    }
+
+    @Test
+    public void testLoadsOnBoundedExecutorWithoutBlockingIt() throws Exception {
+        // a single thread loads several wallets, as no task waits for another to derive its key
+        ExecutorService singleThread = Executors.newSingleThreadExecutor();
+        try {
+            KeystoreLoader constrained = new KeystoreLoader(singleThread, 1, 1024, 16);
+            List<CompletableFuture<Credentials>> loads = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                loads.add(constrained.load(PASSWORD, Wallet.createLight(PASSWORD, KEY_PAIR)));
+            }
+            for (CompletableFuture<Credentials> load : loads) {
+                assertEquals(KEY_PAIR, load.get(30, TimeUnit.SECONDS).getEcKeyPair());
+            }
+        } finally {
+            singleThread.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRejectsNegativeCacheSize() {
+        assertThrows(
+                RuntimeException.class, () -> new KeystoreLoader(executor, 2, 64L << 20, -1));
+    }
+
+    @Test
+    public void testLoadsWalletLargerThanMemoryLimit() throws Exception {
+        KeystoreLoader constrained = new KeystoreLoader(executor, 2, 1024, 16);
+        WalletFile walletFile = Wallet.createLight(PASSWORD, KEY_PAIR);
+
+        assertTrue(KeystoreLoader.scryptMemory(walletFile.getCrypto()) > 1024);
+        assertEquals(KEY_PAIR, constrained.load(PASSWORD, walletFile).get().getEcKeyPair());
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.NetVersion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BatchingWeb3jServiceTest {
+
+    private Web3jService web3jService;
+    private ScheduledExecutorService scheduledExecutorService;
+
+    @BeforeEach
+    public void setUp() {
+        web3jService = mock(Web3jService.class);
+        scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+
+        when(web3jService.sendBatchAsync(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest = invocation.getArgument(0);
+                            List<NetVersion> responses = new ArrayList<>();
+                            for (Request<?, ?> request : batchRequest.getRequests()) {
+                                NetVersion netVersion = new NetVersion();
+                                netVersion.setResult(String.valueOf(request.getId()));
+                                responses.add(netVersion);
+                            }
+                            return CompletableFuture.completedFuture(
+                                    new BatchResponse(batchRequest.getRequests(), responses));
+                        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        scheduledExecutorService.shutdownNow();
+    }
+
+    @Test
+    public void testRequestsCoalescedWhenBatchIsFull() throws Exception {
+        BatchingWeb3jService service =
+                new BatchingWeb3jService(
+                        web3jService,
+                        scheduledExecutorService,
+                        1,
+                        TimeUnit.HOURS,
+                        3,
+                        Collections.emptySet());
+
+        List<Request<?, NetVersion>> requests = new ArrayList<>();
+        List<CompletableFuture<NetVersion>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Request<?, NetVersion> request = netVersion(service);
+            requests.add(request);
+            futures.add(request.sendAsync());
+        }
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(
+                    String.valueOf(requests.get(i).getId()),
+                    futures.get(i).get(1, TimeUnit.SECONDS).getNetVersion());
+        }
+        verify(web3jService, times(1)).sendBatchAsync(any(BatchRequest.class));
+        assertEquals(1, service.getBatchSizes().getCount());
+        assertEquals(3, service.getBatchSizes().getMax());
+        assertEquals(3, service.getLatencyMicros().getCount());
+    }
+
+    @Test
+    public void testRequestsCoalescedWhenWindowElapses() throws Exception {
+        BatchingWeb3jService service =
+                new BatchingWeb3jService(
+                        web3jService,
+                        scheduledExecutorService,
+                        10,
+                        TimeUnit.MILLISECONDS,
+                        100,
+                        Collections.emptySet());
+
+        CompletableFuture<NetVersion> first = netVersion(service).sendAsync();
+        CompletableFuture<NetVersion> second = netVersion(service).sendAsync();
+
+        first.get(1, TimeUnit.SECONDS);
+        second.get(1, TimeUnit.SECONDS);
+        verify(web3jService, times(1)).sendBatchAsync(any(BatchRequest.class));
+    }
+
+    @Test
+    public void testShortBatchResponseFailsRequestsWithoutResponse() throws Exception {
+        when(web3jService.sendBatchAsync(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest = invocation.getArgument(0);
+                            NetVersion netVersion = new NetVersion();
+                            netVersion.setResult("first");
+                            return CompletableFuture.completedFuture(
+                                    new BatchResponse(
+                                            batchRequest.getRequests(),
+                                            Collections.singletonList(netVersion)));
+                        });
+        BatchingWeb3jService service =
+                new BatchingWeb3jService(
+                        web3jService,
+                        scheduledExecutorService,
+                        1,
+                        TimeUnit.HOURS,
+                        3,
+                        Collections.emptySet());
+
+        List<CompletableFuture<NetVersion>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(netVersion(service).sendAsync());
+        }
+
+        assertEquals("first", futures.get(0).get(1, TimeUnit.SECONDS).getNetVersion());
+        for (int i = 1; i < 3; i++) {
+            CompletableFuture<NetVersion> future = futures.get(i);
+            ExecutionException exception =
+                    assertThrows(
+                            ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+            assertTrue(exception.getCause() instanceof IOException);
+        }
+    }
+
+    @Test
+    public void testExcludedMethodsBypassBatching() {
+        BatchingWeb3jService service =
+                new BatchingWeb3jService(
+                        web3jService,
+                        scheduledExecutorService,
+                        1,
+                        TimeUnit.HOURS,
+                        1,
+                        Collections.singleton("net_version"));
+
+        Request<?, NetVersion> request = netVersion(service);
+        request.sendAsync();
+
+        verify(web3jService).sendAsync(eq(request), eq(NetVersion.class));
+        verify(web3jService, never()).sendBatchAsync(any(BatchRequest.class));
+    }
+
+    private static Request<?, NetVersion> netVersion(Web3jService service) {
+        return new Request<>("net_version", Collections.emptyList(), service, NetVersion.class);
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.NetVersion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ServiceTest {
+
+    @Test
+    public void testBatchResponsesMatchedById() throws Exception {
+        EchoService service = new EchoService(true, Integer.MAX_VALUE);
+
+        BatchResponse response = service.sendBatch(createBatch(service, 5));
+
+        assertBatchEchoed(response);
+        assertEquals(Collections.singletonList(5), service.batchSizes);
+    }
+
+    @Test
+    public void testBatchSplitIntoChunks() throws Exception {
+        EchoService service = new EchoService(false, Integer.MAX_VALUE);
+        service.setMaxBatchSize(2);
+
+        BatchResponse response = service.sendBatch(createBatch(service, 5));
+
+        assertBatchEchoed(response);
+        assertEquals(3, service.batchSizes.size());
+        assertEquals(Collections.singleton(Thread.currentThread()), service.ioThreads);
+    }
+
+    @Test
+    public void testBatchChunksSentConcurrentlyWithNonBlockingIO() throws Exception {
+        EchoService service = new EchoService(false, Integer.MAX_VALUE);
+        service.nonBlockingIO = true;
+        service.setMaxBatchSize(2);
+        service.setMaxConcurrentBatchChunks(3);
+
+        BatchResponse response = service.sendBatch(createBatch(service, 5));
+
+        assertBatchEchoed(response);
+        assertEquals(3, service.maxChunksInFlight);
+    }
+
+    @Test
+    public void testMissingBatchResponseFails() {
+        EchoService service = new EchoService(true, Integer.MAX_VALUE);
+        service.dropLastResponse = true;
+
+        IOException exception =
+                assertThrows(IOException.class, () -> service.sendBatch(createBatch(service, 3)));
+
+        assertTrue(exception.getMessage().startsWith("Missing response for request id"));
+    }
+
+    @Test
+    public void testBatchSplitWhenRejectedByNode() throws Exception {
+        EchoService service = new EchoService(true, 3);
+
+        BatchResponse response = service.sendBatch(createBatch(service, 8));
+
+        assertBatchEchoed(response);
+        assertEquals(2, service.getMaxBatchSize());
+    }
+
+    @Test
+    public void testBatchSplitWhenRejectedWithErrorArray() throws Exception {
+        EchoService service = new EchoService(true, 3);
+        service.rejectionAsArray = true;
+
+        BatchResponse response = service.sendBatch(createBatch(service, 8));
+
+        assertBatchEchoed(response);
+        assertEquals(2, service.getMaxBatchSize());
+    }
+
+    @Test
+    public void testBatchNotSplitOnOtherErrors() throws Exception {
+        EchoService service = new EchoService(true, 3);
+        service.rejection = "rate limit reached";
+
+        IOException exception =
+                assertThrows(IOException.class, () -> service.sendBatch(createBatch(service, 8)));
+
+        assertTrue(exception.getMessage().contains("rate limit reached"));
+        assertEquals(Collections.singletonList(8), service.batchSizes);
+        assertEquals(Service.DEFAULT_MAX_BATCH_SIZE, service.getMaxBatchSize());
+    }
+
+    @Test
+    public void testLearnedBatchLimitExpires() throws Exception {
+        EchoService service = new EchoService(true, 3);
+        service.setBatchLimitRetention(0);
+
+        assertBatchEchoed(service.sendBatch(createBatch(service, 8)));
+
+        assertEquals(Service.DEFAULT_MAX_BATCH_SIZE, service.getMaxBatchSize());
+    }
+
+    private static BatchRequest createBatch(Web3jService service, int size) {
+        BatchRequest batchRequest = new BatchRequest(service);
+        for (int i = 0; i < size; i++) {
+            batchRequest.add(
+                    new Request<>(
+                            "net_version", Collections.emptyList(), service, NetVersion.class));
+        }
+        return batchRequest;
+    }
+
+    private static void assertBatchEchoed(BatchResponse response) {
+        assertEquals(response.getRequests().size(), response.getResponses().size());
+        for (int i = 0; i < response.getRequests().size(); i++) {
+            assertEquals(
+                    String.valueOf(response.getRequests().get(i).getId()),
+                    ((NetVersion) response.getResponses().get(i)).getNetVersion());
+        }
+    }
+
+    /** Replies to each request with its own id as the result. */
+    private static class EchoService extends Service {
+
+        private final boolean reverse;
+        private final int nodeBatchLimit;
+        private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        private final Set<Thread> ioThreads = Collections.synchronizedSet(new HashSet<>());
+        private String rejection = "batch too large";
+        private boolean rejectionAsArray;
+        private boolean dropLastResponse;
+        private boolean nonBlockingIO;
+        // chunks are answered once as many are in flight as the service allows
+        private final List<CompletableFuture<InputStream>> chunksInFlight = new ArrayList<>();
+        private final List<String> payloadsInFlight = new ArrayList<>();
+        private int maxChunksInFlight;
+
+        EchoService(boolean reverse, int nodeBatchLimit) {
+            super(false);
+            this.reverse = reverse;
+            this.nodeBatchLimit = nodeBatchLimit;
+        }
+
+        @Override
+        protected InputStream performIO(String payload) throws IOException {
+            JsonNode requests = objectMapper.readTree(payload);
+            batchSizes.add(requests.size());
+            ioThreads.add(Thread.currentThread());
+
+            String reply;
+            if (requests.size() > nodeBatchLimit) {
+                reply =
+                        "{\"jsonrpc\":\"2.0\",\"id\":null,"
+                                + "\"error\":{\"code\":-32600,\"message\":\""
+                                + rejection
+                                + "\"}}";
+                if (rejectionAsArray) {
+                    reply = "[" + reply + "]";
+                }
+            } else {
+                List<String> responses = new ArrayList<>();
+                for (JsonNode request : requests) {
+                    long id = request.get("id").asLong();
+                    responses.add(
+                            "{\"jsonrpc\":\"2.0\",\"id\":" + id + ",\"result\":\"" + id + "\"}");
+                }
+                if (dropLastResponse) {
+                    responses.remove(responses.size() - 1);
+                }
+                if (reverse) {
+                    Collections.reverse(responses);
+                }
+                reply = "[" + String.join(",", responses) + "]";
+            }
+            return new ByteArrayInputStream(reply.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        protected synchronized CompletableFuture<InputStream> performIOAsync(String payload) {
+            chunksInFlight.add(new CompletableFuture<>());
+            payloadsInFlight.add(payload);
+            maxChunksInFlight = Math.max(maxChunksInFlight, chunksInFlight.size());
+            CompletableFuture<InputStream> result = chunksInFlight.get(chunksInFlight.size() - 1);
+            if (chunksInFlight.size() == getMaxConcurrentBatchChunks()) {
+                for (int i = 0; i < chunksInFlight.size(); i++) {
+                    try {
+                        chunksInFlight.get(i).complete(performIO(payloadsInFlight.get(i)));
+                    } catch (IOException e) {
+                        chunksInFlight.get(i).completeExceptionally(e);
+                    }
+                }
+                chunksInFlight.clear();
+                payloadsInFlight.clear();
+            }
+            return result;
+        }
+
+        @Override
+        protected boolean hasNonBlockingIO() {
+            return nonBlockingIO;
+        }
+
+        @Override
+        public void close() {}
+    }
+}
@@ -13,8 +13,10 @@
 package org.web3j.protocol.core;
 
 import java.io.IOException;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -23,10 +25,14 @@ import org.junit.jupiter.api.Test;
 
 import org.web3j.protocol.ObjectMapperFactory;
 import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.Log;
 import org.web3j.protocol.websocket.WebSocketClient;
 import org.web3j.protocol.websocket.WebSocketListener;
 import org.web3j.protocol.websocket.WebSocketService;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.matches;
@@ -107,6 +113,62 @@ public class WebSocketEventTest {
                                         + "\"topics\":\\[\"0x2\"]}],\"id\":[0-9]{1,}}"));
     }
 
+    @Test
+    public void testLogFlowableSubscribesToNewLogs() throws Exception {
+        AtomicReference<Log> actualLog = new AtomicReference<>();
+        web3j.ethLogFlowable(
+                        new EthFilter(
+                                        DefaultBlockParameterName.LATEST,
+                                        DefaultBlockParameterName.LATEST,
+                                        "0x1")
+                                .addSingleTopic("0x2"))
+                .subscribe(actualLog::set);
+
+        verify(webSocketClient)
+                .send(
+                        matches(
+                                "\\{\"jsonrpc\":\"2.0\",\"method\":\"eth_subscribe\","
+                                        + "\"params\":\\[\"logs\",\\{\"address\":\\[\"0x1\"],"
+                                        + "\"topics\":\\[\"0x2\"]}],\"id\":[0-9]{1,}}"));
+
+        listener.onMessage(
+                "{"
+                        + "\"jsonrpc\":\"2.0\","
+                        + "\"method\":\"eth_subscription\","
+                        + "\"params\":{"
+                        + "\"subscription\":\"0xcd0c3e8af590364c09d0fa6a1210faf5\","
+                        + "\"result\":{"
+                        + "\"address\":\"0x1\","
+                        + "\"blockHash\":\"0xab\","
+                        + "\"blockNumber\":\"0x10\","
+                        + "\"data\":\"0x\","
+                        + "\"logIndex\":\"0x0\","
+                        + "\"removed\":true,"
+                        + "\"topics\":[\"0x2\"],"
+                        + "\"transactionHash\":\"0xcd\","
+                        + "\"transactionIndex\":\"0x0\""
+                        + "}}}");
+
+        Log log = actualLog.get();
+        assertEquals("0x1", log.getAddress());
+        assertEquals(BigInteger.valueOf(16), log.getBlockNumber());
+        assertEquals(Collections.singletonList("0x2"), log.getTopics());
+        assertTrue(log.isRemoved());
+    }
+
+    @Test
+    public void testLogFlowablePollsHistoricLogs() {
+        web3j.ethLogFlowable(
+                        new EthFilter(
+                                DefaultBlockParameterName.EARLIEST,
+                                DefaultBlockParameterName.LATEST,
+                                "0x1"))
+                .subscribe(log -> {}, throwable -> {});
+
+        verify(webSocketClient)
+                .send(matches("\\{\"jsonrpc\":\"2.0\",\"method\":\"eth_newFilter\".*"));
+    }
+
     private int getRequestId(String message) throws IOException {
         JsonNode messageJson = objectMapper.readTree(message);
         return messageJson.get("id").asInt();
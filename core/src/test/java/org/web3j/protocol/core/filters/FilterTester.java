@@ -39,7 +39,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -55,6 +57,10 @@ public abstract class FilterTester {
     @BeforeEach
     public void setUp() {
         web3jService = mock(Web3jService.class);
+        // polled like a service without subscriptions
+        lenient()
+                .when(web3jService.subscribe(any(Request.class), anyString(), any(Class.class)))
+                .thenThrow(new UnsupportedOperationException());
         web3j = Web3j.build(web3jService, 1000, scheduledExecutorService);
     }
 
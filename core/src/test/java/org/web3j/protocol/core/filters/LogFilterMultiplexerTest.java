@@ -0,0 +1,237 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core.filters;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.reactivex.disposables.Disposable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthFilter;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.EthUninstallFilter;
+import org.web3j.protocol.core.methods.response.Log;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class LogFilterMultiplexerTest {
+
+    private static final String ADDRESS_A = "0x00000000000000000000000000000000000000aa";
+    private static final String ADDRESS_B = "0x00000000000000000000000000000000000000bb";
+    private static final String ADDRESS_C = "0x00000000000000000000000000000000000000cc";
+    private static final String TRANSFER = "0x01";
+    private static final String APPROVAL = "0x02";
+
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+    private final Web3jService web3jService = mock(Web3jService.class);
+    private final ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+    private final Web3j web3j = Web3j.build(web3jService, 1000, executor);
+    private final LogFilterMultiplexer multiplexer =
+            new LogFilterMultiplexer(web3j, executor, 1000);
+
+    private List<EthLog.LogObject> changes = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        when(web3jService.send(any(Request.class), eq(EthFilter.class)))
+                .thenReturn(filterId(1))
+                .thenReturn(filterId(2));
+        when(web3jService.send(any(Request.class), eq(EthLog.class))).thenReturn(ethLog());
+        when(web3jService.send(any(Request.class), eq(EthUninstallFilter.class)))
+                .thenReturn(
+                        objectMapper.readValue(
+                                "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":true}",
+                                EthUninstallFilter.class));
+        when(web3jService.sendBatch(any(BatchRequest.class)))
+                .then(
+                        invocation -> {
+                            BatchRequest batch = invocation.getArgument(0, BatchRequest.class);
+                            List<Response<?>> responses = new ArrayList<>();
+                            for (int i = 0; i < batch.getRequests().size(); i++) {
+                                responses.add(ethLog(changes));
+                            }
+                            return new BatchResponse(batch.getRequests(), responses);
+                        });
+    }
+
+    @Test
+    public void testSharesFilterBetweenSubscriptions() throws Exception {
+        List<Log> logsOfA = new ArrayList<>();
+        List<Log> logsOfB = new ArrayList<>();
+        multiplexer.logFlowable(filter(ADDRESS_A)).subscribe(logsOfA::add);
+        multiplexer.logFlowable(filter(ADDRESS_B)).subscribe(logsOfB::add);
+
+        changes = Arrays.asList(log(ADDRESS_A, TRANSFER, 0), log(ADDRESS_B, TRANSFER, 1));
+        multiplexer.poll();
+
+        ArgumentCaptor<Request> installed = ArgumentCaptor.forClass(Request.class);
+        verify(web3jService).send(installed.capture(), eq(EthFilter.class));
+        org.web3j.protocol.core.methods.request.EthFilter criteria =
+                (org.web3j.protocol.core.methods.request.EthFilter)
+                        installed.getValue().getParams().get(0);
+        assertEquals(Arrays.asList(ADDRESS_A, ADDRESS_B), criteria.getAddress());
+        assertEquals(1, multiplexer.getFilterCount());
+
+        assertEquals(1, logsOfA.size());
+        assertEquals(ADDRESS_A, logsOfA.get(0).getAddress());
+        assertEquals(1, logsOfB.size());
+        assertEquals(ADDRESS_B, logsOfB.get(0).getAddress());
+        verify(web3jService, times(1)).sendBatch(any(BatchRequest.class));
+    }
+
+    @Test
+    public void testMatchesTopicsLocally() throws Exception {
+        List<Log> transfers = new ArrayList<>();
+        List<Log> approvals = new ArrayList<>();
+        multiplexer
+                .logFlowable(filter(ADDRESS_A).addSingleTopic(TRANSFER))
+                .subscribe(transfers::add);
+        multiplexer
+                .logFlowable(filter(ADDRESS_A).addSingleTopic(APPROVAL))
+                .subscribe(approvals::add);
+
+        changes =
+                Arrays.asList(
+                        log(ADDRESS_A, TRANSFER, 0),
+                        log(ADDRESS_A, APPROVAL, 1),
+                        log(ADDRESS_C, TRANSFER, 2));
+        multiplexer.poll();
+
+        assertEquals(1, transfers.size());
+        assertEquals(BigInteger.ZERO, transfers.get(0).getLogIndex());
+        assertEquals(1, approvals.size());
+        assertEquals(BigInteger.ONE, approvals.get(0).getLogIndex());
+    }
+
+    @Test
+    public void testIndexesEventOnlySubscriptions() throws Exception {
+        List<Log> transfers = new ArrayList<>();
+        multiplexer
+                .logFlowable(
+                        new org.web3j.protocol.core.methods.request.EthFilter()
+                                .addSingleTopic(TRANSFER))
+                .subscribe(transfers::add);
+
+        changes = Arrays.asList(log(ADDRESS_A, TRANSFER, 0), log(ADDRESS_B, APPROVAL, 1));
+        multiplexer.poll();
+
+        assertEquals(1, transfers.size());
+        assertEquals(ADDRESS_A, transfers.get(0).getAddress());
+    }
+
+    @Test
+    public void testReplacesFilterWhenCriteriaChange() throws Exception {
+        List<Log> logsOfA = new ArrayList<>();
+        multiplexer.logFlowable(filter(ADDRESS_A)).subscribe(logsOfA::add);
+        multiplexer.poll();
+
+        // the previous filter returns a log that the new filter returns again
+        EthLog.LogObject pending = log(ADDRESS_A, TRANSFER, 0);
+        when(web3jService.send(any(Request.class), eq(EthLog.class)))
+                .thenReturn(ethLog(Collections.singletonList(pending)));
+        changes = Collections.singletonList(pending);
+
+        Disposable subscriptionB = multiplexer.logFlowable(filter(ADDRESS_B)).subscribe();
+        multiplexer.poll();
+
+        verify(web3jService, times(2)).send(any(Request.class), eq(EthFilter.class));
+        verify(web3jService).send(any(Request.class), eq(EthUninstallFilter.class));
+        assertEquals(1, logsOfA.size());
+        assertEquals(1, multiplexer.getFilterCount());
+
+        // the subscription's criteria are dropped once it is disposed of
+        subscriptionB.dispose();
+        multiplexer.poll();
+        verify(web3jService, times(3)).send(any(Request.class), eq(EthFilter.class));
+    }
+
+    @Test
+    public void testUninstallsFilterOfLastSubscription() throws Exception {
+        Disposable subscription = multiplexer.logFlowable(filter(ADDRESS_A)).subscribe();
+        multiplexer.poll();
+        subscription.dispose();
+        multiplexer.poll();
+
+        verify(web3jService).send(any(Request.class), eq(EthUninstallFilter.class));
+        assertEquals(0, multiplexer.getFilterCount());
+    }
+
+    @Test
+    public void testRejectsHistoricFilters() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () ->
+                        multiplexer.logFlowable(
+                                new org.web3j.protocol.core.methods.request.EthFilter(
+                                        DefaultBlockParameterName.EARLIEST,
+                                        DefaultBlockParameterName.LATEST,
+                                        ADDRESS_A)));
+    }
+
+    private static org.web3j.protocol.core.methods.request.EthFilter filter(String address) {
+        return new org.web3j.protocol.core.methods.request.EthFilter(
+                DefaultBlockParameterName.LATEST, DefaultBlockParameterName.LATEST, address);
+    }
+
+    private EthFilter filterId(int id) throws Exception {
+        return objectMapper.readValue(
+                "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x" + id + "\"}", EthFilter.class);
+    }
+
+    private EthLog ethLog() {
+        return ethLog(Collections.emptyList());
+    }
+
+    private static EthLog ethLog(List<EthLog.LogObject> logs) {
+        EthLog ethLog = new EthLog();
+        ethLog.setResult(new ArrayList<EthLog.LogResult>(logs));
+        return ethLog;
+    }
+
+    private static EthLog.LogObject log(String address, String topic, int logIndex) {
+        return new EthLog.LogObject(
+                false,
+                "0x" + logIndex,
+                "0x0",
+                "0xcd",
+                "0xab",
+                "0x10",
+                address,
+                "0x",
+                null,
+                Collections.singletonList(topic));
+    }
+}
@@ -13,11 +13,14 @@
 package org.web3j.protocol.http;
 
 import java.io.IOException;
+import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
 
 import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.OkHttpClient;
 import okhttp3.Protocol;
 import okhttp3.Response;
@@ -32,6 +35,7 @@ import org.web3j.protocol.exceptions.ClientConnectionException;
 import org.web3j.protocol.websocket.events.NewHeadsNotification;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -107,6 +111,119 @@ public class HttpServiceTest {
         fail("No exception");
     }
 
+    @Test
+    public void testStreamingResponse() throws IOException {
+        Response response =
+                new Response.Builder()
+                        .code(200)
+                        .message("")
+                        .body(
+                                ResponseBody.create(
+                                        "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x4b7\"}",
+                                        HttpService.JSON_MEDIA_TYPE))
+                        .request(new okhttp3.Request.Builder().url(HttpService.DEFAULT_URL).build())
+                        .protocol(Protocol.HTTP_1_1)
+                        .build();
+
+        OkHttpClient httpClient = Mockito.mock(OkHttpClient.class);
+        Mockito.when(httpClient.newCall(Mockito.any()))
+                .thenAnswer(
+                        invocation -> {
+                            Call call = Mockito.mock(Call.class);
+                            Mockito.when(call.execute()).thenReturn(response);
+
+                            return call;
+                        });
+        HttpService streamingHttpService = new HttpService(httpClient);
+        streamingHttpService.setStreamingResponses(true);
+
+        Request<String, EthBlockNumber> request =
+                new Request<>(
+                        "eth_blockNumber",
+                        Collections.emptyList(),
+                        streamingHttpService,
+                        EthBlockNumber.class);
+
+        EthBlockNumber ethBlockNumber = streamingHttpService.send(request, EthBlockNumber.class);
+        assertEquals(BigInteger.valueOf(1207), ethBlockNumber.getBlockNumber());
+    }
+
+    @Test
+    public void testStreamingResponseWithRawResponses() throws IOException {
+        String content = "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x4b7\"}";
+        Response response =
+                new Response.Builder()
+                        .code(200)
+                        .message("")
+                        .body(ResponseBody.create(content, HttpService.JSON_MEDIA_TYPE))
+                        .request(new okhttp3.Request.Builder().url(HttpService.DEFAULT_URL).build())
+                        .protocol(Protocol.HTTP_1_1)
+                        .build();
+
+        OkHttpClient httpClient = Mockito.mock(OkHttpClient.class);
+        Mockito.when(httpClient.newCall(Mockito.any()))
+                .thenAnswer(
+                        invocation -> {
+                            Call call = Mockito.mock(Call.class);
+                            Mockito.when(call.execute()).thenReturn(response);
+
+                            return call;
+                        });
+        HttpService rawHttpService = new HttpService(httpClient, true);
+        rawHttpService.setStreamingResponses(true);
+
+        Request<String, EthBlockNumber> request =
+                new Request<>(
+                        "eth_blockNumber",
+                        Collections.emptyList(),
+                        rawHttpService,
+                        EthBlockNumber.class);
+
+        EthBlockNumber ethBlockNumber = rawHttpService.send(request, EthBlockNumber.class);
+        assertEquals(BigInteger.valueOf(1207), ethBlockNumber.getBlockNumber());
+        assertEquals(content, ethBlockNumber.getRawResponse());
+        assertFalse(rawHttpService.isStreamingResponses());
+    }
+
+    @Test
+    public void testSendAsyncUsesEnqueue() throws Exception {
+        Response response =
+                new Response.Builder()
+                        .code(200)
+                        .message("")
+                        .body(
+                                ResponseBody.create(
+                                        "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x4b7\"}",
+                                        HttpService.JSON_MEDIA_TYPE))
+                        .request(new okhttp3.Request.Builder().url(HttpService.DEFAULT_URL).build())
+                        .protocol(Protocol.HTTP_1_1)
+                        .build();
+
+        Call call = Mockito.mock(Call.class);
+        Mockito.doAnswer(
+                        invocation -> {
+                            Callback callback = invocation.getArgument(0);
+                            callback.onResponse(call, response);
+                            return null;
+                        })
+                .when(call)
+                .enqueue(Mockito.any());
+        OkHttpClient httpClient = Mockito.mock(OkHttpClient.class);
+        Mockito.when(httpClient.newCall(Mockito.any())).thenReturn(call);
+        HttpService asyncHttpService = new HttpService(httpClient);
+
+        Request<String, EthBlockNumber> request =
+                new Request<>(
+                        "eth_blockNumber",
+                        Collections.emptyList(),
+                        asyncHttpService,
+                        EthBlockNumber.class);
+
+        EthBlockNumber ethBlockNumber = request.sendAsync().get(1, TimeUnit.SECONDS);
+        assertEquals(BigInteger.valueOf(1207), ethBlockNumber.getBlockNumber());
+        Mockito.verify(call, Mockito.never()).execute();
+    }
+
     @Test
     public void subscriptionNotSupported() {
         Request<Object, EthSubscribe> subscribeRequest =
@@ -17,6 +17,7 @@ import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -32,14 +33,18 @@ import org.mockito.stubbing.OngoingStubbing;
 import org.web3j.protocol.ObjectMapperFactory;
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
 import org.web3j.protocol.core.DefaultBlockParameter;
 import org.web3j.protocol.core.DefaultBlockParameterNumber;
 import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
 import org.web3j.protocol.core.methods.response.EthBlock;
 import org.web3j.protocol.core.methods.response.EthFilter;
 import org.web3j.protocol.core.methods.response.EthLog;
 import org.web3j.protocol.core.methods.response.EthUninstallFilter;
 import org.web3j.protocol.core.methods.response.Transaction;
+import org.web3j.protocol.exceptions.JsonRpcError;
 import org.web3j.utils.Numeric;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -51,6 +56,8 @@ import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class JsonRpc2_0RxTest {
@@ -362,6 +369,86 @@ public class JsonRpc2_0RxTest {
         assertTrue(subscription.isDisposed());
     }
 
+    @Test
+    public void testReplayBlocksFlowableBatched() throws Exception {
+        stubBlockBatches(-1);
+
+        BlockReplayMetrics metrics = new BlockReplayMetrics();
+        List<EthBlock> results =
+                web3j.replayPastBlocksFlowable(
+                                new DefaultBlockParameterNumber(BigInteger.ZERO),
+                                new DefaultBlockParameterNumber(BigInteger.valueOf(9)),
+                                false,
+                                true,
+                                3,
+                                2,
+                                metrics)
+                        .toList()
+                        .blockingGet();
+
+        List<BigInteger> blockNumbers =
+                results.stream()
+                        .map(ethBlock -> ethBlock.getBlock().getNumber())
+                        .collect(Collectors.toList());
+        List<BigInteger> expected = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            expected.add(BigInteger.valueOf(i));
+        }
+
+        assertEquals(expected, blockNumbers);
+        assertEquals(10, metrics.getBlocksEmitted());
+        assertEquals(4, metrics.getBatchesCompleted());
+        assertEquals(0, metrics.getBatchesInFlight());
+        assertTrue(metrics.getMaxBatchesInFlight() <= 2);
+        verify(web3jService, never()).send(any(Request.class), eq(EthBlock.class));
+        verify(web3jService, never()).sendBatch(any(BatchRequest.class));
+    }
+
+    @Test
+    public void testReplayBlocksFlowableBatchedFailsOnErrorResponse() {
+        stubBlockBatches(4);
+
+        List<EthBlock> results = new ArrayList<>();
+        Throwable error =
+                web3j.replayPastBlocksFlowable(
+                                new DefaultBlockParameterNumber(BigInteger.ZERO),
+                                new DefaultBlockParameterNumber(BigInteger.valueOf(9)),
+                                false,
+                                true,
+                                3,
+                                1,
+                                new BlockReplayMetrics())
+                        .doOnNext(results::add)
+                        .ignoreElements()
+                        .blockingGet();
+
+        assertTrue(error instanceof JsonRpcError);
+        assertEquals(3, results.size());
+    }
+
+    private void stubBlockBatches(int failingBlock) {
+        when(web3jService.sendBatchAsync(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest = invocation.getArgument(0);
+                            List<EthBlock> responses = new ArrayList<>();
+                            for (Request<?, ?> request : batchRequest.getRequests()) {
+                                String blockNumber = (String) request.getParams().get(0);
+                                int number = Numeric.decodeQuantity(blockNumber).intValue();
+                                if (number == failingBlock) {
+                                    EthBlock ethBlock = new EthBlock();
+                                    ethBlock.setError(
+                                            new Response.Error(-32000, "header not found"));
+                                    responses.add(ethBlock);
+                                } else {
+                                    responses.add(createBlock(number));
+                                }
+                            }
+                            return CompletableFuture.completedFuture(
+                                    new BatchResponse(batchRequest.getRequests(), responses));
+                        });
+    }
+
     private EthBlock createBlock(int number) {
         EthBlock ethBlock = new EthBlock();
         EthBlock.Block block = new EthBlock.Block();
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.websocket;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PartitionedExecutorTest {
+
+    private final Queue<Runnable> scheduled = new ArrayDeque<>();
+    private final Queue<Runnable> retries = new ArrayDeque<>();
+    private final ScheduledExecutorService retryScheduler = mock(ScheduledExecutorService.class);
+
+    @BeforeEach
+    public void setUp() {
+        when(retryScheduler.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class)))
+                .thenAnswer(
+                        invocation -> {
+                            retries.add(invocation.getArgument(0));
+                            return null;
+                        });
+    }
+
+    @Test
+    public void testRunsTasksOfAPartitionInOrder() {
+        PartitionedExecutor executor = new PartitionedExecutor(scheduled::add, retryScheduler, 4);
+        List<Integer> executed = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            int task = i;
+            executor.execute("0xabc", () -> executed.add(task));
+        }
+
+        // the partition is scheduled once and drains its queue
+        assertEquals(1, scheduled.size());
+        scheduled.remove().run();
+        assertEquals(Arrays.asList(0, 1, 2), executed);
+        assertTrue(scheduled.isEmpty());
+    }
+
+    @Test
+    public void testSchedulesPartitionsIndependently() {
+        PartitionedExecutor executor = new PartitionedExecutor(scheduled::add, retryScheduler, 2);
+        List<Long> executed = new ArrayList<>();
+        executor.execute(0L, () -> executed.add(0L));
+        executor.execute(1L, () -> executed.add(1L));
+
+        assertEquals(2, scheduled.size());
+        scheduled.remove().run();
+        assertEquals(Arrays.asList(0L), executed);
+        scheduled.remove().run();
+        assertEquals(Arrays.asList(0L, 1L), executed);
+    }
+
+    @Test
+    public void testYieldsAfterABatchOfTasks() {
+        PartitionedExecutor executor = new PartitionedExecutor(scheduled::add, retryScheduler, 1);
+        List<Integer> executed = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            int task = i;
+            executor.execute(task, () -> executed.add(task));
+        }
+
+        scheduled.remove().run();
+        assertEquals(64, executed.size());
+        assertEquals(1, scheduled.size());
+        scheduled.remove().run();
+        assertEquals(100, executed.size());
+        assertTrue(scheduled.isEmpty());
+    }
+
+    @Test
+    public void testContinuesAfterFailedTask() {
+        PartitionedExecutor executor = new PartitionedExecutor(scheduled::add, retryScheduler, 1);
+        List<Integer> executed = new ArrayList<>();
+        executor.execute(
+                0,
+                () -> {
+                    throw new IllegalStateException("failed");
+                });
+        executor.execute(1, () -> executed.add(1));
+
+        scheduled.remove().run();
+        assertEquals(Arrays.asList(1), executed);
+    }
+
+    @Test
+    public void testReschedulesAfterRejectedExecution() {
+        AtomicBoolean rejecting = new AtomicBoolean(true);
+        PartitionedExecutor executor =
+                new PartitionedExecutor(
+                        task -> {
+                            if (rejecting.get()) {
+                                throw new RejectedExecutionException("saturated");
+                            }
+                            scheduled.add(task);
+                        },
+                        retryScheduler,
+                        1);
+        List<Integer> executed = new ArrayList<>();
+        executor.execute(0, () -> executed.add(0));
+        executor.execute(1, () -> executed.add(1));
+        assertTrue(scheduled.isEmpty());
+        assertEquals(1, retries.size());
+
+        rejecting.set(false);
+        retries.remove().run();
+
+        assertEquals(1, scheduled.size());
+        scheduled.remove().run();
+        assertEquals(Arrays.asList(0, 1), executed);
+    }
+
+    @Test
+    public void testDropsTasksWhenRetryIsRejected() {
+        ScheduledExecutorService shutDown = mock(ScheduledExecutorService.class);
+        when(shutDown.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class)))
+                .thenThrow(new RejectedExecutionException("shut down"));
+        AtomicBoolean rejecting = new AtomicBoolean(true);
+        PartitionedExecutor executor =
+                new PartitionedExecutor(
+                        task -> {
+                            if (rejecting.get()) {
+                                throw new RejectedExecutionException("shut down");
+                            }
+                            scheduled.add(task);
+                        },
+                        shutDown,
+                        1);
+        List<Integer> executed = new ArrayList<>();
+        executor.execute(0, () -> executed.add(0));
+
+        rejecting.set(false);
+        executor.execute(1, () -> executed.add(1));
+        scheduled.remove().run();
+
+        assertEquals(Arrays.asList(1), executed);
+    }
+
+    @Test
+    public void testRequiresAPartition() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new PartitionedExecutor(Runnable::run, retryScheduler, 0));
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.websocket;
+
+import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.Web3ClientVersion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PooledWebSocketServiceTest {
+
+    private WebSocketClient firstClient = mock(WebSocketClient.class);
+    private WebSocketClient secondClient = mock(WebSocketClient.class);
+    private ScheduledExecutorService executorService = mock(ScheduledExecutorService.class);
+
+    private WebSocketService first = new WebSocketService(firstClient, executorService, true);
+    private WebSocketService second = new WebSocketService(secondClient, executorService, true);
+
+    @BeforeEach
+    public void before() throws InterruptedException {
+        for (WebSocketClient client : Arrays.asList(firstClient, secondClient)) {
+            when(client.connectBlocking()).thenReturn(true);
+            when(client.reconnectBlocking()).thenReturn(true);
+            when(client.isOpen()).thenReturn(true);
+        }
+    }
+
+    @Test
+    public void testRoundRobinRouting() {
+        PooledWebSocketService service = pool(PooledWebSocketService.Routing.ROUND_ROBIN);
+
+        service.sendAsync(request(service), Web3ClientVersion.class);
+        service.sendAsync(request(service), Web3ClientVersion.class);
+        service.sendAsync(request(service), Web3ClientVersion.class);
+
+        verify(firstClient, times(2)).send(anyString());
+        verify(secondClient, times(1)).send(anyString());
+    }
+
+    @Test
+    public void testLeastOutstandingRouting() {
+        PooledWebSocketService service = pool(PooledWebSocketService.Routing.LEAST_OUTSTANDING);
+
+        first.sendAsync(request(service), Web3ClientVersion.class);
+        first.sendAsync(request(service), Web3ClientVersion.class);
+
+        service.sendAsync(request(service), Web3ClientVersion.class);
+        service.sendAsync(request(service), Web3ClientVersion.class);
+
+        assertEquals(2, first.getMetrics().getOutstandingRequests());
+        assertEquals(2, second.getMetrics().getOutstandingRequests());
+    }
+
+    @Test
+    public void testSkipsClosedConnections() {
+        when(firstClient.isOpen()).thenReturn(false);
+        PooledWebSocketService service = pool(PooledWebSocketService.Routing.ROUND_ROBIN);
+
+        service.sendAsync(request(service), Web3ClientVersion.class);
+        service.sendAsync(request(service), Web3ClientVersion.class);
+
+        verify(firstClient, never()).send(anyString());
+        verify(secondClient, times(2)).send(anyString());
+    }
+
+    @Test
+    public void testReconnectsLostConnection() throws Exception {
+        PooledWebSocketService service = pool(PooledWebSocketService.Routing.ROUND_ROBIN);
+        service.connect();
+
+        ArgumentCaptor<WebSocketListener> listener =
+                ArgumentCaptor.forClass(WebSocketListener.class);
+        verify(firstClient).setListener(listener.capture());
+        listener.getValue().onClose();
+
+        ArgumentCaptor<Runnable> reconnect = ArgumentCaptor.forClass(Runnable.class);
+        verify(executorService)
+                .schedule(
+                        reconnect.capture(),
+                        eq(PooledWebSocketService.MIN_RECONNECT_DELAY),
+                        eq(TimeUnit.MILLISECONDS));
+        reconnect.getValue().run();
+
+        verify(firstClient).reconnectBlocking();
+        verify(secondClient, never()).reconnectBlocking();
+    }
+
+    @Test
+    public void testRetriesFailedReconnect() throws Exception {
+        when(firstClient.connectBlocking()).thenReturn(false);
+        when(firstClient.reconnectBlocking()).thenReturn(false);
+        PooledWebSocketService service = pool(PooledWebSocketService.Routing.ROUND_ROBIN);
+        service.connect();
+
+        ArgumentCaptor<Runnable> reconnect = ArgumentCaptor.forClass(Runnable.class);
+        verify(executorService)
+                .schedule(
+                        reconnect.capture(),
+                        eq(PooledWebSocketService.MIN_RECONNECT_DELAY),
+                        eq(TimeUnit.MILLISECONDS));
+        reconnect.getValue().run();
+
+        verify(executorService)
+                .schedule(
+                        any(Runnable.class),
+                        eq(2 * PooledWebSocketService.MIN_RECONNECT_DELAY),
+                        eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testFailedReconnectKeepsSingleRetrySchedule() throws Exception {
+        PooledWebSocketService service = pool(PooledWebSocketService.Routing.ROUND_ROBIN);
+        service.connect();
+
+        ArgumentCaptor<WebSocketListener> listener =
+                ArgumentCaptor.forClass(WebSocketListener.class);
+        verify(firstClient).setListener(listener.capture());
+        // a failed reconnect closes the connection again, reaching the listener of the last
+        // successful connect
+        when(firstClient.reconnectBlocking())
+                .then(
+                        invocation -> {
+                            listener.getValue().onClose();
+                            return false;
+                        });
+        listener.getValue().onClose();
+        listener.getValue().onClose();
+
+        ArgumentCaptor<Runnable> reconnect = ArgumentCaptor.forClass(Runnable.class);
+        verify(executorService)
+                .schedule(
+                        reconnect.capture(),
+                        eq(PooledWebSocketService.MIN_RECONNECT_DELAY),
+                        eq(TimeUnit.MILLISECONDS));
+        reconnect.getValue().run();
+
+        verify(executorService)
+                .schedule(
+                        reconnect.capture(),
+                        eq(2 * PooledWebSocketService.MIN_RECONNECT_DELAY),
+                        eq(TimeUnit.MILLISECONDS));
+        reconnect.getValue().run();
+
+        verify(firstClient, times(2)).reconnectBlocking();
+        verify(executorService)
+                .schedule(
+                        any(Runnable.class),
+                        eq(PooledWebSocketService.MIN_RECONNECT_DELAY),
+                        eq(TimeUnit.MILLISECONDS));
+        verify(executorService)
+                .schedule(
+                        any(Runnable.class),
+                        eq(4 * PooledWebSocketService.MIN_RECONNECT_DELAY),
+                        eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testReconnectsOffTheTimeoutScheduler() throws Exception {
+        List<Runnable> reconnects = new ArrayList<>();
+        PooledWebSocketService service =
+                new PooledWebSocketService(
+                        Arrays.asList(first, second),
+                        PooledWebSocketService.Routing.ROUND_ROBIN,
+                        executorService,
+                        reconnects::add);
+        service.connect();
+
+        ArgumentCaptor<WebSocketListener> listener =
+                ArgumentCaptor.forClass(WebSocketListener.class);
+        verify(firstClient).setListener(listener.capture());
+        listener.getValue().onClose();
+
+        ArgumentCaptor<Runnable> reconnect = ArgumentCaptor.forClass(Runnable.class);
+        verify(executorService)
+                .schedule(
+                        reconnect.capture(),
+                        eq(PooledWebSocketService.MIN_RECONNECT_DELAY),
+                        eq(TimeUnit.MILLISECONDS));
+        reconnect.getValue().run();
+        verify(firstClient, never()).reconnectBlocking();
+
+        assertEquals(1, reconnects.size());
+        reconnects.get(0).run();
+        verify(firstClient).reconnectBlocking();
+    }
+
+    @Test
+    public void testFailsToConnectWithoutAnyConnection() throws Exception {
+        when(firstClient.connectBlocking()).thenReturn(false);
+        when(secondClient.connectBlocking()).thenReturn(false);
+        PooledWebSocketService service = pool(PooledWebSocketService.Routing.ROUND_ROBIN);
+
+        assertThrows(ConnectException.class, service::connect);
+    }
+
+    @Test
+    public void testNoReconnectAfterClose() throws Exception {
+        PooledWebSocketService service = pool(PooledWebSocketService.Routing.ROUND_ROBIN);
+        service.connect();
+
+        ArgumentCaptor<WebSocketListener> listener =
+                ArgumentCaptor.forClass(WebSocketListener.class);
+        verify(firstClient).setListener(listener.capture());
+        service.close();
+        listener.getValue().onClose();
+
+        verify(executorService, never())
+                .schedule(
+                        any(Runnable.class),
+                        eq(PooledWebSocketService.MIN_RECONNECT_DELAY),
+                        eq(TimeUnit.MILLISECONDS));
+    }
+
+    private PooledWebSocketService pool(PooledWebSocketService.Routing routing) {
+        return new PooledWebSocketService(
+                Arrays.asList(first, second), routing, executorService, Runnable::run);
+    }
+
+    private static Request<?, Web3ClientVersion> request(PooledWebSocketService service) {
+        return new Request<>(
+                "web3_clientVersion",
+                Collections.<String>emptyList(),
+                service,
+                Web3ClientVersion.class);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.websocket;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class TimeoutWheelTest {
+
+    private final ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+    private final TimeoutWheel wheel = new TimeoutWheel(executor, 10, 4);
+    private final AtomicInteger fired = new AtomicInteger();
+
+    @Test
+    public void testFiresAfterDelay() {
+        wheel.schedule(fired::incrementAndGet, 25, TimeUnit.MILLISECONDS);
+
+        tick(2);
+        assertEquals(0, fired.get());
+        tick(1);
+        assertEquals(1, fired.get());
+        assertEquals(0, wheel.getPendingCount());
+    }
+
+    @Test
+    public void testFiresAfterSeveralRoundsOfTheWheel() {
+        wheel.schedule(fired::incrementAndGet, 100, TimeUnit.MILLISECONDS);
+
+        tick(9);
+        assertEquals(0, fired.get());
+        tick(1);
+        assertEquals(1, fired.get());
+    }
+
+    @Test
+    public void testCancelledTimeoutDoesNotFire() {
+        TimeoutWheel.Timeout timeout =
+                wheel.schedule(fired::incrementAndGet, 10, TimeUnit.MILLISECONDS);
+        assertEquals(1, wheel.getPendingCount());
+
+        assertTrue(timeout.cancel());
+        assertEquals(0, wheel.getPendingCount());
+        tick(8);
+
+        assertEquals(0, fired.get());
+        assertFalse(timeout.cancel());
+    }
+
+    @Test
+    public void testSchedulesSingleTicker() {
+        for (int i = 0; i < 100; i++) {
+            wheel.schedule(fired::incrementAndGet, i, TimeUnit.MILLISECONDS);
+        }
+
+        verify(executor, times(1))
+                .scheduleAtFixedRate(any(Runnable.class), eq(10L), eq(10L), any(TimeUnit.class));
+        tick(10);
+        assertEquals(100, fired.get());
+    }
+
+    private void tick(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            wheel.tick();
+        }
+    }
+}
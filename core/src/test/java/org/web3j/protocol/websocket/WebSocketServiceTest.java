@@ -14,8 +14,10 @@ package org.web3j.protocol.websocket;
 
 import java.io.IOException;
 import java.net.ConnectException;
+import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
@@ -42,15 +44,18 @@ import org.web3j.protocol.websocket.events.NewHeadsNotification;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.atMostOnce;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -78,6 +83,8 @@ public class WebSocketServiceTest {
         when(webSocketClient.connectBlocking()).thenReturn(true);
         when(webSocketClient.reconnectBlocking()).thenReturn(true);
         request.setId(1);
+        // batch ids come from a static counter, so every test starts from the same id
+        WebSocketService.nextBatchId.set(0);
     }
 
     @Test
@@ -300,22 +307,58 @@ public class WebSocketServiceTest {
 
     @Test
     public void testCancelRequestAfterTimeout() {
-        when(executorService.schedule(
-                        any(Runnable.class),
-                        eq(WebSocketService.REQUEST_TIMEOUT),
-                        eq(TimeUnit.SECONDS)))
-                .then(
-                        invocation -> {
-                            Runnable runnable = invocation.getArgument(0, Runnable.class);
-                            runnable.run();
-                            return null;
-                        });
+        AtomicReference<Runnable> ticker = captureTimeoutTicker();
 
         CompletableFuture<Web3ClientVersion> reply =
-                service.sendAsync(request, Web3ClientVersion.class);
+                service.sendAsync(request, Web3ClientVersion.class, 1, TimeUnit.SECONDS);
+
+        tick(ticker, 9);
+        assertFalse(reply.isDone());
+        tick(ticker, 1);
 
         assertTrue(reply.isDone());
         assertThrows(ExecutionException.class, () -> reply.get());
+        assertFalse(service.isWaitingForReply(request.getId()));
+        assertEquals(1, service.getMetrics().getTimedOutRequests());
+    }
+
+    @Test
+    public void testDefaultRequestTimeoutIsConfigurable() {
+        AtomicReference<Runnable> ticker = captureTimeoutTicker();
+        service.setRequestTimeout(500, TimeUnit.MILLISECONDS);
+
+        CompletableFuture<Web3ClientVersion> reply =
+                service.sendAsync(request, Web3ClientVersion.class);
+        tick(ticker, 5);
+
+        assertThrows(ExecutionException.class, () -> reply.get());
+    }
+
+    @Test
+    public void testReplyCancelsTimeout() throws Exception {
+        AtomicReference<Runnable> ticker = captureTimeoutTicker();
+
+        CompletableFuture<Web3ClientVersion> reply =
+                service.sendAsync(request, Web3ClientVersion.class, 1, TimeUnit.SECONDS);
+        assertEquals(1, service.getMetrics().getOutstandingRequests());
+        sendGethVersionReply();
+        tick(ticker, 20);
+
+        assertEquals("geth-version", reply.get().getWeb3ClientVersion());
+        assertEquals(0, service.getMetrics().getOutstandingRequests());
+        assertEquals(1, service.getMetrics().getSentRequests());
+        assertEquals(1, service.getMetrics().getRepliedRequests());
+        assertEquals(0, service.getMetrics().getTimedOutRequests());
+    }
+
+    @Test
+    public void testCloseRequestAfterReplyIsIgnored() throws Exception {
+        CompletableFuture<Web3ClientVersion> reply =
+                service.sendAsync(request, Web3ClientVersion.class);
+        sendGethVersionReply();
+
+        assertFalse(service.closeRequest(request.getId(), new IOException("timeout")));
+        assertEquals("geth-version", reply.get().getWeb3ClientVersion());
     }
 
     @Test
@@ -399,6 +442,171 @@ public class WebSocketServiceTest {
                 actualNotificationRef.get().getParams().getSubscription());
     }
 
+    @Test
+    public void testDispatchReplyOnExecutor() throws Exception {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        service.setMessageDispatchExecutor(tasks::add, 4);
+
+        CompletableFuture<Web3ClientVersion> reply =
+                service.sendAsync(request, Web3ClientVersion.class);
+        sendGethVersionReply();
+
+        assertFalse(service.isWaitingForReply(REQUEST_ID));
+        assertFalse(reply.isDone());
+
+        tasks.remove().run();
+        assertTrue(reply.isDone());
+        assertEquals("geth-version", reply.get().getWeb3ClientVersion());
+    }
+
+    @Test
+    public void testDispatchReportsUnparsableReply() throws Exception {
+        service.setMessageDispatchExecutor(Runnable::run, 4);
+
+        CompletableFuture<Web3ClientVersion> reply =
+                service.sendAsync(request, Web3ClientVersion.class);
+        service.onWebSocketMessage("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":{}}");
+
+        assertTrue(reply.isDone());
+        ExecutionException e = assertThrows(ExecutionException.class, () -> reply.get());
+        assertEquals(IOException.class, e.getCause().getClass());
+    }
+
+    @Test
+    public void testDispatchRejectsInvalidMessagesOnWebSocketThread() {
+        service.setMessageDispatchExecutor(Runnable::run, 4);
+        service.sendAsync(request, Web3ClientVersion.class);
+
+        assertThrows(IOException.class, () -> service.onWebSocketMessage("{"));
+        assertThrows(IOException.class, () -> service.onWebSocketMessage("{\"id\":true}"));
+        assertThrows(IOException.class, () -> service.onWebSocketMessage("{}"));
+        assertThrows(
+                IOException.class,
+                () ->
+                        service.onWebSocketMessage(
+                                "{\"jsonrpc\":\"2.0\",\"id\":12345,\"result\":\"geth-version\"}"));
+    }
+
+    @Test
+    public void testDispatchBatchReply() throws Exception {
+        service.setMessageDispatchExecutor(Runnable::run, 4);
+
+        BatchRequest request = new BatchRequest(service);
+        request.add(
+                        new Request<>(
+                                "web3_clientVersion",
+                                Collections.<String>emptyList(),
+                                service,
+                                Web3ClientVersion.class))
+                .add(
+                        new Request<>(
+                                "net_version",
+                                Collections.<String>emptyList(),
+                                service,
+                                NetVersion.class));
+        request.getRequests().get(0).setId(7L);
+        request.getRequests().get(1).setId(1L);
+
+        CompletableFuture<BatchResponse> reply = service.sendBatchAsync(request);
+        sendClientNetVersionReply();
+
+        assertTrue(reply.isDone());
+        BatchResponse response = reply.get();
+        assertEquals(2, response.getResponses().size());
+        assertEquals(7L, response.getResponses().get(0).getId());
+        assertEquals(
+                "Mist/v0.9.3/darwin/go1.4.1",
+                ((Web3ClientVersion) response.getResponses().get(0)).getWeb3ClientVersion());
+        assertEquals("59", ((NetVersion) response.getResponses().get(1)).getNetVersion());
+    }
+
+    @Test
+    public void testDispatchSubscriptionEvents() throws Exception {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        service.setMessageDispatchExecutor(tasks::add, 4);
+
+        CountDownLatch subscribed = new CountDownLatch(1);
+        AtomicReference<Flowable<NewHeadsNotification>> events = new AtomicReference<>();
+        runAsync(
+                () -> {
+                    events.set(subscribeToEvents());
+                    subscribed.countDown();
+                });
+
+        // the subscription is established on the WebSocket thread
+        sendSubscriptionConfirmation();
+        assertTrue(subscribed.await(2, TimeUnit.SECONDS));
+        assertTrue(tasks.isEmpty());
+
+        AtomicReference<NewHeadsNotification> actualNotificationRef = new AtomicReference<>();
+        events.get().subscribe(actualNotificationRef::set);
+        sendWebSocketEvent();
+
+        assertEquals(1, tasks.size());
+        tasks.remove().run();
+        assertEquals(
+                "0xd9263f42a87",
+                actualNotificationRef.get().getParams().getResult().getDifficulty());
+    }
+
+    @Test
+    public void testRestoreSubscriptionOnReconnect() throws Exception {
+        service.setResubscribeOnReconnect(true);
+        service.connect();
+
+        CountDownLatch subscribed = new CountDownLatch(1);
+        AtomicReference<NewHeadsNotification> actualNotificationRef = new AtomicReference<>();
+        AtomicReference<Throwable> actualThrowable = new AtomicReference<>();
+        runAsync(
+                () -> {
+                    subscribeToEvents().subscribe(actualNotificationRef::set, actualThrowable::set);
+                    subscribed.countDown();
+                });
+        sendSubscriptionConfirmation();
+        assertTrue(subscribed.await(2, TimeUnit.SECONDS));
+
+        service.onWebSocketClose();
+        assertTrue(service.getSubscriptionIdsMap().isEmpty());
+
+        service.connect();
+        verify(webSocketClient).reconnectBlocking();
+        verify(webSocketClient, times(2))
+                .send(
+                        "{\"jsonrpc\":\"2.0\",\"method\":\"eth_subscribe\","
+                                + "\"params\":[\"newHeads\",{}],\"id\":1}");
+
+        service.onWebSocketMessage(
+                "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0xcd0c3e8af590364c09d0fa6a1210faf5\"}");
+        sendWebSocketEvent();
+
+        assertNull(actualThrowable.get());
+        assertEquals(
+                "0xd9263f42a87",
+                actualNotificationRef.get().getParams().getResult().getDifficulty());
+    }
+
+    @Test
+    public void testFailSuspendedSubscriptionOnClose() throws Exception {
+        service.setResubscribeOnReconnect(true);
+        service.connect();
+
+        CountDownLatch subscribed = new CountDownLatch(1);
+        AtomicReference<Throwable> actualThrowable = new AtomicReference<>();
+        runAsync(
+                () -> {
+                    subscribeToEvents().subscribe(notification -> {}, actualThrowable::set);
+                    subscribed.countDown();
+                });
+        sendSubscriptionConfirmation();
+        assertTrue(subscribed.await(2, TimeUnit.SECONDS));
+
+        service.onWebSocketClose();
+        service.close();
+        service.onWebSocketClose();
+
+        assertEquals(IOException.class, actualThrowable.get().getClass());
+    }
+
     @Test
     public void testSendUnsubscribeRequest() throws Exception {
         CountDownLatch unsubscribed = new CountDownLatch(1);
@@ -554,6 +762,24 @@ public class WebSocketServiceTest {
                         + "}");
     }
 
+    private AtomicReference<Runnable> captureTimeoutTicker() {
+        AtomicReference<Runnable> ticker = new AtomicReference<>();
+        when(executorService.scheduleAtFixedRate(
+                        any(Runnable.class), anyLong(), anyLong(), eq(TimeUnit.MILLISECONDS)))
+                .then(
+                        invocation -> {
+                            ticker.set(invocation.getArgument(0, Runnable.class));
+                            return null;
+                        });
+        return ticker;
+    }
+
+    private static void tick(AtomicReference<Runnable> ticker, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            ticker.get().run();
+        }
+    }
+
     private void sendGethVersionReply() throws IOException {
         service.onWebSocketMessage(
                 "{"
@@ -17,6 +17,7 @@ import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.function.BiFunction;
 
@@ -61,6 +62,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -406,6 +408,41 @@ public class ContractTest extends ManagedTransactionTester {
         assertTrue(eventValues.isEmpty(), "No events expected");
     }
 
+    @Test
+    public void testSendAsyncUsesOverriddenExecuteTransaction() throws Exception {
+        TransactionReceipt overridden = new TransactionReceipt();
+        TestContract contract =
+                new TestContract(ADDRESS, web3j, SampleKeys.CREDENTIALS, new DefaultGasProvider()) {
+                    @Override
+                    protected TransactionReceipt executeTransaction(Function function) {
+                        return overridden;
+                    }
+                };
+
+        assertSame(
+                overridden,
+                contract.performTransaction(
+                                new Address(BigInteger.TEN), new Uint256(BigInteger.ONE))
+                        .sendAsync()
+                        .get());
+    }
+
+    @Test
+    public void testSendAsyncReportsPreparationFailureThroughFuture() {
+        ContractGasProvider gasProvider = mock(ContractGasProvider.class);
+        when(gasProvider.getGasPrice(anyString()))
+                .thenThrow(new IllegalStateException("No gas price"));
+        TestContract contract =
+                new TestContract(ADDRESS, web3j, SampleKeys.CREDENTIALS, gasProvider);
+
+        CompletableFuture<TransactionReceipt> future =
+                contract.performTransaction(
+                                new Address(BigInteger.TEN), new Uint256(BigInteger.ONE))
+                        .sendAsync();
+
+        assertTrue(future.isCompletedExceptionally());
+    }
+
     @Test
     public void testTimeout() throws IOException {
         prepareTransaction(null);
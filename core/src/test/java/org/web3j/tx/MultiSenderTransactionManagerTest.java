@@ -0,0 +1,224 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.SampleKeys;
+import org.web3j.crypto.SignedRawTransaction;
+import org.web3j.crypto.TransactionDecoder;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.utils.Numeric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MultiSenderTransactionManagerTest {
+
+    private static final String TO = "0x3d6cb163f7c72d20b0fcd6baae5889329d138a4a";
+
+    private static final Credentials OTHER_CREDENTIALS =
+            Credentials.create("0x8f2a55949038a9610f50fb23b5883af3b4ecb3c3bb792cbcefbd1542c692be63");
+
+    private final Web3jService web3jService = mock(Web3jService.class);
+    private final Web3j web3j = Web3j.build(web3jService);
+    private final Map<String, Long> minedCounts = new ConcurrentHashMap<>();
+    private final Map<String, Long> acceptedCounts = new ConcurrentHashMap<>();
+    private final List<SignedRawTransaction> sent = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicReference<Object> nextFailure = new AtomicReference<>();
+
+    private MultiSenderTransactionManager transactionManager;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        when(web3jService.send(any(Request.class), eq(EthGetTransactionCount.class)))
+                .thenAnswer(
+                        invocation -> {
+                            Request<?, ?> request = invocation.getArgument(0);
+                            String address = (String) request.getParams().get(0);
+                            EthGetTransactionCount transactionCount = new EthGetTransactionCount();
+                            transactionCount.setResult(
+                                    Numeric.encodeQuantity(
+                                            BigInteger.valueOf(
+                                                    acceptedCounts.getOrDefault(address, 0L))));
+                            return transactionCount;
+                        });
+        when(web3jService.send(any(Request.class), eq(EthSendTransaction.class)))
+                .thenAnswer(
+                        invocation -> {
+                            Request<?, ?> request = invocation.getArgument(0);
+                            String signed = (String) request.getParams().get(0);
+                            SignedRawTransaction transaction =
+                                    (SignedRawTransaction) TransactionDecoder.decode(signed);
+                            sent.add(transaction);
+                            Object failure = nextFailure.getAndSet(null);
+                            if (failure instanceof IOException) {
+                                throw (IOException) failure;
+                            }
+                            EthSendTransaction response = new EthSendTransaction();
+                            if (failure instanceof Response.Error) {
+                                response.setError((Response.Error) failure);
+                                return response;
+                            }
+                            acceptedCounts.merge(transaction.getFrom(), 1L, Long::sum);
+                            response.setResult(Hash.sha3(signed));
+                            return response;
+                        });
+        when(web3jService.sendBatch(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest = invocation.getArgument(0);
+                            List<EthGetTransactionCount> responses = new ArrayList<>();
+                            for (Request<?, ?> request : batchRequest.getRequests()) {
+                                String address = (String) request.getParams().get(0);
+                                EthGetTransactionCount transactionCount =
+                                        new EthGetTransactionCount();
+                                transactionCount.setResult(
+                                        Numeric.encodeQuantity(
+                                                BigInteger.valueOf(
+                                                        minedCounts.getOrDefault(address, 0L))));
+                                responses.add(transactionCount);
+                            }
+                            return new BatchResponse(batchRequest.getRequests(), responses);
+                        });
+
+        transactionManager =
+                new MultiSenderTransactionManager(
+                        web3j, ChainIdLong.NONE, SampleKeys.CREDENTIALS, OTHER_CREDENTIALS);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        transactionManager.close();
+    }
+
+    @Test
+    public void testRefreshesOnlyWhileTransactionsArePending() throws Exception {
+        assertFalse(transactionManager.isRefreshing());
+        verify(web3jService, never()).sendBatch(any(BatchRequest.class));
+
+        send();
+        assertTrue(transactionManager.isRefreshing());
+
+        transactionManager.refresh();
+        assertTrue(transactionManager.isRefreshing());
+
+        minedCounts.putAll(acceptedCounts);
+        transactionManager.refresh();
+        assertFalse(transactionManager.isRefreshing());
+
+        send();
+        assertTrue(transactionManager.isRefreshing());
+    }
+
+    @Test
+    public void testSpreadsTransactionsOverSenders() throws Exception {
+        transactionManager.refreshPendingCounts();
+        for (int i = 0; i < 4; i++) {
+            send();
+        }
+
+        assertEquals(SampleKeys.ADDRESS, transactionManager.getFromAddress());
+        assertEquals(2, transactionManager.getPendingTransactionCount(SampleKeys.ADDRESS));
+        assertEquals(
+                2, transactionManager.getPendingTransactionCount(OTHER_CREDENTIALS.getAddress()));
+        assertNotEquals(sent.get(0).getFrom(), sent.get(1).getFrom());
+        assertEquals(BigInteger.ONE, sent.get(3).getNonce());
+    }
+
+    @Test
+    public void testRoutesAwayFromBackedUpSender() throws Exception {
+        transactionManager.refreshPendingCounts();
+        for (int i = 0; i < 4; i++) {
+            send();
+        }
+
+        // transactions of the other sender have been mined, the first one's are still pending
+        minedCounts.put(OTHER_CREDENTIALS.getAddress(), 2L);
+        transactionManager.refreshPendingCounts();
+        sent.clear();
+        send();
+        send();
+
+        assertEquals(OTHER_CREDENTIALS.getAddress(), sent.get(0).getFrom());
+        assertEquals(OTHER_CREDENTIALS.getAddress(), sent.get(1).getFrom());
+        assertEquals(2, transactionManager.getPendingTransactionCount(SampleKeys.ADDRESS));
+    }
+
+    @Test
+    public void testRefetchesNonceAfterRejection() throws Exception {
+        transactionManager.close();
+        transactionManager =
+                new MultiSenderTransactionManager(web3j, ChainIdLong.NONE, SampleKeys.CREDENTIALS);
+        send();
+        nextFailure.set(new Response.Error(-32000, "insufficient funds for gas * price + value"));
+        EthSendTransaction rejected =
+                transactionManager.sendTransaction(
+                        BigInteger.TEN, BigInteger.valueOf(21_000), TO, "", BigInteger.ONE);
+        send();
+
+        assertTrue(rejected.hasError());
+        // the rejected nonce is reused instead of leaving a gap
+        assertEquals(BigInteger.ONE, sent.get(1).getNonce());
+        assertEquals(BigInteger.ONE, sent.get(2).getNonce());
+    }
+
+    @Test
+    public void testRefetchesNonceAfterIOException() throws Exception {
+        transactionManager.close();
+        transactionManager =
+                new MultiSenderTransactionManager(web3j, ChainIdLong.NONE, SampleKeys.CREDENTIALS);
+        send();
+        nextFailure.set(new IOException("connection reset"));
+        assertThrows(IOException.class, this::send);
+        send();
+
+        assertEquals(BigInteger.ONE, sent.get(1).getNonce());
+        assertEquals(BigInteger.ONE, sent.get(2).getNonce());
+    }
+
+    private void send() throws Exception {
+        transactionManager.sendTransaction(
+                BigInteger.TEN, BigInteger.valueOf(21_000), TO, "", BigInteger.ONE);
+    }
+}
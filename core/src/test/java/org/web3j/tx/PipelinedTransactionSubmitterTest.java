@@ -0,0 +1,314 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.SampleKeys;
+import org.web3j.crypto.TransactionDecoder;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.protocol.core.methods.response.EthTransaction;
+import org.web3j.protocol.core.methods.response.Transaction;
+import org.web3j.protocol.exceptions.JsonRpcError;
+import org.web3j.utils.Numeric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PipelinedTransactionSubmitterTest {
+
+    private static final String TO = "0x3d6cb163f7c72d20b0fcd6baae5889329d138a4a";
+
+    private final Web3jService web3jService = mock(Web3jService.class);
+    private final Web3j web3j = Web3j.build(web3jService);
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicLong minedTransactionCount = new AtomicLong();
+    private final AtomicLong pendingTransactionCount = new AtomicLong();
+    // batches that reach the node but whose reply is lost, and batches that never reach it
+    private final AtomicInteger lostReplies = new AtomicInteger();
+    private final AtomicInteger lostRequests = new AtomicInteger();
+    private final AtomicInteger failedLookups = new AtomicInteger();
+    private final Set<String> knownHashes = ConcurrentHashMap.newKeySet();
+    private final Set<BigInteger> rejectedNonces = ConcurrentHashMap.newKeySet();
+    private final List<List<RawTransaction>> batches =
+            Collections.synchronizedList(new ArrayList<>());
+
+    private volatile String rejectionMessage = "insufficient funds";
+
+    private PipelinedTransactionSubmitter submitter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        when(web3jService.send(any(Request.class), eq(EthGetTransactionCount.class)))
+                .thenAnswer(
+                        invocation -> {
+                            Request<?, ?> request = invocation.getArgument(0);
+                            EthGetTransactionCount transactionCount = new EthGetTransactionCount();
+                            transactionCount.setResult(
+                                    DefaultBlockParameterName.PENDING
+                                                    .getValue()
+                                                    .equals(request.getParams().get(1))
+                                            ? Numeric.encodeQuantity(
+                                                    BigInteger.valueOf(
+                                                            pendingTransactionCount.get()))
+                                            : Numeric.encodeQuantity(
+                                                    BigInteger.valueOf(
+                                                            minedTransactionCount.get())));
+                            return transactionCount;
+                        });
+        when(web3jService.send(any(Request.class), eq(EthTransaction.class)))
+                .thenAnswer(
+                        invocation -> {
+                            if (failedLookups.getAndUpdate(n -> Math.max(n - 1, 0)) > 0) {
+                                throw new IOException("Lookup failed");
+                            }
+                            Request<?, ?> request = invocation.getArgument(0);
+                            EthTransaction transaction = new EthTransaction();
+                            if (knownHashes.contains(request.getParams().get(0))) {
+                                transaction.setResult(new Transaction());
+                            }
+                            return transaction;
+                        });
+        when(web3jService.sendBatch(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest = invocation.getArgument(0);
+                            if (lostRequests.getAndUpdate(n -> Math.max(n - 1, 0)) > 0) {
+                                throw new IOException("Connection reset");
+                            }
+                            if (lostReplies.getAndUpdate(n -> Math.max(n - 1, 0)) > 0) {
+                                for (Request<?, ?> request : batchRequest.getRequests()) {
+                                    knownHashes.add(
+                                            Hash.sha3((String) request.getParams().get(0)));
+                                }
+                                throw new IOException("Read timed out");
+                            }
+                            List<RawTransaction> batch = new ArrayList<>();
+                            List<EthSendTransaction> responses = new ArrayList<>();
+                            for (Request<?, ?> request : batchRequest.getRequests()) {
+                                String signed = (String) request.getParams().get(0);
+                                RawTransaction transaction = TransactionDecoder.decode(signed);
+                                batch.add(transaction);
+
+                                EthSendTransaction response = new EthSendTransaction();
+                                if (rejectedNonces.remove(transaction.getNonce())) {
+                                    response.setError(
+                                            new Response.Error(-32000, rejectionMessage));
+                                } else {
+                                    response.setResult(Hash.sha3(signed));
+                                }
+                                responses.add(response);
+                            }
+                            batches.add(batch);
+                            return new BatchResponse(batchRequest.getRequests(), responses);
+                        });
+
+        submitter =
+                new PipelinedTransactionSubmitter(
+                        web3j,
+                        new FastRawTransactionManager(web3j, SampleKeys.CREDENTIALS),
+                        tasks::add,
+                        PipelinedTransactionSubmitter.DEFAULT_MAX_BATCH_SIZE,
+                        PipelinedTransactionSubmitter.DEFAULT_POLLING_INTERVAL);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        submitter.close();
+    }
+
+    @Test
+    public void testSubmitsInBatchesAndConfirms() {
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(submit());
+        }
+        runTasks();
+
+        assertEquals(1, batches.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(BigInteger.valueOf(i), batches.get(0).get(i).getNonce());
+        }
+        assertEquals(5, submitter.getMetrics().getSubmitted());
+
+        minedTransactionCount.set(3);
+        submitter.pollConfirmations();
+
+        assertTrue(results.get(2).isDone());
+        assertFalse(results.get(3).isDone());
+        assertEquals(3, submitter.getMetrics().getConfirmed());
+
+        minedTransactionCount.set(5);
+        submitter.pollConfirmations();
+
+        for (CompletableFuture<String> result : results) {
+            assertTrue(result.isDone());
+            assertFalse(result.isCompletedExceptionally());
+        }
+        assertEquals(5, submitter.getMetrics().getConfirmed());
+    }
+
+    @Test
+    public void testRejectedTransactionGapIsFilled() {
+        rejectedNonces.add(BigInteger.ONE);
+
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            results.add(submit());
+        }
+        runTasks();
+
+        assertTrue(results.get(1).isCompletedExceptionally());
+        assertTrue(
+                results.get(1).handle((hash, error) -> error instanceof JsonRpcError).join());
+        assertEquals(2, batches.size());
+
+        RawTransaction filler = batches.get(1).get(0);
+        assertEquals(BigInteger.ONE, filler.getNonce());
+        assertEquals(SampleKeys.ADDRESS, filler.getTo());
+        assertEquals(BigInteger.ZERO, filler.getValue());
+        assertEquals(BigInteger.TEN, filler.getGasPrice());
+
+        assertEquals(1, submitter.getMetrics().getFailed());
+        assertEquals(1, submitter.getMetrics().getGapsRepaired());
+        assertEquals(3, submitter.getMetrics().getSubmitted());
+
+        minedTransactionCount.set(3);
+        submitter.pollConfirmations();
+
+        assertFalse(results.get(0).isCompletedExceptionally());
+        assertFalse(results.get(2).isCompletedExceptionally());
+        assertEquals(2, submitter.getMetrics().getConfirmed());
+    }
+
+    @Test
+    public void testTransactionReceivedDespiteIOExceptionIsKept() {
+        lostReplies.set(3);
+
+        CompletableFuture<String> result = submit();
+        runTasks();
+
+        assertFalse(result.isDone());
+        assertEquals(0, batches.size());
+        assertEquals(0, submitter.getMetrics().getFailed());
+        assertEquals(0, submitter.getMetrics().getGapsRepaired());
+
+        minedTransactionCount.set(1);
+        submitter.pollConfirmations();
+
+        assertTrue(result.isDone());
+        assertFalse(result.isCompletedExceptionally());
+    }
+
+    @Test
+    public void testTransactionLostWithIOExceptionGapIsFilled() {
+        lostRequests.set(3);
+
+        CompletableFuture<String> result = submit();
+        runTasks();
+
+        assertTrue(result.handle((hash, error) -> error instanceof IOException).join());
+        assertEquals(1, batches.size());
+        assertEquals(BigInteger.ZERO, batches.get(0).get(0).getNonce());
+        assertEquals(SampleKeys.ADDRESS, batches.get(0).get(0).getTo());
+        assertEquals(1, submitter.getMetrics().getGapsRepaired());
+    }
+
+    @Test
+    public void testTransactionWithUsedNonceIsKept() {
+        lostRequests.set(3);
+
+        CompletableFuture<String> result = submit();
+        pendingTransactionCount.set(1);
+        runTasks();
+
+        assertFalse(result.isDone());
+        assertEquals(0, batches.size());
+    }
+
+    @Test
+    public void testFailedLookupIsRetriedOnPoll() {
+        lostRequests.set(3);
+        failedLookups.set(1);
+
+        CompletableFuture<String> result = submit();
+        runTasks();
+
+        assertFalse(result.isDone());
+        assertEquals(0, batches.size());
+
+        submitter.pollConfirmations();
+        runTasks();
+
+        assertTrue(result.isCompletedExceptionally());
+        assertEquals(1, batches.size());
+        assertEquals(1, submitter.getMetrics().getGapsRepaired());
+    }
+
+    @Test
+    public void testUnderpricedReplacementIsNotFilled() {
+        rejectedNonces.add(BigInteger.ZERO);
+        rejectionMessage = "replacement transaction underpriced";
+
+        CompletableFuture<String> result = submit();
+        pendingTransactionCount.set(1);
+        runTasks();
+
+        assertTrue(result.handle((hash, error) -> error instanceof JsonRpcError).join());
+        assertEquals(1, batches.size());
+        assertEquals(0, submitter.getMetrics().getGapsRepaired());
+    }
+
+    private CompletableFuture<String> submit() {
+        return submitter.submit(
+                BigInteger.TEN, BigInteger.valueOf(21_000), TO, "", BigInteger.ONE);
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+}
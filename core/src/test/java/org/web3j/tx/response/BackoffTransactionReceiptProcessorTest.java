@@ -0,0 +1,122 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx.response;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.exceptions.TransactionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BackoffTransactionReceiptProcessorTest {
+
+    private static final String TRANSACTION_HASH = "0x01";
+    private static final long BLOCK_TIME = 40;
+
+    private final Web3jService web3jService = mock(Web3jService.class);
+    private final Web3j web3j = Web3j.build(web3jService);
+    private final AtomicInteger polls = new AtomicInteger();
+
+    private volatile int minedAfterPolls;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        when(web3jService.sendAsync(any(Request.class), eq(EthGetTransactionReceipt.class)))
+                .thenAnswer(
+                        invocation -> {
+                            EthGetTransactionReceipt response = new EthGetTransactionReceipt();
+                            if (polls.incrementAndGet() >= minedAfterPolls) {
+                                TransactionReceipt receipt = new TransactionReceipt();
+                                receipt.setTransactionHash(TRANSACTION_HASH);
+                                response.setResult(receipt);
+                            }
+                            return CompletableFuture.completedFuture(response);
+                        });
+    }
+
+    @Test
+    public void testBacksOffUntilReceiptIsAvailable() throws Exception {
+        minedAfterPolls = 3;
+        BackoffTransactionReceiptProcessor processor =
+                new BackoffTransactionReceiptProcessor(web3j, BLOCK_TIME, 10_000);
+
+        TransactionReceipt receipt =
+                processor.waitForTransactionReceiptAsync(TRANSACTION_HASH).get();
+
+        assertEquals(TRANSACTION_HASH, receipt.getTransactionHash());
+        assertEquals(3, polls.get());
+        // a receipt that took longer than the estimate raises it, up to the block time
+        assertTrue(processor.getExpectedInclusionTime() > BLOCK_TIME / 2);
+        assertTrue(processor.getExpectedInclusionTime() <= BLOCK_TIME);
+    }
+
+    @Test
+    public void testEstimateFallsWhenReceiptIsAvailableOnFirstPoll() throws Exception {
+        minedAfterPolls = 1;
+        BackoffTransactionReceiptProcessor processor =
+                new BackoffTransactionReceiptProcessor(web3j, BLOCK_TIME, 10_000);
+
+        for (int i = 0; i < 4; i++) {
+            processor.waitForTransactionReceiptAsync(TRANSACTION_HASH).get();
+        }
+
+        assertEquals(4, polls.get());
+        assertTrue(processor.getExpectedInclusionTime() < BLOCK_TIME / 2);
+    }
+
+    @Test
+    public void testFailsWhenReceiptIsNotAvailableInTime() {
+        minedAfterPolls = Integer.MAX_VALUE;
+        BackoffTransactionReceiptProcessor processor =
+                new BackoffTransactionReceiptProcessor(web3j, BLOCK_TIME, 200);
+
+        ExecutionException e =
+                assertThrows(
+                        ExecutionException.class,
+                        () -> processor.waitForTransactionReceiptAsync(TRANSACTION_HASH).get());
+        assertTrue(e.getCause() instanceof TransactionException);
+        assertEquals(
+                TRANSACTION_HASH,
+                ((TransactionException) e.getCause()).getTransactionHash().get());
+        assertTrue(polls.get() > 1);
+    }
+
+    @Test
+    public void testBlockingWaitUsesSameSchedule() throws Exception {
+        minedAfterPolls = 2;
+        BackoffTransactionReceiptProcessor processor =
+                new BackoffTransactionReceiptProcessor(web3j, BLOCK_TIME, 10_000);
+
+        assertEquals(
+                TRANSACTION_HASH,
+                processor.waitForTransactionReceipt(TRANSACTION_HASH).getTransactionHash());
+        assertEquals(2, polls.get());
+    }
+}
@@ -13,6 +13,8 @@
 package org.web3j.tx.response;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,6 +27,7 @@ import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.protocol.exceptions.TransactionException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.Mockito.doReturn;
@@ -73,8 +76,38 @@ public class PollingTransactionReceiptProcessorTest {
         }
     }
 
+    @Test
+    public void returnsTransactionReceiptAsynchronously() throws Exception {
+        TransactionReceipt transactionReceipt = new TransactionReceipt();
+        doReturn(requestReturning(response(null)), requestReturning(response(transactionReceipt)))
+                .when(web3j)
+                .ethGetTransactionReceipt(TRANSACTION_HASH);
+
+        CompletableFuture<TransactionReceipt> receipt =
+                processor.waitForTransactionReceiptAsync(TRANSACTION_HASH);
+
+        assertEquals(transactionReceipt, receipt.get());
+    }
+
+    @Test
+    public void failsAsynchronouslyWhenReceiptIsNotAvailableInTime() {
+        doReturn(requestReturning(response(null)))
+                .when(web3j)
+                .ethGetTransactionReceipt(TRANSACTION_HASH);
+
+        ExecutionException e =
+                assertThrows(
+                        ExecutionException.class,
+                        () -> processor.waitForTransactionReceiptAsync(TRANSACTION_HASH).get());
+        assertTrue(e.getCause() instanceof TransactionException);
+        assertEquals(
+                TRANSACTION_HASH,
+                ((TransactionException) e.getCause()).getTransactionHash().get());
+    }
+
     private static <T extends Response<?>> Request requestReturning(T response) {
         Request request = mock(Request.class);
+        when(request.sendAsync()).thenReturn(CompletableFuture.completedFuture(response));
         try {
             when(request.send()).thenReturn(response);
         } catch (IOException e) {
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx.response;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+import org.web3j.protocol.core.methods.response.EthGetBlockReceipts;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.exceptions.TransactionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class QueuingTransactionReceiptProcessorTest {
+
+    private static final long POLLING_FREQUENCY = 3_600_000;
+
+    private final Web3jService web3jService = mock(Web3jService.class);
+    private final Web3j web3j = Web3j.build(web3jService);
+
+    private final Map<String, TransactionReceipt> minedReceipts = new ConcurrentHashMap<>();
+    private final Map<Long, List<TransactionReceipt>> blocks = new ConcurrentHashMap<>();
+    private final List<Integer> receiptBatchSizes = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> polledHashes = Collections.synchronizedList(new ArrayList<>());
+    private final List<TransactionReceipt> accepted =
+            Collections.synchronizedList(new ArrayList<>());
+    private final List<Exception> failed = Collections.synchronizedList(new ArrayList<>());
+
+    private volatile long latestBlock = 10;
+    private volatile boolean blockReceiptsSupported = true;
+
+    private final Callback callback =
+            new Callback() {
+                @Override
+                public void accept(TransactionReceipt transactionReceipt) {
+                    accepted.add(transactionReceipt);
+                }
+
+                @Override
+                public void exception(Exception exception) {
+                    failed.add(exception);
+                }
+            };
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        when(web3jService.send(any(Request.class), eq(EthBlockNumber.class)))
+                .thenAnswer(
+                        invocation -> {
+                            EthBlockNumber blockNumber = new EthBlockNumber();
+                            blockNumber.setResult("0x" + Long.toHexString(latestBlock));
+                            return blockNumber;
+                        });
+        when(web3jService.sendBatchAsync(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest = invocation.getArgument(0);
+                            receiptBatchSizes.add(batchRequest.getRequests().size());
+                            List<EthGetTransactionReceipt> responses = new ArrayList<>();
+                            for (Request<?, ?> request : batchRequest.getRequests()) {
+                                String hash = (String) request.getParams().get(0);
+                                polledHashes.add(hash);
+                                EthGetTransactionReceipt response = new EthGetTransactionReceipt();
+                                response.setResult(minedReceipts.get(hash));
+                                responses.add(response);
+                            }
+                            return CompletableFuture.completedFuture(
+                                    new BatchResponse(batchRequest.getRequests(), responses));
+                        });
+        when(web3jService.sendBatch(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest = invocation.getArgument(0);
+                            List<EthGetBlockReceipts> responses = new ArrayList<>();
+                            for (Request<?, ?> request : batchRequest.getRequests()) {
+                                long block = Long.decode((String) request.getParams().get(0));
+                                EthGetBlockReceipts response = new EthGetBlockReceipts();
+                                if (!blockReceiptsSupported) {
+                                    response.setError(
+                                            new Response.Error(-32601, "Method not found"));
+                                } else if (block <= latestBlock) {
+                                    response.setResult(
+                                            blocks.getOrDefault(block, Collections.emptyList()));
+                                }
+                                responses.add(response);
+                            }
+                            return new BatchResponse(batchRequest.getRequests(), responses);
+                        });
+    }
+
+    @Test
+    public void testPollsReceiptsInBatches() throws Exception {
+        QueuingTransactionReceiptProcessor processor = processor(2, 3, 100);
+        processor.waitForTransactionReceipt("0x01");
+        processor.waitForTransactionReceipt("0x02");
+        processor.waitForTransactionReceipt("0x03");
+        minedReceipts.put("0x01", receipt("0x01"));
+        minedReceipts.put("0x03", receipt("0x03"));
+
+        processor.sendTransactionReceiptRequests();
+
+        assertEquals(2, receiptBatchSizes.size());
+        assertEquals(3, receiptBatchSizes.get(0) + receiptBatchSizes.get(1));
+        assertEquals(2, accepted.size());
+
+        minedReceipts.put("0x02", receipt("0x02"));
+        processor.sendTransactionReceiptRequests();
+
+        assertEquals(3, accepted.size());
+        assertEquals(1, receiptBatchSizes.get(2));
+        assertTrue(failed.isEmpty());
+    }
+
+    @Test
+    public void testFailsAfterPollingAttempts() throws Exception {
+        QueuingTransactionReceiptProcessor processor = processor(2, 1, 100);
+        processor.waitForTransactionReceipt("0x01");
+
+        processor.sendTransactionReceiptRequests();
+        processor.sendTransactionReceiptRequests();
+
+        assertEquals(1, failed.size());
+        assertTrue(failed.get(0) instanceof TransactionException);
+        assertEquals("0x01", ((TransactionException) failed.get(0)).getTransactionHash().get());
+    }
+
+    @Test
+    public void testScansBlockReceiptsWhenManyTransactionsArePending() throws Exception {
+        QueuingTransactionReceiptProcessor processor = processor(10, 10, 2);
+        processor.waitForTransactionReceipt("0x01");
+        processor.waitForTransactionReceipt("0x02");
+
+        // block scanning starts at the current head, pending transactions are polled by hash once
+        processor.sendTransactionReceiptRequests();
+        assertEquals(2, polledHashes.size());
+
+        processor.waitForTransactionReceipt("0x03");
+        blocks.put(11L, Collections.singletonList(receipt("0x03")));
+        blocks.put(12L, Collections.singletonList(receipt("0x01")));
+        latestBlock = 12;
+        polledHashes.clear();
+
+        processor.sendTransactionReceiptRequests();
+
+        assertEquals(2, accepted.size());
+        assertTrue(polledHashes.isEmpty());
+        assertTrue(failed.isEmpty());
+    }
+
+    @Test
+    public void testPollsTransactionMinedInScannedBlockByHash() throws Exception {
+        QueuingTransactionReceiptProcessor processor = processor(10, 10, 2);
+        processor.waitForTransactionReceipt("0x01");
+        processor.waitForTransactionReceipt("0x02");
+        processor.sendTransactionReceiptRequests();
+
+        blocks.put(11L, Collections.singletonList(receipt("0x03")));
+        minedReceipts.put("0x03", receipt("0x03"));
+        latestBlock = 11;
+        processor.sendTransactionReceiptRequests();
+
+        // queued only after the block it was mined in had been scanned
+        processor.waitForTransactionReceipt("0x03");
+        polledHashes.clear();
+        processor.sendTransactionReceiptRequests();
+
+        assertEquals(Collections.singletonList("0x03"), polledHashes);
+        assertEquals(1, accepted.size());
+        assertEquals("0x03", accepted.get(0).getTransactionHash());
+        processor.sendTransactionReceiptRequests();
+        assertTrue(failed.isEmpty());
+    }
+
+    @Test
+    public void testFallsBackToHashPollingWithoutBlockReceipts() throws Exception {
+        blockReceiptsSupported = false;
+        QueuingTransactionReceiptProcessor processor = processor(10, 10, 1);
+        processor.waitForTransactionReceipt("0x01");
+        processor.sendTransactionReceiptRequests();
+
+        processor.waitForTransactionReceipt("0x02");
+        minedReceipts.put("0x02", receipt("0x02"));
+        latestBlock = 11;
+        polledHashes.clear();
+
+        processor.sendTransactionReceiptRequests();
+
+        assertEquals(1, accepted.size());
+        assertEquals("0x02", accepted.get(0).getTransactionHash());
+        assertTrue(polledHashes.contains("0x02"));
+        assertTrue(failed.isEmpty());
+    }
+
+    private QueuingTransactionReceiptProcessor processor(
+            int batchSize, int attempts, int blockReceiptsThreshold) {
+        return new QueuingTransactionReceiptProcessor(
+                web3j, callback, attempts, POLLING_FREQUENCY, batchSize, blockReceiptsThreshold);
+    }
+
+    private static TransactionReceipt receipt(String transactionHash) {
+        TransactionReceipt receipt = new TransactionReceipt();
+        receipt.setTransactionHash(transactionHash);
+        return receipt;
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx.response;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.Flowable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthGetBlockReceipts;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TransactionReceiptWatcherTest {
+
+    private final Web3jService web3jService = mock(Web3jService.class);
+    private final Web3j web3j = Web3j.build(web3jService);
+
+    private final Map<String, TransactionReceipt> minedReceipts = new ConcurrentHashMap<>();
+    private final Map<Long, List<TransactionReceipt>> blocks = new ConcurrentHashMap<>();
+    private final AtomicInteger blockReceiptRequests = new AtomicInteger();
+
+    private volatile boolean blockReceiptsSupported = true;
+
+    private TransactionReceiptWatcher watcher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        when(web3jService.subscribe(any(Request.class), anyString(), any(Class.class)))
+                .thenReturn(Flowable.never());
+        when(web3jService.sendAsync(any(Request.class), eq(EthGetTransactionReceipt.class)))
+                .thenAnswer(
+                        invocation -> {
+                            Request<?, ?> request = invocation.getArgument(0);
+                            return CompletableFuture.completedFuture(
+                                    receiptResponse((String) request.getParams().get(0)));
+                        });
+        when(web3jService.sendBatch(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest = invocation.getArgument(0);
+                            List<Response<?>> responses = new ArrayList<>();
+                            for (Request<?, ?> request : batchRequest.getRequests()) {
+                                String param = (String) request.getParams().get(0);
+                                if ("eth_getTransactionReceipt".equals(request.getMethod())) {
+                                    responses.add(receiptResponse(param));
+                                } else {
+                                    blockReceiptRequests.incrementAndGet();
+                                    responses.add(blockReceiptsResponse(Long.decode(param)));
+                                }
+                            }
+                            return new BatchResponse(batchRequest.getRequests(), responses);
+                        });
+
+        watcher = new TransactionReceiptWatcher(web3j, Runnable::run);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        watcher.close();
+    }
+
+    @Test
+    public void testCompletesWatchersFromBlockReceipts() throws Exception {
+        CompletableFuture<TransactionReceipt> first = watcher.watch("0x01");
+        CompletableFuture<TransactionReceipt> second = watcher.watch("0x02");
+        assertEquals(2, watcher.getWatchedCount());
+
+        blocks.put(5L, Arrays.asList(receipt("0x03"), receipt("0x01")));
+        watcher.onNewHead(5);
+
+        assertEquals("0x01", first.get().getTransactionHash());
+        assertFalse(second.isDone());
+        assertEquals(1, watcher.getWatchedCount());
+
+        blocks.put(6L, Collections.singletonList(receipt("0x02")));
+        blocks.put(7L, Collections.emptyList());
+        watcher.onNewHead(7);
+
+        assertEquals("0x02", second.get().getTransactionHash());
+        assertEquals(0, watcher.getWatchedCount());
+        assertEquals(3, blockReceiptRequests.get());
+    }
+
+    @Test
+    public void testCompletesTransactionsMinedBeforeWatching() throws Exception {
+        minedReceipts.put("0x01", receipt("0x01"));
+
+        CompletableFuture<TransactionReceipt> future = watcher.watch("0x01");
+
+        assertEquals("0x01", future.get().getTransactionHash());
+        assertEquals(0, watcher.getWatchedCount());
+    }
+
+    @Test
+    public void testCompletesTransactionsMinedBeforeFirstHead() throws Exception {
+        CompletableFuture<TransactionReceipt> future = watcher.watch("0x01");
+        assertFalse(future.isDone());
+
+        minedReceipts.put("0x01", receipt("0x01"));
+        blocks.put(5L, Collections.emptyList());
+        watcher.onNewHead(5);
+
+        assertEquals("0x01", future.get().getTransactionHash());
+    }
+
+    @Test
+    public void testSharesFutureForSameTransaction() {
+        assertTrue(watcher.watch("0xAB") == watcher.watch("0xab"));
+        assertEquals(1, watcher.getWatchedCount());
+    }
+
+    @Test
+    public void testFallsBackToReceiptQueriesWithoutBlockReceipts() throws Exception {
+        blockReceiptsSupported = false;
+        CompletableFuture<TransactionReceipt> future = watcher.watch("0x01");
+
+        watcher.onNewHead(5);
+        assertFalse(future.isDone());
+
+        minedReceipts.put("0x01", receipt("0x01"));
+        watcher.onNewHead(6);
+
+        assertEquals("0x01", future.get().getTransactionHash());
+        assertEquals(1, blockReceiptRequests.get());
+    }
+
+    @Test
+    public void testCloseFailsWatchers() {
+        CompletableFuture<TransactionReceipt> future = watcher.watch("0x01");
+        watcher.close();
+
+        assertTrue(future.isCompletedExceptionally());
+        assertTrue(watcher.watch("0x02").isCompletedExceptionally());
+    }
+
+    private EthGetTransactionReceipt receiptResponse(String transactionHash) {
+        EthGetTransactionReceipt response = new EthGetTransactionReceipt();
+        response.setResult(minedReceipts.get(transactionHash));
+        return response;
+    }
+
+    private EthGetBlockReceipts blockReceiptsResponse(long block) {
+        EthGetBlockReceipts response = new EthGetBlockReceipts();
+        if (!blockReceiptsSupported) {
+            response.setError(new Response.Error(-32601, "Method not found"));
+        } else {
+            response.setResult(blocks.get(block));
+        }
+        return response;
+    }
+
+    private static TransactionReceipt receipt(String transactionHash) {
+        TransactionReceipt receipt = new TransactionReceipt();
+        receipt.setTransactionHash(transactionHash);
+        return receipt;
+    }
+}
@@ -12,12 +12,22 @@
  */
 package org.web3j.utils;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class AsyncTest {
 
@@ -39,4 +49,51 @@ public class AsyncTest {
                             .get();
                 });
     }
+
+    @Test
+    public void testRunRecordsMetrics() throws Exception {
+        long completed = Async.getMetrics().getCompletedTasks();
+        long recorded = Async.getMetrics().getTaskLatencyMicros().getCount();
+
+        Async.run(() -> "").get();
+
+        assertTrue(Async.getMetrics().getCompletedTasks() > completed);
+        assertTrue(Async.getMetrics().getTaskLatencyMicros().getCount() > recorded);
+    }
+
+    @Test
+    public void testRunRejectedByBoundedExecutor() throws Exception {
+        ExecutorService previous = Async.getExecutorService();
+        ExecutorService bounded = Async.newBoundedExecutorService(1, 1);
+        CountDownLatch latch = new CountDownLatch(1);
+        try {
+            Async.setExecutorService(bounded);
+            long rejected = Async.getMetrics().getRejectedTasks();
+
+            CompletableFuture<Boolean> running = Async.run(() -> latch.await(5, TimeUnit.SECONDS));
+            CompletableFuture<Boolean> queued = Async.run(() -> true);
+            CompletableFuture<Boolean> overflow = Async.run(() -> true);
+
+            ExecutionException exception = assertThrows(ExecutionException.class, overflow::get);
+            assertTrue(exception.getCause() instanceof RejectedExecutionException);
+            assertEquals(rejected + 1, Async.getMetrics().getRejectedTasks());
+
+            latch.countDown();
+            assertTrue(running.get());
+            assertTrue(queued.get());
+        } finally {
+            latch.countDown();
+            Async.setExecutorService(previous);
+            bounded.shutdown();
+        }
+    }
+
+    @Test
+    public void testSharedExecutorServiceIsReused() {
+        ScheduledExecutorService shared = Async.sharedExecutorService();
+
+        assertSame(shared, Async.sharedExecutorService());
+        assertTrue(Async.isSharedExecutorService(shared));
+        assertFalse(Async.isSharedExecutorService(Executors.newSingleThreadScheduledExecutor()));
+    }
 }
@@ -123,22 +123,30 @@ public class Keys {
      * @return hex encoded checksum address
      */
     public static String toChecksumAddress(String address) {
-        String lowercaseAddress = Numeric.cleanHexPrefix(address).toLowerCase();
-        String addressHash = Numeric.cleanHexPrefix(Hash.sha3String(lowercaseAddress));
-
-        StringBuilder result = new StringBuilder(lowercaseAddress.length() + 2);
-
-        result.append("0x");
+        int start = Numeric.containsHexPrefix(address) ? 2 : 0;
+        int length = address.length() - start;
+
+        // the lower case hex digits are hashed as ASCII, and the result is written after "0x"
+        byte[] lowercaseAddress = new byte[length];
+        char[] result = new char[length + 2];
+        result[0] = '0';
+        result[1] = 'x';
+        for (int i = 0; i < length; i++) {
+            char c = Character.toLowerCase(address.charAt(start + i));
+            lowercaseAddress[i] = (byte) c;
+            result[i + 2] = c;
+        }
 
-        for (int i = 0; i < lowercaseAddress.length(); i++) {
-            if (Integer.parseInt(String.valueOf(addressHash.charAt(i)), 16) >= 8) {
-                result.append(String.valueOf(lowercaseAddress.charAt(i)).toUpperCase());
-            } else {
-                result.append(lowercaseAddress.charAt(i));
+        byte[] addressHash = Hash.sha3(lowercaseAddress);
+        for (int i = 0; i < length; i++) {
+            // the i-th hex digit of the hash is the high nibble of its byte for even i
+            int nibble = (addressHash[i >> 1] >> ((i & 1) == 0 ? 4 : 0)) & 0x0F;
+            if (nibble >= 8) {
+                result[i + 2] = Character.toUpperCase(result[i + 2]);
             }
         }
 
-        return result.toString();
+        return new String(result);
     }
 
     public static byte[] serialize(ECKeyPair ecKeyPair) {
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.crypto;
+
+import java.nio.ByteBuffer;
+import java.security.SignatureException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.bouncycastle.math.ec.ECPoint;
+
+import org.web3j.utils.Numeric;
+
+import static org.web3j.utils.Assertions.verifyPrecondition;
+
+/**
+ * Recovers the senders of signed transactions, spreading batches over a fork-join pool.
+ *
+ * <p>Senders recovered from encoded transactions are kept in a least recently used cache keyed by
+ * transaction hash, so that a transaction seen again, for instance first in the transaction pool
+ * and then in a block, is neither decoded nor recovered twice.
+ */
+public class SenderRecovery {
+
+    // Batches are split until a task has at most this many signatures to recover
+    private static final int TASK_SIZE = 8;
+
+    private final ForkJoinPool pool;
+    private final Map<ByteBuffer, String> senders;
+
+    /**
+     * Recover senders on the common fork-join pool.
+     *
+     * @param cacheSize number of transaction senders to cache
+     */
+    public SenderRecovery(int cacheSize) {
+        this(ForkJoinPool.commonPool(), cacheSize);
+    }
+
+    /**
+     * Recover senders on the given pool.
+     *
+     * @param pool pool to recover batches on
+     * @param cacheSize number of transaction senders to cache
+     */
+    public SenderRecovery(ForkJoinPool pool, int cacheSize) {
+        this.pool = pool;
+        this.senders =
+                Collections.synchronizedMap(
+                        new LinkedHashMap<ByteBuffer, String>(16, 0.75f, true) {
+                            @Override
+                            protected boolean removeEldestEntry(
+                                    Map.Entry<ByteBuffer, String> eldest) {
+                                return size() > cacheSize;
+                            }
+                        });
+    }
+
+    /**
+     * Recover the sender of an encoded transaction.
+     *
+     * @param signedTransaction hex encoded signed transaction
+     * @return the sender address
+     * @throws SignatureException if the transaction is not signed or the sender could not be
+     *     recovered
+     */
+    public String recoverSender(String signedTransaction) throws SignatureException {
+        byte[] encoded = Numeric.hexStringToByteArray(signedTransaction);
+        ByteBuffer transactionHash = ByteBuffer.wrap(Hash.sha3(encoded));
+
+        String sender = senders.get(transactionHash);
+        if (sender == null) {
+            RawTransaction transaction = TransactionDecoder.decode(encoded);
+            if (!(transaction instanceof SignedRawTransaction)) {
+                throw new SignatureException("Transaction is not signed");
+            }
+            sender = recoverSender((SignedRawTransaction) transaction);
+            senders.put(transactionHash, sender);
+        }
+        return sender;
+    }
+
+    /**
+     * Recover the senders of encoded transactions.
+     *
+     * @param signedTransactions hex encoded signed transactions
+     * @return the sender addresses, in the order of the transactions
+     * @throws SignatureException if a transaction is not signed or its sender could not be
+     *     recovered
+     */
+    public List<String> recoverSenders(List<String> signedTransactions) throws SignatureException {
+        return recoverAll(signedTransactions.size(), i -> recoverSender(signedTransactions.get(i)));
+    }
+
+    /**
+     * Recover the senders of decoded transactions, as {@link SignatureDataOperations#getFrom()}
+     * does. Decoded transactions do not carry their hash and are not cached.
+     *
+     * @param transactions signed transactions
+     * @return the sender addresses, in the order of the transactions
+     * @throws SignatureException if the sender of a transaction could not be recovered
+     */
+    public List<String> recoverDecodedSenders(List<? extends SignatureDataOperations> transactions)
+            throws SignatureException {
+        return recoverAll(transactions.size(), i -> recoverSender(transactions.get(i)));
+    }
+
+    /**
+     * Recover the addresses that signed message hashes.
+     *
+     * @param messageHashes the signed hashes
+     * @param signatures the signature of each hash, with a v of 27 or 28
+     * @return the signer addresses, in the order of the hashes
+     * @throws SignatureException if a signer could not be recovered
+     */
+    public List<String> recoverAddresses(
+            List<byte[]> messageHashes, List<Sign.SignatureData> signatures)
+            throws SignatureException {
+        verifyPrecondition(
+                messageHashes.size() == signatures.size(),
+                "Each message hash requires a signature");
+        return recoverAll(
+                messageHashes.size(), i -> recoverAddress(messageHashes.get(i), signatures.get(i)));
+    }
+
+    private static String recoverSender(SignatureDataOperations transaction)
+            throws SignatureException {
+        byte[] encodedTransaction = transaction.getEncodedTransaction(transaction.getChainId());
+        Sign.SignatureData signatureData = transaction.getSignatureData();
+        Sign.SignatureData signatureDataV =
+                new Sign.SignatureData(
+                        transaction.getRealV(Numeric.toBigInt(signatureData.getV())),
+                        signatureData.getR(),
+                        signatureData.getS());
+        return recoverAddress(Hash.sha3(encodedTransaction), signatureDataV);
+    }
+
+    private static String recoverAddress(byte[] messageHash, Sign.SignatureData signatureData)
+            throws SignatureException {
+        ECPoint key = Sign.signedMessageHashToPoint(messageHash, signatureData);
+        // hash the encoded point without its prefix, and keep the right most 160 bits
+        byte[] encoded = key.getEncoded(false);
+        byte[] hash = Hash.sha3(encoded, 1, encoded.length - 1);
+        return Numeric.toHexString(hash, hash.length - 20, 20, true);
+    }
+
+    private List<String> recoverAll(int count, Recovery recovery) throws SignatureException {
+        String[] recovered = new String[count];
+        SignatureException[] failures = new SignatureException[count];
+        pool.invoke(new RecoveryTask(recovery, recovered, failures, 0, count));
+
+        for (SignatureException failure : failures) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+        return Arrays.asList(recovered);
+    }
+
+    private interface Recovery {
+        String recover(int index) throws SignatureException;
+    }
+
+    private static class RecoveryTask extends RecursiveAction {
+        private final Recovery recovery;
+        private final String[] recovered;
+        private final SignatureException[] failures;
+        private final int from;
+        private final int to;
+
+        RecoveryTask(
+                Recovery recovery,
+                String[] recovered,
+                SignatureException[] failures,
+                int from,
+                int to) {
+            this.recovery = recovery;
+            this.recovered = recovered;
+            this.failures = failures;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= TASK_SIZE) {
+                for (int i = from; i < to; i++) {
+                    try {
+                        recovered[i] = recovery.recover(i);
+                    } catch (SignatureException e) {
+                        failures[i] = e;
+                    }
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(
+                        new RecoveryTask(recovery, recovered, failures, from, middle),
+                        new RecoveryTask(recovery, recovered, failures, middle, to));
+            }
+        }
+    }
+}
@@ -20,11 +20,15 @@ import java.util.Arrays;
 
 import org.bouncycastle.asn1.x9.X9ECParameters;
 import org.bouncycastle.asn1.x9.X9IntegerConverter;
+import org.bouncycastle.crypto.digests.SHA256Digest;
 import org.bouncycastle.crypto.ec.CustomNamedCurves;
 import org.bouncycastle.crypto.params.ECDomainParameters;
+import org.bouncycastle.crypto.signers.HMacDSAKCalculator;
 import org.bouncycastle.math.ec.ECAlgorithms;
+import org.bouncycastle.math.ec.ECMultiplier;
 import org.bouncycastle.math.ec.ECPoint;
 import org.bouncycastle.math.ec.FixedPointCombMultiplier;
+import org.bouncycastle.math.ec.FixedPointUtil;
 import org.bouncycastle.math.ec.custom.sec.SecP256K1Curve;
 
 import org.web3j.utils.Numeric;
@@ -56,6 +60,13 @@ public class Sign {
                     CURVE_PARAMS.getH());
     static final BigInteger HALF_CURVE_ORDER = CURVE_PARAMS.getN().shiftRight(1);
 
+    // Multiplications of the generator use a comb table, built once here rather than on first use
+    private static final ECMultiplier BASE_POINT_MULTIPLIER = new FixedPointCombMultiplier();
+
+    static {
+        FixedPointUtil.precompute(CURVE.getG());
+    }
+
     static final String MESSAGE_PREFIX = "\u0019Ethereum Signed Message:\n";
 
     static byte[] getEthereumMessagePrefix(int messageLength) {
@@ -91,7 +102,6 @@ public class Sign {
     }
 
     public static SignatureData signMessage(byte[] message, ECKeyPair keyPair, boolean needToHash) {
-        BigInteger publicKey = keyPair.getPublicKey();
         byte[] messageHash;
         if (needToHash) {
             messageHash = Hash.sha3(message);
@@ -99,9 +109,62 @@ public class Sign {
             messageHash = message;
         }
 
-        ECDSASignature sig = keyPair.sign(messageHash);
+        return signMessageHash(messageHash, keyPair.getPrivateKey());
+    }
 
-        return createSignatureData(sig, publicKey, messageHash);
+    /**
+     * Sign a message hash, without EIP-155 replay protection.
+     *
+     * <p>The signature is the deterministic RFC 6979 signature that {@link ECKeyPair#sign}
+     * produces. Its recovery id is read from the point kG computed while signing: the parity of its
+     * y coordinate and whether its x coordinate exceeds the curve order. Unlike {@link
+     * #createSignatureData}, no public key has to be recovered to find it.
+     *
+     * @param messageHash the hash to sign
+     * @param privateKey the private key to sign with
+     * @return the signature, with v set from the recovery id
+     */
+    public static SignatureData signMessageHash(byte[] messageHash, BigInteger privateKey) {
+        BigInteger n = CURVE.getN();
+        BigInteger d = CURVE.validatePrivateScalar(privateKey);
+        BigInteger e = hashToInteger(messageHash, n);
+
+        HMacDSAKCalculator kCalculator = new HMacDSAKCalculator(new SHA256Digest());
+        kCalculator.init(n, d, messageHash);
+        while (true) {
+            BigInteger k = kCalculator.nextK();
+            ECPoint p = BASE_POINT_MULTIPLIER.multiply(CURVE.getG(), k).normalize();
+            BigInteger x = p.getAffineXCoord().toBigInteger();
+            BigInteger r = x.mod(n);
+            if (r.signum() == 0) {
+                continue;
+            }
+            BigInteger s = k.modInverse(n).multiply(e.add(d.multiply(r))).mod(n);
+            if (s.signum() == 0) {
+                continue;
+            }
+
+            int recId = p.getAffineYCoord().testBitZero() ? 1 : 0;
+            if (x.compareTo(n) >= 0) {
+                recId |= 2;
+            }
+            if (s.compareTo(HALF_CURVE_ORDER) > 0) {
+                // (r, n - s) is the signature of the point -kG, whose y coordinate is mirrored
+                s = n.subtract(s);
+                recId ^= 1;
+            }
+            return new SignatureData(
+                    getVFromRecId(recId),
+                    Numeric.toBytesPadded(r, 32),
+                    Numeric.toBytesPadded(s, 32));
+        }
+    }
+
+    /** Leftmost bits of the hash, as many as the curve order has, as in SEC1 section 4.1.3. */
+    private static BigInteger hashToInteger(byte[] messageHash, BigInteger n) {
+        int excessBits = messageHash.length * 8 - n.bitLength();
+        BigInteger e = new BigInteger(1, messageHash);
+        return excessBits > 0 ? e.shiftRight(excessBits) : e;
     }
 
     /**
@@ -157,6 +220,22 @@ public class Sign {
      * @return An ECKey containing only the public part, or null if recovery wasn't possible.
      */
     public static BigInteger recoverFromSignature(int recId, ECDSASignature sig, byte[] message) {
+        ECPoint q = recoverPointFromSignature(recId, sig, message);
+        if (q == null) {
+            return null;
+        }
+
+        byte[] qBytes = q.getEncoded(false);
+        // We remove the prefix
+        return new BigInteger(1, Arrays.copyOfRange(qBytes, 1, qBytes.length));
+    }
+
+    /**
+     * Recover the public key point of a signature, as {@link #recoverFromSignature} does.
+     *
+     * @return the public key point, or null if recovery wasn't possible
+     */
+    static ECPoint recoverPointFromSignature(int recId, ECDSASignature sig, byte[] message) {
         verifyPrecondition(recId >= 0 && recId <= 3, "recId must be in the range of [0, 3]");
         verifyPrecondition(sig.r.signum() >= 0, "r must be positive");
         verifyPrecondition(sig.s.signum() >= 0, "s must be positive");
@@ -184,9 +263,8 @@ public class Sign {
         ECPoint R = decompressKey(x, (recId & 1) == 1);
         //   1.4. If nR != point at infinity, then do another iteration of Step 1 (callers
         //        responsibility).
-        if (!R.multiply(n).isInfinity()) {
-            return null;
-        }
+        //        secp256k1 has a cofactor of 1, so every point of the curve has order n and this
+        //        check, a full point multiplication, cannot fail.
         //   1.5. Compute e from M using Steps 2 and 3 of ECDSA signature verification.
         BigInteger e = new BigInteger(1, message);
         //   1.6. For k from 1 to 2 do the following.   (loop is outside this function via
@@ -207,11 +285,7 @@ public class Sign {
         BigInteger rInv = sig.r.modInverse(n);
         BigInteger srInv = rInv.multiply(sig.s).mod(n);
         BigInteger eInvrInv = rInv.multiply(eInv).mod(n);
-        ECPoint q = ECAlgorithms.sumOfTwoMultiplies(CURVE.getG(), eInvrInv, R, srInv);
-
-        byte[] qBytes = q.getEncoded(false);
-        // We remove the prefix
-        return new BigInteger(1, Arrays.copyOfRange(qBytes, 1, qBytes.length));
+        return ECAlgorithms.sumOfTwoMultiplies(CURVE.getG(), eInvrInv, R, srInv);
     }
 
     /** Decompress a compressed public key (x co-ord and low-bit of y-coord). */
@@ -267,6 +341,16 @@ public class Sign {
      */
     public static BigInteger signedMessageHashToKey(byte[] messageHash, SignatureData signatureData)
             throws SignatureException {
+        byte[] encoded = signedMessageHashToPoint(messageHash, signatureData).getEncoded(false);
+        return publicFromPoint(encoded);
+    }
+
+    /**
+     * Recover the public key point of a signed message hash, as {@link #signedMessageHashToKey}
+     * does.
+     */
+    static ECPoint signedMessageHashToPoint(byte[] messageHash, SignatureData signatureData)
+            throws SignatureException {
 
         byte[] r = signatureData.getR();
         byte[] s = signatureData.getS();
@@ -286,7 +370,7 @@ public class Sign {
                         new BigInteger(1, signatureData.getS()));
 
         int recId = header - 27;
-        BigInteger key = recoverFromSignature(recId, sig, messageHash);
+        ECPoint key = recoverPointFromSignature(recId, sig, messageHash);
         if (key == null) {
             throw new SignatureException("Could not recover public key from signature");
         }
@@ -354,7 +438,7 @@ public class Sign {
         if (privKey.bitLength() > CURVE.getN().bitLength()) {
             privKey = privKey.mod(CURVE.getN());
         }
-        return new FixedPointCombMultiplier().multiply(CURVE.getG(), privKey);
+        return BASE_POINT_MULTIPLIER.multiply(CURVE.getG(), privKey);
     }
 
     /**
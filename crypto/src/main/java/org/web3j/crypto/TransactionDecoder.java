@@ -13,24 +13,22 @@
 package org.web3j.crypto;
 
 import java.math.BigInteger;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.web3j.crypto.transaction.type.TransactionType;
-import org.web3j.rlp.RlpDecoder;
-import org.web3j.rlp.RlpList;
-import org.web3j.rlp.RlpString;
-import org.web3j.rlp.RlpType;
+import org.web3j.rlp.RlpView;
 import org.web3j.utils.Numeric;
 
-import static java.util.stream.Collectors.toList;
-
 public class TransactionDecoder {
     private static final int UNSIGNED_EIP1559TX_RLP_LIST_SIZE = 9;
     private static final int UNSIGNED_EIP2930TX_RLP_LIST_SIZE = 8;
 
     public static RawTransaction decode(final String hexTransaction) {
-        final byte[] transaction = Numeric.hexStringToByteArray(hexTransaction);
+        return decode(Numeric.hexStringToByteArray(hexTransaction));
+    }
+
+    public static RawTransaction decode(final byte[] transaction) {
         if (getTransactionType(transaction) == TransactionType.EIP1559) {
             return decodeEIP1559Transaction(transaction);
         } else if (getTransactionType(transaction) == TransactionType.EIP2930) {
@@ -48,22 +46,18 @@ public class TransactionDecoder {
     }
 
     private static RawTransaction decodeEIP1559Transaction(final byte[] transaction) {
-        final byte[] encodedTx = Arrays.copyOfRange(transaction, 1, transaction.length);
-        final RlpList rlpList = RlpDecoder.decode(encodedTx);
-        final RlpList values = (RlpList) rlpList.getValues().get(0);
-
-        final long chainId =
-                ((RlpString) values.getValues().get(0)).asPositiveBigInteger().longValue();
-        final BigInteger nonce = ((RlpString) values.getValues().get(1)).asPositiveBigInteger();
-        final BigInteger maxPriorityFeePerGas =
-                ((RlpString) values.getValues().get(2)).asPositiveBigInteger();
-        final BigInteger maxFeePerGas =
-                ((RlpString) values.getValues().get(3)).asPositiveBigInteger();
-        final BigInteger gasLimit = ((RlpString) values.getValues().get(4)).asPositiveBigInteger();
-        final String to = ((RlpString) values.getValues().get(5)).asString();
-
-        final BigInteger value = ((RlpString) values.getValues().get(6)).asPositiveBigInteger();
-        final String data = ((RlpString) values.getValues().get(7)).asString();
+        // skip the type byte without copying the transaction
+        final RlpView values = RlpView.wrap(transaction, 1, transaction.length - 1);
+
+        final long chainId = values.get(0).asPositiveBigInteger().longValue();
+        final BigInteger nonce = values.get(1).asPositiveBigInteger();
+        final BigInteger maxPriorityFeePerGas = values.get(2).asPositiveBigInteger();
+        final BigInteger maxFeePerGas = values.get(3).asPositiveBigInteger();
+        final BigInteger gasLimit = values.get(4).asPositiveBigInteger();
+        final String to = values.get(5).asString();
+
+        final BigInteger value = values.get(6).asPositiveBigInteger();
+        final String data = values.get(7).asString();
 
         final RawTransaction rawTransaction =
                 RawTransaction.createTransaction(
@@ -76,53 +70,35 @@ public class TransactionDecoder {
                         maxPriorityFeePerGas,
                         maxFeePerGas);
 
-        if (values.getValues().size() == UNSIGNED_EIP1559TX_RLP_LIST_SIZE) {
+        if (values.size() == UNSIGNED_EIP1559TX_RLP_LIST_SIZE) {
             return rawTransaction;
         } else {
-            final byte[] v =
-                    Sign.getVFromRecId(
-                            Numeric.toBigInt(((RlpString) values.getValues().get(9)).getBytes())
-                                    .intValue());
-            final byte[] r =
-                    Numeric.toBytesPadded(
-                            Numeric.toBigInt(((RlpString) values.getValues().get(10)).getBytes()),
-                            32);
-            final byte[] s =
-                    Numeric.toBytesPadded(
-                            Numeric.toBigInt(((RlpString) values.getValues().get(11)).getBytes()),
-                            32);
+            final byte[] v = Sign.getVFromRecId(values.get(9).asPositiveBigInteger().intValue());
+            final byte[] r = Numeric.toBytesPadded(values.get(10).asPositiveBigInteger(), 32);
+            final byte[] s = Numeric.toBytesPadded(values.get(11).asPositiveBigInteger(), 32);
             final Sign.SignatureData signatureData = new Sign.SignatureData(v, r, s);
             return new SignedRawTransaction(rawTransaction.getTransaction(), signatureData);
         }
     }
 
     private static RawTransaction decodeLegacyTransaction(final byte[] transaction) {
-        final RlpList rlpList = RlpDecoder.decode(transaction);
-        final RlpList values = (RlpList) rlpList.getValues().get(0);
-        final BigInteger nonce = ((RlpString) values.getValues().get(0)).asPositiveBigInteger();
-        final BigInteger gasPrice = ((RlpString) values.getValues().get(1)).asPositiveBigInteger();
-        final BigInteger gasLimit = ((RlpString) values.getValues().get(2)).asPositiveBigInteger();
-        final String to = ((RlpString) values.getValues().get(3)).asString();
-        final BigInteger value = ((RlpString) values.getValues().get(4)).asPositiveBigInteger();
-        final String data = ((RlpString) values.getValues().get(5)).asString();
-        if (values.getValues().size() == 6
-                || (values.getValues().size() == 8
-                        && ((RlpString) values.getValues().get(7)).getBytes().length == 10)
-                || (values.getValues().size() == 9
-                        && ((RlpString) values.getValues().get(8)).getBytes().length == 10)) {
+        final RlpView values = RlpView.wrap(transaction);
+        final BigInteger nonce = values.get(0).asPositiveBigInteger();
+        final BigInteger gasPrice = values.get(1).asPositiveBigInteger();
+        final BigInteger gasLimit = values.get(2).asPositiveBigInteger();
+        final String to = values.get(3).asString();
+        final BigInteger value = values.get(4).asPositiveBigInteger();
+        final String data = values.get(5).asString();
+        if (values.size() == 6
+                || (values.size() == 8 && values.get(7).getPayloadLength() == 10)
+                || (values.size() == 9 && values.get(8).getPayloadLength() == 10)) {
             // the 8th or 9nth element is the hex
             // representation of "restricted" for private transactions
             return RawTransaction.createTransaction(nonce, gasPrice, gasLimit, to, value, data);
         } else {
-            final byte[] v = ((RlpString) values.getValues().get(6)).getBytes();
-            final byte[] r =
-                    Numeric.toBytesPadded(
-                            Numeric.toBigInt(((RlpString) values.getValues().get(7)).getBytes()),
-                            32);
-            final byte[] s =
-                    Numeric.toBytesPadded(
-                            Numeric.toBigInt(((RlpString) values.getValues().get(8)).getBytes()),
-                            32);
+            final byte[] v = values.get(6).getBytes();
+            final byte[] r = Numeric.toBytesPadded(values.get(7).asPositiveBigInteger(), 32);
+            final byte[] s = Numeric.toBytesPadded(values.get(8).asPositiveBigInteger(), 32);
             final Sign.SignatureData signatureData = new Sign.SignatureData(v, r, s);
             return new SignedRawTransaction(
                     nonce, gasPrice, gasLimit, to, value, data, signatureData);
@@ -130,57 +106,44 @@ public class TransactionDecoder {
     }
 
     private static RawTransaction decodeEIP2930Transaction(final byte[] transaction) {
-        final byte[] encodedTx = Arrays.copyOfRange(transaction, 1, transaction.length);
-        final RlpList rlpList = RlpDecoder.decode(encodedTx);
-        final RlpList values = (RlpList) rlpList.getValues().get(0);
-
-        final long chainId =
-                ((RlpString) values.getValues().get(0)).asPositiveBigInteger().longValue();
-        final BigInteger nonce = ((RlpString) values.getValues().get(1)).asPositiveBigInteger();
-        final BigInteger gasPrice = ((RlpString) values.getValues().get(2)).asPositiveBigInteger();
-        final BigInteger gasLimit = ((RlpString) values.getValues().get(3)).asPositiveBigInteger();
-        final String to = ((RlpString) values.getValues().get(4)).asString();
-        final BigInteger value = ((RlpString) values.getValues().get(5)).asPositiveBigInteger();
-        final String data = ((RlpString) values.getValues().get(6)).asString();
-        List<AccessListObject> accessList =
-                decodeAccessList(((RlpList) values.getValues().get(7)).getValues());
+        // skip the type byte without copying the transaction
+        final RlpView values = RlpView.wrap(transaction, 1, transaction.length - 1);
+
+        final long chainId = values.get(0).asPositiveBigInteger().longValue();
+        final BigInteger nonce = values.get(1).asPositiveBigInteger();
+        final BigInteger gasPrice = values.get(2).asPositiveBigInteger();
+        final BigInteger gasLimit = values.get(3).asPositiveBigInteger();
+        final String to = values.get(4).asString();
+        final BigInteger value = values.get(5).asPositiveBigInteger();
+        final String data = values.get(6).asString();
+        List<AccessListObject> accessList = decodeAccessList(values.get(7));
 
         final RawTransaction rawTransaction =
                 RawTransaction.createTransaction(
                         chainId, nonce, gasPrice, gasLimit, to, value, data, accessList);
 
-        if (values.getValues().size() == UNSIGNED_EIP2930TX_RLP_LIST_SIZE) {
+        if (values.size() == UNSIGNED_EIP2930TX_RLP_LIST_SIZE) {
             return rawTransaction;
         } else {
-            final byte[] v =
-                    Sign.getVFromRecId(
-                            Numeric.toBigInt(((RlpString) values.getValues().get(8)).getBytes())
-                                    .intValue());
-            final byte[] r =
-                    Numeric.toBytesPadded(
-                            Numeric.toBigInt(((RlpString) values.getValues().get(9)).getBytes()),
-                            32);
-            final byte[] s =
-                    Numeric.toBytesPadded(
-                            Numeric.toBigInt(((RlpString) values.getValues().get(10)).getBytes()),
-                            32);
+            final byte[] v = Sign.getVFromRecId(values.get(8).asPositiveBigInteger().intValue());
+            final byte[] r = Numeric.toBytesPadded(values.get(9).asPositiveBigInteger(), 32);
+            final byte[] s = Numeric.toBytesPadded(values.get(10).asPositiveBigInteger(), 32);
             final Sign.SignatureData signatureData = new Sign.SignatureData(v, r, s);
             return new SignedRawTransaction(rawTransaction.getTransaction(), signatureData);
         }
     }
 
-    private static List<AccessListObject> decodeAccessList(List<RlpType> rlp) {
-        return rlp.stream()
-                .map(rawEntry -> ((RlpList) rawEntry).getValues())
-                .map(
-                        values -> {
-                            return new AccessListObject(
-                                    ((RlpString) values.get(0)).asString(),
-                                    ((RlpList) values.get(1))
-                                            .getValues().stream()
-                                                    .map(rawKey -> ((RlpString) rawKey).asString())
-                                                    .collect(toList()));
-                        })
-                .collect(toList());
+    private static List<AccessListObject> decodeAccessList(RlpView rlp) {
+        List<AccessListObject> accessList = new ArrayList<>(rlp.size());
+        for (int i = 0; i < rlp.size(); i++) {
+            RlpView entry = rlp.get(i);
+            RlpView rawKeys = entry.get(1);
+            List<String> keys = new ArrayList<>(rawKeys.size());
+            for (int j = 0; j < rawKeys.size(); j++) {
+                keys.add(rawKeys.get(j).asString());
+            }
+            accessList.add(new AccessListObject(entry.get(0).asString(), keys));
+        }
+        return accessList;
     }
 }
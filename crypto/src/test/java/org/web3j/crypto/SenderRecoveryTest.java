@@ -0,0 +1,146 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.crypto;
+
+import java.math.BigInteger;
+import java.security.SignatureException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.utils.Numeric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SenderRecoveryTest {
+
+    private static final int TRANSACTIONS = 40;
+
+    private final SenderRecovery senderRecovery = new SenderRecovery(16);
+
+    @Test
+    public void testRecoversSendersOfEncodedTransactions() throws SignatureException {
+        List<String> transactions = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            Credentials credentials = credentials(i);
+            transactions.add(Numeric.toHexString(sign(transaction(i), credentials)));
+            expected.add(credentials.getAddress());
+        }
+
+        assertEquals(expected, senderRecovery.recoverSenders(transactions));
+        // recovered again, partly from the cache
+        assertEquals(expected, senderRecovery.recoverSenders(transactions));
+    }
+
+    @Test
+    public void testRecoversSendersOfDecodedTransactions() throws SignatureException {
+        List<SignedRawTransaction> transactions = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            Credentials credentials = credentials(i);
+            String encoded = Numeric.toHexString(sign(transaction(i), credentials));
+            transactions.add((SignedRawTransaction) TransactionDecoder.decode(encoded));
+            expected.add(credentials.getAddress());
+        }
+
+        assertEquals(expected, senderRecovery.recoverDecodedSenders(transactions));
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            assertEquals(transactions.get(i).getFrom(), expected.get(i));
+        }
+    }
+
+    @Test
+    public void testRecoversSignersOfMessageHashes() throws SignatureException {
+        List<byte[]> messageHashes = new ArrayList<>();
+        List<Sign.SignatureData> signatures = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            Credentials credentials = credentials(i);
+            byte[] messageHash = Hash.sha3(new byte[] {(byte) i});
+            messageHashes.add(messageHash);
+            signatures.add(
+                    Sign.signMessageHash(
+                            messageHash, credentials.getEcKeyPair().getPrivateKey()));
+            expected.add(credentials.getAddress());
+        }
+
+        assertEquals(expected, senderRecovery.recoverAddresses(messageHashes, signatures));
+    }
+
+    @Test
+    public void testRejectsUnsignedTransaction() {
+        String unsigned = Numeric.toHexString(TransactionEncoder.encode(transaction(0)));
+
+        assertThrows(
+                SignatureException.class,
+                () -> senderRecovery.recoverSenders(Collections.singletonList(unsigned)));
+    }
+
+    @Test
+    public void testRejectsInvalidSignature() {
+        Sign.SignatureData invalid =
+                new Sign.SignatureData((byte) 26, new byte[32], new byte[32]);
+
+        assertThrows(
+                SignatureException.class,
+                () ->
+                        senderRecovery.recoverAddresses(
+                                Collections.singletonList(new byte[32]),
+                                Collections.singletonList(invalid)));
+    }
+
+    @Test
+    public void testRequiresASignaturePerHash() {
+        assertThrows(
+                RuntimeException.class,
+                () ->
+                        senderRecovery.recoverAddresses(
+                                Arrays.asList(new byte[32], new byte[32]),
+                                Collections.emptyList()));
+    }
+
+    private static Credentials credentials(int index) {
+        return Credentials.create(ECKeyPair.create(BigInteger.valueOf(1000 + index)));
+    }
+
+    private static RawTransaction transaction(int index) {
+        if (index % 2 == 0) {
+            return RawTransaction.createEtherTransaction(
+                    BigInteger.valueOf(index),
+                    BigInteger.ONE,
+                    BigInteger.TEN,
+                    "0x0add5355",
+                    BigInteger.valueOf(index));
+        }
+        return RawTransaction.createEtherTransaction(
+                1L,
+                BigInteger.valueOf(index),
+                BigInteger.TEN,
+                "0x0add5355",
+                BigInteger.valueOf(index),
+                BigInteger.ONE,
+                BigInteger.TEN);
+    }
+
+    private static byte[] sign(RawTransaction transaction, Credentials credentials) {
+        if (transaction.getType().isLegacy()) {
+            return TransactionEncoder.signMessage(transaction, 1L, credentials);
+        }
+        return TransactionEncoder.signMessage(transaction, credentials);
+    }
+}
@@ -61,6 +61,32 @@ public class SignTest {
         assertEquals(key, (SampleKeys.PUBLIC_KEY));
     }
 
+    @Test
+    public void testSignMessageHashMatchesRecoveredRecId() throws SignatureException {
+        for (int i = 0; i < 64; i++) {
+            ECKeyPair keyPair = ECKeyPair.create(BigInteger.valueOf(1000 + i));
+            byte[] messageHash = Hash.sha3(new byte[] {(byte) i});
+
+            Sign.SignatureData signatureData =
+                    Sign.signMessageHash(messageHash, keyPair.getPrivateKey());
+
+            assertEquals(
+                    Sign.createSignatureData(
+                            keyPair.sign(messageHash), keyPair.getPublicKey(), messageHash),
+                    signatureData);
+            assertEquals(
+                    keyPair.getPublicKey(),
+                    Sign.signedMessageHashToKey(messageHash, signatureData));
+        }
+    }
+
+    @Test
+    public void testSignMessageHashRejectsInvalidKey() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> Sign.signMessageHash(new byte[32], BigInteger.ZERO));
+    }
+
     @Test
     public void testPublicKeyFromPrivateKey() {
         assertEquals(Sign.publicKeyFromPrivate(SampleKeys.PRIVATE_KEY), (SampleKeys.PUBLIC_KEY));
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.benchmark;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Times an operation against the code path it replaced. The number of warmup and measured rounds
+ * is taken from the {@link BenchmarkOptions} of the benchmark class, and the fastest measured round
+ * is reported.
+ */
+final class Benchmarks {
+
+    private static final Logger log = LoggerFactory.getLogger(Benchmarks.class);
+
+    // keeps the JIT from discarding the results of the timed operations
+    private static volatile Object sink;
+
+    private Benchmarks() {}
+
+    /**
+     * Time two implementations of the same operation and log the results.
+     *
+     * @param benchmark benchmark class carrying the round counts
+     * @param name name of the operation
+     * @param operations operations per round
+     * @param previous the code path before the change
+     * @param current the code path after the change
+     * @return how many times faster the current code path is
+     */
+    static double compare(
+            Class<?> benchmark,
+            String name,
+            int operations,
+            Supplier<?> previous,
+            Supplier<?> current) {
+        BenchmarkOptions options = benchmark.getAnnotation(BenchmarkOptions.class);
+        double previousNanos = time(options, operations, previous);
+        double currentNanos = time(options, operations, current);
+        double speedup = previousNanos / currentNanos;
+        log.info(
+                "{}: {} ns/op before, {} ns/op after, {}x",
+                name,
+                format(previousNanos),
+                format(currentNanos),
+                format(speedup));
+        return speedup;
+    }
+
+    private static double time(BenchmarkOptions options, int operations, Supplier<?> operation) {
+        for (int round = 0; round < options.warmupRounds(); round++) {
+            run(operations, operation);
+        }
+        long fastest = Long.MAX_VALUE;
+        for (int round = 0; round < options.benchmarkRounds(); round++) {
+            fastest = Math.min(fastest, run(operations, operation));
+        }
+        return (double) fastest / operations;
+    }
+
+    private static long run(int operations, Supplier<?> operation) {
+        long start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            sink = operation.get();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+}
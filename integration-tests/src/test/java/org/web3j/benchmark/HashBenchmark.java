@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import org.bouncycastle.jcajce.provider.digest.Keccak;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.Keys;
+import org.web3j.utils.Numeric;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares Keccak hashing with a digest reused by each thread, and checksum addressing on the raw
+ * hash, with the previous code paths.
+ */
+@BenchmarkOptions(warmupRounds = 5, benchmarkRounds = 10)
+public class HashBenchmark {
+
+    private final Random random = new Random(42);
+
+    @Test
+    public void testSha3() {
+        byte[] input = bytes(32);
+        assertArrayEquals(previousSha3(input), Hash.sha3(input));
+
+        Benchmarks.compare(
+                getClass(),
+                "Hash 32 bytes",
+                200_000,
+                () -> previousSha3(input),
+                () -> Hash.sha3(input));
+    }
+
+    @Test
+    public void testSha3IntoArray() {
+        byte[] input = bytes(64);
+        byte[] output = new byte[32];
+        Hash.sha3(input, 0, input.length, output, 0);
+        assertArrayEquals(previousSha3(input), output);
+
+        Benchmarks.compare(
+                getClass(),
+                "Hash 64 bytes into an array",
+                200_000,
+                () -> previousSha3(input),
+                () -> {
+                    Hash.sha3(input, 0, input.length, output, 0);
+                    return output;
+                });
+    }
+
+    @Test
+    public void testChecksumAddress() {
+        String address = Numeric.toHexString(bytes(20));
+        assertEquals(previousToChecksumAddress(address), Keys.toChecksumAddress(address));
+
+        Benchmarks.compare(
+                getClass(),
+                "Checksum an address",
+                200_000,
+                () -> previousToChecksumAddress(address),
+                () -> Keys.toChecksumAddress(address));
+    }
+
+    private byte[] bytes(int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+    // Hash.sha3 before the digest was reused: a JCA digest was built for every hash
+    private static byte[] previousSha3(byte[] input) {
+        Keccak.DigestKeccak kecc = new Keccak.Digest256();
+        kecc.update(input, 0, input.length);
+        return kecc.digest();
+    }
+
+    // Keys.toChecksumAddress before it read the raw hash: the hash was hex encoded, and each digit
+    // parsed from a string of its own. The hash is hex encoded with the current toHexString.
+    private static String previousToChecksumAddress(String address) {
+        String lowercaseAddress = Numeric.cleanHexPrefix(address).toLowerCase();
+        byte[] lowercaseBytes = lowercaseAddress.getBytes(StandardCharsets.UTF_8);
+        String addressHash =
+                Numeric.cleanHexPrefix(Numeric.toHexString(previousSha3(lowercaseBytes)));
+
+        StringBuilder result = new StringBuilder(lowercaseAddress.length() + 2);
+
+        result.append("0x");
+
+        for (int i = 0; i < lowercaseAddress.length(); i++) {
+            if (Integer.parseInt(String.valueOf(addressHash.charAt(i)), 16) >= 8) {
+                result.append(String.valueOf(lowercaseAddress.charAt(i)).toUpperCase());
+            } else {
+                result.append(lowercaseAddress.charAt(i));
+            }
+        }
+
+        return result.toString();
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.rlp.RlpEncoder;
+import org.web3j.rlp.RlpList;
+import org.web3j.rlp.RlpString;
+import org.web3j.rlp.RlpType;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/** Compares the single buffer RLP encoder with the previous concatenating one. */
+@BenchmarkOptions(warmupRounds = 5, benchmarkRounds = 10)
+public class RlpEncoderBenchmark {
+
+    private final Random random = new Random(42);
+
+    @Test
+    public void testTransaction() {
+        List<RlpType> fields = new ArrayList<>();
+        fields.add(RlpString.create(7));
+        fields.add(RlpString.create(20_000_000_000L));
+        fields.add(RlpString.create(21_000));
+        fields.add(RlpString.create(randomBytes(20)));
+        fields.add(RlpString.create(1_000_000_000_000_000_000L));
+        fields.add(RlpString.create(randomBytes(68)));
+        fields.add(RlpString.create(27));
+        fields.add(RlpString.create(randomBytes(32)));
+        fields.add(RlpString.create(randomBytes(32)));
+
+        compare("Encode a legacy transaction", 200_000, new RlpList(fields));
+    }
+
+    @Test
+    public void testLongList() {
+        List<RlpType> values = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            values.add(RlpString.create(randomBytes(32)));
+        }
+
+        compare("Encode a list of 1000 hashes", 2_000, new RlpList(values));
+    }
+
+    @Test
+    public void testNestedLists() {
+        List<RlpType> values = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            List<RlpType> storageKeys = new ArrayList<>();
+            for (int j = 0; j < 10; j++) {
+                storageKeys.add(RlpString.create(randomBytes(32)));
+            }
+            values.add(
+                    new RlpList(RlpString.create(randomBytes(20)), new RlpList(storageKeys)));
+        }
+
+        compare("Encode an access list of 100 entries", 2_000, new RlpList(values));
+    }
+
+    private void compare(String name, int operations, RlpType value) {
+        assertArrayEquals(PreviousRlpEncoder.encode(value), RlpEncoder.encode(value));
+        Benchmarks.compare(
+                getClass(),
+                name,
+                operations,
+                () -> PreviousRlpEncoder.encode(value),
+                () -> RlpEncoder.encode(value));
+    }
+
+    private byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+    /** The encoder before the single buffer rewrite, which concatenated list entries. */
+    private static class PreviousRlpEncoder {
+
+        private static final int OFFSET_SHORT_STRING = 0x80;
+        private static final int OFFSET_SHORT_LIST = 0xc0;
+
+        static byte[] encode(RlpType value) {
+            if (value instanceof RlpString) {
+                return encode(((RlpString) value).getBytes(), OFFSET_SHORT_STRING);
+            } else {
+                return encodeList((RlpList) value);
+            }
+        }
+
+        private static byte[] encode(byte[] bytesValue, int offset) {
+            if (bytesValue.length == 1
+                    && offset == OFFSET_SHORT_STRING
+                    && bytesValue[0] >= (byte) 0x00
+                    && bytesValue[0] <= (byte) 0x7f) {
+                return bytesValue;
+            } else if (bytesValue.length <= 55) {
+                byte[] result = new byte[bytesValue.length + 1];
+                result[0] = (byte) (offset + bytesValue.length);
+                System.arraycopy(bytesValue, 0, result, 1, bytesValue.length);
+                return result;
+            } else {
+                byte[] encodedStringLength = toMinimalByteArray(bytesValue.length);
+                byte[] result = new byte[bytesValue.length + encodedStringLength.length + 1];
+
+                result[0] = (byte) ((offset + 0x37) + encodedStringLength.length);
+                System.arraycopy(encodedStringLength, 0, result, 1, encodedStringLength.length);
+                System.arraycopy(
+                        bytesValue, 0, result, encodedStringLength.length + 1, bytesValue.length);
+                return result;
+            }
+        }
+
+        private static byte[] toMinimalByteArray(int value) {
+            byte[] encoded = {
+                (byte) ((value >> 24) & 0xff),
+                (byte) ((value >> 16) & 0xff),
+                (byte) ((value >> 8) & 0xff),
+                (byte) (value & 0xff)
+            };
+            for (int i = 0; i < encoded.length; i++) {
+                if (encoded[i] != 0) {
+                    return Arrays.copyOfRange(encoded, i, encoded.length);
+                }
+            }
+            return new byte[] {};
+        }
+
+        private static byte[] encodeList(RlpList value) {
+            List<RlpType> values = value.getValues();
+            if (values.isEmpty()) {
+                return encode(new byte[] {}, OFFSET_SHORT_LIST);
+            }
+            byte[] result = new byte[0];
+            for (RlpType entry : values) {
+                byte[] encoded = encode(entry);
+                byte[] concatenated = Arrays.copyOf(result, result.length + encoded.length);
+                System.arraycopy(encoded, 0, concatenated, result.length, encoded.length);
+                result = concatenated;
+            }
+            return encode(result, OFFSET_SHORT_LIST);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.benchmark;
+
+import java.math.BigInteger;
+import java.security.SignatureException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import org.bouncycastle.math.ec.ECPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.ECKeyPair;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.SenderRecovery;
+import org.web3j.crypto.Sign;
+import org.web3j.crypto.SignedRawTransaction;
+import org.web3j.crypto.TransactionDecoder;
+import org.web3j.crypto.TransactionEncoder;
+import org.web3j.utils.Numeric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares batch sender recovery with the previous decoding and recovery of one transaction at a
+ * time. The batches run on a single thread, so the parallel speed up is not part of the results.
+ */
+@BenchmarkOptions(warmupRounds = 5, benchmarkRounds = 10)
+public class SenderRecoveryBenchmark {
+
+    private static final int TRANSACTIONS = 64;
+
+    private final List<String> transactions = new ArrayList<>();
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    public void setUp() {
+        pool = new ForkJoinPool(1);
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            Credentials credentials =
+                    Credentials.create(ECKeyPair.create(BigInteger.valueOf(i + 1)));
+            RawTransaction transaction =
+                    RawTransaction.createEtherTransaction(
+                            BigInteger.valueOf(i),
+                            BigInteger.ONE,
+                            BigInteger.valueOf(21_000),
+                            "0x0add5355",
+                            BigInteger.valueOf(i));
+            transactions.add(
+                    Numeric.toHexString(
+                            TransactionEncoder.signMessage(transaction, 1L, credentials)));
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testRecoverSenders() throws SignatureException {
+        SenderRecovery senderRecovery = new SenderRecovery(pool, 0);
+        assertEquals(
+                previousRecoverSenders(transactions), senderRecovery.recoverSenders(transactions));
+
+        Benchmarks.compare(
+                getClass(),
+                "Recover the senders of " + TRANSACTIONS + " transactions",
+                20,
+                () -> previousRecoverSenders(transactions),
+                () -> recoverSenders(senderRecovery, transactions));
+    }
+
+    @Test
+    public void testRecoverCachedSenders() throws SignatureException {
+        SenderRecovery senderRecovery = new SenderRecovery(pool, TRANSACTIONS);
+        assertEquals(
+                previousRecoverSenders(transactions), senderRecovery.recoverSenders(transactions));
+
+        Benchmarks.compare(
+                getClass(),
+                "Recover the senders of " + TRANSACTIONS + " transactions seen before",
+                20,
+                () -> previousRecoverSenders(transactions),
+                () -> recoverSenders(senderRecovery, transactions));
+    }
+
+    private static List<String> recoverSenders(
+            SenderRecovery senderRecovery, List<String> transactions) {
+        try {
+            return senderRecovery.recoverSenders(transactions);
+        } catch (SignatureException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // recovery before SenderRecovery: each transaction is decoded and its sender recovered in
+    // turn, and key recovery checked that nR is the point at infinity
+    private static List<String> previousRecoverSenders(List<String> transactions) {
+        List<String> senders = new ArrayList<>(transactions.size());
+        try {
+            for (String encoded : transactions) {
+                SignedRawTransaction transaction =
+                        (SignedRawTransaction) TransactionDecoder.decode(encoded);
+                checkOrder(transaction);
+                senders.add(transaction.getFrom());
+            }
+        } catch (SignatureException e) {
+            throw new IllegalStateException(e);
+        }
+        return senders;
+    }
+
+    private static void checkOrder(SignedRawTransaction transaction) {
+        Sign.SignatureData signatureData = transaction.getSignatureData();
+        int recId = transaction.getRealV(Numeric.toBigInt(signatureData.getV())) - 27;
+        byte[] compressed = new byte[33];
+        compressed[0] = (byte) (0x02 | (recId & 1));
+        System.arraycopy(signatureData.getR(), 0, compressed, 1, 32);
+        ECPoint r = Sign.CURVE_PARAMS.getCurve().decodePoint(compressed);
+        if (!r.multiply(Sign.CURVE_PARAMS.getN()).isInfinity()) {
+            throw new IllegalStateException("Signature point is not of order n");
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.benchmark;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.crypto.ECKeyPair;
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.Keys;
+import org.web3j.crypto.Sign;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares signing with the recovery id taken from the signing nonce with the previous search over
+ * the candidate recovery ids.
+ */
+@BenchmarkOptions(warmupRounds = 5, benchmarkRounds = 10)
+public class SignBenchmark {
+
+    private static final int HASHES = 64;
+
+    @Test
+    public void testSignMessageHash() throws Exception {
+        ECKeyPair keyPair = Keys.createEcKeyPair();
+        byte[][] hashes = new byte[HASHES][];
+        for (int i = 0; i < HASHES; i++) {
+            hashes[i] = Hash.sha3(new byte[] {(byte) i});
+            assertEquals(
+                    previousSignMessageHash(hashes[i], keyPair),
+                    Sign.signMessage(hashes[i], keyPair, false));
+        }
+
+        AtomicInteger previous = new AtomicInteger();
+        AtomicInteger current = new AtomicInteger();
+        Benchmarks.compare(
+                getClass(),
+                "Sign a message hash",
+                2_000,
+                () -> previousSignMessageHash(hashes[previous.getAndIncrement() % HASHES], keyPair),
+                () -> Sign.signMessage(hashes[current.getAndIncrement() % HASHES], keyPair, false));
+    }
+
+    // signing before the recovery id was derived from the nonce: the recovery id was found by
+    // recovering the public key for each candidate until one matched
+    private static Sign.SignatureData previousSignMessageHash(byte[] hash, ECKeyPair keyPair) {
+        return Sign.createSignatureData(keyPair.sign(hash), keyPair.getPublicKey(), hash);
+    }
+}
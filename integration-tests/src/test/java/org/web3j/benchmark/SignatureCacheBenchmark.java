@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.benchmark;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.abi.EventEncoder;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Event;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.crypto.Hash;
+import org.web3j.utils.Numeric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares encoding with memoized function selectors and event topics with the previous encoding,
+ * which hashed the signature on every call.
+ */
+@BenchmarkOptions(warmupRounds = 5, benchmarkRounds = 10)
+public class SignatureCacheBenchmark {
+
+    @Test
+    public void testEncodeFunction() {
+        Function function =
+                new Function(
+                        "transfer",
+                        Arrays.<Type>asList(
+                                new Address("0x0add5355"), new Uint256(BigInteger.valueOf(1000))),
+                        Collections.emptyList());
+        assertEquals(previousEncode(function), FunctionEncoder.encode(function));
+
+        Benchmarks.compare(
+                getClass(),
+                "Encode a transfer call",
+                200_000,
+                () -> previousEncode(function),
+                () -> FunctionEncoder.encode(function));
+    }
+
+    @Test
+    public void testEncodeEvent() {
+        Event event =
+                new Event(
+                        "Transfer",
+                        Arrays.asList(
+                                new TypeReference<Address>(true) {},
+                                new TypeReference<Address>(true) {},
+                                new TypeReference<Uint256>() {}));
+        assertEquals(previousEncode(event), EventEncoder.encode(event));
+
+        Benchmarks.compare(
+                getClass(),
+                "Encode the Transfer event topic",
+                200_000,
+                () -> previousEncode(event),
+                () -> EventEncoder.encode(event));
+    }
+
+    // FunctionEncoder.encode before selectors were memoized: the selector was hashed from the
+    // method signature of every call
+    private static String previousEncode(Function function) {
+        List<Type> parameters = function.getInputParameters();
+        StringBuilder signature = new StringBuilder(function.getName()).append('(');
+        for (int i = 0; i < parameters.size(); i++) {
+            if (i > 0) {
+                signature.append(',');
+            }
+            signature.append(parameters.get(i).getTypeAsString());
+        }
+        signature.append(')');
+        byte[] hash = Hash.sha3(signature.toString().getBytes(StandardCharsets.UTF_8));
+        return FunctionEncoder.encode(Numeric.toHexString(hash, 0, 4, true), parameters);
+    }
+
+    // EventEncoder.encode before topics and type names were memoized: the type name of each
+    // parameter was resolved from its reference, and the signature hashed, on every call. Only
+    // the plain types of the Transfer event are named here.
+    private static String previousEncode(Event event) {
+        List<TypeReference<Type>> parameters = event.getParameters();
+        StringBuilder signature = new StringBuilder(event.getName()).append('(');
+        for (int i = 0; i < parameters.size(); i++) {
+            if (i > 0) {
+                signature.append(',');
+            }
+            signature.append(previousTypeName(parameters.get(i)));
+        }
+        signature.append(')');
+        return Numeric.toHexString(
+                Hash.sha3(signature.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String previousTypeName(TypeReference<Type> typeReference) {
+        try {
+            return typeReference.getClassType().getSimpleName().toLowerCase();
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.benchmark;
+
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigInteger;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.abi.TypeDecoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Bytes;
+import org.web3j.abi.datatypes.Fixed;
+import org.web3j.abi.datatypes.Int;
+import org.web3j.abi.datatypes.NumericType;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Uint;
+import org.web3j.abi.datatypes.generated.Bytes32;
+import org.web3j.abi.datatypes.generated.Int64;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.utils.Numeric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Compares decoding through cached decoder plans with the previous reflective lookups. */
+@BenchmarkOptions(warmupRounds = 5, benchmarkRounds = 10)
+public class TypeDecoderBenchmark {
+
+    private static final String UINT256 =
+            "0000000000000000000000000000000000000000000000000de0b6b3a7640000";
+    private static final String INT64 =
+            "fffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffc18";
+    private static final String BYTES32 =
+            "5b3a1c4e0f2d6a7b8c9d0e1f2a3b4c5d6e7f8091a2b3c4d5e6f708192a3b4c5d";
+
+    @Test
+    public void testDecodeNumeric() {
+        assertEquals(
+                previousDecodeNumeric(UINT256, Uint256.class),
+                TypeDecoder.decodeNumeric(UINT256, Uint256.class));
+        assertEquals(
+                previousDecodeNumeric(INT64, Int64.class),
+                TypeDecoder.decodeNumeric(INT64, Int64.class));
+
+        Benchmarks.compare(
+                getClass(),
+                "Decode uint256",
+                500_000,
+                () -> previousDecodeNumeric(UINT256, Uint256.class),
+                () -> TypeDecoder.decodeNumeric(UINT256, Uint256.class));
+        Benchmarks.compare(
+                getClass(),
+                "Decode int64",
+                500_000,
+                () -> previousDecodeNumeric(INT64, Int64.class),
+                () -> TypeDecoder.decodeNumeric(INT64, Int64.class));
+    }
+
+    @Test
+    public void testDecodeBytes() {
+        assertEquals(
+                previousDecodeBytes(BYTES32, Bytes32.class),
+                TypeDecoder.decodeBytes(BYTES32, 0, Bytes32.class));
+
+        Benchmarks.compare(
+                getClass(),
+                "Decode bytes32",
+                500_000,
+                () -> previousDecodeBytes(BYTES32, Bytes32.class),
+                () -> TypeDecoder.decodeBytes(BYTES32, 0, Bytes32.class));
+    }
+
+    @Test
+    public void testResolveTypeReference() throws Exception {
+        TypeReference<Uint256> typeReference = new TypeReference<Uint256>() {};
+        assertEquals(previousClassType(typeReference), typeReference.getClassType());
+
+        Benchmarks.compare(
+                getClass(),
+                "Resolve the class of a type reference",
+                1_000_000,
+                () -> previousClassType(typeReference),
+                () -> {
+                    try {
+                        return typeReference.getClassType();
+                    } catch (ClassNotFoundException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+    }
+
+    // the numeric decoding before decoder plans, which parsed the type name and looked the
+    // constructor up on every value
+    private static <T extends NumericType> T previousDecodeNumeric(String input, Class<T> type) {
+        try {
+            byte[] inputByteArray = Numeric.hexStringToByteArray(input);
+            int typeLengthAsBytes = previousTypeLength(type) >> 3;
+
+            byte[] resultByteArray = new byte[typeLengthAsBytes + 1];
+            if (Int.class.isAssignableFrom(type) || Fixed.class.isAssignableFrom(type)) {
+                resultByteArray[0] = inputByteArray[0];
+            }
+            int valueOffset = Type.MAX_BYTE_LENGTH - typeLengthAsBytes;
+            System.arraycopy(inputByteArray, valueOffset, resultByteArray, 1, typeLengthAsBytes);
+
+            BigInteger numericValue = new BigInteger(resultByteArray);
+            return type.getConstructor(BigInteger.class).newInstance(numericValue);
+        } catch (NoSuchMethodException
+                | InstantiationException
+                | IllegalAccessException
+                | InvocationTargetException e) {
+            throw new UnsupportedOperationException(e);
+        }
+    }
+
+    private static int previousTypeLength(Class<? extends NumericType> type) {
+        String regex = "(" + Uint.class.getSimpleName() + "|" + Int.class.getSimpleName() + ")";
+        String[] splitName = type.getSimpleName().split(regex);
+        return splitName.length == 2 ? Integer.parseInt(splitName[1]) : Type.MAX_BIT_LENGTH;
+    }
+
+    private static <T extends Bytes> T previousDecodeBytes(String input, Class<T> type) {
+        try {
+            int length =
+                    Integer.parseInt(type.getSimpleName().split(Bytes.class.getSimpleName())[1]);
+            byte[] bytes = Numeric.hexStringToByteArray(input.substring(0, length << 1));
+            return type.getConstructor(byte[].class).newInstance(bytes);
+        } catch (NoSuchMethodException
+                | InstantiationException
+                | IllegalAccessException
+                | InvocationTargetException e) {
+            throw new UnsupportedOperationException(e);
+        }
+    }
+
+    // TypeReference.getClassType() before it returned Class type arguments directly
+    private static Class<?> previousClassType(TypeReference<?> typeReference) {
+        try {
+            return Class.forName(typeReference.getType().getTypeName());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -12,6 +12,8 @@
  */
 package org.web3j.rlp;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.List;
 
@@ -23,81 +25,173 @@ import static org.web3j.rlp.RlpDecoder.OFFSET_SHORT_STRING;
  *
  * <p>For the specification, refer to p16 of the <a href="http://gavwood.com/paper.pdf">yellow
  * paper</a> and <a href="https://github.com/ethereum/wiki/wiki/RLP">here</a>.
+ *
+ * <p>Encoding is performed in two passes: the first computes the payload length of every list in
+ * the tree, the second writes the encoding into a single buffer of the exact size. No
+ * intermediate arrays are created, so encoding is linear in the size of the output.
  */
 public class RlpEncoder {
 
     public static byte[] encode(RlpType value) {
+        ListLengths listLengths = new ListLengths();
+        byte[] result = new byte[measure(value, listLengths)];
+        write(value, result, 0, listLengths.reader());
+        return result;
+    }
+
+    /**
+     * Compute the length in bytes of the RLP encoding of a value.
+     *
+     * @param value value to encode
+     * @return number of bytes {@link #encode(RlpType)} would return
+     */
+    public static int encodedLength(RlpType value) {
+        return measure(value, new ListLengths());
+    }
+
+    /**
+     * Encode a value into a caller provided array.
+     *
+     * @param value value to encode
+     * @param destination array to write the encoding to
+     * @param offset position in the array to start writing at
+     * @return number of bytes written
+     * @throws IndexOutOfBoundsException if the encoding does not fit in the array
+     */
+    public static int encode(RlpType value, byte[] destination, int offset) {
+        ListLengths listLengths = new ListLengths();
+        int length = measure(value, listLengths);
+        if (offset < 0 || length > destination.length - offset) {
+            throw new IndexOutOfBoundsException(
+                    "RLP encoding of "
+                            + length
+                            + " bytes does not fit at offset "
+                            + offset
+                            + " of array of length "
+                            + destination.length);
+        }
+        return write(value, destination, offset, listLengths.reader()) - offset;
+    }
+
+    /**
+     * Encode a value into a caller provided buffer, starting at its current position. The position
+     * of the buffer is advanced by the number of bytes written.
+     *
+     * @param value value to encode
+     * @param buffer buffer to write the encoding to
+     * @return number of bytes written
+     * @throws BufferOverflowException if the encoding does not fit in the buffer
+     */
+    public static int encode(RlpType value, ByteBuffer buffer) {
+        if (buffer.hasArray() && !buffer.isReadOnly()) {
+            ListLengths listLengths = new ListLengths();
+            int length = measure(value, listLengths);
+            if (length > buffer.remaining()) {
+                throw new BufferOverflowException();
+            }
+            int start = buffer.arrayOffset() + buffer.position();
+            write(value, buffer.array(), start, listLengths.reader());
+            buffer.position(buffer.position() + length);
+            return length;
+        } else {
+            byte[] encoded = encode(value);
+            buffer.put(encoded);
+            return encoded.length;
+        }
+    }
+
+    private static int measure(RlpType value, ListLengths listLengths) {
         if (value instanceof RlpString) {
-            return encodeString((RlpString) value);
+            byte[] bytes = ((RlpString) value).getBytes();
+            if (isSingleByte(bytes)) {
+                return 1;
+            }
+            return headerLength(bytes.length) + bytes.length;
         } else {
-            return encodeList((RlpList) value);
+            List<RlpType> values = ((RlpList) value).getValues();
+            // reserve the slot before visiting children, so lengths are stored in pre-order
+            int slot = listLengths.reserve();
+            int payloadLength = 0;
+            for (RlpType entry : values) {
+                payloadLength += measure(entry, listLengths);
+            }
+            listLengths.set(slot, payloadLength);
+            return headerLength(payloadLength) + payloadLength;
         }
     }
 
-    private static byte[] encode(byte[] bytesValue, int offset) {
-        if (bytesValue.length == 1
-                && offset == OFFSET_SHORT_STRING
-                && bytesValue[0] >= (byte) 0x00
-                && bytesValue[0] <= (byte) 0x7f) {
-            return bytesValue;
-        } else if (bytesValue.length <= 55) {
-            byte[] result = new byte[bytesValue.length + 1];
-            result[0] = (byte) (offset + bytesValue.length);
-            System.arraycopy(bytesValue, 0, result, 1, bytesValue.length);
-            return result;
+    private static int write(
+            RlpType value, byte[] destination, int position, ListLengths.Reader listLengths) {
+        if (value instanceof RlpString) {
+            byte[] bytes = ((RlpString) value).getBytes();
+            if (isSingleByte(bytes)) {
+                destination[position] = bytes[0];
+                return position + 1;
+            }
+            position = writeHeader(destination, position, OFFSET_SHORT_STRING, bytes.length);
+            System.arraycopy(bytes, 0, destination, position, bytes.length);
+            return position + bytes.length;
         } else {
-            byte[] encodedStringLength = toMinimalByteArray(bytesValue.length);
-            byte[] result = new byte[bytesValue.length + encodedStringLength.length + 1];
-
-            result[0] = (byte) ((offset + 0x37) + encodedStringLength.length);
-            System.arraycopy(encodedStringLength, 0, result, 1, encodedStringLength.length);
-            System.arraycopy(
-                    bytesValue, 0, result, encodedStringLength.length + 1, bytesValue.length);
-            return result;
+            position = writeHeader(destination, position, OFFSET_SHORT_LIST, listLengths.next());
+            for (RlpType entry : ((RlpList) value).getValues()) {
+                position = write(entry, destination, position, listLengths);
+            }
+            return position;
         }
     }
 
-    static byte[] encodeString(RlpString value) {
-        return encode(value.getBytes(), OFFSET_SHORT_STRING);
+    private static boolean isSingleByte(byte[] bytes) {
+        return bytes.length == 1 && bytes[0] >= (byte) 0x00 && bytes[0] <= (byte) 0x7f;
     }
 
-    private static byte[] toMinimalByteArray(int value) {
-        byte[] encoded = toByteArray(value);
+    private static int headerLength(int length) {
+        return length <= 55 ? 1 : 1 + minimalByteLength(length);
+    }
 
-        for (int i = 0; i < encoded.length; i++) {
-            if (encoded[i] != 0) {
-                return Arrays.copyOfRange(encoded, i, encoded.length);
-            }
+    private static int writeHeader(byte[] destination, int position, int offset, int length) {
+        if (length <= 55) {
+            destination[position] = (byte) (offset + length);
+            return position + 1;
         }
 
-        return new byte[] {};
+        int lengthOfLength = minimalByteLength(length);
+        destination[position++] = (byte) ((offset + 0x37) + lengthOfLength);
+        for (int shift = (lengthOfLength - 1) * 8; shift >= 0; shift -= 8) {
+            destination[position++] = (byte) ((length >> shift) & 0xff);
+        }
+        return position;
     }
 
-    private static byte[] toByteArray(int value) {
-        return new byte[] {
-            (byte) ((value >> 24) & 0xff),
-            (byte) ((value >> 16) & 0xff),
-            (byte) ((value >> 8) & 0xff),
-            (byte) (value & 0xff)
-        };
+    private static int minimalByteLength(int value) {
+        return (Integer.SIZE - Integer.numberOfLeadingZeros(value) + 7) / 8;
     }
 
-    static byte[] encodeList(RlpList value) {
-        List<RlpType> values = value.getValues();
-        if (values.isEmpty()) {
-            return encode(new byte[] {}, OFFSET_SHORT_LIST);
-        } else {
-            byte[] result = new byte[0];
-            for (RlpType entry : values) {
-                result = concat(result, encode(entry));
+    /** Payload lengths of the lists in an RLP tree, in pre-order. */
+    private static class ListLengths {
+        private int[] lengths = new int[8];
+        private int size;
+
+        int reserve() {
+            if (size == lengths.length) {
+                lengths = Arrays.copyOf(lengths, size * 2);
             }
-            return encode(result, OFFSET_SHORT_LIST);
+            return size++;
         }
-    }
 
-    private static byte[] concat(byte[] b1, byte[] b2) {
-        byte[] result = Arrays.copyOf(b1, b1.length + b2.length);
-        System.arraycopy(b2, 0, result, b1.length, b2.length);
-        return result;
+        void set(int slot, int length) {
+            lengths[slot] = length;
+        }
+
+        Reader reader() {
+            return new Reader();
+        }
+
+        class Reader {
+            private int next;
+
+            int next() {
+                return lengths[next++];
+            }
+        }
     }
 }
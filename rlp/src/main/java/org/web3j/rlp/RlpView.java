@@ -0,0 +1,305 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.rlp;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.web3j.utils.Numeric;
+
+import static org.web3j.rlp.RlpDecoder.OFFSET_LONG_LIST;
+import static org.web3j.rlp.RlpDecoder.OFFSET_LONG_STRING;
+import static org.web3j.rlp.RlpDecoder.OFFSET_SHORT_LIST;
+import static org.web3j.rlp.RlpDecoder.OFFSET_SHORT_STRING;
+
+/**
+ * Lazy, zero-copy view of a single RLP item.
+ *
+ * <p>Unlike {@link RlpDecoder}, which copies every string and builds a complete {@link RlpList}
+ * tree, a view only records the position of an item within the original array. Nested items are
+ * located when they are accessed, and string payloads are only copied when requested, e.g. via
+ * {@link #getBytes()}. Lengths are validated against the enclosing item in the same way as {@link
+ * RlpDecoder}.
+ */
+public class RlpView {
+
+    private final byte[] data;
+    private final int offset;
+    private final int payloadOffset;
+    private final int payloadLength;
+    private final boolean list;
+
+    // offsets of the items within a list, computed on first access
+    private int[] itemOffsets;
+
+    private RlpView(byte[] data, int offset, int end) {
+        if (offset < 0 || offset >= end || end > data.length) {
+            throw new RuntimeException("RLP invalid parameters while decoding");
+        }
+
+        int prefix = data[offset] & 0xff;
+        long length;
+        if (prefix < OFFSET_SHORT_STRING) {
+            this.list = false;
+            this.payloadOffset = offset;
+            length = 1;
+        } else if (prefix <= OFFSET_LONG_STRING) {
+            this.list = false;
+            this.payloadOffset = offset + 1;
+            length = prefix - OFFSET_SHORT_STRING;
+        } else if (prefix < OFFSET_SHORT_LIST) {
+            int lengthOfLength = prefix - OFFSET_LONG_STRING;
+            this.list = false;
+            this.payloadOffset = offset + 1 + lengthOfLength;
+            length = readLength(data, offset, lengthOfLength, end);
+        } else if (prefix <= OFFSET_LONG_LIST) {
+            this.list = true;
+            this.payloadOffset = offset + 1;
+            length = prefix - OFFSET_SHORT_LIST;
+        } else {
+            int lengthOfLength = prefix - OFFSET_LONG_LIST;
+            this.list = true;
+            this.payloadOffset = offset + 1 + lengthOfLength;
+            length = readLength(data, offset, lengthOfLength, end);
+        }
+
+        if (length > end - payloadOffset) {
+            throw new RuntimeException("RLP length mismatch");
+        }
+
+        this.data = data;
+        this.offset = offset;
+        this.payloadLength = (int) length;
+    }
+
+    /**
+     * Create a view of the first item in an RLP encoded array.
+     *
+     * @param rlpEncoded RLP encoded byte-array
+     * @return view of the first item
+     */
+    public static RlpView wrap(byte[] rlpEncoded) {
+        return wrap(rlpEncoded, 0, rlpEncoded.length);
+    }
+
+    /**
+     * Create a view of the first item in a range of an RLP encoded array.
+     *
+     * @param rlpEncoded RLP encoded byte-array
+     * @param offset start of the range
+     * @param length length of the range
+     * @return view of the first item in the range
+     */
+    public static RlpView wrap(byte[] rlpEncoded, int offset, int length) {
+        return new RlpView(rlpEncoded, offset, offset + length);
+    }
+
+    /**
+     * Create a view of the first item in the remaining bytes of a buffer. Array backed buffers are
+     * viewed without copying, other buffers are copied once. The position of the buffer is not
+     * changed.
+     *
+     * @param buffer RLP encoded buffer
+     * @return view of the first item
+     */
+    public static RlpView wrap(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            int offset = buffer.arrayOffset() + buffer.position();
+            return wrap(buffer.array(), offset, buffer.remaining());
+        } else {
+            byte[] copy = new byte[buffer.remaining()];
+            buffer.duplicate().get(copy);
+            return wrap(copy);
+        }
+    }
+
+    public boolean isList() {
+        return list;
+    }
+
+    public boolean isString() {
+        return !list;
+    }
+
+    /**
+     * Number of items in this list.
+     *
+     * @return number of items
+     */
+    public int size() {
+        return itemOffsets().length;
+    }
+
+    /**
+     * View of an item within this list.
+     *
+     * @param index index of the item
+     * @return view of the item
+     */
+    public RlpView get(int index) {
+        int[] offsets = itemOffsets();
+        if (index < 0 || index >= offsets.length) {
+            throw new IndexOutOfBoundsException(
+                    "Index " + index + " out of bounds for RLP list of size " + offsets.length);
+        }
+        return new RlpView(data, offsets[index], payloadOffset + payloadLength);
+    }
+
+    /**
+     * The array this view reads from. Together with {@link #getPayloadOffset()} and {@link
+     * #getPayloadLength()} this gives access to the payload without copying it.
+     *
+     * @return underlying array, which must not be modified
+     */
+    public byte[] getData() {
+        return data;
+    }
+
+    public int getPayloadOffset() {
+        return payloadOffset;
+    }
+
+    public int getPayloadLength() {
+        return payloadLength;
+    }
+
+    /**
+     * Length of the item including its prefix.
+     *
+     * @return encoded length
+     */
+    public int getEncodedLength() {
+        return payloadOffset + payloadLength - offset;
+    }
+
+    /**
+     * Copy of the item including its prefix.
+     *
+     * @return RLP encoding of the item
+     */
+    public byte[] getEncoded() {
+        return Arrays.copyOfRange(data, offset, payloadOffset + payloadLength);
+    }
+
+    /**
+     * Copy of the payload of this string.
+     *
+     * @return string bytes
+     */
+    public byte[] getBytes() {
+        checkString();
+        return Arrays.copyOfRange(data, payloadOffset, payloadOffset + payloadLength);
+    }
+
+    public BigInteger asPositiveBigInteger() {
+        checkString();
+        if (payloadLength == 0) {
+            return BigInteger.ZERO;
+        }
+        return new BigInteger(1, data, payloadOffset, payloadLength);
+    }
+
+    /**
+     * Value of this string as an unsigned long, without allocating a {@link BigInteger}.
+     *
+     * @return numeric value
+     * @throws ArithmeticException if the value does not fit in a long
+     */
+    public long asLong() {
+        checkString();
+        int start = payloadOffset;
+        int end = payloadOffset + payloadLength;
+        while (start < end && data[start] == 0) {
+            start++;
+        }
+        if (end - start > 8 || (end - start == 8 && data[start] < 0)) {
+            throw new ArithmeticException("RLP value does not fit in a long");
+        }
+
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            value = (value << 8) | (data[i] & 0xff);
+        }
+        return value;
+    }
+
+    public String asString() {
+        checkString();
+        return Numeric.toHexString(data, payloadOffset, payloadLength, true);
+    }
+
+    /**
+     * Materialize this view, and all nested items, as {@link RlpType} instances.
+     *
+     * @return equivalent {@link RlpString} or {@link RlpList}
+     */
+    public RlpType toRlpType() {
+        if (!list) {
+            return RlpString.create(getBytes());
+        }
+
+        int[] offsets = itemOffsets();
+        List<RlpType> values = new ArrayList<>(offsets.length);
+        for (int i = 0; i < offsets.length; i++) {
+            values.add(get(i).toRlpType());
+        }
+        return new RlpList(values);
+    }
+
+    private int[] itemOffsets() {
+        if (!list) {
+            throw new IllegalStateException("RLP item is a string, not a list");
+        }
+
+        int[] offsets = itemOffsets;
+        if (offsets == null) {
+            int end = payloadOffset + payloadLength;
+            int count = 0;
+            offsets = new int[4];
+            for (int position = payloadOffset; position < end; ) {
+                if (count == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, count * 2);
+                }
+                offsets[count++] = position;
+                position += new RlpView(data, position, end).getEncodedLength();
+            }
+            offsets = count == offsets.length ? offsets : Arrays.copyOf(offsets, count);
+            itemOffsets = offsets;
+        }
+        return offsets;
+    }
+
+    private void checkString() {
+        if (list) {
+            throw new IllegalStateException("RLP item is a list, not a string");
+        }
+    }
+
+    private static long readLength(byte[] data, int offset, int lengthOfLength, int end) {
+        if (lengthOfLength > end - offset - 1) {
+            throw new RuntimeException("RLP length mismatch");
+        }
+
+        long length = 0;
+        for (int i = 1; i <= lengthOfLength; i++) {
+            length = (length << 8) | (data[offset + i] & 0xff);
+        }
+        if (length < 0 || length > Integer.MAX_VALUE) {
+            throw new RuntimeException("RLP too many bytes to decode");
+        }
+        return length;
+    }
+}
@@ -13,11 +13,15 @@
 package org.web3j.rlp;
 
 import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class RlpEncoderTest {
 
@@ -164,4 +168,45 @@ public class RlpEncoderTest {
         System.arraycopy(encodeMe, 0, expectedEncoding, 1, encodeMe.length);
         assertArrayEquals(RlpEncoder.encode(RlpString.create(encodeMe)), (expectedEncoding));
     }
+
+    @Test
+    public void testEncodeLongList() {
+        RlpType[] values = new RlpType[20];
+        Arrays.fill(values, RlpString.create("dog"));
+
+        byte[] encoded = RlpEncoder.encode(new RlpList(values));
+
+        assertEquals(82, encoded.length);
+        assertEquals((byte) 0xf8, encoded[0]);
+        assertEquals((byte) 80, encoded[1]);
+        for (int i = 2; i < encoded.length; i += 4) {
+            assertArrayEquals(
+                    new byte[] {(byte) 0x83, 'd', 'o', 'g'},
+                    Arrays.copyOfRange(encoded, i, i + 4));
+        }
+    }
+
+    @Test
+    public void testEncodeIntoBuffer() {
+        RlpList value = new RlpList(RlpString.create("cat"), RlpString.create("dog"));
+        byte[] expected = RlpEncoder.encode(value);
+        assertEquals(expected.length, RlpEncoder.encodedLength(value));
+
+        byte[] destination = new byte[expected.length + 2];
+        assertEquals(expected.length, RlpEncoder.encode(value, destination, 2));
+        assertArrayEquals(expected, Arrays.copyOfRange(destination, 2, destination.length));
+
+        ByteBuffer buffer = ByteBuffer.allocate(expected.length + 1);
+        buffer.put((byte) 1);
+        assertEquals(expected.length, RlpEncoder.encode(value, buffer));
+        assertEquals(buffer.capacity(), buffer.position());
+        assertArrayEquals(expected, Arrays.copyOfRange(buffer.array(), 1, buffer.capacity()));
+
+        assertThrows(
+                IndexOutOfBoundsException.class,
+                () -> RlpEncoder.encode(value, new byte[expected.length], 1));
+        assertThrows(
+                BufferOverflowException.class,
+                () -> RlpEncoder.encode(value, ByteBuffer.allocate(expected.length - 1)));
+    }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.rlp;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RlpViewTest {
+
+    @Test
+    public void testViewMatchesDecoder() {
+        byte[] longString = new byte[1024];
+        Arrays.fill(longString, (byte) 0x42);
+        RlpList value =
+                new RlpList(
+                        RlpString.create(""),
+                        RlpString.create(0x0f),
+                        RlpString.create("dog"),
+                        RlpString.create(longString),
+                        new RlpList(),
+                        new RlpList(RlpString.create("cat"), new RlpList(RlpString.create(1024))));
+        byte[] encoded = RlpEncoder.encode(value);
+
+        RlpView view = RlpView.wrap(encoded);
+
+        assertTrue(view.isList());
+        assertEquals(6, view.size());
+        assertEquals(encoded.length, view.getEncodedLength());
+        assertArrayEquals(
+                RlpEncoder.encode(RlpDecoder.decode(encoded).getValues().get(0)),
+                RlpEncoder.encode(view.toRlpType()));
+        assertArrayEquals(encoded, view.getEncoded());
+        assertEquals(BigInteger.ZERO, view.get(0).asPositiveBigInteger());
+        assertEquals(15, view.get(1).asLong());
+        assertEquals("0x646f67", view.get(2).asString());
+        assertArrayEquals(longString, view.get(3).getBytes());
+        assertEquals(0, view.get(4).size());
+        assertEquals(1024, view.get(5).get(1).get(0).asLong());
+    }
+
+    @Test
+    public void testViewDoesNotCopy() {
+        byte[] encoded = RlpEncoder.encode(new RlpList(RlpString.create("dog")));
+
+        RlpView item = RlpView.wrap(encoded).get(0);
+
+        assertSame(encoded, item.getData());
+        assertEquals(2, item.getPayloadOffset());
+        assertEquals(3, item.getPayloadLength());
+    }
+
+    @Test
+    public void testWrapRange() {
+        byte[] encoded = RlpEncoder.encode(RlpString.create("dog"));
+        byte[] typed = new byte[encoded.length + 1];
+        typed[0] = 0x02;
+        System.arraycopy(encoded, 0, typed, 1, encoded.length);
+
+        assertEquals("0x646f67", RlpView.wrap(typed, 1, encoded.length).asString());
+        assertEquals(
+                "0x646f67", RlpView.wrap(ByteBuffer.wrap(typed, 1, encoded.length)).asString());
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(encoded.length);
+        direct.put(encoded).flip();
+        assertEquals("0x646f67", RlpView.wrap(direct).asString());
+        assertEquals(0, direct.position());
+    }
+
+    @Test
+    public void testAsLong() {
+        assertEquals(
+                Long.MAX_VALUE,
+                RlpView.wrap(RlpEncoder.encode(RlpString.create(Long.MAX_VALUE))).asLong());
+        RlpView tooLarge =
+                RlpView.wrap(
+                        RlpEncoder.encode(
+                                RlpString.create(BigInteger.ONE.shiftLeft(Long.SIZE - 1))));
+        assertThrows(ArithmeticException.class, tooLarge::asLong);
+    }
+
+    @Test
+    public void testInvalidEncoding() {
+        // list claims 4 bytes, only 3 are present
+        assertThrows(RuntimeException.class, () -> RlpView.wrap(new byte[] {(byte) 0xc4, 1, 2, 3}));
+        // item within the list runs past the end of the list
+        RlpView truncated = RlpView.wrap(new byte[] {(byte) 0xc2, (byte) 0x83, 1, 2});
+        assertThrows(RuntimeException.class, truncated::size);
+        // length of length runs past the end of the input
+        assertThrows(RuntimeException.class, () -> RlpView.wrap(new byte[] {(byte) 0xb9, 1}));
+        // length larger than an int
+        assertThrows(
+                RuntimeException.class,
+                () -> RlpView.wrap(new byte[] {(byte) 0xbb, (byte) 0xff, 0, 0, 0}));
+        assertThrows(RuntimeException.class, () -> RlpView.wrap(new byte[0]));
+    }
+
+    @Test
+    public void testTypeMismatch() {
+        RlpView list = RlpView.wrap(RlpEncoder.encode(new RlpList()));
+        RlpView string = RlpView.wrap(RlpEncoder.encode(RlpString.create("dog")));
+
+        assertFalse(string.isList());
+        assertThrows(IllegalStateException.class, list::getBytes);
+        assertThrows(IllegalStateException.class, string::size);
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+    }
+}
@@ -12,21 +12,29 @@
  */
 package org.web3j.crypto;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 
+import org.bouncycastle.crypto.digests.KeccakDigest;
 import org.bouncycastle.crypto.digests.RIPEMD160Digest;
 import org.bouncycastle.crypto.digests.SHA512Digest;
 import org.bouncycastle.crypto.macs.HMac;
 import org.bouncycastle.crypto.params.KeyParameter;
 import org.bouncycastle.jcajce.provider.digest.Blake2b;
-import org.bouncycastle.jcajce.provider.digest.Keccak;
 
 import org.web3j.utils.Numeric;
 
 /** Cryptographic hash functions. */
 public class Hash {
+    private static final int SHA3_LENGTH = 32;
+
+    // Keccak digests are reset after each hash and reused by their thread
+    private static final ThreadLocal<KeccakDigest> KECCAK =
+            ThreadLocal.withInitial(() -> new KeccakDigest(256));
+
     private Hash() {}
 
     /**
@@ -67,9 +75,64 @@ public class Hash {
      * @return hash value
      */
     public static byte[] sha3(byte[] input, int offset, int length) {
-        Keccak.DigestKeccak kecc = new Keccak.Digest256();
-        kecc.update(input, offset, length);
-        return kecc.digest();
+        byte[] result = new byte[SHA3_LENGTH];
+        sha3(input, offset, length, result, 0);
+        return result;
+    }
+
+    /**
+     * Keccak-256 hash function, writing the hash into a given array.
+     *
+     * @param input binary encoded input data
+     * @param offset of start of data
+     * @param length of data
+     * @param output array to write the 32 byte hash value to
+     * @param outputOffset of start of the hash value in the output array
+     */
+    public static void sha3(
+            byte[] input, int offset, int length, byte[] output, int outputOffset) {
+        KeccakDigest kecc = KECCAK.get();
+        try {
+            kecc.update(input, offset, length);
+            kecc.doFinal(output, outputOffset);
+        } catch (RuntimeException e) {
+            // leave the digest of this thread ready for the next hash
+            kecc.reset();
+            throw e;
+        }
+    }
+
+    /**
+     * Keccak-256 hash function, reading the remaining bytes of a buffer and writing the hash to
+     * another one.
+     *
+     * @param input binary encoded input data, consumed up to its limit
+     * @param output buffer to write the 32 byte hash value to, advanced past it
+     */
+    public static void sha3(ByteBuffer input, ByteBuffer output) {
+        if (output.remaining() < SHA3_LENGTH) {
+            throw new BufferOverflowException();
+        }
+
+        byte[] data;
+        int offset;
+        int length = input.remaining();
+        if (input.hasArray()) {
+            data = input.array();
+            offset = input.arrayOffset() + input.position();
+        } else {
+            data = new byte[length];
+            input.duplicate().get(data);
+            offset = 0;
+        }
+        input.position(input.limit());
+
+        if (output.hasArray()) {
+            sha3(data, offset, length, output.array(), output.arrayOffset() + output.position());
+            output.position(output.position() + SHA3_LENGTH);
+        } else {
+            output.put(sha3(data, offset, length));
+        }
     }
 
     /**
@@ -109,7 +109,11 @@ public final class Numeric {
     }
 
     public static BigInteger toBigInt(byte[] value, int offset, int length) {
-        return toBigInt((Arrays.copyOfRange(value, offset, offset + length)));
+        if (offset + length > value.length) {
+            // a range past the end of the array is zero padded
+            return toBigInt(Arrays.copyOfRange(value, offset, offset + length));
+        }
+        return new BigInteger(1, value, offset, length);
     }
 
     public static BigInteger toBigInt(byte[] value) {
@@ -233,18 +237,18 @@ public final class Numeric {
     }
 
     public static String toHexString(byte[] input, int offset, int length, boolean withPrefix) {
-        final String output = new String(toHexCharArray(input, offset, length));
-        return withPrefix ? new StringBuilder(HEX_PREFIX).append(output).toString() : output;
-    }
-
-    private static char[] toHexCharArray(byte[] input, int offset, int length) {
-        final char[] output = new char[length << 1];
-        for (int i = offset, j = 0; i < length + offset; i++, j++) {
+        // the prefix is written into the same array, so that only the result string is allocated
+        final int start = withPrefix ? HEX_PREFIX.length() : 0;
+        final char[] output = new char[start + (length << 1)];
+        if (withPrefix) {
+            HEX_PREFIX.getChars(0, start, output, 0);
+        }
+        for (int i = offset, j = start; i < length + offset; i++, j++) {
             final int v = input[i] & 0xFF;
             output[j++] = HEX_CHAR_MAP[v >>> 4];
             output[j] = HEX_CHAR_MAP[v & 0x0F];
         }
-        return output;
+        return new String(output);
     }
 
     public static String toHexString(byte[] input) {
@@ -12,10 +12,18 @@
  */
 package org.web3j.crypto;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
 import org.junit.jupiter.api.Test;
 
+import org.web3j.utils.Numeric;
+
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.web3j.utils.Numeric.asByte;
 
 public class HashTest {
@@ -99,6 +107,60 @@ public class HashTest {
                 ("0x953d0c27f84a9649b0e121099ffa9aeb7ed83e65eaed41d3627f895790c72d41"));
     }
 
+    @Test
+    public void testSha3IntoArray() {
+        byte[] input = "xxhello worldxx".getBytes(StandardCharsets.UTF_8);
+        byte[] output = new byte[36];
+
+        Hash.sha3(input, 2, 11, output, 2);
+
+        assertEquals(
+                Numeric.toHexString(output, 2, 32, true),
+                ("0x47173285a8d7341e5e972fc677286384f802f8ef42a5ec5f03bbfa254cb01fad"));
+        assertArrayEquals(Hash.sha3(input, 2, 11), Arrays.copyOfRange(output, 2, 34));
+    }
+
+    @Test
+    public void testSha3IntoArrayTooShort() {
+        byte[] input = "hello world".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(
+                RuntimeException.class, () -> Hash.sha3(input, 0, input.length, new byte[31], 0));
+        // the failed hash leaves nothing behind for the next one
+        assertEquals(
+                Numeric.toHexString(Hash.sha3(input)),
+                ("0x47173285a8d7341e5e972fc677286384f802f8ef42a5ec5f03bbfa254cb01fad"));
+    }
+
+    @Test
+    public void testSha3ByteBuffer() {
+        byte[] input = "hello world".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer direct = ByteBuffer.allocateDirect(input.length);
+        direct.put(input).flip();
+
+        for (ByteBuffer buffer : Arrays.asList(ByteBuffer.wrap(input), direct)) {
+            for (ByteBuffer output :
+                    Arrays.asList(ByteBuffer.allocate(32), ByteBuffer.allocateDirect(32))) {
+                Hash.sha3(buffer, output);
+
+                assertEquals(0, buffer.remaining());
+                assertEquals(32, output.position());
+                output.flip();
+                byte[] hash = new byte[32];
+                output.get(hash);
+                assertArrayEquals(Hash.sha3(input), hash);
+                buffer.rewind();
+            }
+        }
+    }
+
+    @Test
+    public void testSha3ByteBufferTooShort() {
+        assertThrows(
+                BufferOverflowException.class,
+                () -> Hash.sha3(ByteBuffer.allocate(1), ByteBuffer.allocate(31)));
+    }
+
     @Test
     public void testByte() {
         assertEquals(asByte(0x0, 0x0), ((byte) 0x0));
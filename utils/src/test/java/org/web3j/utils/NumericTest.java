@@ -57,6 +57,15 @@ public class NumericTest {
                 ("0x99dc848b94efc27edfad28def049810f"));
     }
 
+    @Test
+    public void testToBigIntRange() {
+        byte[] value = {0x01, 0x02, 0x03};
+        assertEquals(BigInteger.valueOf(0x0203), Numeric.toBigInt(value, 1, 2));
+        assertEquals(BigInteger.ZERO, Numeric.toBigInt(value, 3, 0));
+        // a range past the end of the array is zero padded
+        assertEquals(BigInteger.valueOf(0x030000), Numeric.toBigInt(value, 2, 3));
+    }
+
     @Test
     public void testQuantityDecode() {
         assertEquals(Numeric.decodeQuantity("0x0"), (BigInteger.valueOf(0L)));